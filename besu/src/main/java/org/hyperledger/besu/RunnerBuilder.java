@@ -658,6 +658,8 @@ public class RunnerBuilder {
       discoveryConfiguration.setDnsDiscoveryURL(ethNetworkConfig.dnsDiscoveryUrl());
       discoveryConfiguration.setDiscoveryV5Enabled(
           networkingConfiguration.getDiscovery().isDiscoveryV5Enabled());
+      discoveryConfiguration.setDiscoveryV5BindPort(
+          networkingConfiguration.getDiscovery().getDiscoveryV5BindPort());
       discoveryConfiguration.setFilterOnEnrForkId(
           networkingConfiguration.getDiscovery().isFilterOnEnrForkIdEnabled());
     } else {
@@ -1330,7 +1332,8 @@ public class RunnerBuilder {
                 besuController.getProtocolManager().ethContext().getEthPeers(),
                 consensusEngineServer,
                 apiConfiguration,
-                enodeDnsConfiguration);
+                enodeDnsConfiguration,
+                besuController.getStorageProvider());
     methods.putAll(besuController.getAdditionalJsonRpcMethods(jsonRpcApis));
 
     final var pluginMethods =
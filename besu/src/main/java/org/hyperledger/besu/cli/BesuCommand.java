@@ -116,6 +116,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.ipc.JsonRpcIpcConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.WebSocketConfiguration;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.MiningParametersMetrics;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
@@ -920,6 +921,13 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       description = "Specifies the number of last blocks to cache  (default: ${DEFAULT-VALUE})")
   private final Integer numberOfblocksToCache = 0;
 
+  @CommandLine.Option(
+      names = {"--cache-last-blocks-max-bytes"},
+      description =
+          "Specifies the maximum size in bytes of each of the cached block headers, bodies, receipts and total difficulties, when --cache-last-blocks is set (default: ${DEFAULT-VALUE})")
+  private final Long maxCachedBlockDataBytes =
+      DefaultBlockchain.DEFAULT_MAX_CACHED_BLOCK_DATA_BYTES;
+
   @Mixin private P2PTLSConfigOptions p2pTLSConfigOptions;
 
   // Plugins Configuration Option Group
@@ -1944,6 +1952,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .randomPeerPriority(p2PDiscoveryOptionGroup.randomPeerPriority)
         .chainPruningConfiguration(unstableChainPruningOptions.toDomainObject())
         .cacheLastBlocks(numberOfblocksToCache)
+        .cacheLastBlocksMaxBytes(maxCachedBlockDataBytes)
         .genesisStateHashCacheEnabled(genesisStateHashCacheEnabled);
   }
 
@@ -2211,10 +2220,16 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   private TransactionPoolConfiguration buildTransactionPoolConfiguration() {
     transactionPoolOptions.setPluginTransactionValidatorService(transactionValidatorServiceImpl);
     final var txPoolConf = transactionPoolOptions.toDomainObject();
+    final var snapshotFile = txPoolConf.getUnstable().getSnapshotFile();
     final var txPoolConfBuilder =
         ImmutableTransactionPoolConfiguration.builder()
             .from(txPoolConf)
-            .saveFile((dataPath.resolve(txPoolConf.getSaveFile().getPath()).toFile()));
+            .saveFile((dataPath.resolve(txPoolConf.getSaveFile().getPath()).toFile()))
+            .unstable(
+                ImmutableTransactionPoolConfiguration.Unstable.builder()
+                    .from(txPoolConf.getUnstable())
+                    .snapshotFile(dataPath.resolve(snapshotFile.getPath()).toFile())
+                    .build());
 
     if (genesisConfigOptionsSupplier.get().isZeroBaseFee()) {
       logger.warn(
@@ -26,6 +26,7 @@ import static org.hyperledger.besu.ethereum.core.MiningParameters.MutableInitVal
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_MAX_OMMERS_DEPTH;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
+import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POS_SPECULATIVE_EXECUTION_MAX_TRANSACTIONS;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POW_JOB_TTL;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_REMOTE_SEALERS_LIMIT;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_REMOTE_SEALERS_TTL;
@@ -41,7 +42,9 @@ import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.plugin.services.TransactionSelectionService;
 import org.hyperledger.besu.util.number.PositiveNumber;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
@@ -188,6 +191,47 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
                 + " then it waits before next repetition. Must be positive and ≤ 2000 (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockCreationRepetitionMinDuration =
         DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xpos-speculative-execution-enabled"},
+        description =
+            "Pre-execute the most profitable pending transactions while a PoS block is being built, so the following block creation attempts can reuse the results (default: ${DEFAULT-VALUE})",
+        arity = "0..1")
+    private Boolean posSpeculativeExecutionEnabled = false;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xpos-speculative-execution-max-transactions"},
+        description =
+            "Maximum number of pending transactions to pre-execute while a PoS block is being built (default: ${DEFAULT-VALUE})")
+    private Integer posSpeculativeExecutionMaxTransactions =
+        DEFAULT_POS_SPECULATIVE_EXECUTION_MAX_TRANSACTIONS;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-txs-selection-parallel-enabled"},
+        description =
+            "Execute the most profitable pending transactions of different senders in parallel before selecting them for a block, re-executing the ones that conflict with the transactions already selected (default: ${DEFAULT-VALUE})",
+        arity = "0..1")
+    private Boolean parallelTxsSelectionEnabled = false;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-creation-profiling-enabled"},
+        description =
+            "Report histograms of the duration of each block creation phase and of the time spent by each transaction selector (default: ${DEFAULT-VALUE})",
+        arity = "0..1")
+    private Boolean blockCreationProfilingEnabled = false;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-creation-profiling-dump-file"},
+        paramLabel = "<PATH>",
+        description =
+            "If block creation profiling is enabled, also append a JSON line with the timings and the slowest transactions of every block creation to this file",
+        arity = "1")
+    private Path blockCreationProfilingDumpFile = null;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -281,6 +325,11 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
           commandLine, "--Xpos-block-creation-repetition-min-duration must be positive and ≤ 2000");
     }
 
+    if (unstableOptions.posSpeculativeExecutionMaxTransactions <= 0) {
+      throw new ParameterException(
+          commandLine, "--Xpos-speculative-execution-max-transactions must be positive");
+    }
+
     if (genesisConfigOptions.isPoa()) {
       CommandLineUtils.failIfOptionDoesntMeetRequirement(
           commandLine,
@@ -327,6 +376,16 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
         miningParameters.getUnstable().getPosBlockCreationMaxTime();
     miningOptions.unstableOptions.posBlockCreationRepetitionMinDuration =
         miningParameters.getUnstable().getPosBlockCreationRepetitionMinDuration();
+    miningOptions.unstableOptions.posSpeculativeExecutionEnabled =
+        miningParameters.getUnstable().isPosSpeculativeExecutionEnabled();
+    miningOptions.unstableOptions.posSpeculativeExecutionMaxTransactions =
+        miningParameters.getUnstable().getPosSpeculativeExecutionMaxTransactions();
+    miningOptions.unstableOptions.parallelTxsSelectionEnabled =
+        miningParameters.getUnstable().isParallelTxsSelectionEnabled();
+    miningOptions.unstableOptions.blockCreationProfilingEnabled =
+        miningParameters.getUnstable().isBlockCreationProfilingEnabled();
+    miningOptions.unstableOptions.blockCreationProfilingDumpFile =
+        miningParameters.getUnstable().getBlockCreationProfilingDumpFile().orElse(null);
 
     miningParameters.getCoinbase().ifPresent(coinbase -> miningOptions.coinbase = coinbase);
     miningParameters.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
@@ -372,6 +431,13 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
                 .posBlockCreationMaxTime(unstableOptions.posBlockCreationMaxTime)
                 .posBlockCreationRepetitionMinDuration(
                     unstableOptions.posBlockCreationRepetitionMinDuration)
+                .isPosSpeculativeExecutionEnabled(unstableOptions.posSpeculativeExecutionEnabled)
+                .posSpeculativeExecutionMaxTransactions(
+                    unstableOptions.posSpeculativeExecutionMaxTransactions)
+                .isParallelTxsSelectionEnabled(unstableOptions.parallelTxsSelectionEnabled)
+                .isBlockCreationProfilingEnabled(unstableOptions.blockCreationProfilingEnabled)
+                .blockCreationProfilingDumpFile(
+                    Optional.ofNullable(unstableOptions.blockCreationProfilingDumpFile))
                 .build())
         .build();
   }
@@ -247,6 +247,18 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
     private static final String ETH65_TX_ANNOUNCED_BUFFERING_PERIOD_FLAG =
         "--Xeth65-tx-announced-buffering-period-milliseconds";
 
+    private static final String TX_POOL_SNAPSHOT_ENABLED_FLAG = "--Xtx-pool-snapshot-enabled";
+
+    private static final String TX_POOL_SNAPSHOT_FILE_FLAG = "--Xtx-pool-snapshot-file";
+
+    private static final String TX_POOL_BLOBS_OFF_HEAP_ENABLED_FLAG =
+        "--Xtx-pool-blobs-off-heap-enabled";
+
+    private static final String TX_POOL_BLOBS_OFF_HEAP_MAX_BYTES_FLAG =
+        "--Xtx-pool-blobs-off-heap-max-bytes";
+
+    private static final String TX_POOL_MEMORY_BUDGET_FLAG = "--Xtx-pool-memory-budget";
+
     @CommandLine.Option(
         names = {TX_MESSAGE_KEEP_ALIVE_SEC_FLAG},
         paramLabel = "<INTEGER>",
@@ -267,6 +279,57 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         arity = "1")
     private Duration eth65TrxAnnouncedBufferingPeriod =
         TransactionPoolConfiguration.Unstable.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD;
+
+    @CommandLine.Option(
+        names = {TX_POOL_SNAPSHOT_ENABLED_FLAG},
+        paramLabel = "<Boolean>",
+        hidden = true,
+        description =
+            "Keep a binary snapshot of the transaction pool updated while running, and reload it on startup (default: ${DEFAULT-VALUE})",
+        fallbackValue = "true",
+        arity = "0..1")
+    private Boolean snapshotEnabled =
+        TransactionPoolConfiguration.Unstable.DEFAULT_SNAPSHOT_ENABLED;
+
+    @CommandLine.Option(
+        names = {TX_POOL_SNAPSHOT_FILE_FLAG},
+        paramLabel = "<STRING>",
+        hidden = true,
+        description =
+            "The file of the transaction pool snapshot, relative paths are resolved against the data path (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private File snapshotFile = TransactionPoolConfiguration.Unstable.DEFAULT_SNAPSHOT_FILE;
+
+    @CommandLine.Option(
+        names = {TX_POOL_BLOBS_OFF_HEAP_ENABLED_FLAG},
+        paramLabel = "<Boolean>",
+        hidden = true,
+        description =
+            "Store the blobs of pooled blob transactions off heap, reading them only when needed (default: ${DEFAULT-VALUE})",
+        fallbackValue = "true",
+        arity = "0..1")
+    private Boolean blobsOffHeapEnabled =
+        TransactionPoolConfiguration.Unstable.DEFAULT_BLOBS_OFF_HEAP_ENABLED;
+
+    @CommandLine.Option(
+        names = {TX_POOL_BLOBS_OFF_HEAP_MAX_BYTES_FLAG},
+        paramLabel = "<LONG>",
+        hidden = true,
+        description =
+            "Max native memory in bytes used by the blobs stored off heap, when exceeded the blobs of new transactions are kept on the heap (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private Long blobsOffHeapMaxBytes =
+        TransactionPoolConfiguration.Unstable.DEFAULT_BLOBS_OFF_HEAP_MAX_BYTES;
+
+    @CommandLine.Option(
+        names = {TX_POOL_MEMORY_BUDGET_FLAG},
+        paramLabel = "<LONG>",
+        hidden = true,
+        description =
+            "Max memory in bytes used by all the layers of the layered transaction pool, when exceeded the transactions with the lowest fee per byte, decreasing with age, are evicted in batches, 0 to disable (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private Long memoryBudgetBytes =
+        TransactionPoolConfiguration.Unstable.DEFAULT_MEMORY_BUDGET_BYTES;
   }
 
   private TransactionPoolOptions() {}
@@ -323,6 +386,11 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         config.getUnstable().getTxMessageKeepAliveSeconds();
     options.unstableOptions.eth65TrxAnnouncedBufferingPeriod =
         config.getUnstable().getEth65TrxAnnouncedBufferingPeriod();
+    options.unstableOptions.snapshotEnabled = config.getUnstable().getSnapshotEnabled();
+    options.unstableOptions.snapshotFile = config.getUnstable().getSnapshotFile();
+    options.unstableOptions.blobsOffHeapEnabled = config.getUnstable().getBlobsOffHeapEnabled();
+    options.unstableOptions.blobsOffHeapMaxBytes = config.getUnstable().getBlobsOffHeapMaxBytes();
+    options.unstableOptions.memoryBudgetBytes = config.getUnstable().getMemoryBudgetBytes();
 
     return options;
   }
@@ -380,6 +448,11 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
             ImmutableTransactionPoolConfiguration.Unstable.builder()
                 .txMessageKeepAliveSeconds(unstableOptions.txMessageKeepAliveSeconds)
                 .eth65TrxAnnouncedBufferingPeriod(unstableOptions.eth65TrxAnnouncedBufferingPeriod)
+                .snapshotEnabled(unstableOptions.snapshotEnabled)
+                .snapshotFile(unstableOptions.snapshotFile)
+                .blobsOffHeapEnabled(unstableOptions.blobsOffHeapEnabled)
+                .blobsOffHeapMaxBytes(unstableOptions.blobsOffHeapMaxBytes)
+                .memoryBudgetBytes(unstableOptions.memoryBudgetBytes)
                 .build())
         .build();
   }
@@ -31,6 +31,8 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
   private static final String CHAIN_PRUNING_BLOCKS_RETAINED_LIMIT_FLAG =
       "--Xchain-pruning-blocks-retained-limit";
   private static final String CHAIN_PRUNING_FREQUENCY_FLAG = "--Xchain-pruning-frequency";
+  private static final String CHAIN_PRUNING_BLOCKS_PER_BATCH_FLAG =
+      "--Xchain-pruning-blocks-per-batch";
 
   /**
    * The "CHAIN_DATA_PRUNING_MIN_BLOCKS_RETAINED_LIMIT" field sets the minimum limit for the
@@ -43,6 +45,9 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
   /** The constant DEFAULT_CHAIN_DATA_PRUNING_FREQUENCY. */
   public static final int DEFAULT_CHAIN_DATA_PRUNING_FREQUENCY = 256;
 
+  /** The constant DEFAULT_CHAIN_DATA_PRUNING_BLOCKS_PER_BATCH. */
+  public static final int DEFAULT_CHAIN_DATA_PRUNING_BLOCKS_PER_BATCH = 1024;
+
   @CommandLine.Option(
       hidden = true,
       names = {CHAIN_PRUNING_ENABLED_FLAG},
@@ -78,6 +83,14 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
   private final PositiveNumber chainDataPruningBlocksFrequency =
       PositiveNumber.fromInt(DEFAULT_CHAIN_DATA_PRUNING_FREQUENCY);
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {CHAIN_PRUNING_BLOCKS_PER_BATCH_FLAG},
+      description =
+          "The maximum number of block heights pruned in a single batched write, this bounds how much pruning work competes with block import (default: ${DEFAULT-VALUE})")
+  private final PositiveNumber chainDataPruningBlocksPerBatch =
+      PositiveNumber.fromInt(DEFAULT_CHAIN_DATA_PRUNING_BLOCKS_PER_BATCH);
+
   /** Default Constructor. */
   ChainPruningOptions() {}
 
@@ -123,7 +136,8 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
         chainDataPruningEnabled,
         chainDataPruningBlocksRetained,
         chainDataPruningBlocksRetainedLimit,
-        chainDataPruningBlocksFrequency.getValue());
+        chainDataPruningBlocksFrequency.getValue(),
+        chainDataPruningBlocksPerBatch.getValue());
   }
 
   @Override
@@ -136,6 +150,8 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
         CHAIN_PRUNING_BLOCKS_RETAINED_LIMIT_FLAG,
         chainDataPruningBlocksRetainedLimit.toString(),
         CHAIN_PRUNING_FREQUENCY_FLAG,
-        chainDataPruningBlocksFrequency.toString());
+        chainDataPruningBlocksFrequency.toString(),
+        CHAIN_PRUNING_BLOCKS_PER_BATCH_FLAG,
+        chainDataPruningBlocksPerBatch.toString());
   }
 }
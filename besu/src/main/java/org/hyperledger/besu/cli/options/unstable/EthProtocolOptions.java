@@ -37,6 +37,8 @@ public class EthProtocolOptions implements CLIOptions<EthProtocolConfiguration>
 
   private static final String MAX_CAPABILITY = "--Xeth-capability-max";
   private static final String MIN_CAPABILITY = "--Xeth-capability-min";
+  private static final String ENCODED_BLOCK_CACHE_MAX_BYTES =
+      "--Xewp-encoded-block-cache-max-bytes";
 
   @CommandLine.Option(
       hidden = true,
@@ -113,6 +115,15 @@ public class EthProtocolOptions implements CLIOptions<EthProtocolConfiguration>
       description = "Min protocol version to support")
   private int minEthCapability = EthProtocolConfiguration.DEFAULT_MIN_CAPABILITY;
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {ENCODED_BLOCK_CACHE_MAX_BYTES},
+      paramLabel = "<LONG>",
+      description =
+          "Maximum size (in bytes) of the encoded headers, bodies and receipts of the blocks near the chain head cached to answer peer requests, 0 to disable the cache. (default: ${DEFAULT-VALUE})")
+  private long encodedBlockCacheMaxBytes =
+      EthProtocolConfiguration.DEFAULT_ENCODED_BLOCK_CACHE_MAX_BYTES;
+
   private EthProtocolOptions() {}
 
   /**
@@ -141,6 +152,7 @@ public class EthProtocolOptions implements CLIOptions<EthProtocolConfiguration>
     options.legacyEth64ForkIdEnabled = config.isLegacyEth64ForkIdEnabled();
     options.maxEthCapability = config.getMaxEthCapability();
     options.minEthCapability = config.getMinEthCapability();
+    options.encodedBlockCacheMaxBytes = config.getEncodedBlockCacheMaxBytes();
     return options;
   }
 
@@ -156,6 +168,7 @@ public class EthProtocolOptions implements CLIOptions<EthProtocolConfiguration>
         .legacyEth64ForkIdEnabled(legacyEth64ForkIdEnabled)
         .maxEthCapability(maxEthCapability)
         .minEthCapability(minEthCapability)
+        .encodedBlockCacheMaxBytes(encodedBlockCacheMaxBytes)
         .build();
   }
 
@@ -174,6 +187,8 @@ public class EthProtocolOptions implements CLIOptions<EthProtocolConfiguration>
         OptionParser.format(maxGetNodeData.getValue()),
         MAX_GET_POOLED_TRANSACTIONS,
         OptionParser.format(maxGetPooledTransactions.getValue()),
+        ENCODED_BLOCK_CACHE_MAX_BYTES,
+        OptionParser.format(encodedBlockCacheMaxBytes),
         LEGACY_ETH_64_FORK_ID_ENABLED + "=" + legacyEth64ForkIdEnabled);
   }
 }
@@ -87,6 +87,12 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
 
   private static final String SNAP_SYNC_BFT_ENABLED_FLAG = "--Xsnapsync-bft-enabled";
 
+  private static final String DECOUPLED_BLOCK_DOWNLOAD_ENABLED_FLAG =
+      "--Xsynchronizer-decoupled-block-download-enabled";
+
+  private static final String VIRTUAL_THREADS_ENABLED_FLAG =
+      "--Xsynchronizer-virtual-threads-enabled";
+
   /**
    * Parse block propagation range.
    *
@@ -314,6 +320,25 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       description = "Snap sync enabled for BFT chains (default: ${DEFAULT-VALUE})")
   private Boolean snapsyncBftEnabled = SnapSyncConfiguration.DEFAULT_SNAP_SYNC_BFT_ENABLED;
 
+  @CommandLine.Option(
+      names = DECOUPLED_BLOCK_DOWNLOAD_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Download bodies and receipts at the same time during fast and checkpoint sync, and store the blocks in combined write batches (default: ${DEFAULT-VALUE})")
+  private Boolean decoupledBlockDownloadEnabled =
+      SynchronizerConfiguration.DEFAULT_DECOUPLED_BLOCK_DOWNLOAD_ENABLED;
+
+  @CommandLine.Option(
+      names = VIRTUAL_THREADS_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Run the sync worker tasks, that wait for peer responses, in virtual threads, keeping platform thread pools for the services, pipelines, transaction, computation and block creation tasks (default: ${DEFAULT-VALUE})")
+  private Boolean virtualThreadsEnabled = SynchronizerConfiguration.DEFAULT_VIRTUAL_THREADS_ENABLED;
+
   private SynchronizerOptions() {}
 
   /**
@@ -385,6 +410,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     options.checkpointPostMergeSyncEnabled = config.isCheckpointPostMergeEnabled();
     options.snapsyncServerEnabled = config.getSnapSyncConfiguration().isSnapServerEnabled();
     options.snapsyncBftEnabled = config.getSnapSyncConfiguration().isSnapSyncBftEnabled();
+    options.decoupledBlockDownloadEnabled = config.isDecoupledBlockDownloadEnabled();
+    options.virtualThreadsEnabled = config.isVirtualThreadsEnabled();
     return options;
   }
 
@@ -420,6 +447,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             .isSnapSyncBftEnabled(snapsyncBftEnabled)
             .build());
     builder.checkpointPostMergeEnabled(checkpointPostMergeSyncEnabled);
+    builder.decoupledBlockDownloadEnabled(decoupledBlockDownloadEnabled);
+    builder.virtualThreadsEnabled(virtualThreadsEnabled);
 
     return builder;
   }
@@ -477,7 +506,11 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             SNAP_SERVER_ENABLED_FLAG,
             OptionParser.format(snapsyncServerEnabled),
             SNAP_SYNC_BFT_ENABLED_FLAG,
-            OptionParser.format(snapsyncBftEnabled));
+            OptionParser.format(snapsyncBftEnabled),
+            DECOUPLED_BLOCK_DOWNLOAD_ENABLED_FLAG,
+            OptionParser.format(decoupledBlockDownloadEnabled),
+            VIRTUAL_THREADS_ENABLED_FLAG,
+            OptionParser.format(virtualThreadsEnabled));
     return value;
   }
 }
@@ -202,6 +202,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   protected Optional<BesuComponent> besuComponent = Optional.empty();
 
   private int numberOfBlocksToCache = 0;
+  private long maxCachedBlockDataBytes = DefaultBlockchain.DEFAULT_MAX_CACHED_BLOCK_DATA_BYTES;
 
   /** whether parallel transaction processing is enabled or not */
   protected boolean isParallelTxProcessingEnabled;
@@ -492,6 +493,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  /**
+   * Sets the maximum size in bytes of each of the cached block bodies and receipts.
+   *
+   * @param maxCachedBlockDataBytes the maximum size in bytes
+   * @return the besu controller builder
+   */
+  public BesuControllerBuilder cacheLastBlocksMaxBytes(final Long maxCachedBlockDataBytes) {
+    this.maxCachedBlockDataBytes = maxCachedBlockDataBytes;
+    return this;
+  }
+
   /**
    * sets the networkConfiguration in the builder
    *
@@ -579,7 +591,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             metricsSystem,
             reorgLoggingThreshold,
             dataDirectory.toString(),
-            numberOfBlocksToCache);
+            numberOfBlocksToCache,
+            maxCachedBlockDataBytes);
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
@@ -632,7 +645,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         new EthScheduler(
             syncConfig.getDownloaderParallelism(),
             syncConfig.getTransactionsParallelism(),
+            EthScheduler.TX_WORKER_CAPACITY,
             syncConfig.getComputationParallelism(),
+            syncConfig.isVirtualThreadsEnabled(),
             metricsSystem);
 
     Optional<Checkpoint> checkpoint = Optional.empty();
@@ -1048,7 +1063,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         mergePeerFilter,
         synchronizerConfiguration,
         scheduler,
-        forkIdManager);
+        forkIdManager,
+        metricsSystem);
   }
 
   /**
@@ -1119,12 +1135,14 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
                 KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE)),
         chainPrunerConfiguration.getChainPruningBlocksRetained(),
         chainPrunerConfiguration.getChainPruningBlocksFrequency(),
+        chainPrunerConfiguration.getChainPruningBlocksPerBatch(),
         MonitoredExecutors.newBoundedThreadPool(
             ChainDataPruner.class.getSimpleName(),
             1,
             1,
             ChainDataPruner.MAX_PRUNING_THREAD_QUEUE_SIZE,
-            metricsSystem));
+            metricsSystem),
+        metricsSystem);
   }
 
   /**
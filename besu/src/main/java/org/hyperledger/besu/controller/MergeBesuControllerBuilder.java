@@ -23,6 +23,8 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
+import org.hyperledger.besu.ethereum.blockcreation.BlockCreationProfiler;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSpeculator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
@@ -167,7 +169,38 @@ public class MergeBesuControllerBuilder extends BesuControllerBuilder {
         transactionPool,
         miningParameters,
         backwardSyncContext,
-        depositContractAddress);
+        depositContractAddress,
+        createTransactionSpeculator(
+            protocolContext, transactionPool, miningParameters, ethScheduler),
+        createBlockCreationProfiler(miningParameters));
+  }
+
+  private Optional<BlockCreationProfiler> createBlockCreationProfiler(
+      final MiningParameters miningParameters) {
+    if (!miningParameters.getUnstable().isBlockCreationProfilingEnabled()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new BlockCreationProfiler(
+            metricsSystem, miningParameters.getUnstable().getBlockCreationProfilingDumpFile()));
+  }
+
+  private Optional<TransactionSpeculator> createTransactionSpeculator(
+      final ProtocolContext protocolContext,
+      final TransactionPool transactionPool,
+      final MiningParameters miningParameters,
+      final EthScheduler ethScheduler) {
+    if (!miningParameters.getUnstable().isPosSpeculativeExecutionEnabled()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new TransactionSpeculator(
+            transactionPool,
+            protocolContext.getWorldStateArchive(),
+            protocolContext.getBlockchain(),
+            ethScheduler,
+            metricsSystem,
+            miningParameters.getUnstable().getPosSpeculativeExecutionMaxTransactions()));
   }
 
   @Override
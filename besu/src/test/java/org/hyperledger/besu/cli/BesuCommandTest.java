@@ -2465,6 +2465,22 @@ public class BesuCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void cacheLastBlocksMaxBytesOptionShouldWork() {
+    final long maxCachedBlockDataBytes = 64L * 1024 * 1024;
+    parseCommand(
+        "--cache-last-blocks",
+        "512",
+        "--cache-last-blocks-max-bytes",
+        String.valueOf(maxCachedBlockDataBytes));
+    verify(mockControllerBuilder).cacheLastBlocksMaxBytes(longArgumentCaptor.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(longArgumentCaptor.getValue()).isEqualTo(maxCachedBlockDataBytes);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
   @Test
   public void genesisStateHashCacheEnabledShouldWork() throws IOException {
     final Path genesisFile = createFakeGenesisFile(GENESIS_VALID_JSON);
@@ -164,6 +164,18 @@ public class EthProtocolOptionsTest
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void parsesValidEncodedBlockCacheMaxBytes() {
+    final TestBesuCommand cmd = parseCommand("--Xewp-encoded-block-cache-max-bytes", "0");
+
+    final EthProtocolOptions options = getOptionsFromBesuCommand(cmd);
+    final EthProtocolConfiguration config = options.toDomainObject();
+    assertThat(config.getEncodedBlockCacheMaxBytes()).isZero();
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
   @Override
   protected EthProtocolConfiguration createDefaultDomainObject() {
     return EthProtocolConfiguration.builder().build();
@@ -180,6 +192,8 @@ public class EthProtocolOptionsTest
         .maxGetPooledTransactions(EthProtocolConfiguration.DEFAULT_MAX_GET_POOLED_TRANSACTIONS + 2)
         .maxEthCapability(EthProtocolConfiguration.DEFAULT_MAX_CAPABILITY)
         .minEthCapability(EthProtocolConfiguration.DEFAULT_MIN_CAPABILITY)
+        .encodedBlockCacheMaxBytes(
+            EthProtocolConfiguration.DEFAULT_ENCODED_BLOCK_CACHE_MAX_BYTES * 2)
         .build();
   }
 
@@ -312,6 +312,48 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningParameters,
         "17000");
   }
 
+  @Test
+  public void posSpeculativeExecutionOptions() {
+    internalTestSuccess(
+        miningParams -> {
+          assertThat(miningParams.getUnstable().isPosSpeculativeExecutionEnabled()).isTrue();
+          assertThat(miningParams.getUnstable().getPosSpeculativeExecutionMaxTransactions())
+              .isEqualTo(64);
+        },
+        "--Xpos-speculative-execution-enabled",
+        "--Xpos-speculative-execution-max-transactions",
+        "64");
+  }
+
+  @Test
+  public void posSpeculativeExecutionMaxTransactionsMustBePositive() {
+    internalTestFailure(
+        "--Xpos-speculative-execution-max-transactions must be positive",
+        "--Xpos-speculative-execution-max-transactions",
+        "0");
+  }
+
+  @Test
+  public void parallelTxsSelectionEnabled() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().isParallelTxsSelectionEnabled()).isTrue(),
+        "--Xblock-txs-selection-parallel-enabled");
+  }
+
+  @Test
+  public void blockCreationProfilingOptions() {
+    internalTestSuccess(
+        miningParams -> {
+          assertThat(miningParams.getUnstable().isBlockCreationProfilingEnabled()).isTrue();
+          assertThat(miningParams.getUnstable().getBlockCreationProfilingDumpFile())
+              .contains(Path.of("/tmp/block-creation.jsonl"));
+        },
+        "--Xblock-creation-profiling-enabled",
+        "--Xblock-creation-profiling-dump-file",
+        "/tmp/block-creation.jsonl");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
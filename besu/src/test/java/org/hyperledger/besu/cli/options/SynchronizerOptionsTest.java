@@ -67,6 +67,8 @@ public class SynchronizerOptionsTest
         .downloaderParallelism(SynchronizerConfiguration.DEFAULT_DOWNLOADER_PARALLELISM + 2)
         .transactionsParallelism(SynchronizerConfiguration.DEFAULT_TRANSACTIONS_PARALLELISM + 2)
         .computationParallelism(SynchronizerConfiguration.DEFAULT_COMPUTATION_PARALLELISM + 2)
+        .decoupledBlockDownloadEnabled(true)
+        .virtualThreadsEnabled(true)
         .snapSyncConfiguration(
             ImmutableSnapSyncConfiguration.builder()
                 .pivotBlockWindowValidity(
@@ -130,6 +130,41 @@ public class TransactionPoolOptionsTest
         "--tx-pool-save-file=my.save.file");
   }
 
+  @Test
+  public void snapshotEnabledCustomPath() {
+    internalTestSuccess(
+        config -> {
+          assertThat(config.getUnstable().getSnapshotEnabled()).isTrue();
+          assertThat(config.getUnstable().getSnapshotFile()).hasName("my.snapshot.file");
+        },
+        "--Xtx-pool-snapshot-enabled",
+        "--Xtx-pool-snapshot-file=my.snapshot.file");
+  }
+
+  @Test
+  public void blobsOffHeapEnabled() {
+    internalTestSuccess(
+        config -> assertThat(config.getUnstable().getBlobsOffHeapEnabled()).isTrue(),
+        "--Xtx-pool-blobs-off-heap-enabled");
+  }
+
+  @Test
+  public void blobsOffHeapMaxBytes() {
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getBlobsOffHeapMaxBytes()).isEqualTo(268_435_456L),
+        "--Xtx-pool-blobs-off-heap-enabled",
+        "--Xtx-pool-blobs-off-heap-max-bytes=268435456");
+  }
+
+  @Test
+  public void memoryBudget() {
+    internalTestSuccess(
+        config -> assertThat(config.getUnstable().getMemoryBudgetBytes()).isEqualTo(500_000_000L),
+        "--Xtx-pool-memory-budget=500000000",
+        "--tx-pool=layered");
+  }
+
   @Test
   public void senderLimited_derived() {
     internalTestSuccess(
@@ -16,6 +16,8 @@ package org.hyperledger.besu.consensus.merge.blockcreation;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.AbstractBlockCreator;
+import org.hyperledger.besu.ethereum.blockcreation.BlockCreationProfiler;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSpeculator;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
 import org.hyperledger.besu.ethereum.core.Difficulty;
@@ -45,6 +47,9 @@ class MergeBlockCreator extends AbstractBlockCreator {
    * @param protocolContext the protocol context
    * @param protocolSchedule the protocol schedule
    * @param parentHeader the parent header
+   * @param ethScheduler the scheduler for asynchronous block creation tasks
+   * @param maybeTransactionSpeculator the optional speculator of pending transactions
+   * @param maybeBlockCreationProfiler the optional profiler of the block creation
    */
   public MergeBlockCreator(
       final MiningParameters miningParameters,
@@ -53,7 +58,9 @@ class MergeBlockCreator extends AbstractBlockCreator {
       final ProtocolContext protocolContext,
       final ProtocolSchedule protocolSchedule,
       final BlockHeader parentHeader,
-      final EthScheduler ethScheduler) {
+      final EthScheduler ethScheduler,
+      final Optional<TransactionSpeculator> maybeTransactionSpeculator,
+      final Optional<BlockCreationProfiler> maybeBlockCreationProfiler) {
     super(
         miningParameters,
         __ -> miningParameters.getCoinbase().orElseThrow(),
@@ -62,7 +69,9 @@ class MergeBlockCreator extends AbstractBlockCreator {
         protocolContext,
         protocolSchedule,
         parentHeader,
-        ethScheduler);
+        ethScheduler,
+        maybeTransactionSpeculator,
+        maybeBlockCreationProfiler);
   }
 
   /**
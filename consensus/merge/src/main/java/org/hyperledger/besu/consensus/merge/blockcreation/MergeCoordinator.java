@@ -25,6 +25,8 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreator.BlockCreationResult;
+import org.hyperledger.besu.ethereum.blockcreation.BlockCreationProfiler;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSpeculator;
 import org.hyperledger.besu.ethereum.chain.BadBlockCause;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -123,6 +125,42 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final MiningParameters miningParams,
       final BackwardSyncContext backwardSyncContext,
       final Optional<Address> depositContractAddress) {
+    this(
+        protocolContext,
+        protocolSchedule,
+        ethScheduler,
+        transactionPool,
+        miningParams,
+        backwardSyncContext,
+        depositContractAddress,
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  /**
+   * Instantiates a new Merge coordinator.
+   *
+   * @param protocolContext the protocol context
+   * @param protocolSchedule the protocol schedule
+   * @param ethScheduler the block builder executor
+   * @param transactionPool the pending transactions
+   * @param miningParams the mining params
+   * @param backwardSyncContext the backward sync context
+   * @param depositContractAddress the address of the deposit contract
+   * @param maybeTransactionSpeculator the optional speculator of pending transactions, shared by
+   *     all the block creators
+   * @param maybeBlockCreationProfiler the optional profiler of the block creation
+   */
+  public MergeCoordinator(
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final EthScheduler ethScheduler,
+      final TransactionPool transactionPool,
+      final MiningParameters miningParams,
+      final BackwardSyncContext backwardSyncContext,
+      final Optional<Address> depositContractAddress,
+      final Optional<TransactionSpeculator> maybeTransactionSpeculator,
+      final Optional<BlockCreationProfiler> maybeBlockCreationProfiler) {
     this.protocolContext = protocolContext;
     this.protocolSchedule = protocolSchedule;
     this.ethScheduler = ethScheduler;
@@ -149,7 +187,9 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
               protocolContext,
               protocolSchedule,
               parentHeader,
-              ethScheduler);
+              ethScheduler,
+              maybeTransactionSpeculator,
+              maybeBlockCreationProfiler);
         };
 
     this.backwardSyncContext.subscribeBadChainListener(this);
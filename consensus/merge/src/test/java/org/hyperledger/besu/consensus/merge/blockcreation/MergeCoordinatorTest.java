@@ -275,7 +275,9 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
                       protocolContext,
                       protocolSchedule,
                       parentHeader,
-                      ethScheduler));
+                      ethScheduler,
+                      Optional.empty(),
+                      Optional.empty()));
 
           doCallRealMethod()
               .doCallRealMethod()
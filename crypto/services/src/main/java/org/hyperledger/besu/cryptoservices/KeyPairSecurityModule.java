@@ -60,6 +60,15 @@ public class KeyPairSecurityModule implements SecurityModule {
     }
   }
 
+  /**
+   * Gets the key pair.
+   *
+   * @return the key pair
+   */
+  public KeyPair getKeyPair() {
+    return keyPair;
+  }
+
   @Override
   public Signature sign(final Bytes32 dataHash) throws SecurityModuleException {
     try {
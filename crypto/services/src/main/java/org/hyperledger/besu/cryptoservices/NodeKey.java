@@ -15,6 +15,7 @@
 package org.hyperledger.besu.cryptoservices;
 
 import org.hyperledger.besu.crypto.ECPointUtil;
+import org.hyperledger.besu.crypto.SECPPrivateKey;
 import org.hyperledger.besu.crypto.SECPPublicKey;
 import org.hyperledger.besu.crypto.SECPSignature;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
@@ -22,6 +23,8 @@ import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.plugin.services.securitymodule.SecurityModule;
 import org.hyperledger.besu.plugin.services.securitymodule.data.Signature;
 
+import java.util.Optional;
+
 import org.apache.tuweni.bytes.Bytes32;
 
 /** The Node key. */
@@ -62,6 +65,19 @@ public class NodeKey {
         ECPointUtil.getEncodedBytes(securityModule.getPublicKey().getW()));
   }
 
+  /**
+   * Gets the private key, only when it is held in memory by a {@link KeyPairSecurityModule}, for
+   * the protocols whose libraries need the key itself instead of signing through the security
+   * module.
+   *
+   * @return the private key, or empty if the security module does not expose it
+   */
+  public Optional<SECPPrivateKey> getPrivateKey() {
+    return securityModule instanceof KeyPairSecurityModule keyPairSecurityModule
+        ? Optional.of(keyPairSecurityModule.getKeyPair().getPrivateKey())
+        : Optional.empty();
+  }
+
   /**
    * Calculate ecdh key agreement.
    *
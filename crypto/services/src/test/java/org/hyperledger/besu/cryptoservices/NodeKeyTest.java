@@ -17,6 +17,9 @@ package org.hyperledger.besu.cryptoservices;
 import org.hyperledger.besu.crypto.KeyPair;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.plugin.services.securitymodule.SecurityModule;
+import org.hyperledger.besu.plugin.services.securitymodule.data.PublicKey;
+import org.hyperledger.besu.plugin.services.securitymodule.data.Signature;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -51,4 +54,31 @@ public class NodeKeyTest {
     Assertions.assertThat(nodeKey.getPublicKey().getEncodedBytes())
         .isEqualByComparingTo(keyPairPubKey);
   }
+
+  @Test
+  public void privateKeyIsOnlyExposedByKeyPairSecurityModule() {
+    final KeyPair keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+    final KeyPairSecurityModule keyPairSecurityModule = new KeyPairSecurityModule(keyPair);
+    final SecurityModule otherSecurityModule =
+        new SecurityModule() {
+          @Override
+          public Signature sign(final Bytes32 dataHash) {
+            return keyPairSecurityModule.sign(dataHash);
+          }
+
+          @Override
+          public PublicKey getPublicKey() {
+            return keyPairSecurityModule.getPublicKey();
+          }
+
+          @Override
+          public Bytes32 calculateECDHKeyAgreement(final PublicKey partyKey) {
+            return keyPairSecurityModule.calculateECDHKeyAgreement(partyKey);
+          }
+        };
+
+    Assertions.assertThat(new NodeKey(keyPairSecurityModule).getPrivateKey())
+        .contains(keyPair.getPrivateKey());
+    Assertions.assertThat(new NodeKey(otherSecurityModule).getPrivateKey()).isEmpty();
+  }
 }
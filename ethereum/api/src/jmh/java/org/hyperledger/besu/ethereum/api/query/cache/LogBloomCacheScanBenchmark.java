@@ -0,0 +1,135 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Compares per record bloom reads with the mapped, parallel segment scan. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LogBloomCacheScanBenchmark {
+
+  @Param({"1", "8"})
+  public int segments;
+
+  private Path cacheDir;
+  private LogsQuery query;
+
+  @Setup
+  public void prepare() throws Exception {
+    cacheDir = Files.createTempDirectory("log-bloom-benchmark");
+    final Random random = new Random(42);
+    final byte[] record = new byte[BLOOM_BITS_LENGTH];
+    for (int segment = 0; segment < segments; segment++) {
+      try (final OutputStream out =
+          Files.newOutputStream(cacheDir.resolve("logBloom-" + segment + ".cache"))) {
+        for (int block = 0; block < BLOCKS_PER_BLOOM_CACHE; block++) {
+          // a block with a handful of logs sets a few dozen bits of the bloom
+          final LogsBloomFilter.Builder bloom = LogsBloomFilter.builder();
+          for (int log = 0; log < 8; log++) {
+            random.nextBytes(record);
+            bloom.insertBytes(Bytes.wrap(record, 0, Address.SIZE));
+          }
+          out.write(bloom.build().toArrayUnsafe());
+        }
+      }
+    }
+    query =
+        new LogsQuery(
+            List.of(Address.fromHexString("0x8320fe7702b96808f7bbc0d4a888ed1468216cfd")),
+            List.of());
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    MoreFiles.deleteRecursively(cacheDir, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Benchmark
+  public long randomAccessFileScan() throws Exception {
+    long matches = 0;
+    final byte[] bloomBuff = new byte[BLOOM_BITS_LENGTH];
+    final LogsBloomFilter logsBloom = new LogsBloomFilter(Bytes.wrap(bloomBuff));
+    for (int segment = 0; segment < segments; segment++) {
+      try (final RandomAccessFile raf =
+          new RandomAccessFile(cacheDir.resolve("logBloom-" + segment + ".cache").toFile(), "r")) {
+        for (int block = 0; block < BLOCKS_PER_BLOOM_CACHE; block++) {
+          raf.readFully(bloomBuff);
+          if (query.couldMatch(logsBloom)) {
+            matches++;
+          }
+        }
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public long mappedScan() throws Exception {
+    long matches = 0;
+    for (int segment = 0; segment < segments; segment++) {
+      matches += scanSegment(segment);
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public long parallelMappedScan() {
+    return IntStream.range(0, segments).parallel().mapToLong(this::scanSegment).sum();
+  }
+
+  private long scanSegment(final int segment) {
+    try {
+      return LogBloomCacheScanner.scan(
+              cacheDir.resolve("logBloom-" + segment + ".cache"),
+              0,
+              BLOCKS_PER_BLOOM_CACHE - 1,
+              query.bloomMatcher(),
+              () -> true)
+          .matchingOffsets()
+          .length;
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
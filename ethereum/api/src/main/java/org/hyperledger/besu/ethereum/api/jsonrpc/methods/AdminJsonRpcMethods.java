@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AdminLogsRepai
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AdminNodeInfo;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AdminPeers;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AdminRemovePeer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AdminStorageStatistics;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.PluginsReloadConfiguration;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
@@ -31,6 +32,7 @@ import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.network.P2PNetwork;
 import org.hyperledger.besu.ethereum.p2p.peers.EnodeDnsConfiguration;
+import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.nat.NatService;
 import org.hyperledger.besu.plugin.BesuPlugin;
 
@@ -50,6 +52,7 @@ public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
   private final EthPeers ethPeers;
   private final Optional<EnodeDnsConfiguration> enodeDnsConfiguration;
   private final ProtocolSchedule protocolSchedule;
+  private final StorageProvider storageProvider;
 
   public AdminJsonRpcMethods(
       final String clientVersion,
@@ -61,7 +64,8 @@ public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
       final NatService natService,
       final EthPeers ethPeers,
       final Optional<EnodeDnsConfiguration> enodeDnsConfiguration,
-      final ProtocolSchedule protocolSchedule) {
+      final ProtocolSchedule protocolSchedule,
+      final StorageProvider storageProvider) {
     this.clientVersion = clientVersion;
     this.networkId = networkId;
     this.genesisConfigOptions = genesisConfigOptions;
@@ -72,6 +76,7 @@ public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
     this.ethPeers = ethPeers;
     this.enodeDnsConfiguration = enodeDnsConfiguration;
     this.protocolSchedule = protocolSchedule;
+    this.storageProvider = storageProvider;
   }
 
   @Override
@@ -97,6 +102,7 @@ public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
         new AdminGenerateLogBloomCache(blockchainQueries),
         new AdminLogsRepairCache(blockchainQueries),
         new AdminLogsRemoveCache(blockchainQueries),
+        new AdminStorageStatistics(storageProvider),
         new PluginsReloadConfiguration(namedPlugins));
   }
 }
@@ -23,6 +23,8 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.LogBloomCacheScanner;
+import org.hyperledger.besu.ethereum.api.query.cache.LogBloomCacheScanner.SegmentScan;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
@@ -41,19 +43,19 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
-import org.hyperledger.besu.evm.log.LogsBloomFilter;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -69,6 +71,8 @@ import org.slf4j.LoggerFactory;
 
 public class BlockchainQueries {
   private static final Logger LOG = LoggerFactory.getLogger(BlockchainQueries.class);
+  // the cached segments scanned ahead of the one whose matching blocks are being read
+  private static final int MAX_SEGMENT_SCANS_AHEAD = 4;
 
   private final ProtocolSchedule protocolSchedule;
   private final WorldStateArchive worldStateArchive;
@@ -746,41 +750,36 @@ public class BlockchainQueries {
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
     try {
-      final List<LogWithMetadata> result = new ArrayList<>();
       final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
       final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      long currentStep = fromBlockNumber;
-      for (long segment = startSegment; segment <= endSegment; segment++) {
-        final long thisSegment = segment;
-        final long thisStep = currentStep;
-        final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
-        BackendQuery.stopIfExpired(isQueryAlive);
-        result.addAll(
-            cachePath
-                .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
-                .filter(Files::isRegularFile)
-                .map(
-                    cacheFile -> {
-                      try {
-                        return matchingLogsCached(
-                            thisSegment * BLOCKS_PER_BLOOM_CACHE,
-                            thisStep % BLOCKS_PER_BLOOM_CACHE,
-                            Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
-                            query,
-                            cacheFile,
-                            isQueryAlive);
-                      } catch (final Exception e) {
-                        throw new RuntimeException(e);
-                      }
-                    })
-                .orElseGet(
-                    () ->
-                        matchingLogsUncached(
-                            thisStep,
-                            Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
-                            query,
-                            isQueryAlive)));
-        currentStep = nextStep;
+      // reading the cached blooms of a segment is file I/O, so the next few segments are scanned
+      // on the computation pool while the matching blocks of the current one are read in order
+      final Deque<CompletableFuture<Optional<SegmentScan>>> segmentScans = new ArrayDeque<>();
+      long nextSegmentToScan = startSegment;
+      final List<LogWithMetadata> result = new ArrayList<>();
+      try {
+        for (long segment = startSegment; segment <= endSegment; segment++) {
+          while (nextSegmentToScan <= endSegment
+              && nextSegmentToScan <= segment + MAX_SEGMENT_SCANS_AHEAD) {
+            segmentScans.add(
+                scheduleSegmentScan(
+                    nextSegmentToScan++, fromBlockNumber, toBlockNumber, query, isQueryAlive));
+          }
+          final long segmentStart = segment * BLOCKS_PER_BLOOM_CACHE;
+          final long fromBlock = Math.max(fromBlockNumber, segmentStart);
+          final long toBlock = Math.min(toBlockNumber, segmentStart + BLOCKS_PER_BLOOM_CACHE - 1);
+          BackendQuery.stopIfExpired(isQueryAlive);
+          final Optional<SegmentScan> maybeScan = segmentScans.poll().get();
+          if (maybeScan.isPresent()) {
+            result.addAll(
+                matchingLogsCached(segmentStart, toBlock, maybeScan.get(), query, isQueryAlive));
+          } else {
+            result.addAll(matchingLogsUncached(fromBlock, toBlock, query, isQueryAlive));
+          }
+        }
+      } finally {
+        // scans not started yet are skipped
+        segmentScans.forEach(scan -> scan.cancel(false));
       }
       return result;
     } catch (final Exception e) {
@@ -788,6 +787,58 @@ public class BlockchainQueries {
     }
   }
 
+  private CompletableFuture<Optional<SegmentScan>> scheduleSegmentScan(
+      final long segment,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
+    if (cachePath.isEmpty()) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    final Supplier<Optional<SegmentScan>> scan =
+        () ->
+            isQueryAlive.get()
+                ? scanCachedSegment(
+                    segment,
+                    Math.max(fromBlockNumber, segment * BLOCKS_PER_BLOOM_CACHE),
+                    Math.min(toBlockNumber, (segment + 1) * BLOCKS_PER_BLOOM_CACHE - 1),
+                    query,
+                    isQueryAlive)
+                : Optional.empty();
+    return ethScheduler
+        .map(scheduler -> scheduler.scheduleComputationTask(scan))
+        .orElseGet(() -> CompletableFuture.completedFuture(scan.get()));
+  }
+
+  private Optional<SegmentScan> scanCachedSegment(
+      final long segment,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
+    return cachePath
+        .map(path -> path.resolve("logBloom-" + segment + ".cache"))
+        .filter(Files::isRegularFile)
+        .flatMap(
+            cacheFile -> {
+              try {
+                return Optional.of(
+                    LogBloomCacheScanner.scan(
+                        cacheFile,
+                        fromBlockNumber % BLOCKS_PER_BLOOM_CACHE,
+                        toBlockNumber % BLOCKS_PER_BLOOM_CACHE,
+                        query.bloomMatcher(),
+                        isQueryAlive));
+              } catch (final IOException e) {
+                LOG.error("Error reading cached log blooms", e);
+                return Optional.empty();
+              } catch (final Exception e) {
+                throw new RuntimeException(e);
+              }
+            });
+  }
+
   private List<LogWithMetadata> matchingLogsUncached(
       final long fromBlockNumber,
       final long toBlockNumber,
@@ -808,40 +859,24 @@ public class BlockchainQueries {
 
   private List<LogWithMetadata> matchingLogsCached(
       final long segmentStart,
-      final long offset,
-      final long endOffset,
+      final long toBlockNumber,
+      final SegmentScan scan,
       final LogsQuery query,
-      final Path cacheFile,
       final Supplier<Boolean> isQueryAlive)
       throws Exception {
     final List<LogWithMetadata> results = new ArrayList<>();
-    try (final RandomAccessFile raf = new RandomAccessFile(cacheFile.toFile(), "r")) {
-      raf.seek(offset * 256);
-      final byte[] bloomBuff = new byte[256];
-      final Bytes bytesValue = Bytes.wrap(bloomBuff);
-      for (long pos = offset; pos <= endOffset; pos++) {
-        BackendQuery.stopIfExpired(isQueryAlive);
-        try {
-          raf.readFully(bloomBuff);
-        } catch (final EOFException e) {
-          results.addAll(
-              matchingLogsUncached(
-                  segmentStart + pos, segmentStart + endOffset, query, isQueryAlive));
-          break;
-        }
-        final LogsBloomFilter logsBloom = new LogsBloomFilter(bytesValue);
-        if (query.couldMatch(logsBloom)) {
-          results.addAll(
-              matchingLogs(
-                  blockchain.getBlockHashByNumber(segmentStart + pos).orElseThrow(),
-                  query,
-                  isQueryAlive));
-        }
-      }
-    } catch (final IOException e) {
-      e.printStackTrace(System.out);
-      LOG.error("Error reading cached log blooms", e);
+    for (final long offset : scan.matchingOffsets()) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      results.addAll(
+          matchingLogs(
+              blockchain.getBlockHashByNumber(segmentStart + offset).orElseThrow(),
+              query,
+              isQueryAlive));
     }
+    // blocks past the end of the cache file have not been cached yet
+    results.addAll(
+        matchingLogsUncached(
+            segmentStart + scan.uncachedFrom(), toBlockNumber, query, isQueryAlive));
     return results;
   }
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates {@link LogsQuery#couldMatch(LogsBloomFilter)} directly against raw, big-endian log
+ * bloom records, without materialising a {@link LogsBloomFilter} per block.
+ *
+ * <p>Each address or topic bloom sets at most three bits, so it is compiled into a short list of
+ * (word index, mask) pairs and a block bloom is checked with one AND per non-zero word.
+ */
+public final class LogsBloomMatcher {
+
+  /** Number of 64-bit words in a single log bloom record. */
+  public static final int WORDS_PER_BLOOM = LogsBloomFilter.BYTE_SIZE / Long.BYTES;
+
+  private final long[][] addressMasks;
+  private final long[][][] topicsMasks;
+
+  LogsBloomMatcher(
+      final List<LogsBloomFilter> addressBlooms, final List<List<LogsBloomFilter>> topicsBlooms) {
+    this.addressMasks = compile(addressBlooms);
+    this.topicsMasks =
+        topicsBlooms.stream().map(LogsBloomMatcher::compile).toArray(long[][][]::new);
+  }
+
+  /**
+   * Checks whether the bloom record at the given index of the buffer could match the query.
+   *
+   * @param blooms consecutive 256 byte bloom records viewed as big-endian longs
+   * @param index the index of the record in the buffer
+   * @return true if the logs of the block could match the query
+   */
+  public boolean couldMatch(final LongBuffer blooms, final int index) {
+    final int base = index * WORDS_PER_BLOOM;
+    if (addressMasks.length > 0 && !anyContained(addressMasks, blooms, base)) {
+      return false;
+    }
+    for (final long[][] topicMasks : topicsMasks) {
+      if (topicMasks.length > 0 && !anyContained(topicMasks, blooms, base)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean anyContained(
+      final long[][] alternatives, final LongBuffer blooms, final int base) {
+    for (final long[] masks : alternatives) {
+      if (contained(masks, blooms, base)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean contained(final long[] masks, final LongBuffer blooms, final int base) {
+    for (int i = 0; i < masks.length; i += 2) {
+      final long mask = masks[i + 1];
+      if ((blooms.get(base + (int) masks[i]) & mask) != mask) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long[][] compile(final List<LogsBloomFilter> blooms) {
+    return blooms.stream().map(LogsBloomMatcher::compile).toArray(long[][]::new);
+  }
+
+  private static long[] compile(final LogsBloomFilter bloom) {
+    final long[] masks = new long[WORDS_PER_BLOOM * 2];
+    int size = 0;
+    for (int word = 0; word < WORDS_PER_BLOOM; word++) {
+      final long mask = bloom.getLong(word * Long.BYTES);
+      if (mask != 0) {
+        masks[size++] = word;
+        masks[size++] = mask;
+      }
+    }
+    return Arrays.copyOf(masks, size);
+  }
+}
@@ -42,6 +42,7 @@ public class LogsQuery {
   private final List<List<LogTopic>> topics;
   private final List<LogsBloomFilter> addressBlooms;
   private final List<List<LogsBloomFilter>> topicsBlooms;
+  private final LogsBloomMatcher bloomMatcher;
 
   @JsonCreator
   public LogsQuery(
@@ -73,6 +74,11 @@ public class LogsQuery {
                         .map(logTopic -> LogsBloomFilter.builder().insertBytes(logTopic).build())
                         .collect(Collectors.toList()))
             .collect(toUnmodifiableList());
+    this.bloomMatcher = new LogsBloomMatcher(addressBlooms, topicsBlooms);
+  }
+
+  public LogsBloomMatcher bloomMatcher() {
+    return bloomMatcher;
   }
 
   public boolean couldMatch(final LogsBloomFilter bloom) {
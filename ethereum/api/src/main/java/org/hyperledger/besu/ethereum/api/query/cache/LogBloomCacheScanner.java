@@ -0,0 +1,144 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
+
+import org.hyperledger.besu.ethereum.api.query.BackendQuery;
+import org.hyperledger.besu.ethereum.api.query.LogsBloomMatcher;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Scans a single log bloom cache segment file for blocks that could match a query.
+ *
+ * <p>Complete segments are memory mapped, {@link TransactionLogBloomCacher} never shrinks a segment
+ * in place but replaces it atomically, so a mapping stays valid. The segment at the head of the
+ * chain is still appended to in place, so it is read in fixed size chunks instead.
+ */
+public final class LogBloomCacheScanner {
+
+  static final long COMPLETE_SEGMENT_SIZE = (long) BLOCKS_PER_BLOOM_CACHE * BLOOM_BITS_LENGTH;
+  static final int RECORDS_PER_CHUNK = 4096;
+
+  private LogBloomCacheScanner() {}
+
+  /**
+   * Scans the records between the two offsets, both inclusive, of the given cache file.
+   *
+   * @param cacheFile the segment cache file
+   * @param fromOffset the first record to scan, relative to the start of the segment
+   * @param toOffset the last record to scan, relative to the start of the segment
+   * @param matcher the compiled query
+   * @param isQueryAlive whether the backend query should stay alive
+   * @return the matching offsets and the first offset not covered by the cache file
+   * @throws Exception if the query expired
+   */
+  public static SegmentScan scan(
+      final Path cacheFile,
+      final long fromOffset,
+      final long toOffset,
+      final LogsBloomMatcher matcher,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+      final long fileSize = channel.size();
+      final long lastOffset = Math.min(toOffset, fileSize / BLOOM_BITS_LENGTH - 1);
+      final OffsetCollector matches = new OffsetCollector();
+      if (fileSize == COMPLETE_SEGMENT_SIZE) {
+        final LongBuffer blooms =
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).asLongBuffer();
+        scanRecords(blooms, 0, fromOffset, lastOffset, matcher, isQueryAlive, matches);
+      } else {
+        final ByteBuffer chunk = ByteBuffer.allocate(RECORDS_PER_CHUNK * BLOOM_BITS_LENGTH);
+        for (long chunkStart = fromOffset;
+            chunkStart <= lastOffset;
+            chunkStart += RECORDS_PER_CHUNK) {
+          final long chunkEnd = Math.min(lastOffset, chunkStart + RECORDS_PER_CHUNK - 1);
+          chunk.clear().limit((int) (chunkEnd - chunkStart + 1) * BLOOM_BITS_LENGTH);
+          long position = chunkStart * BLOOM_BITS_LENGTH;
+          while (chunk.hasRemaining()) {
+            final int read = channel.read(chunk, position);
+            if (read < 0) {
+              // the file shrank after we sized it, the rest of the range is treated as uncached
+              return new SegmentScan(matches.toArray(), chunkStart);
+            }
+            position += read;
+          }
+          chunk.flip();
+          scanRecords(
+              chunk.asLongBuffer(),
+              chunkStart,
+              chunkStart,
+              chunkEnd,
+              matcher,
+              isQueryAlive,
+              matches);
+        }
+      }
+      return new SegmentScan(matches.toArray(), Math.max(fromOffset, lastOffset + 1));
+    }
+  }
+
+  private static void scanRecords(
+      final LongBuffer blooms,
+      final long bufferStartOffset,
+      final long fromOffset,
+      final long toOffset,
+      final LogsBloomMatcher matcher,
+      final Supplier<Boolean> isQueryAlive,
+      final OffsetCollector matches)
+      throws Exception {
+    for (long offset = fromOffset; offset <= toOffset; offset++) {
+      if ((offset - fromOffset) % RECORDS_PER_CHUNK == 0) {
+        BackendQuery.stopIfExpired(isQueryAlive);
+      }
+      if (matcher.couldMatch(blooms, (int) (offset - bufferStartOffset))) {
+        matches.add(offset);
+      }
+    }
+  }
+
+  /**
+   * The result of scanning one segment.
+   *
+   * @param matchingOffsets the segment relative offsets of the blocks that could match, ascending
+   * @param uncachedFrom the first requested offset that was not present in the cache file
+   */
+  public record SegmentScan(long[] matchingOffsets, long uncachedFrom) {}
+
+  private static final class OffsetCollector {
+    private long[] offsets = new long[16];
+    private int size = 0;
+
+    void add(final long offset) {
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      offsets[size++] = offset;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(offsets, size);
+    }
+  }
+}
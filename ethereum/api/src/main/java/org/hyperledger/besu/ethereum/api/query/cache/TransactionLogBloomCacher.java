@@ -28,9 +28,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
@@ -113,7 +115,7 @@ public class TransactionLogBloomCacher {
                   blockHeader ->
                       cacheLogsBloomForBlockHeader(
                           blockHeader, Optional.empty(), Optional.of(cacheFile)));
-          fillCacheFile(blockNum, blockNum + BLOCKS_PER_BLOOM_CACHE, cacheFile);
+          fillCacheFileAtomically(blockNum, blockNum + BLOCKS_PER_BLOOM_CACHE, cacheFile);
         }
       } catch (final Exception e) {
         LOG.error("Unhandled caching exception", e);
@@ -126,6 +128,21 @@ public class TransactionLogBloomCacher {
     return cachingStatus;
   }
 
+  /**
+   * Complete segment files are memory mapped by readers, so they must never be truncated in place.
+   * The segment is written to a temporary file first and then moved over the existing one.
+   */
+  private void fillCacheFileAtomically(
+      final long startBlock, final long stopBlock, final File cacheFile) throws IOException {
+    final File tmpFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+    fillCacheFile(startBlock, stopBlock, tmpFile);
+    Files.move(
+        tmpFile.toPath(),
+        cacheFile.toPath(),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
   private void fillCacheFile(final long startBlock, final long stopBlock, final File currentFile)
       throws IOException {
     long blockNum = startBlock;
@@ -199,6 +216,8 @@ public class TransactionLogBloomCacher {
   private void cacheSingleBlock(
       final BlockHeader blockHeader, final File cacheFile, final boolean isCheckSizeNeeded)
       throws IOException, InvalidCacheException {
+    final long validCacheSize;
+    final boolean hasInvalidLogs;
     try (final RandomAccessFile writer = new RandomAccessFile(cacheFile, "rw")) {
 
       final long nbCachedBlocks = cacheFile.length() / BLOOM_BITS_LENGTH;
@@ -210,13 +229,40 @@ public class TransactionLogBloomCacher {
       writer.seek(offset);
       writer.write(ensureBloomBitsAreCorrectLength(blockHeader.getLogsBloom().toArray()));
 
-      // remove invalid logs when there was a reorg
-      final long validCacheSize = offset + BLOOM_BITS_LENGTH;
+      validCacheSize = offset + BLOOM_BITS_LENGTH;
+      hasInvalidLogs = writer.length() > validCacheSize;
+    }
 
-      if (writer.length() > validCacheSize) {
-        writer.setLength(validCacheSize);
+    // remove invalid logs when there was a reorg
+    if (hasInvalidLogs) {
+      truncateCacheFileAtomically(cacheFile, validCacheSize);
+    }
+  }
+
+  /**
+   * Readers may have the segment memory mapped, and shrinking a mapped file makes their reads fail,
+   * so the valid part of the segment is copied to a temporary file that replaces it.
+   */
+  private static void truncateCacheFileAtomically(final File cacheFile, final long length)
+      throws IOException {
+    final File tmpFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+    try (final FileChannel in = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ);
+        final FileChannel out =
+            FileChannel.open(
+                tmpFile.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+      long position = 0;
+      while (position < length) {
+        position += in.transferTo(position, length - position, out);
       }
     }
+    Files.move(
+        tmpFile.toPath(),
+        cacheFile.toPath(),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
   }
 
   private boolean populateLatestSegment(final long eventBlockNumber) {
@@ -0,0 +1,67 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.rpc.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.storage.StorageProvider;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AdminStorageStatisticsTest {
+
+  @Mock private StorageProvider storageProvider;
+  private AdminStorageStatistics method;
+
+  @BeforeEach
+  public void setUp() {
+    method = new AdminStorageStatistics(storageProvider);
+  }
+
+  @Test
+  public void shouldReturnExpectedMethodName() {
+    assertThat(method.getName()).isEqualTo("admin_storageStatistics");
+  }
+
+  @Test
+  public void shouldReturnStatisticsOfEachSegment() {
+    final Map<String, Map<String, String>> statistics =
+        Map.of(
+            "BLOCKCHAIN", Map.of("rocksdb.estimate-num-keys", "42"),
+            "TRIE_BRANCH_STORAGE", Map.of("rocksdb.estimate-num-keys", "7"));
+    when(storageProvider.getStorageStatistics()).thenReturn(statistics);
+
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(
+            new JsonRpcRequest("2.0", "admin_storageStatistics", new Object[] {}));
+    final JsonRpcResponse response = method.response(request);
+
+    assertThat(response)
+        .usingRecursiveComparison()
+        .isEqualTo(new JsonRpcSuccessResponse(request.getRequest().getId(), statistics));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class LogsBloomMatcherTest {
+
+  private static final Address FIRST_ADDRESS =
+      Address.fromHexString("8320fe7702b96808f7bbc0d4a888ed1468216cfd");
+  private static final Address SECOND_ADDRESS =
+      Address.fromHexString("9320fe7702b96808f7bbc0d4a888ed1468216cfd");
+  private static final LogTopic FIRST_ADDRESS_TOPIC =
+      LogTopic.fromHexString("0000000000000000000000008320fe7702b96808f7bbc0d4a888ed1468216cfd");
+  private static final LogTopic ERC20_TRANSFER_EVENT =
+      LogTopic.fromHexString("ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef");
+
+  private static final List<LogsBloomFilter> BLOOMS =
+      List.of(
+          LogsBloomFilter.empty(),
+          bloomOf(new Log(FIRST_ADDRESS, Bytes.EMPTY, List.of())),
+          bloomOf(new Log(SECOND_ADDRESS, Bytes.EMPTY, List.of(ERC20_TRANSFER_EVENT))),
+          bloomOf(
+              new Log(
+                  FIRST_ADDRESS, Bytes.EMPTY, List.of(ERC20_TRANSFER_EVENT, FIRST_ADDRESS_TOPIC))),
+          bloomOf(new Log(SECOND_ADDRESS, Bytes.EMPTY, List.of(FIRST_ADDRESS_TOPIC))));
+
+  @Test
+  public void matchesLikeLogsQueryForAllQueryShapes() {
+    final List<LogsQuery> queries =
+        List.of(
+            new LogsQuery(List.of(), List.of()),
+            new LogsQuery(List.of(FIRST_ADDRESS), List.of()),
+            new LogsQuery(List.of(FIRST_ADDRESS, SECOND_ADDRESS), List.of()),
+            new LogsQuery(List.of(), List.of(List.of(ERC20_TRANSFER_EVENT))),
+            new LogsQuery(
+                List.of(SECOND_ADDRESS),
+                List.of(List.of(ERC20_TRANSFER_EVENT), List.of(FIRST_ADDRESS_TOPIC))),
+            new LogsQuery(
+                List.of(FIRST_ADDRESS),
+                List.of(nullTopicList(), List.of(ERC20_TRANSFER_EVENT, FIRST_ADDRESS_TOPIC))));
+
+    final LongBuffer records = toRecords(BLOOMS);
+    for (final LogsQuery query : queries) {
+      for (int i = 0; i < BLOOMS.size(); i++) {
+        assertThat(query.bloomMatcher().couldMatch(records, i))
+            .describedAs("%s against bloom %d", query, i)
+            .isEqualTo(query.couldMatch(BLOOMS.get(i)));
+      }
+    }
+  }
+
+  @Test
+  public void addressNotInBloomDoesNotMatch() {
+    final LogsQuery query = new LogsQuery(List.of(SECOND_ADDRESS), List.of());
+    final LongBuffer records = toRecords(BLOOMS);
+
+    assertThat(query.bloomMatcher().couldMatch(records, 0)).isFalse();
+    assertThat(query.bloomMatcher().couldMatch(records, 1)).isFalse();
+    assertThat(query.bloomMatcher().couldMatch(records, 2)).isTrue();
+  }
+
+  private static List<LogTopic> nullTopicList() {
+    final List<LogTopic> topics = new ArrayList<>();
+    topics.add(null);
+    return topics;
+  }
+
+  private static LogsBloomFilter bloomOf(final Log log) {
+    return LogsBloomFilter.builder().insertLog(log).build();
+  }
+
+  private static LongBuffer toRecords(final List<LogsBloomFilter> blooms) {
+    final ByteBuffer buffer = ByteBuffer.allocate(blooms.size() * LogsBloomFilter.BYTE_SIZE);
+    blooms.forEach(bloom -> buffer.put(bloom.toArrayUnsafe()));
+    buffer.flip();
+    return buffer.asLongBuffer();
+  }
+}
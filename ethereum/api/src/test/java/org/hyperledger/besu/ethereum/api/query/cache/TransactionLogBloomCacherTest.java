@@ -34,8 +34,11 @@ import org.hyperledger.besu.evm.log.LogsBloomFilter;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -236,6 +239,31 @@ public class TransactionLogBloomCacherTest {
     assertThat(cacheDir.toFile().list().length).isEqualTo(1);
   }
 
+  @Test
+  public void reorgReplacesTheSegmentInsteadOfTruncatingIt() throws IOException {
+    final File logBloom = Files.createFile(cacheDir.resolve("logBloom-0.cache")).toFile();
+    final List<BlockHeader> blocks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      blocks.add(createBlock(i));
+    }
+    transactionLogBloomCacher.cacheLogsBloomForBlockHeader(
+        blocks.get(4), Optional.empty(), Optional.of(logBloom));
+
+    try (final FileChannel channel = FileChannel.open(logBloom.toPath(), StandardOpenOption.READ)) {
+      final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      transactionLogBloomCacher.cacheLogsBloomForBlockHeader(
+          blocks.get(1), Optional.empty(), Optional.of(logBloom));
+
+      assertThat(logBloom.length()).isEqualTo(BLOOM_BITS_LENGTH * 2);
+      // the mapping of the replaced file is still fully readable
+      final byte[] lastBloom = new byte[BLOOM_BITS_LENGTH];
+      mapped.get(BLOOM_BITS_LENGTH * 4, lastBloom);
+      assertThat(lastBloom).containsExactly(blocks.get(4).getLogsBloom().toArray());
+    }
+    assertThat(cacheDir.toFile().list()).containsExactly("logBloom-0.cache");
+  }
+
   private void createLogBloomCache(final File logBloom) throws IOException {
     try (final RandomAccessFile randomAccessFile = new RandomAccessFile(logBloom, "rws")) {
       writeThreeEntries(testLogsBloomFilter, randomAccessFile);
@@ -24,6 +24,7 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSelectionResults;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSpeculator;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -54,6 +55,7 @@ import org.hyperledger.besu.ethereum.mainnet.requests.ProcessRequestContext;
 import org.hyperledger.besu.ethereum.mainnet.requests.RequestProcessorCoordinator;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.securitymodule.SecurityModuleException;
@@ -90,6 +92,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   protected final BlockHeaderFunctions blockHeaderFunctions;
   protected final BlockHeader parentHeader;
   private final EthScheduler ethScheduler;
+  private final Optional<TransactionSpeculator> maybeTransactionSpeculator;
+  private final Optional<BlockCreationProfiler> maybeBlockCreationProfiler;
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
 
   protected AbstractBlockCreator(
@@ -101,6 +105,30 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final ProtocolSchedule protocolSchedule,
       final BlockHeader parentHeader,
       final EthScheduler ethScheduler) {
+    this(
+        miningParameters,
+        miningBeneficiaryCalculator,
+        extraDataCalculator,
+        transactionPool,
+        protocolContext,
+        protocolSchedule,
+        parentHeader,
+        ethScheduler,
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  protected AbstractBlockCreator(
+      final MiningParameters miningParameters,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+      final ExtraDataCalculator extraDataCalculator,
+      final TransactionPool transactionPool,
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final BlockHeader parentHeader,
+      final EthScheduler ethScheduler,
+      final Optional<TransactionSpeculator> maybeTransactionSpeculator,
+      final Optional<BlockCreationProfiler> maybeBlockCreationProfiler) {
     this.miningParameters = miningParameters;
     this.miningBeneficiaryCalculator = miningBeneficiaryCalculator;
     this.extraDataCalculator = extraDataCalculator;
@@ -109,6 +137,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     this.protocolSchedule = protocolSchedule;
     this.parentHeader = parentHeader;
     this.ethScheduler = ethScheduler;
+    this.maybeTransactionSpeculator = maybeTransactionSpeculator;
+    this.maybeBlockCreationProfiler = maybeBlockCreationProfiler;
     blockHeaderFunctions = ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
   }
 
@@ -226,6 +256,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
               pluginTransactionSelector);
       transactionResults.logSelectionStats();
       timings.register("txsSelection");
+      timings.registerSelectionTimings(transactionResults.getSelectionTimings());
       throwIfStopped();
 
       final Optional<WithdrawalsProcessor> maybeWithdrawalsProcessor =
@@ -237,6 +268,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             .get()
             .processWithdrawals(maybeWithdrawals.get(), disposableWorldState.updater());
       }
+      timings.register("withdrawals");
 
       throwIfStopped();
 
@@ -255,6 +287,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
       Optional<List<Request>> maybeRequests =
           requestProcessor.flatMap(processor -> processor.process(context));
+      timings.register("requests");
 
       throwIfStopped();
 
@@ -270,6 +303,7 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
         LOG.trace("Failed to apply mining reward, exiting.");
         throw new RuntimeException("Failed to apply mining reward.");
       }
+      timings.register("rewards");
 
       throwIfStopped();
 
@@ -277,15 +311,22 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
       throwIfStopped();
 
+      final Hash stateRoot = disposableWorldState.rootHash();
+      timings.register("stateRoot");
+      final Hash transactionsRoot =
+          BodyValidation.transactionsRoot(transactionResults.getSelectedTransactions());
+      final Hash receiptsRoot = BodyValidation.receiptsRoot(transactionResults.getReceipts());
+      final LogsBloomFilter logsBloom = BodyValidation.logsBloom(transactionResults.getReceipts());
+      timings.register("txsAndReceiptsRoots");
+
       BlockHeaderBuilder builder =
           BlockHeaderBuilder.create()
               .populateFrom(processableBlockHeader)
               .ommersHash(BodyValidation.ommersHash(ommers))
-              .stateRoot(disposableWorldState.rootHash())
-              .transactionsRoot(
-                  BodyValidation.transactionsRoot(transactionResults.getSelectedTransactions()))
-              .receiptsRoot(BodyValidation.receiptsRoot(transactionResults.getReceipts()))
-              .logsBloom(BodyValidation.logsBloom(transactionResults.getReceipts()))
+              .stateRoot(stateRoot)
+              .transactionsRoot(transactionsRoot)
+              .receiptsRoot(receiptsRoot)
+              .logsBloom(logsBloom)
               .gasUsed(transactionResults.getCumulativeGasUsed())
               .extraData(extraDataCalculator.get(parentHeader))
               .withdrawalsRoot(
@@ -310,10 +351,15 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
       operationTracer.traceEndBlock(blockHeader, blockBody);
       timings.register("blockAssembled");
+      recordProfile(timings, "created");
       return new BlockCreationResult(block, transactionResults, timings);
     } catch (final SecurityModuleException ex) {
       throw new IllegalStateException("Failed to create block signature", ex);
-    } catch (final CancellationException | StorageException ex) {
+    } catch (final CancellationException ex) {
+      timings.end("cancelled");
+      recordProfile(timings, "cancelled");
+      throw ex;
+    } catch (final StorageException ex) {
       throw ex;
     } catch (final Exception ex) {
       throw new IllegalStateException(
@@ -321,6 +367,11 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     }
   }
 
+  private void recordProfile(final BlockCreationTiming timings, final String outcome) {
+    maybeBlockCreationProfiler.ifPresent(
+        profiler -> profiler.record(parentHeader.getNumber() + 1, timings, outcome));
+  }
+
   record GasUsage(BlobGas excessBlobGas, BlobGas used) {}
 
   private GasUsage computeExcessBlobGas(
@@ -361,6 +412,15 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             .getFeeMarket()
             .blobGasPricePerGas(calculateExcessBlobGasForParent(protocolSpec, parentHeader));
 
+    maybeTransactionSpeculator.ifPresent(
+        speculator ->
+            speculator.onBlockCreation(
+                parentHeader,
+                processableBlockHeader,
+                miningBeneficiary,
+                blobGasPrice,
+                transactionProcessor));
+
     final BlockTransactionSelector selector =
         new BlockTransactionSelector(
             miningParameters,
@@ -378,7 +438,8 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
             protocolSpec.getGasLimitCalculator(),
             protocolSpec.getBlockHashProcessor(),
             pluginTransactionSelector,
-            ethScheduler);
+            ethScheduler,
+            maybeTransactionSpeculator);
 
     if (transactions.isPresent()) {
       return selector.evaluateTransactions(transactions.get());
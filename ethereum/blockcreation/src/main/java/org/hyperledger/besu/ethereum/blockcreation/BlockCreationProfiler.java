@@ -0,0 +1,222 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SelectionTimings;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.prometheus.client.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records where the time goes while creating blocks, to find slow phases, plugin selectors and
+ * transactions in production.
+ *
+ * <p>For every block creation, completed or cancelled, the duration of each phase of the creation
+ * and the time spent by each transaction selector, per stage, are added to Prometheus histograms,
+ * when the Prometheus metrics system is in use. Optionally, a record for every block creation is
+ * appended as a JSON line to a dump file, with the same data and the slowest transactions. The
+ * dump is written by a background thread, so block creation never waits on the disk, and records
+ * are dropped if the writer falls too far behind.
+ */
+public class BlockCreationProfiler {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockCreationProfiler.class);
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  static final double[] BUCKETS = {
+    0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+  };
+  private static final int MAX_PENDING_DUMPS = 1024;
+
+  private final Optional<Histogram> maybePhaseDurations;
+  private final Optional<Histogram> maybeSelectorDurations;
+  private final Optional<Path> maybeDumpFile;
+  private final Optional<ExecutorService> maybeDumpWriter;
+
+  public BlockCreationProfiler(
+      final MetricsSystem metricsSystem, final Optional<Path> maybeDumpFile) {
+    this.maybeDumpFile = maybeDumpFile;
+    maybePhaseDurations =
+        createHistogram(
+            metricsSystem,
+            "block_creation_phase_duration_seconds",
+            "Histogram of the duration of each phase of the block creation",
+            "phase");
+    maybeSelectorDurations =
+        createHistogram(
+            metricsSystem,
+            "block_creation_selector_duration_seconds",
+            "Histogram of the time spent per block by each transaction selector, in each stage",
+            "selector",
+            "stage");
+    maybeDumpWriter =
+        maybeDumpFile.map(
+            unused ->
+                new ThreadPoolExecutor(
+                    1,
+                    1,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(MAX_PENDING_DUMPS),
+                    new ThreadFactoryBuilder()
+                        .setNameFormat("BlockCreationProfileWriter")
+                        .setDaemon(true)
+                        .build()));
+  }
+
+  private static Optional<Histogram> createHistogram(
+      final MetricsSystem metricsSystem,
+      final String name,
+      final String help,
+      final String... labelNames) {
+    if (metricsSystem instanceof PrometheusMetricsSystem prometheusMetricsSystem
+        && prometheusMetricsSystem.isCategoryEnabled(BesuMetricCategory.BLOCK_PROCESSING)) {
+      final Histogram histogram =
+          Histogram.build(
+                  prometheusMetricsSystem.convertToPrometheusName(
+                      BesuMetricCategory.BLOCK_PROCESSING, name),
+                  help)
+              .labelNames(labelNames)
+              .buckets(BUCKETS)
+              .create();
+      prometheusMetricsSystem.addCollector(BesuMetricCategory.BLOCK_PROCESSING, () -> histogram);
+      return Optional.of(histogram);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Record the timing of a block creation
+   *
+   * @param blockNumber the number of the block created
+   * @param timing the timing of the block creation
+   * @param outcome how the block creation ended
+   */
+  public void record(
+      final long blockNumber, final BlockCreationTiming timing, final String outcome) {
+    maybePhaseDurations.ifPresent(
+        phaseDurations ->
+            timing
+                .getStepDurations()
+                .forEach(
+                    (phase, duration) -> phaseDurations.labels(phase).observe(seconds(duration))));
+    maybeSelectorDurations.ifPresent(
+        selectorDurations ->
+            timing
+                .getSelectionTimings()
+                .ifPresent(
+                    selectionTimings ->
+                        selectionTimings
+                            .getTotals()
+                            .forEach(
+                                (key, total) ->
+                                    selectorDurations
+                                        .labels(key.selector(), key.stage().label())
+                                        .observe(seconds(total.total())))));
+    maybeDumpFile.ifPresent(
+        dumpFile -> {
+          try {
+            maybeDumpWriter
+                .orElseThrow()
+                .execute(() -> dump(dumpFile, blockNumber, timing, outcome));
+          } catch (final RejectedExecutionException e) {
+            LOG.debug("Dropping block creation profile of block {}, writer is busy", blockNumber);
+          }
+        });
+  }
+
+  private static void dump(
+      final Path dumpFile,
+      final long blockNumber,
+      final BlockCreationTiming timing,
+      final String outcome) {
+    try {
+      final String line = MAPPER.writeValueAsString(toJson(blockNumber, timing, outcome)) + "\n";
+      Files.writeString(
+          dumpFile,
+          line,
+          StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (final IOException e) {
+      LOG.debug("Error writing block creation profile to {}", dumpFile, e);
+    }
+  }
+
+  static ObjectNode toJson(
+      final long blockNumber, final BlockCreationTiming timing, final String outcome) {
+    final ObjectNode json = MAPPER.createObjectNode();
+    json.put("blockNumber", blockNumber);
+    json.put("outcome", outcome);
+    json.put("startedAt", timing.getStartedAt().toString());
+
+    final ObjectNode phases = json.putObject("phasesMs");
+    timing.getStepDurations().forEach((phase, duration) -> phases.put(phase, millis(duration)));
+
+    final ArrayNode selectors = json.putArray("selectors");
+    final ArrayNode slowestTransactions = json.putArray("slowestTransactions");
+    if (timing.getSelectionTimings().isPresent()) {
+      final SelectionTimings selectionTimings = timing.getSelectionTimings().get();
+      selectionTimings
+          .getTotals()
+          .forEach(
+              (key, total) ->
+                  selectors
+                      .addObject()
+                      .put("selector", key.selector())
+                      .put("stage", key.stage().label())
+                      .put("count", total.count())
+                      .put("totalMs", millis(total.total()))
+                      .put("maxMs", millis(total.max())));
+      selectionTimings
+          .getSlowestTransactions()
+          .forEach(
+              slowTransaction ->
+                  slowestTransactions
+                      .addObject()
+                      .put("hash", slowTransaction.hash().toHexString())
+                      .put("evaluationMs", millis(slowTransaction.evaluationTime()))
+                      .put("result", slowTransaction.result().toString()));
+    }
+    return json;
+  }
+
+  private static double seconds(final Duration duration) {
+    return duration.toNanos() / 1_000_000_000.0;
+  }
+
+  private static double millis(final Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+}
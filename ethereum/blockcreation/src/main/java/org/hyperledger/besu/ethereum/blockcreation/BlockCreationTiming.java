@@ -14,10 +14,13 @@
  */
 package org.hyperledger.besu.ethereum.blockcreation;
 
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SelectionTimings;
+
 import java.time.Duration;
 import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import com.google.common.base.Stopwatch;
 
@@ -25,6 +28,7 @@ public class BlockCreationTiming {
   private final Map<String, Duration> timing = new LinkedHashMap<>();
   private final Stopwatch stopwatch;
   private final Instant startedAt = Instant.now();
+  private Optional<SelectionTimings> maybeSelectionTimings = Optional.empty();
 
   public BlockCreationTiming() {
     this.stopwatch = Stopwatch.createStarted();
@@ -39,6 +43,34 @@ public class BlockCreationTiming {
     for (final var entry : subTiming.timing.entrySet()) {
       timing.put(entry.getKey(), offset.plus(entry.getValue()));
     }
+    subTiming.maybeSelectionTimings.ifPresent(this::registerSelectionTimings);
+  }
+
+  public void registerSelectionTimings(final SelectionTimings selectionTimings) {
+    this.maybeSelectionTimings = Optional.of(selectionTimings);
+  }
+
+  public Optional<SelectionTimings> getSelectionTimings() {
+    return maybeSelectionTimings;
+  }
+
+  public Instant getStartedAt() {
+    return startedAt;
+  }
+
+  /**
+   * Get the duration of every step, measured from the end of the previous one
+   *
+   * @return the duration of the steps, in the order they were registered
+   */
+  public Map<String, Duration> getStepDurations() {
+    final Map<String, Duration> stepDurations = new LinkedHashMap<>();
+    var prevDuration = Duration.ZERO;
+    for (final var entry : timing.entrySet()) {
+      stepDurations.put(entry.getKey(), entry.getValue().minus(prevDuration));
+      prevDuration = entry.getValue();
+    }
+    return stepDurations;
   }
 
   public Duration end(final String step) {
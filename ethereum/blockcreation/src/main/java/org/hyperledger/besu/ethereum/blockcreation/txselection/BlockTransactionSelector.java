@@ -19,8 +19,10 @@ import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECT
 import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.TX_EVALUATION_TOO_LONG;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.GasLimitCalculator;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SelectionTimings.Stage;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.AbstractTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobPriceTransactionSelector;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.selectors.BlobSizeTransactionSelector;
@@ -42,7 +44,10 @@ import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.blockhash.BlockHashProcessor;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.DiffBasedWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.operation.BlockHashOperation.BlockHashLookup;
@@ -51,8 +56,13 @@ import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -81,6 +91,14 @@ import org.slf4j.LoggerFactory;
  *   <li>A list of transactions evaluated but not included in the block being constructed.
  * </ul>
  *
+ * <p>When parallel selection is enabled, before the selection starts, the most profitable pending
+ * transactions that do not depend on each other, at most one per sender, are executed
+ * optimistically in parallel, each one on its own copy of the world state. The selection still
+ * evaluates the transactions one by one in priority order, but for a transaction already executed
+ * it only checks that the block has not modified any account the transaction touched, and in this
+ * case imports the result, otherwise the transaction is executed again, on top of the transactions
+ * already selected.
+ *
  * Once "used" this class must be discarded and another created. This class contains state which is
  * not cleared between executions of buildTransactionListForBlock().
  */
@@ -95,9 +113,17 @@ public class BlockTransactionSelector {
   private final TransactionSelectionResults transactionSelectionResults =
       new TransactionSelectionResults();
   private final List<AbstractTransactionSelector> transactionSelectors;
+  private final List<String> transactionSelectorNames;
+  private final String pluginTransactionSelectorName;
   private final PluginTransactionSelector pluginTransactionSelector;
   private final BlockAwareOperationTracer pluginOperationTracer;
   private final EthScheduler ethScheduler;
+  private final Optional<TransactionSpeculator> maybeTransactionSpeculator;
+  private final OptimisticTransactionExecutor optimisticTransactionExecutor;
+  private final Map<Hash, CompletableFuture<ParallelizedTransactionContext>> parallelExecutions =
+      new ConcurrentHashMap<>();
+  private final AtomicBoolean isParallelExecutionStopped = new AtomicBoolean(false);
+  private final ParallelExecutionStats parallelExecutionStats = new ParallelExecutionStats();
   private final AtomicBoolean isTimeout = new AtomicBoolean(false);
   private final long blockTxsSelectionMaxTime;
   private WorldUpdater blockWorldStateUpdater;
@@ -118,13 +144,16 @@ public class BlockTransactionSelector {
       final GasLimitCalculator gasLimitCalculator,
       final BlockHashProcessor blockHashProcessor,
       final PluginTransactionSelector pluginTransactionSelector,
-      final EthScheduler ethScheduler) {
+      final EthScheduler ethScheduler,
+      final Optional<TransactionSpeculator> maybeTransactionSpeculator) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
     this.transactionReceiptFactory = transactionReceiptFactory;
     this.isCancelled = isCancelled;
     this.ethScheduler = ethScheduler;
+    this.maybeTransactionSpeculator = maybeTransactionSpeculator;
+    this.optimisticTransactionExecutor = new OptimisticTransactionExecutor(blockchain);
     this.blockSelectionContext =
         new BlockSelectionContext(
             miningParameters,
@@ -137,7 +166,10 @@ public class BlockTransactionSelector {
             miningBeneficiary,
             transactionPool);
     transactionSelectors = createTransactionSelectors(blockSelectionContext);
+    transactionSelectorNames =
+        transactionSelectors.stream().map(BlockTransactionSelector::selectorName).toList();
     this.pluginTransactionSelector = pluginTransactionSelector;
+    this.pluginTransactionSelectorName = selectorName(pluginTransactionSelector);
     this.pluginOperationTracer = pluginTransactionSelector.getOperationTracer();
     blockWorldStateUpdater = worldState.updater();
     blockTxsSelectionMaxTime = miningParameters.getBlockTxsSelectionMaxTime();
@@ -154,6 +186,12 @@ public class BlockTransactionSelector {
         new ProcessingResultTransactionSelector(context));
   }
 
+  private static String selectorName(final Object selector) {
+    final String simpleName = selector.getClass().getSimpleName();
+    // anonymous selectors, like the default plugin one, have no simple name
+    return simpleName.isEmpty() ? selector.getClass().getName() : simpleName;
+  }
+
   /**
    * Builds a list of transactions for a block by iterating over all transactions in the
    * PendingTransactions pool. This operation can be long-running and, if executed in a separate
@@ -168,7 +206,18 @@ public class BlockTransactionSelector {
         .setMessage("Transaction pool stats {}")
         .addArgument(blockSelectionContext.transactionPool()::logStats)
         .log();
-    timeLimitedSelection();
+    if (isParallelSelectionEnabled()) {
+      startParallelExecution();
+    }
+    try {
+      timeLimitedSelection();
+    } finally {
+      isParallelExecutionStopped.set(true);
+    }
+    LOG.atDebug()
+        .setMessage("Parallel transaction selection stats {}")
+        .addArgument(parallelExecutionStats)
+        .log();
     LOG.atTrace()
         .setMessage("Transaction selection result {}")
         .addArgument(transactionSelectionResults::toTraceLog)
@@ -176,6 +225,47 @@ public class BlockTransactionSelector {
     return transactionSelectionResults;
   }
 
+  private boolean isParallelSelectionEnabled() {
+    return blockSelectionContext.miningParameters().getUnstable().isParallelTxsSelectionEnabled()
+        && worldState instanceof BonsaiWorldState
+        && blockWorldStateUpdater instanceof DiffBasedWorldStateUpdateAccumulator<?>
+        && pluginOperationTracer == BlockAwareOperationTracer.NO_TRACING;
+  }
+
+  /**
+   * Start the optimistic execution, on the computation executor, of the most profitable pending
+   * transactions that can be executed independently, until their gas limits fill the block.
+   */
+  private void startParallelExecution() {
+    final ProcessableBlockHeader pendingHeader = blockSelectionContext.processableBlockHeader();
+    final BonsaiWorldState bonsaiWorldState = (BonsaiWorldState) worldState;
+    final Iterator<Transaction> candidates =
+        OptimisticTransactionExecutor.independentCandidates(
+                blockSelectionContext.transactionPool().getPendingTransactions(),
+                pendingHeader.getBaseFee(),
+                worldState)
+            .iterator();
+    long cumulativeGasLimit = 0;
+    while (candidates.hasNext() && cumulativeGasLimit < pendingHeader.getGasLimit()) {
+      final Transaction transaction = candidates.next();
+      cumulativeGasLimit += transaction.getGasLimit();
+      parallelExecutions.put(
+          transaction.getHash(),
+          ethScheduler.scheduleComputationTask(
+              () ->
+                  isParallelExecutionStopped.get()
+                      ? null
+                      : optimisticTransactionExecutor.execute(
+                          bonsaiWorldState,
+                          pendingHeader,
+                          blockSelectionContext.miningBeneficiary(),
+                          blockSelectionContext.blobGasPrice(),
+                          transactionProcessor,
+                          transaction)));
+    }
+    parallelExecutionStats.started = parallelExecutions.size();
+  }
+
   private void timeLimitedSelection() {
     final var txSelection =
         ethScheduler.scheduleBlockCreationTask(
@@ -241,9 +331,21 @@ public class BlockTransactionSelector {
       return handleTransactionNotSelected(evaluationContext, selectionResult);
     }
 
+    final Optional<ParallelizedTransactionContext> maybeSpeculativeExecution =
+        getReusableSpeculativeExecution(pendingTransaction);
+    if (maybeSpeculativeExecution.isPresent()) {
+      return evaluateSpeculativeExecution(evaluationContext, maybeSpeculativeExecution.get());
+    }
+
     final WorldUpdater txWorldStateUpdater = blockWorldStateUpdater.updater();
+    final long processingStartedAt = System.nanoTime();
     final TransactionProcessingResult processingResult =
         processTransaction(pendingTransaction, txWorldStateUpdater);
+    selectionTimings()
+        .record(
+            SelectionTimings.TRANSACTION_PROCESSING,
+            Stage.PROCESSING,
+            System.nanoTime() - processingStartedAt);
 
     var postProcessingSelectionResult = evaluatePostProcessing(evaluationContext, processingResult);
 
@@ -254,6 +356,108 @@ public class BlockTransactionSelector {
         evaluationContext, postProcessingSelectionResult, txWorldStateUpdater);
   }
 
+  /**
+   * Look up a result of the transaction, pre-executed by the speculator, that can be reused for
+   * this block. Speculative results are not used when a plugin traces the execution of the
+   * transactions, or when the world state does not support them.
+   *
+   * @param pendingTransaction The transaction to be evaluated.
+   * @return The reusable speculative execution, if any.
+   */
+  private Optional<ParallelizedTransactionContext> getReusableSpeculativeExecution(
+      final PendingTransaction pendingTransaction) {
+    final Optional<ParallelizedTransactionContext> maybeParallelExecution =
+        getReusableParallelExecution(pendingTransaction.getTransaction());
+    if (maybeParallelExecution.isPresent()
+        || maybeTransactionSpeculator.isEmpty()
+        || pluginOperationTracer != BlockAwareOperationTracer.NO_TRACING
+        || !(blockWorldStateUpdater instanceof DiffBasedWorldStateUpdateAccumulator<?>)) {
+      return maybeParallelExecution;
+    }
+    return maybeTransactionSpeculator
+        .get()
+        .getReusableExecution(
+            pendingTransaction.getTransaction(),
+            blockSelectionContext.processableBlockHeader(),
+            blockSelectionContext.miningBeneficiary(),
+            blockSelectionContext.blobGasPrice(),
+            (DiffBasedWorldStateUpdateAccumulator<?>) blockWorldStateUpdater);
+  }
+
+  /**
+   * Look up the result of the optimistic parallel execution of the transaction, it can be reused if
+   * it is already available, it is valid, and the transactions selected so far have not modified
+   * any account it touched. A result that is not ready yet is not waited for, and the transaction
+   * is executed again as usual.
+   *
+   * @param transaction The transaction to be evaluated.
+   * @return The reusable parallel execution, if any.
+   */
+  private Optional<ParallelizedTransactionContext> getReusableParallelExecution(
+      final Transaction transaction) {
+    final CompletableFuture<ParallelizedTransactionContext> parallelExecution =
+        parallelExecutions.remove(transaction.getHash());
+    if (parallelExecution == null) {
+      return Optional.empty();
+    }
+    if (!parallelExecution.isDone() || parallelExecution.isCompletedExceptionally()) {
+      parallelExecutionStats.notReady++;
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = parallelExecution.join();
+    if (context == null
+        || context.transactionProcessingResult().isInvalid()
+        || optimisticTransactionExecutor.hasCollision(
+            transaction,
+            blockSelectionContext.miningBeneficiary(),
+            context,
+            (DiffBasedWorldStateUpdateAccumulator<?>) blockWorldStateUpdater)) {
+      parallelExecutionStats.conflicting++;
+      return Optional.empty();
+    }
+    parallelExecutionStats.reused++;
+    return Optional.of(context);
+  }
+
+  /**
+   * Evaluates a transaction using its speculative execution instead of processing it, if it is
+   * selected, the state changes of the speculative execution are imported in the block world state.
+   *
+   * @param evaluationContext The current selection session data.
+   * @param speculativeExecution The speculative execution of the transaction.
+   * @return The result of the transaction selection process.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private TransactionSelectionResult evaluateSpeculativeExecution(
+      final TransactionEvaluationContext evaluationContext,
+      final ParallelizedTransactionContext speculativeExecution) {
+    final TransactionProcessingResult processingResult =
+        speculativeExecution.transactionProcessingResult();
+
+    var postProcessingSelectionResult = evaluatePostProcessing(evaluationContext, processingResult);
+
+    if (postProcessingSelectionResult.selected()) {
+      final DiffBasedWorldStateUpdateAccumulator blockAccumulator =
+          (DiffBasedWorldStateUpdateAccumulator) blockWorldStateUpdater;
+      LOG.atTrace()
+          .setMessage("Reusing speculative execution of {}")
+          .addArgument(evaluationContext.getPendingTransaction()::toTraceLog)
+          .log();
+      return handleTransactionSelected(
+          evaluationContext,
+          processingResult,
+          () -> {
+            blockAccumulator
+                .getOrCreate(blockSelectionContext.miningBeneficiary())
+                .incrementBalance(speculativeExecution.miningBeneficiaryReward());
+            blockAccumulator.importStateChangesFromSource(
+                speculativeExecution.transactionAccumulator());
+          },
+          () -> {});
+    }
+    return handleTransactionNotSelected(evaluationContext, postProcessingSelectionResult);
+  }
+
   private TransactionEvaluationContext createTransactionEvaluationContext(
       final PendingTransaction pendingTransaction) {
     final Wei transactionGasPriceInBlock =
@@ -283,14 +487,23 @@ public class BlockTransactionSelector {
   private TransactionSelectionResult evaluatePreProcessing(
       final TransactionEvaluationContext evaluationContext) {
 
-    for (var selector : transactionSelectors) {
+    for (int i = 0; i < transactionSelectors.size(); i++) {
+      final var selector = transactionSelectors.get(i);
       TransactionSelectionResult result =
-          selector.evaluateTransactionPreProcessing(evaluationContext, transactionSelectionResults);
+          timedEvaluation(
+              transactionSelectorNames.get(i),
+              Stage.PRE_PROCESSING,
+              () ->
+                  selector.evaluateTransactionPreProcessing(
+                      evaluationContext, transactionSelectionResults));
       if (!result.equals(SELECTED)) {
         return result;
       }
     }
-    return pluginTransactionSelector.evaluateTransactionPreProcessing(evaluationContext);
+    return timedEvaluation(
+        pluginTransactionSelectorName,
+        Stage.PRE_PROCESSING,
+        () -> pluginTransactionSelector.evaluateTransactionPreProcessing(evaluationContext));
   }
 
   /**
@@ -307,16 +520,41 @@ public class BlockTransactionSelector {
       final TransactionEvaluationContext evaluationContext,
       final TransactionProcessingResult processingResult) {
 
-    for (var selector : transactionSelectors) {
+    for (int i = 0; i < transactionSelectors.size(); i++) {
+      final var selector = transactionSelectors.get(i);
       TransactionSelectionResult result =
-          selector.evaluateTransactionPostProcessing(
-              evaluationContext, transactionSelectionResults, processingResult);
+          timedEvaluation(
+              transactionSelectorNames.get(i),
+              Stage.POST_PROCESSING,
+              () ->
+                  selector.evaluateTransactionPostProcessing(
+                      evaluationContext, transactionSelectionResults, processingResult));
       if (!result.equals(SELECTED)) {
         return result;
       }
     }
-    return pluginTransactionSelector.evaluateTransactionPostProcessing(
-        evaluationContext, processingResult);
+    return timedEvaluation(
+        pluginTransactionSelectorName,
+        Stage.POST_PROCESSING,
+        () ->
+            pluginTransactionSelector.evaluateTransactionPostProcessing(
+                evaluationContext, processingResult));
+  }
+
+  private TransactionSelectionResult timedEvaluation(
+      final String selectorName,
+      final Stage stage,
+      final Supplier<TransactionSelectionResult> evaluation) {
+    final long startedAt = System.nanoTime();
+    try {
+      return evaluation.get();
+    } finally {
+      selectionTimings().record(selectorName, stage, System.nanoTime() - startedAt);
+    }
+  }
+
+  private SelectionTimings selectionTimings() {
+    return transactionSelectionResults.getSelectionTimings();
   }
 
   /**
@@ -356,6 +594,18 @@ public class BlockTransactionSelector {
       final TransactionEvaluationContext evaluationContext,
       final TransactionProcessingResult processingResult,
       final WorldUpdater txWorldStateUpdater) {
+    return handleTransactionSelected(
+        evaluationContext,
+        processingResult,
+        txWorldStateUpdater::commit,
+        txWorldStateUpdater::revert);
+  }
+
+  private TransactionSelectionResult handleTransactionSelected(
+      final TransactionEvaluationContext evaluationContext,
+      final TransactionProcessingResult processingResult,
+      final Runnable commitTransactionChanges,
+      final Runnable revertTransactionChanges) {
     final Transaction transaction = evaluationContext.getTransaction();
 
     final long gasUsedByTransaction =
@@ -373,7 +623,7 @@ public class BlockTransactionSelector {
     synchronized (isTimeout) {
       tooLate = isTimeout.get();
       if (!tooLate) {
-        txWorldStateUpdater.commit();
+        commitTransactionChanges.run();
         blockWorldStateUpdater.commit();
         final TransactionReceipt receipt =
             transactionReceiptFactory.create(
@@ -390,12 +640,13 @@ public class BlockTransactionSelector {
 
       // do not rely on the presence of this result, since by the time it is added, the code
       // reading it could have been already executed by another thread
-      return handleTransactionNotSelected(
-          evaluationContext, BLOCK_SELECTION_TIMEOUT, txWorldStateUpdater);
+      revertTransactionChanges.run();
+      return handleTransactionNotSelected(evaluationContext, BLOCK_SELECTION_TIMEOUT);
     }
 
     pluginTransactionSelector.onTransactionSelected(evaluationContext, processingResult);
     blockWorldStateUpdater = worldState.updater();
+    recordEvaluationTime(evaluationContext, SELECTED);
     LOG.atTrace()
         .setMessage("Selected {} for block creation, evaluated in {}")
         .addArgument(transaction::toTraceLog)
@@ -429,6 +680,7 @@ public class BlockTransactionSelector {
 
     transactionSelectionResults.updateNotSelected(evaluationContext.getTransaction(), actualResult);
     pluginTransactionSelector.onTransactionNotSelected(evaluationContext, actualResult);
+    recordEvaluationTime(evaluationContext, actualResult);
     LOG.atTrace()
         .setMessage(
             "Not selected {} for block creation with result {} (original result {}), evaluated in {}")
@@ -441,6 +693,16 @@ public class BlockTransactionSelector {
     return actualResult;
   }
 
+  private void recordEvaluationTime(
+      final TransactionEvaluationContext evaluationContext,
+      final TransactionSelectionResult selectionResult) {
+    selectionTimings()
+        .recordTransaction(
+            evaluationContext.getPendingTransaction().getHash(),
+            evaluationContext.getEvaluationTimer().elapsed(),
+            selectionResult);
+  }
+
   private boolean transactionTookTooLong(final TransactionEvaluationContext evaluationContext) {
     final var evaluationTimer = evaluationContext.getEvaluationTimer();
     if (evaluationTimer.elapsed(TimeUnit.MILLISECONDS) > blockTxsSelectionMaxTime) {
@@ -470,6 +732,25 @@ public class BlockTransactionSelector {
     return handleTransactionNotSelected(evaluationContext, selectionResult);
   }
 
+  private static class ParallelExecutionStats {
+    int started;
+    int reused;
+    int conflicting;
+    int notReady;
+
+    @Override
+    public String toString() {
+      return "started="
+          + started
+          + ", reused="
+          + reused
+          + ", conflicting="
+          + conflicting
+          + ", notReady="
+          + notReady;
+    }
+  }
+
   private void checkCancellation() {
     if (isCancelled.get()) {
       throw new CancellationException("Cancelled during transaction selection.");
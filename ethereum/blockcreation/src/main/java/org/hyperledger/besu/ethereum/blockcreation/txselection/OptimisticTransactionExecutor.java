@@ -0,0 +1,212 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.TransactionCollisionDetector;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.NoopBonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.DiffBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.DiffBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Executes transactions optimistically for a block being built, each one on a frozen copy of a
+ * Bonsai world state with its own accumulator, that records all the accounts read and written by
+ * the transaction, the same way the parallel block processing does. The result can later be
+ * imported in the block world state, as long as none of the accounts touched by the transaction
+ * has been modified by the block in the meantime.
+ */
+class OptimisticTransactionExecutor {
+  private final TransactionCollisionDetector transactionCollisionDetector =
+      new TransactionCollisionDetector();
+  private final Blockchain blockchain;
+
+  OptimisticTransactionExecutor(final Blockchain blockchain) {
+    this.blockchain = blockchain;
+  }
+
+  /**
+   * Execute the transaction on a frozen copy of the world state
+   *
+   * @param worldState the world state to copy, only its persisted state is visible to the copy
+   * @param pendingHeader the header of the block being built
+   * @param miningBeneficiary the mining beneficiary
+   * @param blobGasPrice the blob gas price for the block being built
+   * @param transactionProcessor the transaction processor for the block being built
+   * @param transaction the transaction to execute
+   * @return the result of the execution with the accumulator of its changes
+   */
+  ParallelizedTransactionContext execute(
+      final BonsaiWorldState worldState,
+      final ProcessableBlockHeader pendingHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Transaction transaction) {
+    try (final DiffBasedWorldState roundWorldState =
+        new BonsaiWorldState(worldState, new NoopBonsaiCachedMerkleTrieLoader())) {
+      roundWorldState.freeze();
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final DiffBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater =
+          (DiffBasedWorldStateUpdateAccumulator<?>) roundWorldState.updater();
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              roundWorldStateUpdater,
+              pendingHeader,
+              transaction,
+              miningBeneficiary,
+              new OperationTracer() {
+                @Override
+                public void traceBeforeRewardTransaction(
+                    final WorldView worldView,
+                    final org.hyperledger.besu.datatypes.Transaction tx,
+                    final Wei miningReward) {
+                  // as in the parallel block processing, the mining beneficiary is only relevant
+                  // for the collision detection if the transaction accessed it
+                  if (transactionCollisionDetector
+                      .getAddressesTouchedByTransaction(
+                          transaction, Optional.of(roundWorldStateUpdater))
+                      .contains(miningBeneficiary)) {
+                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+                  }
+                  contextBuilder.miningBeneficiaryReward(miningReward);
+                }
+              },
+              new CachingBlockHashLookup(pendingHeader, blockchain),
+              false,
+              TransactionValidationParams.mining(),
+              blobGasPrice);
+
+      roundWorldState.getAccumulator().commit();
+
+      contextBuilder
+          .transactionAccumulator(roundWorldState.getAccumulator())
+          .transactionProcessingResult(result);
+      final ParallelizedTransactionContext context = contextBuilder.build();
+      if (!context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        // the reward is added when the result is imported
+        roundWorldStateUpdater.getAccountsToUpdate().remove(miningBeneficiary);
+      }
+      return context;
+    }
+  }
+
+  /**
+   * Check if the result of an optimistic execution cannot be imported in the block, because the
+   * block has modified an account the transaction touched.
+   *
+   * @param transaction the executed transaction
+   * @param miningBeneficiary the mining beneficiary
+   * @param context the result of the optimistic execution
+   * @param blockAccumulator the accumulator with the changes done by the block so far
+   * @return true if there is a collision
+   */
+  boolean hasCollision(
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final ParallelizedTransactionContext context,
+      final DiffBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    return transactionCollisionDetector.hasCollision(
+            transaction, miningBeneficiary, context, blockAccumulator)
+        || hasStorageCollision(transaction, context, blockAccumulator);
+  }
+
+  /**
+   * Storage changes are not reflected in the account until the world state is persisted, so check
+   * them apart.
+   */
+  private boolean hasStorageCollision(
+      final Transaction transaction,
+      final ParallelizedTransactionContext context,
+      final DiffBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    final Set<Address> touchedAddresses =
+        transactionCollisionDetector.getAddressesTouchedByTransaction(
+            transaction, Optional.of(context.transactionAccumulator()));
+    for (final Address address : touchedAddresses) {
+      if (blockAccumulator.getStorageToClear().contains(address)) {
+        return true;
+      }
+      final var blockStorage = blockAccumulator.getStorageToUpdate().get(address);
+      if (blockStorage != null
+          && blockStorage.values().stream().anyMatch(slot -> !slot.isUnchanged())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The transactions that can be executed on top of a world state independently of each other,
+   * that are, for each sender, the pending transaction with the next nonce, ordered from the most
+   * profitable. The stream is lazy after the sort, so the nonces are only read for the transactions
+   * actually consumed.
+   *
+   * @param pendingTransactions the pending transactions
+   * @param baseFee the base fee of the block being built
+   * @param worldView the world state the transactions will be executed on
+   * @return the candidate transactions, most profitable first
+   */
+  static Stream<Transaction> independentCandidates(
+      final Collection<PendingTransaction> pendingTransactions,
+      final Optional<Wei> baseFee,
+      final WorldView worldView) {
+    final Map<Address, PendingTransaction> lowestNonceBySender = new HashMap<>();
+    for (final PendingTransaction pendingTransaction : pendingTransactions) {
+      lowestNonceBySender.merge(
+          pendingTransaction.getSender(),
+          pendingTransaction,
+          (pt1, pt2) -> pt1.getNonce() <= pt2.getNonce() ? pt1 : pt2);
+    }
+    return lowestNonceBySender.values().stream()
+        .map(PendingTransaction::getTransaction)
+        .filter(transaction -> canPayBaseFee(transaction, baseFee))
+        .sorted(
+            Comparator.comparing(
+                    (Transaction transaction) -> transaction.getEffectivePriorityFeePerGas(baseFee))
+                .reversed())
+        .filter(transaction -> transaction.getNonce() == nextNonce(worldView, transaction));
+  }
+
+  private static boolean canPayBaseFee(final Transaction transaction, final Optional<Wei> baseFee) {
+    return baseFee.map(fee -> transaction.getMaxGasPrice().greaterOrEqualThan(fee)).orElse(true);
+  }
+
+  private static long nextNonce(final WorldView worldView, final Transaction transaction) {
+    final Account sender = worldView.get(transaction.getSender());
+    return sender == null ? 0 : sender.getNonce();
+  }
+}
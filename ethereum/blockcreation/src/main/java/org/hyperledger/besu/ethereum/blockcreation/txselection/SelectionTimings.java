@@ -0,0 +1,138 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Time spent while selecting the transactions of a block, by each selector and stage, including the
+ * plugin selector and the execution of the transactions, together with the slowest evaluated
+ * transactions.
+ *
+ * <p>It is written by the selection thread, but it can be read by the block creator while the
+ * selection is still running, if the selection times out, so the access is synchronized.
+ */
+public class SelectionTimings {
+  static final int MAX_SLOWEST_TRANSACTIONS = 10;
+  static final String TRANSACTION_PROCESSING = "TransactionProcessing";
+
+  public enum Stage {
+    PRE_PROCESSING("preProcessing"),
+    PROCESSING("processing"),
+    POST_PROCESSING("postProcessing");
+
+    private final String label;
+
+    Stage(final String label) {
+      this.label = label;
+    }
+
+    public String label() {
+      return label;
+    }
+  }
+
+  /**
+   * Identifies who spent the time
+   *
+   * @param selector the name of the selector
+   * @param stage the stage of the evaluation
+   */
+  public record Key(String selector, Stage stage) {}
+
+  /**
+   * The time spent by a selector in a stage, over the whole selection
+   *
+   * @param count the number of evaluations
+   * @param total the total time
+   * @param max the longest evaluation
+   */
+  public record Total(long count, Duration total, Duration max) {}
+
+  /**
+   * A transaction with its whole evaluation time
+   *
+   * @param hash the hash of the transaction
+   * @param evaluationTime the time spent evaluating the transaction
+   * @param result the result of the evaluation
+   */
+  public record SlowTransaction(
+      Hash hash, Duration evaluationTime, TransactionSelectionResult result) {}
+
+  private static final class MutableTotal {
+    long count;
+    long totalNanos;
+    long maxNanos;
+  }
+
+  private final Map<Key, MutableTotal> totals = new LinkedHashMap<>();
+  private final PriorityQueue<SlowTransaction> slowestTransactions =
+      new PriorityQueue<>(Comparator.comparing(SlowTransaction::evaluationTime));
+
+  synchronized void record(final String selector, final Stage stage, final long nanos) {
+    final MutableTotal total =
+        totals.computeIfAbsent(new Key(selector, stage), unused -> new MutableTotal());
+    total.count++;
+    total.totalNanos += nanos;
+    total.maxNanos = Math.max(total.maxNanos, nanos);
+  }
+
+  synchronized void recordTransaction(
+      final Hash hash, final Duration evaluationTime, final TransactionSelectionResult result) {
+    if (slowestTransactions.size() < MAX_SLOWEST_TRANSACTIONS) {
+      slowestTransactions.add(new SlowTransaction(hash, evaluationTime, result));
+    } else if (evaluationTime.compareTo(slowestTransactions.peek().evaluationTime()) > 0) {
+      slowestTransactions.poll();
+      slowestTransactions.add(new SlowTransaction(hash, evaluationTime, result));
+    }
+  }
+
+  /**
+   * Get the time spent by every selector in every stage, in the order they were first recorded
+   *
+   * @return the time spent by selector and stage
+   */
+  public synchronized Map<Key, Total> getTotals() {
+    final Map<Key, Total> copy = new LinkedHashMap<>();
+    totals.forEach(
+        (key, total) ->
+            copy.put(
+                key,
+                new Total(
+                    total.count,
+                    Duration.ofNanos(total.totalNanos),
+                    Duration.ofNanos(total.maxNanos))));
+    return copy;
+  }
+
+  /**
+   * Get the transactions that took longer to evaluate, slowest first
+   *
+   * @return the slowest transactions
+   */
+  public synchronized List<SlowTransaction> getSlowestTransactions() {
+    return slowestTransactions.stream()
+        .sorted(Comparator.comparing(SlowTransaction::evaluationTime).reversed())
+        .toList();
+  }
+}
@@ -47,6 +47,8 @@ public class TransactionSelectionResults {
   private final Map<Transaction, TransactionSelectionResult> notSelectedTransactions =
       new ConcurrentHashMap<>();
 
+  private final SelectionTimings selectionTimings = new SelectionTimings();
+
   private long cumulativeGasUsed = 0;
   private long cumulativeBlobGasUsed = 0;
 
@@ -101,6 +103,10 @@ public class TransactionSelectionResults {
     return Map.copyOf(notSelectedTransactions);
   }
 
+  public SelectionTimings getSelectionTimings() {
+    return selectionTimings;
+  }
+
   public void logSelectionStats() {
     if (LOG.isDebugEnabled()) {
       final var notSelectedTxs = getNotSelectedTransactions();
@@ -0,0 +1,318 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.DiffBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps pre-executing the most profitable pending transactions against the head world state, while
+ * a block on top of it is being built, so the block creation can reuse the results instead of
+ * executing the transactions again.
+ *
+ * <p>A transaction is executed by an {@link OptimisticTransactionExecutor} on a frozen copy of the
+ * head world state with its own accumulator, that records all the accounts read and written by the
+ * transaction. When the transaction is then evaluated for the block, the result can be
+ * reused if the block has the same execution environment, and none of the accounts touched by the
+ * transaction has been modified by the transactions already selected, in this case the changes in
+ * the accumulator are imported in the block world state, otherwise the transaction is executed as
+ * usual.
+ *
+ * <p>The execution environment, that includes the pending block header and the mining beneficiary,
+ * is only known once the creation of a block has started, so the speculation starts with the first
+ * block creation on top of a head, and its results are reused by the following creations for the
+ * same block, like the repeated attempts to build a better block for a PoS payload. It is only
+ * supported for Bonsai world states.
+ */
+public class TransactionSpeculator {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionSpeculator.class);
+  private static final Duration SPECULATION_INTERVAL = Duration.ofMillis(100);
+
+  private final TransactionPool transactionPool;
+  private final WorldStateArchive worldStateArchive;
+  private final Blockchain blockchain;
+  private final EthScheduler ethScheduler;
+  private final int maxTransactions;
+  private final OptimisticTransactionExecutor optimisticTransactionExecutor;
+  private final Map<Hash, SpeculativeExecution> executions = new ConcurrentHashMap<>();
+  private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+  private final Counter executedCounter;
+  private final LabelledMetric<Counter> lookupCounter;
+  private final LongAdder reusedCount = new LongAdder();
+  private final LongAdder lookupCount = new LongAdder();
+  private volatile SpeculationTarget target;
+
+  public TransactionSpeculator(
+      final TransactionPool transactionPool,
+      final WorldStateArchive worldStateArchive,
+      final Blockchain blockchain,
+      final EthScheduler ethScheduler,
+      final MetricsSystem metricsSystem,
+      final int maxTransactions) {
+    this.transactionPool = transactionPool;
+    this.worldStateArchive = worldStateArchive;
+    this.blockchain = blockchain;
+    this.ethScheduler = ethScheduler;
+    this.maxTransactions = maxTransactions;
+    this.optimisticTransactionExecutor = new OptimisticTransactionExecutor(blockchain);
+
+    executedCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "speculative_transactions_executed_total",
+            "Number of pending transactions pre-executed for block creation");
+    lookupCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "speculative_transactions_lookups_total",
+            "Number of transactions evaluated for block creation, by outcome of the lookup of their"
+                + " pre-executed result",
+            "result");
+    metricsSystem.createGauge(
+        BesuMetricCategory.BLOCK_PROCESSING,
+        "speculative_transactions_reuse_ratio",
+        "Ratio of the transactions evaluated for block creation that reused a pre-executed result",
+        () -> {
+          final long lookups = lookupCount.sum();
+          return lookups == 0 ? 0.0 : (double) reusedCount.sum() / lookups;
+        });
+  }
+
+  /**
+   * The environment in which the transactions are pre-executed
+   *
+   * @param parentHeader the head on top of which the block is built
+   * @param pendingHeader the header of the block being built
+   * @param miningBeneficiary the mining beneficiary
+   * @param blobGasPrice the blob gas price for the block being built
+   * @param transactionProcessor the transaction processor for the block being built
+   */
+  record SpeculationTarget(
+      BlockHeader parentHeader,
+      ProcessableBlockHeader pendingHeader,
+      Address miningBeneficiary,
+      Wei blobGasPrice,
+      MainnetTransactionProcessor transactionProcessor) {
+
+    boolean matches(
+        final ProcessableBlockHeader otherPendingHeader,
+        final Address otherMiningBeneficiary,
+        final Wei otherBlobGasPrice) {
+      return pendingHeader.getParentHash().equals(otherPendingHeader.getParentHash())
+          && pendingHeader.getNumber() == otherPendingHeader.getNumber()
+          && pendingHeader.getTimestamp() == otherPendingHeader.getTimestamp()
+          && pendingHeader.getGasLimit() == otherPendingHeader.getGasLimit()
+          && pendingHeader.getCoinbase().equals(otherPendingHeader.getCoinbase())
+          && pendingHeader.getDifficulty().equals(otherPendingHeader.getDifficulty())
+          && pendingHeader.getBaseFee().equals(otherPendingHeader.getBaseFee())
+          && Objects.equals(
+              pendingHeader.getMixHashOrPrevRandao(), otherPendingHeader.getMixHashOrPrevRandao())
+          && pendingHeader
+              .getParentBeaconBlockRoot()
+              .equals(otherPendingHeader.getParentBeaconBlockRoot())
+          && miningBeneficiary.equals(otherMiningBeneficiary)
+          && blobGasPrice.equals(otherBlobGasPrice);
+    }
+  }
+
+  private record SpeculativeExecution(
+      SpeculationTarget target, ParallelizedTransactionContext context) {}
+
+  /**
+   * Notify that the creation of a block has started, if the block is different from the one the
+   * transactions are currently pre-executed for, the previous results are discarded, and the
+   * speculation starts for the new block.
+   *
+   * @param parentHeader the head on top of which the block is built
+   * @param pendingHeader the header of the block being built
+   * @param miningBeneficiary the mining beneficiary
+   * @param blobGasPrice the blob gas price for the block being built
+   * @param transactionProcessor the transaction processor for the block being built
+   */
+  public void onBlockCreation(
+      final BlockHeader parentHeader,
+      final ProcessableBlockHeader pendingHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final MainnetTransactionProcessor transactionProcessor) {
+    final SpeculationTarget currentTarget = target;
+    if (currentTarget == null
+        || !currentTarget.matches(pendingHeader, miningBeneficiary, blobGasPrice)) {
+      executions.clear();
+      target =
+          new SpeculationTarget(
+              parentHeader, pendingHeader, miningBeneficiary, blobGasPrice, transactionProcessor);
+      LOG.atTrace()
+          .setMessage("Starting speculative execution for block {}")
+          .addArgument(pendingHeader::toLogString)
+          .log();
+    }
+    if (isScheduled.compareAndSet(false, true)) {
+      ethScheduler.scheduleComputationTask(this::runRound);
+    }
+  }
+
+  /**
+   * Look up a reusable pre-executed result for the transaction, it is reusable if it was executed
+   * in the same environment of the block being built, it is valid, and no account it touched has
+   * been modified in the block so far.
+   *
+   * @param transaction the transaction to evaluate
+   * @param pendingHeader the header of the block being built
+   * @param miningBeneficiary the mining beneficiary
+   * @param blobGasPrice the blob gas price for the block being built
+   * @param blockAccumulator the accumulator with the changes done by the block so far
+   * @return the pre-executed result, if it can be reused
+   */
+  public Optional<ParallelizedTransactionContext> getReusableExecution(
+      final Transaction transaction,
+      final ProcessableBlockHeader pendingHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final DiffBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    lookupCount.increment();
+    final SpeculativeExecution execution = executions.get(transaction.getHash());
+    if (execution == null
+        || !execution.target().matches(pendingHeader, miningBeneficiary, blobGasPrice)
+        || execution.context().transactionProcessingResult().isInvalid()) {
+      lookupCounter.labels("missed").inc();
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = execution.context();
+    if (optimisticTransactionExecutor.hasCollision(
+        transaction, miningBeneficiary, context, blockAccumulator)) {
+      lookupCounter.labels("conflict").inc();
+      return Optional.empty();
+    }
+    reusedCount.increment();
+    lookupCounter.labels("reused").inc();
+    return Optional.of(context);
+  }
+
+  private Void runRound() {
+    try {
+      speculate();
+    } catch (final RuntimeException e) {
+      LOG.debug("Error during speculative execution of pending transactions", e);
+    } finally {
+      isScheduled.set(false);
+      // reschedule as long as the head does not change
+      if (isTargetCurrent(target) && isScheduled.compareAndSet(false, true)) {
+        ethScheduler.scheduleFutureTask(
+            () -> ethScheduler.scheduleComputationTask(this::runRound), SPECULATION_INTERVAL);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Pre-execute the most profitable pending transactions not yet executed for the current target,
+   * and discard the results of the transactions that are no longer among them.
+   */
+  @VisibleForTesting
+  void speculate() {
+    final SpeculationTarget currentTarget = target;
+    if (!isTargetCurrent(currentTarget)) {
+      executions.clear();
+      return;
+    }
+    final Optional<MutableWorldState> maybeHeadWorldState =
+        worldStateArchive.getMutable(currentTarget.parentHeader(), false);
+    if (maybeHeadWorldState.isEmpty()) {
+      return;
+    }
+    try (final MutableWorldState headWorldState = maybeHeadWorldState.get()) {
+      if (!(headWorldState instanceof BonsaiWorldState bonsaiHeadWorldState)) {
+        LOG.trace("Speculative execution is only supported for Bonsai world states");
+        return;
+      }
+      final List<Transaction> candidates =
+          OptimisticTransactionExecutor.independentCandidates(
+                  transactionPool.getPendingTransactions(),
+                  currentTarget.pendingHeader().getBaseFee(),
+                  bonsaiHeadWorldState)
+              .limit(maxTransactions)
+              .toList();
+      final Set<Hash> candidateHashes = new HashSet<>();
+      candidates.forEach(transaction -> candidateHashes.add(transaction.getHash()));
+      executions.keySet().retainAll(candidateHashes);
+
+      for (final Transaction transaction : candidates) {
+        if (target != currentTarget) {
+          // a block creation for a different block has started
+          return;
+        }
+        if (!executions.containsKey(transaction.getHash())) {
+          executions.put(
+              transaction.getHash(),
+              new SpeculativeExecution(
+                  currentTarget,
+                  optimisticTransactionExecutor.execute(
+                      bonsaiHeadWorldState,
+                      currentTarget.pendingHeader(),
+                      currentTarget.miningBeneficiary(),
+                      currentTarget.blobGasPrice(),
+                      currentTarget.transactionProcessor(),
+                      transaction)));
+          executedCounter.inc();
+        }
+      }
+    } catch (final Exception e) {
+      LOG.debug("Error during speculative execution of pending transactions", e);
+    }
+  }
+
+  private boolean isTargetCurrent(final SpeculationTarget currentTarget) {
+    return currentTarget != null
+        && currentTarget.parentHeader().getHash().equals(blockchain.getChainHeadHash());
+  }
+
+  @VisibleForTesting
+  int getExecutionsCount() {
+    return executions.size();
+  }
+}
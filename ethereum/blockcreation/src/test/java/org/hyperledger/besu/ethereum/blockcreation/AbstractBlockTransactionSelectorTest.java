@@ -41,6 +41,7 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.GasLimitCalculator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.BlockTransactionSelector;
+import org.hyperledger.besu.ethereum.blockcreation.txselection.SelectionTimings;
 import org.hyperledger.besu.ethereum.blockcreation.txselection.TransactionSelectionResults;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
@@ -277,6 +278,44 @@ public abstract class AbstractBlockTransactionSelectorTest {
     assertThat(results.getCumulativeGasUsed()).isEqualTo(99995L);
   }
 
+  @Test
+  public void selectionTimingsAreRecordedForEverySelectorAndTransaction() {
+    final ProcessableBlockHeader blockHeader = createBlock(500_000);
+    final Address miningBeneficiary = AddressHelpers.ofValue(1);
+    final BlockTransactionSelector selector =
+        createBlockSelectorAndSetupTxPool(
+            defaultTestMiningParameters,
+            transactionProcessor,
+            blockHeader,
+            miningBeneficiary,
+            Wei.ZERO,
+            transactionSelectionService);
+
+    final Transaction transaction = createTransaction(1, Wei.of(7L), 100_000);
+    transactionPool.addRemoteTransactions(List.of(transaction));
+
+    ensureTransactionIsValid(transaction, 0, 5);
+
+    final SelectionTimings selectionTimings =
+        selector.buildTransactionListForBlock().getSelectionTimings();
+
+    assertThat(selectionTimings.getTotals())
+        .containsKeys(
+            new SelectionTimings.Key(
+                "BlockSizeTransactionSelector", SelectionTimings.Stage.PRE_PROCESSING),
+            new SelectionTimings.Key("TransactionProcessing", SelectionTimings.Stage.PROCESSING),
+            new SelectionTimings.Key(
+                "ProcessingResultTransactionSelector", SelectionTimings.Stage.POST_PROCESSING))
+        .allSatisfy((key, total) -> assertThat(total.count()).isEqualTo(1));
+    assertThat(selectionTimings.getSlowestTransactions())
+        .singleElement()
+        .satisfies(
+            slowTransaction -> {
+              assertThat(slowTransaction.hash()).isEqualTo(transaction.getHash());
+              assertThat(slowTransaction.result()).isEqualTo(TransactionSelectionResult.SELECTED);
+            });
+  }
+
   @Test
   public void invalidTransactionsAreSkippedButBlockStillFills() {
     // The block should fit 4 transactions only
@@ -1276,7 +1315,8 @@ public abstract class AbstractBlockTransactionSelectorTest {
             GasLimitCalculator.constant(),
             protocolSchedule.getByBlockHeader(blockHeader).getBlockHashProcessor(),
             transactionSelectionService.createPluginTransactionSelector(),
-            ethScheduler);
+            ethScheduler,
+            Optional.empty());
 
     return selector;
   }
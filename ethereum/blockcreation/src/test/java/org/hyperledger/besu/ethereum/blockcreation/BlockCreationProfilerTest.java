@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BlockCreationProfilerTest {
+  private final PrometheusMetricsSystem metricsSystem =
+      new PrometheusMetricsSystem(Set.of(BesuMetricCategory.BLOCK_PROCESSING), true);
+
+  @TempDir private Path tempDir;
+
+  @Test
+  public void phasesAreAddedToTheHistograms() {
+    final BlockCreationProfiler profiler =
+        new BlockCreationProfiler(metricsSystem, Optional.empty());
+
+    profiler.record(1, createTiming(), "created");
+    profiler.record(2, createTiming(), "created");
+
+    assertThat(bucketCount("stateRoot", "+Inf")).isEqualTo(2.0);
+    assertThat(bucketCount("stateRoot", "10.0")).isEqualTo(2.0);
+    assertThat(bucketCount("blockAssembled", "+Inf")).isEqualTo(2.0);
+  }
+
+  @Test
+  public void aJsonLineIsAppendedForEveryBlockCreation() throws IOException {
+    final Path dumpFile = tempDir.resolve("block-creation.jsonl");
+    final BlockCreationProfiler profiler =
+        new BlockCreationProfiler(metricsSystem, Optional.of(dumpFile));
+
+    profiler.record(1, createTiming(), "created");
+    profiler.record(2, createTiming(), "cancelled");
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> Files.exists(dumpFile) && Files.readAllLines(dumpFile).size() == 2);
+    final List<String> lines = Files.readAllLines(dumpFile);
+    final ObjectMapper mapper = new ObjectMapper();
+    final JsonNode first = mapper.readTree(lines.get(0));
+    assertThat(first.get("blockNumber").asLong()).isEqualTo(1);
+    assertThat(first.get("outcome").asText()).isEqualTo("created");
+    assertThat(first.get("phasesMs").fieldNames())
+        .toIterable()
+        .containsExactly("stateRoot", "blockAssembled");
+    assertThat(first.get("selectors").isArray()).isTrue();
+    assertThat(mapper.readTree(lines.get(1)).get("outcome").asText()).isEqualTo("cancelled");
+  }
+
+  private static BlockCreationTiming createTiming() {
+    final BlockCreationTiming timing = new BlockCreationTiming();
+    timing.register("stateRoot");
+    timing.register("blockAssembled");
+    return timing;
+  }
+
+  private double bucketCount(final String phase, final String bucket) {
+    return metricsSystem
+        .streamObservations(BesuMetricCategory.BLOCK_PROCESSING)
+        .filter(o -> o.getMetricName().equals("block_creation_phase_duration_seconds"))
+        .filter(o -> o.getLabels().equals(List.of(phase, "bucket", bucket)))
+        .map(Observation::getValue)
+        .mapToDouble(value -> ((Number) value).doubleValue())
+        .sum();
+  }
+}
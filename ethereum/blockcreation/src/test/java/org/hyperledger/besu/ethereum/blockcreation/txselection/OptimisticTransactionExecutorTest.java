@@ -0,0 +1,97 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+public class OptimisticTransactionExecutorTest {
+  private static final KeyPair KEYS1 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final KeyPair KEYS2 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final KeyPair KEYS3 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final Optional<Wei> BASE_FEE = Optional.of(Wei.of(10));
+
+  private final WorldView worldView = mock(WorldView.class);
+
+  @Test
+  public void onlyTheNextNonceOfEverySenderIsACandidate() {
+    final Transaction tx1Sender1 = createTransaction(0, 20, 5, KEYS1);
+    final Transaction tx2Sender1 = createTransaction(1, 100, 50, KEYS1);
+    final Transaction tx1Sender2 = createTransaction(0, 20, 2, KEYS2);
+
+    assertThat(candidates(tx2Sender1, tx1Sender2, tx1Sender1))
+        .containsExactly(tx1Sender1, tx1Sender2);
+  }
+
+  @Test
+  public void candidatesAreOrderedByEffectivePriorityFee() {
+    // capped by the max fee, pays 2
+    final Transaction feeLimited = createTransaction(0, 12, 8, KEYS1);
+    final Transaction capped = createTransaction(0, 20, 4, KEYS2);
+    final Transaction highest = createTransaction(0, 100, 6, KEYS3);
+
+    assertThat(candidates(feeLimited, capped, highest))
+        .containsExactly(highest, capped, feeLimited);
+  }
+
+  @Test
+  public void transactionsNotPayingTheBaseFeeOrWithNonceGapAreSkipped() {
+    final Transaction belowBaseFee = createTransaction(0, 9, 1, KEYS1);
+    final Transaction nonceGap = createTransaction(3, 20, 5, KEYS2);
+    final Transaction executable = createTransaction(2, 20, 1, KEYS3);
+    final Account sender3 = mock(Account.class);
+    when(sender3.getNonce()).thenReturn(2L);
+    when(worldView.get(executable.getSender())).thenReturn(sender3);
+
+    assertThat(candidates(belowBaseFee, nonceGap, executable)).containsExactly(executable);
+  }
+
+  private List<Transaction> candidates(final Transaction... transactions) {
+    final List<PendingTransaction> pendingTransactions =
+        Arrays.stream(transactions)
+            .map(tx -> (PendingTransaction) new PendingTransaction.Remote(tx))
+            .toList();
+    return OptimisticTransactionExecutor.independentCandidates(
+            pendingTransactions, BASE_FEE, worldView)
+        .toList();
+  }
+
+  private static Transaction createTransaction(
+      final long nonce, final long maxFee, final long maxPriorityFee, final KeyPair keys) {
+    return new TransactionTestFixture()
+        .type(TransactionType.EIP1559)
+        .nonce(nonce)
+        .maxFeePerGas(Optional.of(Wei.of(maxFee)))
+        .maxPriorityFeePerGas(Optional.of(Wei.of(maxPriorityFee)))
+        .createTransaction(keys);
+  }
+}
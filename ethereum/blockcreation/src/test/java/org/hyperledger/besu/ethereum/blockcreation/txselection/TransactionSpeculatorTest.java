@@ -0,0 +1,233 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.NoOpBonsaiCachedWorldStorageManager;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.NoopBonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.NoOpTrieLogManager;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.DiffBasedWorldStateConfig;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.DiffBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.operation.BlockHashOperation.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionSpeculatorTest {
+  private static final KeyPair KEYS1 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final KeyPair KEYS2 = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final Address RECIPIENT1 = Address.fromHexString("0x1001");
+  private static final Address RECIPIENT2 = Address.fromHexString("0x1002");
+  private static final Address MINING_BENEFICIARY = Address.fromHexString("0x2001");
+
+  private final TransactionPool transactionPool = mock(TransactionPool.class);
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final MainnetTransactionProcessor transactionProcessor =
+      mock(MainnetTransactionProcessor.class);
+  private final BlockHeader parentHeader = new BlockHeaderTestFixture().number(1).buildHeader();
+  private final BlockHeader pendingHeader =
+      new BlockHeaderTestFixture()
+          .number(2)
+          .parentHash(parentHeader.getHash())
+          .timestamp(1000)
+          .buildHeader();
+
+  private BonsaiWorldState headWorldState;
+  private TransactionSpeculator speculator;
+
+  @BeforeEach
+  public void setUp() {
+    final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    headWorldState =
+        new BonsaiWorldState(
+            worldStateKeyValueStorage,
+            new NoopBonsaiCachedMerkleTrieLoader(),
+            new NoOpBonsaiCachedWorldStorageManager(worldStateKeyValueStorage),
+            new NoOpTrieLogManager(),
+            EvmConfiguration.DEFAULT,
+            new DiffBasedWorldStateConfig());
+
+    when(blockchain.getChainHeadHash()).thenReturn(parentHeader.getHash());
+    when(worldStateArchive.getMutable(eq(parentHeader), eq(false)))
+        .thenAnswer(invocation -> Optional.of(copyOfHeadWorldState()));
+    // every transaction credits its recipient
+    when(transactionProcessor.processTransaction(
+            any(),
+            any(),
+            any(),
+            any(),
+            any(OperationTracer.class),
+            any(BlockHashLookup.class),
+            anyBoolean(),
+            any(),
+            any()))
+        .thenAnswer(
+            invocation -> {
+              final WorldUpdater updater = invocation.getArgument(0);
+              final Transaction transaction = invocation.getArgument(2);
+              updater.getOrCreate(transaction.getTo().get()).incrementBalance(Wei.ONE);
+              return TransactionProcessingResult.successful(
+                  Collections.emptyList(), 21_000, 0, Bytes.EMPTY, ValidationResult.valid());
+            });
+
+    speculator =
+        new TransactionSpeculator(
+            transactionPool,
+            worldStateArchive,
+            blockchain,
+            mock(EthScheduler.class),
+            new NoOpMetricsSystem(),
+            16);
+  }
+
+  @Test
+  public void onlyTransactionsWithTheNextNonceAreExecuted() {
+    final Transaction tx0 = createTransaction(KEYS1, 0, RECIPIENT1);
+    final Transaction tx1 = createTransaction(KEYS1, 1, RECIPIENT1);
+    final Transaction gapped = createTransaction(KEYS2, 3, RECIPIENT2);
+    givenPendingTransactions(tx0, tx1, gapped);
+
+    speculator.onBlockCreation(
+        parentHeader, pendingHeader, MINING_BENEFICIARY, Wei.ZERO, transactionProcessor);
+    speculator.speculate();
+
+    assertThat(speculator.getExecutionsCount()).isEqualTo(1);
+    assertThat(getReusableExecution(tx0, pendingHeader, newBlockAccumulator())).isPresent();
+    assertThat(getReusableExecution(tx1, pendingHeader, newBlockAccumulator())).isEmpty();
+  }
+
+  @Test
+  public void executionIsNotReusedWhenTheBlockModifiedATouchedAccount() {
+    final Transaction tx1 = createTransaction(KEYS1, 0, RECIPIENT1);
+    final Transaction tx2 = createTransaction(KEYS2, 0, RECIPIENT2);
+    givenPendingTransactions(tx1, tx2);
+
+    speculator.onBlockCreation(
+        parentHeader, pendingHeader, MINING_BENEFICIARY, Wei.ZERO, transactionProcessor);
+    speculator.speculate();
+
+    final DiffBasedWorldStateUpdateAccumulator<?> blockAccumulator = newBlockAccumulator();
+    blockAccumulator.getOrCreate(RECIPIENT1).incrementBalance(Wei.of(5));
+    blockAccumulator.commit();
+
+    assertThat(getReusableExecution(tx1, pendingHeader, blockAccumulator)).isEmpty();
+    assertThat(getReusableExecution(tx2, pendingHeader, blockAccumulator)).isPresent();
+  }
+
+  @Test
+  public void executionIsNotReusedForADifferentBlock() {
+    final Transaction tx = createTransaction(KEYS1, 0, RECIPIENT1);
+    givenPendingTransactions(tx);
+
+    speculator.onBlockCreation(
+        parentHeader, pendingHeader, MINING_BENEFICIARY, Wei.ZERO, transactionProcessor);
+    speculator.speculate();
+
+    final BlockHeader laterPendingHeader =
+        new BlockHeaderTestFixture()
+            .number(2)
+            .parentHash(parentHeader.getHash())
+            .timestamp(1012)
+            .buildHeader();
+    assertThat(getReusableExecution(tx, laterPendingHeader, newBlockAccumulator())).isEmpty();
+  }
+
+  @Test
+  public void executionsAreDiscardedWhenTheHeadChanges() {
+    givenPendingTransactions(createTransaction(KEYS1, 0, RECIPIENT1));
+
+    speculator.onBlockCreation(
+        parentHeader, pendingHeader, MINING_BENEFICIARY, Wei.ZERO, transactionProcessor);
+    speculator.speculate();
+    assertThat(speculator.getExecutionsCount()).isEqualTo(1);
+
+    when(blockchain.getChainHeadHash()).thenReturn(pendingHeader.getHash());
+    speculator.speculate();
+
+    assertThat(speculator.getExecutionsCount()).isZero();
+  }
+
+  private Optional<?> getReusableExecution(
+      final Transaction transaction,
+      final BlockHeader header,
+      final DiffBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    return speculator.getReusableExecution(
+        transaction, header, MINING_BENEFICIARY, Wei.ZERO, blockAccumulator);
+  }
+
+  private DiffBasedWorldStateUpdateAccumulator<?> newBlockAccumulator() {
+    return (DiffBasedWorldStateUpdateAccumulator<?>) copyOfHeadWorldState().updater();
+  }
+
+  private BonsaiWorldState copyOfHeadWorldState() {
+    return new BonsaiWorldState(headWorldState, new NoopBonsaiCachedMerkleTrieLoader());
+  }
+
+  private void givenPendingTransactions(final Transaction... transactions) {
+    when(transactionPool.getPendingTransactions())
+        .thenReturn(
+            List.of(transactions).stream()
+                .<PendingTransaction>map(PendingTransaction.Remote::new)
+                .toList());
+  }
+
+  private static Transaction createTransaction(
+      final KeyPair keys, final long nonce, final Address recipient) {
+    return new TransactionTestFixture()
+        .nonce(nonce)
+        .to(Optional.of(recipient))
+        .createTransaction(keys);
+  }
+}
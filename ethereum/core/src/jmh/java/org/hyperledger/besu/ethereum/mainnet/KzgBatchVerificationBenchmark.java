@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.datatypes.BlobsWithCommitments;
+import org.hyperledger.besu.ethereum.core.BlobTestFixture;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of verifying the KZG proofs of a set of blobs, one call per blob as it would be done
+ * verifying them one by one, against a single batch call with all of them, as done for the
+ * transactions received together from peers.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KzgBatchVerificationBenchmark {
+
+  @Param({"1", "6", "32", "128"})
+  private int blobCount;
+
+  private List<BlobsWithCommitments> singleBlobs;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final BlobTestFixture blobTestFixture = new BlobTestFixture();
+    singleBlobs =
+        IntStream.range(0, blobCount)
+            .mapToObj(unused -> blobTestFixture.createBlobsWithCommitments(1))
+            .toList();
+  }
+
+  @Benchmark
+  public boolean perBlob() {
+    boolean valid = true;
+    for (final BlobsWithCommitments blob : singleBlobs) {
+      valid &= KzgBatchVerifier.verify(List.of(blob));
+    }
+    return valid;
+  }
+
+  @Benchmark
+  public boolean batch() {
+    return KzgBatchVerifier.verify(singleBlobs);
+  }
+}
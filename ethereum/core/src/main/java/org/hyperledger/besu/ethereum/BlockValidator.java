@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum;
 
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Request;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
@@ -101,4 +102,28 @@ public interface BlockValidator {
       final Optional<List<Request>> requests,
       final HeaderValidationMode headerValidationMode,
       final HeaderValidationMode ommerValidationMode);
+
+  /**
+   * Performs fast block validation as {@link #fastBlockValidation(ProtocolContext, Block, List,
+   * Optional, HeaderValidationMode, HeaderValidationMode)} does, against the given parent header
+   * instead of the one stored in the blockchain, so consecutive blocks can be validated before
+   * being stored.
+   *
+   * @param context the protocol context
+   * @param block the block to validate
+   * @param parent the header of the parent block
+   * @param receipts the transaction receipts
+   * @param requests the requests
+   * @param headerValidationMode the header validation mode
+   * @param ommerValidationMode the ommer validation mode
+   * @return true if the block is valid, false otherwise
+   */
+  boolean fastBlockValidation(
+      final ProtocolContext context,
+      final Block block,
+      final BlockHeader parent,
+      final List<TransactionReceipt> receipts,
+      final Optional<List<Request>> requests,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode);
 }
@@ -260,7 +260,33 @@ public class MainnetBlockValidator implements BlockValidator {
       badBlockManager.addBadBlock(block, BadBlockCause.fromValidationFailure(description));
       return false;
     }
+    return fastBodyValidation(context, block, receipts, requests, ommerValidationMode);
+  }
+
+  @Override
+  public boolean fastBlockValidation(
+      final ProtocolContext context,
+      final Block block,
+      final BlockHeader parent,
+      final List<TransactionReceipt> receipts,
+      final Optional<List<Request>> requests,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    if (!blockHeaderValidator.validateHeader(
+        block.getHeader(), parent, context, headerValidationMode)) {
+      String description = String.format("Failed header validation (%s)", headerValidationMode);
+      badBlockManager.addBadBlock(block, BadBlockCause.fromValidationFailure(description));
+      return false;
+    }
+    return fastBodyValidation(context, block, receipts, requests, ommerValidationMode);
+  }
 
+  private boolean fastBodyValidation(
+      final ProtocolContext context,
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final Optional<List<Request>> requests,
+      final HeaderValidationMode ommerValidationMode) {
     if (!blockBodyValidator.validateBodyLight(
         context, block, receipts, requests, ommerValidationMode)) {
       badBlockManager.addBadBlock(
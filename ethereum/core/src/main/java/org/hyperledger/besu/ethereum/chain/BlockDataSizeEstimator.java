@@ -0,0 +1,72 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.util.List;
+
+/**
+ * Cheap estimates of the heap retained by cached block data. They are based on the encoded sizes,
+ * which are already memoized for transactions, plus a fixed per object overhead, and never
+ * re-encode anything so they can be used as cache weights on the import path.
+ */
+final class BlockDataSizeEstimator {
+
+  static final long DIFFICULTY_SIZE = 64;
+
+  private static final long OBJECT_OVERHEAD = 64;
+  private static final long HEADER_SIZE = 1_024;
+  private static final long WITHDRAWAL_SIZE = 128;
+  private static final long REQUEST_SIZE = 256;
+  private static final long RECEIPT_SIZE = LogsBloomFilter.BYTE_SIZE + 2 * OBJECT_OVERHEAD;
+  private static final long LOG_SIZE = 20 + OBJECT_OVERHEAD;
+  private static final long TOPIC_SIZE = 32 + OBJECT_OVERHEAD;
+
+  private BlockDataSizeEstimator() {}
+
+  static long estimateHeaderSize(final BlockHeader header) {
+    return HEADER_SIZE + header.getExtraData().size();
+  }
+
+  static long estimateBodySize(final BlockBody body) {
+    long size = OBJECT_OVERHEAD;
+    for (final Transaction transaction : body.getTransactions()) {
+      size += transaction.getSize() + OBJECT_OVERHEAD;
+    }
+    for (final BlockHeader ommer : body.getOmmers()) {
+      size += estimateHeaderSize(ommer);
+    }
+    size += body.getWithdrawals().map(List::size).orElse(0) * WITHDRAWAL_SIZE;
+    size += body.getRequests().map(List::size).orElse(0) * REQUEST_SIZE;
+    return size;
+  }
+
+  static long estimateReceiptsSize(final List<TransactionReceipt> receipts) {
+    long size = OBJECT_OVERHEAD;
+    for (final TransactionReceipt receipt : receipts) {
+      size += RECEIPT_SIZE;
+      for (final Log log : receipt.getLogsList()) {
+        size += LOG_SIZE + log.getData().size() + log.getTopics().size() * TOPIC_SIZE;
+      }
+    }
+    return size;
+  }
+}
@@ -15,10 +15,17 @@
 package org.hyperledger.besu.ethereum.chain;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,19 +37,43 @@ public class ChainDataPruner implements BlockAddedObserver {
   private final ChainDataPrunerStorage prunerStorage;
   private final long blocksToRetain;
   private final long pruningFrequency;
+  private final long blocksPerBatch;
   private final ExecutorService pruningExecutor;
+  private final AtomicLong pruningTarget = new AtomicLong(-1);
+  private final AtomicBoolean pruningScheduled = new AtomicBoolean(false);
+  private volatile boolean hasPruningBacklog = false;
+  private final Counter prunedBlocksCounter;
+  private final Counter reclaimedBytesCounter;
 
   public ChainDataPruner(
       final BlockchainStorage blockchainStorage,
       final ChainDataPrunerStorage prunerStorage,
       final long blocksToRetain,
       final long pruningFrequency,
-      final ExecutorService pruningExecutor) {
+      final long blocksPerBatch,
+      final ExecutorService pruningExecutor,
+      final MetricsSystem metricsSystem) {
     this.blockchainStorage = blockchainStorage;
     this.prunerStorage = prunerStorage;
     this.blocksToRetain = blocksToRetain;
     this.pruningFrequency = pruningFrequency;
+    this.blocksPerBatch = blocksPerBatch;
     this.pruningExecutor = pruningExecutor;
+    this.prunedBlocksCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "chain_pruner_blocks_pruned_total",
+            "Number of block heights whose chain data has been pruned");
+    this.reclaimedBytesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "chain_pruner_reclaimed_bytes_total",
+            "Estimated size in bytes of the block headers and bodies removed by the chain pruner");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "chain_pruner_pending_blocks",
+        "Number of block heights eligible for pruning that have not been pruned yet",
+        this::pendingBlocks);
   }
 
   @Override
@@ -67,44 +98,79 @@ public class ChainDataPruner implements BlockAddedObserver {
     prunerStorage.setForkBlocks(recordBlockHashesTransaction, blockNumber, forkBlocks);
     recordBlockHashesTransaction.commit();
 
-    pruningExecutor.submit(
-        () -> {
-          final KeyValueStorageTransaction pruningTransaction = prunerStorage.startTransaction();
-          long currentPruningMark = storedPruningMark;
-          final long newPruningMark = blockNumber - blocksToRetain;
-          final long blocksToBePruned = newPruningMark - currentPruningMark;
-          if (event.isNewCanonicalHead() && blocksToBePruned >= pruningFrequency) {
-            long currentRetainedBlock = blockNumber - currentPruningMark + 1;
-            while (currentRetainedBlock > blocksToRetain) {
-              LOG.debug("Pruning chain data with block height of {}", currentPruningMark);
-              pruneChainDataAtBlock(pruningTransaction, currentPruningMark);
-              currentPruningMark++;
-              currentRetainedBlock = blockNumber - currentPruningMark;
-            }
-          }
-          prunerStorage.setPruningMark(pruningTransaction, currentPruningMark);
-          pruningTransaction.commit();
-        });
+    if (event.isNewCanonicalHead()) {
+      pruningTarget.set(blockNumber);
+    }
+    // a single pass prunes up to the latest canonical head, so while one is pending there is no
+    // need to queue another one for each imported block
+    if (pruningScheduled.compareAndSet(false, true)) {
+      pruningExecutor.submit(() -> prune(blockNumber));
+    }
+  }
+
+  private void prune(final long addedBlockNumber) {
+    pruningScheduled.set(false);
+    final long chainHead = pruningTarget.get();
+    final long currentPruningMark = prunerStorage.getPruningMark().orElse(addedBlockNumber);
+    final long lastBlockToPrune = chainHead - blocksToRetain;
+    final long blocksToBePruned = lastBlockToPrune - currentPruningMark + 1;
+    long newPruningMark = currentPruningMark;
+    if (chainHead >= 0
+        && blocksToBePruned > 0
+        && (blocksToBePruned > pruningFrequency || hasPruningBacklog)) {
+      // the pruned heights are removed in batched writes, bounded so that a large backlog does
+      // not compete with block import, what is left is picked up by the next pass
+      newPruningMark = Math.min(lastBlockToPrune + 1, currentPruningMark + blocksPerBatch);
+      hasPruningBacklog = newPruningMark <= lastBlockToPrune;
+      LOG.debug(
+          "Pruning chain data from block height {} to {}", currentPruningMark, newPruningMark - 1);
+      pruneChainDataInRange(currentPruningMark, newPruningMark);
+    }
+    final KeyValueStorageTransaction pruningTransaction = prunerStorage.startTransaction();
+    prunerStorage.setPruningMark(pruningTransaction, newPruningMark);
+    pruningTransaction.commit();
   }
 
-  private void pruneChainDataAtBlock(final KeyValueStorageTransaction tx, final long blockNumber) {
-    final Collection<Hash> oldForkBlocks = prunerStorage.getForkBlocks(blockNumber);
+  private void pruneChainDataInRange(final long fromBlockNumber, final long toBlockNumber) {
     final BlockchainStorage.Updater updater = blockchainStorage.updater();
-    for (final Hash toPrune : oldForkBlocks) {
-      updater.removeBlockHeader(toPrune);
-      updater.removeBlockBody(toPrune);
-      updater.removeTransactionReceipts(toPrune);
-      updater.removeTotalDifficulty(toPrune);
-      blockchainStorage
-          .getBlockBody(toPrune)
-          .ifPresent(
-              blockBody ->
-                  blockBody
-                      .getTransactions()
-                      .forEach(t -> updater.removeTransactionLocation(t.getHash())));
+    final KeyValueStorageTransaction tx = prunerStorage.startTransaction();
+    long reclaimedBytes = 0;
+    for (long blockNumber = fromBlockNumber; blockNumber < toBlockNumber; blockNumber++) {
+      final Collection<Hash> oldForkBlocks = prunerStorage.getForkBlocks(blockNumber);
+      for (final Hash toPrune : oldForkBlocks) {
+        reclaimedBytes +=
+            blockchainStorage
+                .getBlockHeader(toPrune)
+                .map(BlockDataSizeEstimator::estimateHeaderSize)
+                .orElse(0L);
+        updater.removeBlockHeader(toPrune);
+        updater.removeBlockBody(toPrune);
+        updater.removeTransactionReceipts(toPrune);
+        updater.removeTotalDifficulty(toPrune);
+        final Optional<BlockBody> maybeBlockBody = blockchainStorage.getBlockBody(toPrune);
+        if (maybeBlockBody.isPresent()) {
+          final BlockBody blockBody = maybeBlockBody.get();
+          reclaimedBytes += BlockDataSizeEstimator.estimateBodySize(blockBody);
+          blockBody.getTransactions().forEach(t -> updater.removeTransactionLocation(t.getHash()));
+        }
+      }
+      updater.removeBlockHash(blockNumber);
+      prunerStorage.removeForkBlocks(tx, blockNumber);
     }
-    updater.removeBlockHash(blockNumber);
     updater.commit();
-    prunerStorage.removeForkBlocks(tx, blockNumber);
+    tx.commit();
+    prunedBlocksCounter.inc(toBlockNumber - fromBlockNumber);
+    reclaimedBytesCounter.inc(reclaimedBytes);
+  }
+
+  private long pendingBlocks() {
+    final long chainHead = pruningTarget.get();
+    if (chainHead < 0) {
+      return 0;
+    }
+    return prunerStorage
+        .getPruningMark()
+        .map(mark -> Math.max(0, chainHead - blocksToRetain - mark + 1))
+        .orElse(0L);
   }
 }
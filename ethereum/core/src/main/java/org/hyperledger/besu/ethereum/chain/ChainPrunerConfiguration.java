@@ -16,21 +16,24 @@ package org.hyperledger.besu.ethereum.chain;
 
 public class ChainPrunerConfiguration {
   public static final ChainPrunerConfiguration DEFAULT =
-      new ChainPrunerConfiguration(false, 7200, 7200, 256);
+      new ChainPrunerConfiguration(false, 7200, 7200, 256, 1024);
   private final boolean enabled;
   private final long blocksRetained;
   private final long blocksFrequency;
   private final long blocksRetainedLimit;
+  private final long blocksPerBatch;
 
   public ChainPrunerConfiguration(
       final boolean enabled,
       final long blocksRetained,
       final long blocksRetainedLimit,
-      final long blocksFrequency) {
+      final long blocksFrequency,
+      final long blocksPerBatch) {
     this.enabled = enabled;
     this.blocksRetained = blocksRetained;
     this.blocksRetainedLimit = blocksRetainedLimit;
     this.blocksFrequency = blocksFrequency;
+    this.blocksPerBatch = blocksPerBatch;
   }
 
   public long getChainPruningBlocksRetained() {
@@ -48,4 +51,8 @@ public class ChainPrunerConfiguration {
   public long getChainPruningBlocksFrequency() {
     return blocksFrequency;
   }
+
+  public long getChainPruningBlocksPerBatch() {
+    return blocksPerBatch;
+  }
 }
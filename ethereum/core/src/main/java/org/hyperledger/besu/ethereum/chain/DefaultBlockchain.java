@@ -31,9 +31,9 @@ import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
-import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.util.InvalidConfigurationException;
 import org.hyperledger.besu.util.Subscribers;
 
@@ -47,21 +47,28 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
-import io.prometheus.client.guava.cache.CacheMetricsCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DefaultBlockchain implements MutableBlockchain {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultBlockchain.class);
 
+  /**
+   * Default upper bound, in bytes, of each of the block headers, bodies, receipts and total
+   * difficulty caches.
+   */
+  public static final long DEFAULT_MAX_CACHED_BLOCK_DATA_BYTES = 256L * 1024 * 1024;
+
   private final Comparator<BlockHeader> heaviestChainBlockChoiceRule =
       Comparator.comparing(this::calculateTotalDifficulty);
 
@@ -92,7 +99,14 @@ public class DefaultBlockchain implements MutableBlockchain {
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem,
       final long reorgLoggingThreshold) {
-    this(genesisBlock, blockchainStorage, metricsSystem, reorgLoggingThreshold, null, 0);
+    this(
+        genesisBlock,
+        blockchainStorage,
+        metricsSystem,
+        reorgLoggingThreshold,
+        null,
+        0,
+        DEFAULT_MAX_CACHED_BLOCK_DATA_BYTES);
   }
 
   private DefaultBlockchain(
@@ -101,7 +115,8 @@ public class DefaultBlockchain implements MutableBlockchain {
       final MetricsSystem metricsSystem,
       final long reorgLoggingThreshold,
       final String dataDirectory,
-      final int numberOfBlocksToCache) {
+      final int numberOfBlocksToCache,
+      final long maxCachedBlockDataBytes) {
     checkNotNull(genesisBlock);
     checkNotNull(blockchainStorage);
     checkNotNull(metricsSystem);
@@ -173,25 +188,65 @@ public class DefaultBlockchain implements MutableBlockchain {
     this.numberOfBlocksToCache = numberOfBlocksToCache;
 
     if (numberOfBlocksToCache != 0) {
+      checkArgument(maxCachedBlockDataBytes > 0, "Cached block data size must be positive");
+      final LabelledGauge cacheSizeBytes =
+          metricsSystem.createLabelledGauge(
+              BesuMetricCategory.BLOCKCHAIN,
+              "cache_size_bytes",
+              "Estimated size in bytes of the entries held by the blockchain caches",
+              "cache");
+      final LabelledGauge cacheEntries =
+          metricsSystem.createLabelledGauge(
+              BesuMetricCategory.BLOCKCHAIN,
+              "cache_entries",
+              "Number of entries held by the blockchain caches",
+              "cache");
+      final LabelledGauge cacheHitRatio =
+          metricsSystem.createLabelledGauge(
+              BesuMetricCategory.BLOCKCHAIN,
+              "cache_hit_ratio",
+              "Ratio of lookups served by the blockchain caches",
+              "cache");
       blockHeadersCache =
           Optional.of(
-              CacheBuilder.newBuilder().recordStats().maximumSize(numberOfBlocksToCache).build());
+              createWeightedCache(
+                  "blockHeaders",
+                  BlockDataSizeEstimator::estimateHeaderSize,
+                  numberOfBlocksToCache,
+                  maxCachedBlockDataBytes,
+                  cacheSizeBytes,
+                  cacheEntries,
+                  cacheHitRatio));
       blockBodiesCache =
           Optional.of(
-              CacheBuilder.newBuilder().recordStats().maximumSize(numberOfBlocksToCache).build());
+              createWeightedCache(
+                  "blockBodies",
+                  BlockDataSizeEstimator::estimateBodySize,
+                  numberOfBlocksToCache,
+                  maxCachedBlockDataBytes,
+                  cacheSizeBytes,
+                  cacheEntries,
+                  cacheHitRatio));
       transactionReceiptsCache =
           Optional.of(
-              CacheBuilder.newBuilder().recordStats().maximumSize(numberOfBlocksToCache).build());
+              createWeightedCache(
+                  "transactionReceipts",
+                  BlockDataSizeEstimator::estimateReceiptsSize,
+                  numberOfBlocksToCache,
+                  maxCachedBlockDataBytes,
+                  cacheSizeBytes,
+                  cacheEntries,
+                  cacheHitRatio));
       totalDifficultyCache =
           Optional.of(
-              CacheBuilder.newBuilder().recordStats().maximumSize(numberOfBlocksToCache).build());
-      CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
-      cacheMetrics.addCache("blockHeaders", blockHeadersCache.get());
-      cacheMetrics.addCache("blockBodies", blockBodiesCache.get());
-      cacheMetrics.addCache("transactionReceipts", transactionReceiptsCache.get());
-      cacheMetrics.addCache("totalDifficulty", totalDifficultyCache.get());
-      if (metricsSystem instanceof PrometheusMetricsSystem prometheusMetricsSystem)
-        prometheusMetricsSystem.addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
+              createWeightedCache(
+                  "totalDifficulty",
+                  difficulty -> BlockDataSizeEstimator.DIFFICULTY_SIZE,
+                  numberOfBlocksToCache,
+                  maxCachedBlockDataBytes,
+                  cacheSizeBytes,
+                  cacheEntries,
+                  cacheHitRatio));
     } else {
       blockHeadersCache = Optional.empty();
       blockBodiesCache = Optional.empty();
@@ -200,6 +255,39 @@ public class DefaultBlockchain implements MutableBlockchain {
     }
   }
 
+  /**
+   * Creates a cache bounded both by number of blocks and by bytes. Each entry weighs at least its
+   * share of the byte budget, so at most {@code maxEntries} blocks are ever held, and large blocks
+   * take the place of several small ones so a burst of big blocks cannot exceed the budget.
+   */
+  private static <V> Cache<Hash, V> createWeightedCache(
+      final String name,
+      final ToLongFunction<V> sizeEstimator,
+      final int maxEntries,
+      final long maxBytes,
+      final LabelledGauge cacheSizeBytes,
+      final LabelledGauge cacheEntries,
+      final LabelledGauge cacheHitRatio) {
+    final long minWeight = Math.max(1, maxBytes / maxEntries);
+    final Cache<Hash, V> cache =
+        Caffeine.newBuilder()
+            .recordStats()
+            .maximumWeight(maxBytes)
+            .<Hash, V>weigher(
+                (hash, value) ->
+                    (int)
+                        Math.min(
+                            Integer.MAX_VALUE,
+                            Math.max(minWeight, sizeEstimator.applyAsLong(value))))
+            .build();
+    // the weighted size is a running total kept by the cache, no need to walk the entries
+    final Policy.Eviction<Hash, V> eviction = cache.policy().eviction().orElseThrow();
+    cacheSizeBytes.labels(() -> eviction.weightedSize().orElse(0L), name);
+    cacheEntries.labels(cache::estimatedSize, name);
+    cacheHitRatio.labels(() -> cache.stats().hitRate(), name);
+    return cache;
+  }
+
   public static MutableBlockchain createMutable(
       final Block genesisBlock,
       final BlockchainStorage blockchainStorage,
@@ -212,7 +300,8 @@ public class DefaultBlockchain implements MutableBlockchain {
         metricsSystem,
         reorgLoggingThreshold,
         null,
-        0);
+        0,
+        DEFAULT_MAX_CACHED_BLOCK_DATA_BYTES);
   }
 
   public static MutableBlockchain createMutable(
@@ -228,7 +317,8 @@ public class DefaultBlockchain implements MutableBlockchain {
         metricsSystem,
         reorgLoggingThreshold,
         dataDirectory,
-        0);
+        0,
+        DEFAULT_MAX_CACHED_BLOCK_DATA_BYTES);
   }
 
   public static MutableBlockchain createMutable(
@@ -238,6 +328,24 @@ public class DefaultBlockchain implements MutableBlockchain {
       final long reorgLoggingThreshold,
       final String dataDirectory,
       final int numberOfBlocksToCache) {
+    return createMutable(
+        genesisBlock,
+        blockchainStorage,
+        metricsSystem,
+        reorgLoggingThreshold,
+        dataDirectory,
+        numberOfBlocksToCache,
+        DEFAULT_MAX_CACHED_BLOCK_DATA_BYTES);
+  }
+
+  public static MutableBlockchain createMutable(
+      final Block genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final long reorgLoggingThreshold,
+      final String dataDirectory,
+      final int numberOfBlocksToCache,
+      final long maxCachedBlockDataBytes) {
     checkNotNull(genesisBlock);
     return new DefaultBlockchain(
         Optional.of(genesisBlock),
@@ -245,7 +353,8 @@ public class DefaultBlockchain implements MutableBlockchain {
         metricsSystem,
         reorgLoggingThreshold,
         dataDirectory,
-        numberOfBlocksToCache);
+        numberOfBlocksToCache,
+        maxCachedBlockDataBytes);
   }
 
   public static Blockchain create(
@@ -400,6 +509,57 @@ public class DefaultBlockchain implements MutableBlockchain {
     appendBlockHelper(new BlockWithReceipts(block, receipts), true);
   }
 
+  @Override
+  public synchronized void appendBlocks(final List<BlockWithReceipts> blocksWithReceipts) {
+    if (blocksWithReceipts.isEmpty()) {
+      return;
+    }
+    if (!extendsChainHead(blocksWithReceipts)) {
+      // forks, reorgs and already stored blocks are handled one by one
+      blocksWithReceipts.forEach(
+          blockWithReceipts ->
+              appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts()));
+      return;
+    }
+
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    final List<BlockAddedEvent> blockAddedEvents = new ArrayList<>(blocksWithReceipts.size());
+    Difficulty td = totalDifficulty;
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      final Block block = blockWithReceipts.getBlock();
+      final List<TransactionReceipt> receipts = blockWithReceipts.getReceipts();
+      checkArgument(
+          block.getBody().getTransactions().size() == receipts.size(),
+          "Supplied receipts do not match block transactions.");
+      if (numberOfBlocksToCache != 0) cacheBlockData(block, receipts);
+
+      final Hash hash = block.getHash();
+      td = td.add(block.getHeader().getDifficulty());
+      updater.putBlockHeader(hash, block.getHeader());
+      updater.putBlockBody(hash, block.getBody());
+      updater.putTransactionReceipts(hash, receipts);
+      updater.putTotalDifficulty(hash, td);
+      blockAddedEvents.add(handleNewHead(updater, blockWithReceipts));
+    }
+    updateCacheForNewCanonicalHead(blocksWithReceipts.getLast().getBlock(), td);
+
+    updater.commit();
+    blockAddedEvents.forEach(
+        blockAddedEvent ->
+            blockAddedObservers.forEach(observer -> observer.onBlockAdded(blockAddedEvent)));
+  }
+
+  private boolean extendsChainHead(final List<BlockWithReceipts> blocksWithReceipts) {
+    Hash parentHash = chainHeader.getHash();
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      if (!blockWithReceipts.getHeader().getParentHash().equals(parentHash)) {
+        return false;
+      }
+      parentHash = blockWithReceipts.getHash();
+    }
+    return true;
+  }
+
   private void cacheBlockData(final Block block, final List<TransactionReceipt> receipts) {
     blockHeadersCache.ifPresent(cache -> cache.put(block.getHash(), block.getHeader()));
     blockBodiesCache.ifPresent(cache -> cache.put(block.getHash(), block.getBody()));
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.chain;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 
@@ -37,6 +38,19 @@ public interface MutableBlockchain extends Blockchain {
    */
   void appendBlock(Block block, List<TransactionReceipt> receipts);
 
+  /**
+   * Adds consecutive blocks to the blockchain, as {@link #appendBlock(Block, List)} does for each
+   * of them, but allowing the implementation to write them together.
+   *
+   * @param blocksWithReceipts The blocks to append with their receipts, each block the parent of
+   *     the next one.
+   */
+  default void appendBlocks(final List<BlockWithReceipts> blocksWithReceipts) {
+    blocksWithReceipts.forEach(
+        blockWithReceipts ->
+            appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts()));
+  }
+
   /**
    * Adds a block to the blockchain, without updating the chain state.
    *
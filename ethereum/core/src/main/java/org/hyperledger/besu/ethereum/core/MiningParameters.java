@@ -21,6 +21,7 @@ import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelecto
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelectorFactory;
 import org.hyperledger.besu.util.number.PositiveNumber;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
@@ -324,6 +325,7 @@ public abstract class MiningParameters {
     int DEFAULT_MAX_OMMERS_DEPTH = 8;
     long DEFAULT_POS_BLOCK_CREATION_MAX_TIME = Duration.ofSeconds(12).toMillis();
     long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION = Duration.ofMillis(500).toMillis();
+    int DEFAULT_POS_SPECULATIVE_EXECUTION_MAX_TRANSACTIONS = 256;
 
     MiningParameters.Unstable DEFAULT = ImmutableMiningParameters.Unstable.builder().build();
 
@@ -357,6 +359,28 @@ public abstract class MiningParameters {
       return DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
     }
 
+    @Value.Default
+    default boolean isPosSpeculativeExecutionEnabled() {
+      return false;
+    }
+
+    @Value.Default
+    default int getPosSpeculativeExecutionMaxTransactions() {
+      return DEFAULT_POS_SPECULATIVE_EXECUTION_MAX_TRANSACTIONS;
+    }
+
+    @Value.Default
+    default boolean isParallelTxsSelectionEnabled() {
+      return false;
+    }
+
+    @Value.Default
+    default boolean isBlockCreationProfilingEnabled() {
+      return false;
+    }
+
+    Optional<Path> getBlockCreationProfilingDumpFile();
+
     @Value.Default
     default String getStratumExtranonce() {
       return "080c";
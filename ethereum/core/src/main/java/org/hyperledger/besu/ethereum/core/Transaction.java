@@ -1122,6 +1122,52 @@ public class Transaction
     return copiedTx;
   }
 
+  /**
+   * Creates a copy of this blob transaction with the supplied blobs with commitments, that must
+   * have the same content of the current ones, but could be stored differently, like off heap.
+   *
+   * <p>The computed fields, like hash and size, are copied too.
+   *
+   * @param newBlobsWithCommitments the blobs with commitments of the copy
+   * @return a copy of the transaction with the supplied blobs with commitments
+   */
+  public Transaction withBlobsWithCommitments(final BlobsWithCommitments newBlobsWithCommitments) {
+    checkArgument(
+        blobsWithCommitments.isPresent(), "Transaction %s does not have blobs", getHash());
+    checkArgument(
+        newBlobsWithCommitments.getVersionedHashes().equals(versionedHashes.get()),
+        "Blobs with commitments do not match the versioned hashes of transaction %s",
+        getHash());
+
+    final var copiedTx =
+        new Transaction(
+            true,
+            transactionType,
+            nonce,
+            gasPrice,
+            maxPriorityFeePerGas,
+            maxFeePerGas,
+            maxFeePerBlobGas,
+            gasLimit,
+            to,
+            value,
+            signature,
+            payload,
+            maybeAccessList,
+            sender,
+            chainId,
+            versionedHashes,
+            Optional.of(newBlobsWithCommitments),
+            maybeAuthorizationList);
+
+    copiedTx.sender = this.sender;
+    copiedTx.hash = this.hash;
+    copiedTx.hashNoSignature = this.hashNoSignature;
+    copiedTx.size = this.size;
+
+    return copiedTx;
+  }
+
   private AccessListEntry accessListDetachedCopy(final AccessListEntry accessListEntry) {
     final Address detachedAddress = Address.wrap(accessListEntry.address().copy());
     final var detachedStorage = accessListEntry.storageKeys().stream().map(Bytes32::copy).toList();
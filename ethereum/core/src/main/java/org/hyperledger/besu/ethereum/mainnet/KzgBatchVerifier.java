@@ -0,0 +1,161 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.datatypes.Blob;
+import org.hyperledger.besu.datatypes.BlobsWithCommitments;
+import org.hyperledger.besu.datatypes.BlobsWithCommitments.BlobQuad;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import ethereum.ckzg4844.CKZG4844JNI;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verifies the KZG proofs of the blobs of many transactions at once.
+ *
+ * <p>The cost of verifying a batch of blob proofs grows much slower than the number of blobs,
+ * because the pairing checks are aggregated with a random linear combination, so the blobs of all
+ * the transactions are verified with a single call. When the batch fails, it is not known which
+ * blobs are wrong, so every transaction is then verified on its own, in parallel on the given
+ * executor, to find the offending ones. The calling thread takes part in the verification, so it
+ * completes even if the executor is busy, or is the one running the caller.
+ */
+public class KzgBatchVerifier {
+  private static final Logger LOG = LoggerFactory.getLogger(KzgBatchVerifier.class);
+  private static final int MAX_FALLBACK_HELPERS =
+      Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+  private KzgBatchVerifier() {}
+
+  /**
+   * Verify the KZG proofs of the blobs of the transactions, the ones without blobs are ignored.
+   *
+   * @param transactions the transactions to verify
+   * @return the hashes of the transactions with blobs, whose proofs are all valid
+   */
+  public static Set<Hash> verifiedTransactions(final Collection<Transaction> transactions) {
+    return verifiedTransactions(transactions, Runnable::run);
+  }
+
+  /**
+   * Verify the KZG proofs of the blobs of the transactions, the ones without blobs are ignored.
+   *
+   * @param transactions the transactions to verify
+   * @param executor the executor helping to verify the transactions one by one, when the batch is
+   *     not valid
+   * @return the hashes of the transactions with blobs, whose proofs are all valid
+   */
+  public static Set<Hash> verifiedTransactions(
+      final Collection<Transaction> transactions, final Executor executor) {
+    final List<Transaction> withBlobs =
+        transactions.stream()
+            .filter(transaction -> transaction.getBlobsWithCommitments().isPresent())
+            .toList();
+    if (withBlobs.isEmpty()) {
+      return Set.of();
+    }
+    if (verify(
+        withBlobs.stream()
+            .map(transaction -> transaction.getBlobsWithCommitments().get())
+            .toList())) {
+      return withBlobs.stream().map(Transaction::getHash).collect(Collectors.toSet());
+    }
+    if (withBlobs.size() == 1) {
+      return Set.of();
+    }
+    return verifyOneByOne(withBlobs, executor);
+  }
+
+  private static Set<Hash> verifyOneByOne(
+      final List<Transaction> transactions, final Executor executor) {
+    final Set<Hash> verified = ConcurrentHashMap.newKeySet();
+    final AtomicInteger next = new AtomicInteger();
+    final CountDownLatch pending = new CountDownLatch(transactions.size());
+    final Runnable verifier =
+        () -> {
+          int i;
+          while ((i = next.getAndIncrement()) < transactions.size()) {
+            try {
+              final Transaction transaction = transactions.get(i);
+              if (verify(List.of(transaction.getBlobsWithCommitments().get()))) {
+                verified.add(transaction.getHash());
+              }
+            } finally {
+              pending.countDown();
+            }
+          }
+        };
+
+    final int helpers = Math.min(transactions.size() - 1, MAX_FALLBACK_HELPERS);
+    try {
+      for (int i = 0; i < helpers; i++) {
+        executor.execute(verifier);
+      }
+    } catch (final RejectedExecutionException e) {
+      LOG.trace("Verifying the remaining transactions on the calling thread", e);
+    }
+    verifier.run();
+
+    try {
+      pending.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while verifying blob proofs", e);
+    }
+    return verified;
+  }
+
+  /**
+   * Verify the KZG proofs of the blobs with a single batch call.
+   *
+   * @param blobsWithCommitments the blobs with commitments and proofs to verify
+   * @return true if all the proofs are valid, false if any of them is not valid or malformed
+   */
+  public static boolean verify(final List<BlobsWithCommitments> blobsWithCommitments) {
+    final List<BlobQuad> blobQuads =
+        blobsWithCommitments.stream().flatMap(bwc -> bwc.getBlobQuads().stream()).toList();
+
+    final byte[] blobs =
+        Bytes.wrap(blobQuads.stream().map(BlobQuad::blob).map(Blob::getData).toList())
+            .toArrayUnsafe();
+    final byte[] kzgCommitments =
+        Bytes.wrap(blobQuads.stream().map(bq -> (Bytes) bq.kzgCommitment().getData()).toList())
+            .toArrayUnsafe();
+    final byte[] kzgProofs =
+        Bytes.wrap(blobQuads.stream().map(bq -> (Bytes) bq.kzgProof().getData()).toList())
+            .toArrayUnsafe();
+
+    try {
+      return CKZG4844JNI.verifyBlobKzgProofBatch(
+          blobs, kzgCommitments, kzgProofs, blobQuads.size());
+    } catch (final RuntimeException e) {
+      LOG.debug("Error verifying a batch of {} blobs", blobQuads.size(), e);
+      return false;
+    }
+  }
+}
@@ -18,7 +18,6 @@ import static org.hyperledger.besu.evm.account.Account.MAX_NONCE;
 
 import org.hyperledger.besu.crypto.SECPSignature;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
-import org.hyperledger.besu.datatypes.Blob;
 import org.hyperledger.besu.datatypes.BlobsWithCommitments;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.KZGCommitment;
@@ -37,8 +36,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-import ethereum.ckzg4844.CKZG4844JNI;
-import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 
@@ -100,7 +97,8 @@ public class MainnetTransactionValidator implements TransactionValidator {
 
       if (transaction.getBlobsWithCommitments().isPresent()) {
         final ValidationResult<TransactionInvalidReason> blobsResult =
-            validateTransactionsBlobs(transaction);
+            validateTransactionsBlobs(
+                transaction, !transactionValidationParams.isBlobKzgProofsVerified());
         if (!blobsResult.isValid()) {
           return blobsResult;
         }
@@ -320,6 +318,11 @@ public class MainnetTransactionValidator implements TransactionValidator {
 
   public ValidationResult<TransactionInvalidReason> validateTransactionsBlobs(
       final Transaction transaction) {
+    return validateTransactionsBlobs(transaction, true);
+  }
+
+  private ValidationResult<TransactionInvalidReason> validateTransactionsBlobs(
+      final Transaction transaction, final boolean verifyKzgProofs) {
 
     if (transaction.getBlobsWithCommitments().isEmpty()) {
       return ValidationResult.invalid(
@@ -363,27 +366,11 @@ public class MainnetTransactionValidator implements TransactionValidator {
       }
     }
 
-    final byte[] blobs =
-        Bytes.wrap(blobsWithCommitments.getBlobs().stream().map(Blob::getData).toList())
-            .toArrayUnsafe();
-
-    final byte[] kzgCommitments =
-        Bytes.wrap(
-                blobsWithCommitments.getKzgCommitments().stream()
-                    .map(kc -> (Bytes) kc.getData())
-                    .toList())
-            .toArrayUnsafe();
-
-    final byte[] kzgProofs =
-        Bytes.wrap(
-                blobsWithCommitments.getKzgProofs().stream()
-                    .map(kp -> (Bytes) kp.getData())
-                    .toList())
-            .toArrayUnsafe();
-
-    final boolean kzgVerification =
-        CKZG4844JNI.verifyBlobKzgProofBatch(
-            blobs, kzgCommitments, kzgProofs, blobsWithCommitments.getBlobs().size());
+    if (!verifyKzgProofs) {
+      return ValidationResult.valid();
+    }
+
+    final boolean kzgVerification = KzgBatchVerifier.verify(List.of(blobsWithCommitments));
 
     if (!kzgVerification) {
       return ValidationResult.invalid(
@@ -21,19 +21,22 @@ import org.immutables.value.Value;
 public interface TransactionValidationParams {
 
   TransactionValidationParams processingBlockParams =
-      ImmutableTransactionValidationParams.of(false, false, false, true, false, false);
+      ImmutableTransactionValidationParams.of(false, false, false, true, false, false, false);
 
   TransactionValidationParams transactionPoolParams =
-      ImmutableTransactionValidationParams.of(true, false, true, true, true, false);
+      ImmutableTransactionValidationParams.of(true, false, true, true, true, false, false);
+
+  TransactionValidationParams transactionPoolWithVerifiedBlobsParams =
+      ImmutableTransactionValidationParams.of(true, false, true, true, true, false, true);
 
   TransactionValidationParams miningParams =
-      ImmutableTransactionValidationParams.of(false, false, false, true, true, false);
+      ImmutableTransactionValidationParams.of(false, false, false, true, true, false, false);
 
   TransactionValidationParams blockReplayParams =
-      ImmutableTransactionValidationParams.of(false, false, false, false, false, false);
+      ImmutableTransactionValidationParams.of(false, false, false, false, false, false, false);
 
   TransactionValidationParams transactionSimulatorParams =
-      ImmutableTransactionValidationParams.of(false, false, false, false, false, true);
+      ImmutableTransactionValidationParams.of(false, false, false, false, false, true, false);
 
   @Value.Default
   default boolean isAllowFutureNonce() {
@@ -65,6 +68,17 @@ public interface TransactionValidationParams {
     return false;
   }
 
+  /**
+   * If the KZG proofs of the blobs have already been verified, for example in a batch with the
+   * ones of other transactions, so they are not verified again.
+   *
+   * @return true if the KZG proofs of the blobs have already been verified
+   */
+  @Value.Default
+  default boolean isBlobKzgProofsVerified() {
+    return false;
+  }
+
   static TransactionValidationParams transactionSimulator() {
     return transactionSimulatorParams;
   }
@@ -77,6 +91,10 @@ public interface TransactionValidationParams {
     return transactionPoolParams;
   }
 
+  static TransactionValidationParams transactionPoolWithVerifiedBlobs() {
+    return transactionPoolWithVerifiedBlobsParams;
+  }
+
   static TransactionValidationParams mining() {
     return miningParams;
   }
@@ -27,6 +27,7 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 
 import java.io.Closeable;
 import java.util.List;
+import java.util.Map;
 
 public interface StorageProvider extends Closeable {
 
@@ -48,4 +49,8 @@ public interface StorageProvider extends Closeable {
   KeyValueStorage getStorageBySegmentIdentifier(SegmentIdentifier segment);
 
   SegmentedKeyValueStorage getStorageBySegmentIdentifiers(List<SegmentIdentifier> segment);
+
+  default Map<String, Map<String, String>> getStorageStatistics() {
+    return Map.of();
+  }
 }
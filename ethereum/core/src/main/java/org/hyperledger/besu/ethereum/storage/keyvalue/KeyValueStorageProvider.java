@@ -36,6 +36,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -114,6 +115,17 @@ public class KeyValueStorageProvider implements StorageProvider {
     return segmentedStorageCreator.apply(segments);
   }
 
+  @Override
+  public Map<String, Map<String, String>> getStorageStatistics() {
+    // segments usually share a single database, so only ask each distinct instance once
+    final Map<String, Map<String, String>> statistics = new TreeMap<>();
+    List.copyOf(storageInstances.values()).stream()
+        .distinct()
+        .map(SegmentedKeyValueStorage::getStatistics)
+        .forEach(statistics::putAll);
+    return statistics;
+  }
+
   @Override
   public void close() throws IOException {
     storageInstances.entrySet().stream()
@@ -48,8 +48,10 @@ public class ChainDataPrunerTest {
             new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
             512,
             0,
+            1024,
             // completed
-            new BlockingExecutor());
+            new BlockingExecutor(),
+            new NoOpMetricsSystem());
     Block genesisBlock = gen.genesisBlock();
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
@@ -88,8 +90,10 @@ public class ChainDataPrunerTest {
             new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
             512,
             0,
+            1024,
             // completed
-            new BlockingExecutor());
+            new BlockingExecutor(),
+            new NoOpMetricsSystem());
     Block genesisBlock = gen.genesisBlock();
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
@@ -120,6 +124,46 @@ public class ChainDataPrunerTest {
     }
   }
 
+  @Test
+  public void pruningBacklogIsBoundedByBlocksPerBatch() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions(),
+            false);
+    final ChainDataPruner chainDataPruner =
+        new ChainDataPruner(
+            blockchainStorage,
+            new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
+            512,
+            64,
+            16,
+            new BlockingExecutor(),
+            new NoOpMetricsSystem());
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
+    blockchain.observeBlockAdded(chainDataPruner);
+
+    final List<Block> blocks = gen.blockSequence(genesisBlock, 600);
+    // heights 1 to 65 become prunable at block 577, but only 16 are pruned in one pass
+    for (int i = 0; i < 577; i++) {
+      blockchain.appendBlock(blocks.get(i), gen.receipts(blocks.get(i)));
+    }
+    assertThat(blockchain.getBlockHeader(16)).isEmpty();
+    assertThat(blockchain.getBlockHeader(17)).isPresent();
+
+    // every following block moves the pruning mark by at most one batch
+    for (int i = 577; i < 580; i++) {
+      blockchain.appendBlock(blocks.get(i), gen.receipts(blocks.get(i)));
+    }
+    assertThat(blockchain.getBlockHeader(64)).isEmpty();
+    assertThat(blockchain.getBlockHeader(65)).isPresent();
+  }
+
   protected static class BlockingExecutor extends AbstractExecutorService {
     @Override
     public void shutdown() {}
@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -293,6 +294,71 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.getForks()).isEmpty();
   }
 
+  @Test
+  public void appendBlocksInOneWrite() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(5);
+    final List<BlockWithReceipts> blocksWithReceipts =
+        chain.stream()
+            .skip(1)
+            .map(block -> new BlockWithReceipts(block, gen.receipts(block)))
+            .toList();
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final KeyValueStorage kvStoreVariables = new InMemoryKeyValueStorage();
+    final DefaultBlockchain blockchain =
+        createMutableBlockchain(kvStore, kvStoreVariables, chain.get(0));
+    final List<Hash> addedBlocks = new ArrayList<>();
+    blockchain.observeBlockAdded(
+        event -> {
+          assertThat(event.isNewCanonicalHead()).isTrue();
+          addedBlocks.add(event.getBlock().getHash());
+        });
+    blockchain.appendBlocks(blocksWithReceipts);
+
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      assertBlockDataIsStored(
+          blockchain, blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
+    }
+    final Block head = chain.get(chain.size() - 1);
+    assertBlockIsHead(blockchain, head);
+    assertTotalDifficultiesAreConsistent(blockchain, head);
+    assertThat(addedBlocks)
+        .containsExactlyElementsOf(
+            blocksWithReceipts.stream().map(BlockWithReceipts::getHash).toList());
+
+    // blocks already stored are skipped
+    blockchain.appendBlocks(blocksWithReceipts);
+    assertBlockIsHead(blockchain, head);
+    assertThat(addedBlocks).hasSize(blocksWithReceipts.size());
+  }
+
+  @Test
+  public void appendBlocksNotExtendingTheHeadAppendsThemOneByOne() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<Block> chain = gen.blockSequence(4);
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final KeyValueStorage kvStoreVariables = new InMemoryKeyValueStorage();
+    final DefaultBlockchain blockchain =
+        createMutableBlockchain(kvStore, kvStoreVariables, chain.get(0));
+    blockchain.appendBlock(chain.get(1), gen.receipts(chain.get(1)));
+    blockchain.appendBlock(chain.get(2), gen.receipts(chain.get(2)));
+
+    // a fork from block 1, with a lower difficulty than the chain head
+    final Block fork =
+        gen.block(
+            new BlockOptions()
+                .setParentHash(chain.get(1).getHash())
+                .setBlockNumber(2L)
+                .setDifficulty(chain.get(2).getHeader().getDifficulty().subtract(1L)));
+    final List<TransactionReceipt> forkReceipts = gen.receipts(fork);
+    blockchain.appendBlocks(List.of(new BlockWithReceipts(fork, forkReceipts)));
+
+    assertBlockDataIsStored(blockchain, fork, forkReceipts);
+    assertBlockIsHead(blockchain, chain.get(2));
+    assertThat(blockchain.getForks()).containsExactly(fork.getHash());
+  }
+
   @Test
   public void appendBlockWithReorgToChainAtEqualHeight() {
     final BlockDataGenerator gen = new BlockDataGenerator(1);
@@ -957,6 +1023,64 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.getTotalDifficultyCache()).isEmpty();
   }
 
+  @Test
+  public void testCacheBoundedByNumberOfBlocksToCache() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final KeyValueStorage kvStoreVariables = new InMemoryKeyValueStorage();
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultBlockchain blockchain =
+        createMutableBlockchain(
+            kvStore, kvStoreVariables, genesisBlock, "/data/test", 2, 64L * 1024 * 1024);
+
+    appendChain(gen, blockchain, genesisBlock, 4);
+    blockchain.getBlockBodiesCache().get().cleanUp();
+    blockchain.getBlockHeadersCache().get().cleanUp();
+
+    assertThat(blockchain.getBlockBodiesCache().get().estimatedSize()).isLessThanOrEqualTo(2);
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  public void testCacheBoundedByMaxCachedBlockDataBytes() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final KeyValueStorage kvStoreVariables = new InMemoryKeyValueStorage();
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultBlockchain blockchain =
+        createMutableBlockchain(kvStore, kvStoreVariables, genesisBlock, "/data/test", 512, 1_500);
+
+    final List<Block> blocks = appendChain(gen, blockchain, genesisBlock, 3);
+    blockchain.getBlockHeadersCache().get().cleanUp();
+
+    // every header is estimated above half of the budget so at most one fits
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isLessThanOrEqualTo(1);
+    // evicted entries are still served from storage
+    blocks.forEach(
+        block ->
+            assertThat(blockchain.getBlockHeader(block.getHash())).contains(block.getHeader()));
+  }
+
+  private List<Block> appendChain(
+      final BlockDataGenerator gen,
+      final DefaultBlockchain blockchain,
+      final Block genesisBlock,
+      final int count) {
+    final List<Block> blocks = new ArrayList<>();
+    Block parent = genesisBlock;
+    for (int i = 1; i <= count; i++) {
+      final Block block =
+          gen.block(
+              new BlockDataGenerator.BlockOptions()
+                  .setBlockNumber(i)
+                  .setParentHash(parent.getHash()));
+      blockchain.appendBlock(block, gen.receipts(block));
+      blocks.add(block);
+      parent = block;
+    }
+    return blocks;
+  }
+
   @Test
   public void testCacheUsedWhenNumberOfBlocksToCacheNotZero() {
     final BlockDataGenerator gen = new BlockDataGenerator();
@@ -978,26 +1102,26 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.getTransactionReceiptsCache()).isNotEmpty();
     assertThat(blockchain.getTotalDifficultyCache()).isNotEmpty();
 
-    assertThat(blockchain.getBlockHeadersCache().get().size()).isEqualTo(0);
-    assertThat(blockchain.getBlockBodiesCache().get().size()).isEqualTo(0);
-    assertThat(blockchain.getTransactionReceiptsCache().get().size()).isEqualTo(0);
-    assertThat(blockchain.getTotalDifficultyCache().get().size()).isEqualTo(0);
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isEqualTo(0);
+    assertThat(blockchain.getBlockBodiesCache().get().estimatedSize()).isEqualTo(0);
+    assertThat(blockchain.getTransactionReceiptsCache().get().estimatedSize()).isEqualTo(0);
+    assertThat(blockchain.getTotalDifficultyCache().get().estimatedSize()).isEqualTo(0);
 
     blockchain.appendBlock(newBlock, receipts);
 
-    assertThat(blockchain.getBlockHeadersCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getBlockHeadersCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getBlockHeadersCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(newBlock.getHeader());
 
-    assertThat(blockchain.getBlockBodiesCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getBlockBodiesCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getBlockBodiesCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(newBlock.getBody());
 
-    assertThat(blockchain.getTransactionReceiptsCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getTransactionReceiptsCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getTransactionReceiptsCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(receipts);
 
-    assertThat(blockchain.getTotalDifficultyCache().get().size()).isEqualTo(1);
+    assertThat(blockchain.getTotalDifficultyCache().get().estimatedSize()).isEqualTo(1);
     assertThat(blockchain.getTotalDifficultyCache().get().getIfPresent(newBlock.getHash()))
         .isEqualTo(newBlock.getHeader().getDifficulty());
   }
@@ -1103,4 +1227,22 @@ public class DefaultBlockchainTest {
             dataDirectory,
             numberOfBlocksToCache);
   }
+
+  private DefaultBlockchain createMutableBlockchain(
+      final KeyValueStorage kvStore,
+      final KeyValueStorage kvStorageVariables,
+      final Block genesisBlock,
+      final String dataDirectory,
+      final int numberOfBlocksToCache,
+      final long maxCachedBlockDataBytes) {
+    return (DefaultBlockchain)
+        DefaultBlockchain.createMutable(
+            genesisBlock,
+            createStorage(kvStore, kvStorageVariables),
+            new NoOpMetricsSystem(),
+            0,
+            dataDirectory,
+            numberOfBlocksToCache,
+            maxCachedBlockDataBytes);
+  }
 }
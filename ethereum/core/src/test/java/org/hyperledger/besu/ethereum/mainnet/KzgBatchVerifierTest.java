@@ -0,0 +1,131 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.BlobsWithCommitments;
+import org.hyperledger.besu.datatypes.BlobsWithCommitments.BlobQuad;
+import org.hyperledger.besu.datatypes.KZGProof;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlobTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class KzgBatchVerifierTest {
+  private static final KeyPair KEYS = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
+  private final BlobTestFixture blobTestFixture = new BlobTestFixture();
+
+  @Test
+  public void allTransactionsAreVerifiedWhenTheBatchIsValid() {
+    final Transaction tx0 = createBlobTransaction(0, blobTestFixture.createBlobsWithCommitments(2));
+    final Transaction tx1 = createBlobTransaction(1, blobTestFixture.createBlobsWithCommitments(1));
+    final Transaction noBlobs = new TransactionTestFixture().nonce(2).createTransaction(KEYS);
+
+    assertThat(KzgBatchVerifier.verifiedTransactions(List.of(tx0, tx1, noBlobs)))
+        .containsExactlyInAnyOrder(tx0.getHash(), tx1.getHash());
+  }
+
+  @Test
+  public void offendingTransactionIsFoundWhenTheBatchIsNotValid() {
+    final Transaction tx0 = createBlobTransaction(0, blobTestFixture.createBlobsWithCommitments(2));
+    final Transaction invalid =
+        createBlobTransaction(1, withWrongProof(blobTestFixture.createBlobsWithCommitments(2)));
+    final Transaction tx2 = createBlobTransaction(2, blobTestFixture.createBlobsWithCommitments(1));
+
+    assertThat(KzgBatchVerifier.verifiedTransactions(List.of(tx0, invalid, tx2)))
+        .containsExactlyInAnyOrder(tx0.getHash(), tx2.getHash());
+  }
+
+  @Test
+  public void offendingTransactionIsSearchedOnTheGivenExecutor() {
+    final Transaction tx0 = createBlobTransaction(0, blobTestFixture.createBlobsWithCommitments(1));
+    final Transaction invalid =
+        createBlobTransaction(1, withWrongProof(blobTestFixture.createBlobsWithCommitments(1)));
+    final AtomicInteger helperTasks = new AtomicInteger();
+    final Executor executor =
+        command -> {
+          helperTasks.incrementAndGet();
+          command.run();
+        };
+
+    assertThat(KzgBatchVerifier.verifiedTransactions(List.of(tx0, invalid), executor))
+        .containsExactly(tx0.getHash());
+    assertThat(helperTasks.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void offendingTransactionIsFoundWhenTheExecutorRejectsTasks() {
+    final Transaction tx0 = createBlobTransaction(0, blobTestFixture.createBlobsWithCommitments(1));
+    final Transaction invalid =
+        createBlobTransaction(1, withWrongProof(blobTestFixture.createBlobsWithCommitments(1)));
+    final Executor rejectingExecutor =
+        command -> {
+          throw new RejectedExecutionException("busy");
+        };
+
+    assertThat(KzgBatchVerifier.verifiedTransactions(List.of(tx0, invalid), rejectingExecutor))
+        .containsExactly(tx0.getHash());
+  }
+
+  @Test
+  public void singleInvalidTransactionIsNotVerified() {
+    final Transaction invalid =
+        createBlobTransaction(0, withWrongProof(blobTestFixture.createBlobsWithCommitments(1)));
+
+    assertThat(KzgBatchVerifier.verifiedTransactions(List.of(invalid))).isEmpty();
+    assertThat(KzgBatchVerifier.verify(List.of(invalid.getBlobsWithCommitments().get())))
+        .isFalse();
+  }
+
+  private static BlobsWithCommitments withWrongProof(
+      final BlobsWithCommitments blobsWithCommitments) {
+    final List<BlobQuad> blobQuads = new ArrayList<>(blobsWithCommitments.getBlobQuads());
+    final BlobQuad last = blobQuads.removeLast();
+    // the commitment is a valid point, but not the proof of the blob
+    blobQuads.add(
+        new BlobQuad(
+            last.blob(),
+            last.kzgCommitment(),
+            new KZGProof(last.kzgCommitment().getData()),
+            last.versionedHash()));
+    return new BlobsWithCommitments(blobQuads);
+  }
+
+  private static Transaction createBlobTransaction(
+      final long nonce, final BlobsWithCommitments blobsWithCommitments) {
+    return new TransactionTestFixture()
+        .type(TransactionType.BLOB)
+        .nonce(nonce)
+        .gasPrice(null)
+        .maxFeePerGas(Optional.of(Wei.of(5000L)))
+        .maxPriorityFeePerGas(Optional.of(Wei.of(1000L)))
+        .blobsWithCommitments(Optional.of(blobsWithCommitments))
+        .createTransaction(KEYS);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of re-prioritizing the prioritized layer when the base fee changes, on pools with many
+ * senders. {@code incrementalReorder} is what is done now, only moving the transactions that cross
+ * their cap threshold, while {@code fullResort} sorts again the whole pool with the new base fee,
+ * as it was done before. The base fee alternates by 12.5% up and down, the max change allowed by
+ * EIP-1559 between two blocks.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BaseFeeOrderedTransactionsBenchmark {
+  private static final int TRANSACTIONS_PER_SENDER = 16;
+  private static final Wei LOW_BASE_FEE = Wei.of(800);
+  private static final Wei HIGH_BASE_FEE = Wei.of(900);
+
+  @Param({"100000", "250000"})
+  private int poolSize;
+
+  private final List<PendingTransaction> pendingTransactions = new ArrayList<>();
+  private BaseFeeOrderedTransactions orderByFee;
+  private boolean high;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Random random = new Random(42);
+    final var signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+    pendingTransactions.clear();
+    KeyPair keyPair = null;
+    for (int i = 0; i < poolSize; i++) {
+      final int nonce = i % TRANSACTIONS_PER_SENDER;
+      if (nonce == 0) {
+        keyPair = signatureAlgorithm.generateKeyPair();
+      }
+      // max fees spread around the base fee, with priority fees up to a quarter of them
+      final long maxFee = 1 + random.nextInt(2_000);
+      final long maxPriorityFee = random.nextLong(1 + maxFee / 4);
+      pendingTransactions.add(
+          PendingTransaction.newPendingTransaction(
+              new TransactionTestFixture()
+                  .type(TransactionType.EIP1559)
+                  .nonce(nonce)
+                  .maxFeePerGas(Optional.of(Wei.of(maxFee)))
+                  .maxPriorityFeePerGas(Optional.of(Wei.of(maxPriorityFee)))
+                  .createTransaction(keyPair),
+              false,
+              false));
+    }
+    orderByFee = new BaseFeeOrderedTransactions(LOW_BASE_FEE);
+    pendingTransactions.forEach(orderByFee::add);
+    high = false;
+  }
+
+  @Benchmark
+  public PendingTransaction incrementalReorder() {
+    orderByFee.updateBaseFee(nextBaseFee());
+    return orderByFee.last();
+  }
+
+  @Benchmark
+  public PendingTransaction fullResort() {
+    final Optional<Wei> baseFee = Optional.of(nextBaseFee());
+    final TreeSet<PendingTransaction> resorted =
+        new TreeSet<>(
+            Comparator.comparing(PendingTransaction::hasPriority)
+                .thenComparing(
+                    (PendingTransaction pt) ->
+                        pt.getTransaction().getEffectivePriorityFeePerGas(baseFee))
+                .thenComparing((PendingTransaction pt) -> pt.getTransaction().getMaxGasPrice())
+                .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
+                .thenComparing(PendingTransaction::getSequence));
+    resorted.addAll(pendingTransactions);
+    return resorted.last();
+  }
+
+  private Wei nextBaseFee() {
+    high = !high;
+    return high ? HIGH_BASE_FEE : LOW_BASE_FEE;
+  }
+}
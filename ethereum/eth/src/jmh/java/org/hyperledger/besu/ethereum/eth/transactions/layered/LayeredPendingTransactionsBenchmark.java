@@ -0,0 +1,217 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
+import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolReplacementHandler;
+import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.fluent.SimpleAccount;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the layered pool under concurrent access.
+ *
+ * <p>{@code addAndConfirm} adds a run of transactions for a sender and then confirms them with a
+ * block, run it with increasing thread counts, e.g. {@code -t 1,2,4,8}, to see how adds and
+ * removals scale with cores. {@code readWhileWriting} pairs a writer with readers looking up
+ * transactions by hash, which should not be slowed down by the writer.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LayeredPendingTransactionsBenchmark {
+  private static final int TRANSACTIONS_PER_SENDER = 64;
+  private static final int RESIDENT_SENDERS = 64;
+  private static final int RESIDENT_TRANSACTIONS_PER_SENDER = 16;
+  private static final Wei BASE_FEE = Wei.of(7);
+  private static final FeeMarket FEE_MARKET = FeeMarket.london(0L);
+
+  private final BlockHeader chainHead =
+      new BlockHeaderTestFixture().baseFeePerGas(BASE_FEE).buildHeader();
+  private EthScheduler ethScheduler;
+  private LayeredPendingTransactions pendingTransactions;
+  private final List<Hash> residentHashes = new ArrayList<>();
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    final TransactionPoolConfiguration poolConfig =
+        ImmutableTransactionPoolConfiguration.builder()
+            .maxPrioritizedTransactions(100_000)
+            .maxFutureBySender(TRANSACTIONS_PER_SENDER * 2)
+            .pendingTransactionsLayerMaxCapacityBytes(1_000_000_000L)
+            .build();
+    final TransactionPoolMetrics metrics = new TransactionPoolMetrics(new NoOpMetricsSystem());
+    final TransactionPoolReplacementHandler replacementHandler =
+        new TransactionPoolReplacementHandler(
+            poolConfig.getPriceBump(), poolConfig.getBlobPriceBump());
+
+    // run the notifications inline, the bounded tx worker queue would otherwise reject them
+    ethScheduler =
+        new EthScheduler(1, 1, 1, new NoOpMetricsSystem()) {
+          @Override
+          public void scheduleTxWorkerTask(final Runnable command) {
+            command.run();
+          }
+        };
+
+    final SparseTransactions sparseTransactions =
+        new SparseTransactions(
+            poolConfig,
+            ethScheduler,
+            new EndLayer(metrics),
+            metrics,
+            (t1, t2) -> replacementHandler.shouldReplace(t1, t2, chainHead),
+            new BlobCache());
+    final ReadyTransactions readyTransactions =
+        new ReadyTransactions(
+            poolConfig,
+            ethScheduler,
+            sparseTransactions,
+            metrics,
+            (t1, t2) -> replacementHandler.shouldReplace(t1, t2, chainHead),
+            new BlobCache());
+    final BaseFeePrioritizedTransactions prioritizedTransactions =
+        new BaseFeePrioritizedTransactions(
+            poolConfig,
+            () -> chainHead,
+            ethScheduler,
+            readyTransactions,
+            metrics,
+            (t1, t2) -> replacementHandler.shouldReplace(t1, t2, chainHead),
+            FEE_MARKET,
+            new BlobCache(),
+            MiningParameters.newDefault());
+    pendingTransactions =
+        new LayeredPendingTransactions(poolConfig, prioritizedTransactions, ethScheduler);
+
+    residentHashes.clear();
+    for (int i = 0; i < RESIDENT_SENDERS; i++) {
+      final SenderState resident = new SenderState(RESIDENT_TRANSACTIONS_PER_SENDER);
+      resident.addAll(pendingTransactions, unused -> {});
+      resident.transactions.stream().map(Transaction::getHash).forEach(residentHashes::add);
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    ethScheduler.stop();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TRANSACTIONS_PER_SENDER)
+  public void addAndConfirm(final SenderState sender, final Blackhole blackhole) {
+    sender.addAll(pendingTransactions, blackhole::consume);
+    pendingTransactions.manageBlockAdded(chainHead, sender.transactions, List.of(), FEE_MARKET);
+  }
+
+  @Benchmark
+  @Group("readWhileWriting")
+  @GroupThreads(1)
+  @OperationsPerInvocation(TRANSACTIONS_PER_SENDER)
+  public void writer(final SenderState sender, final Blackhole blackhole) {
+    addAndConfirm(sender, blackhole);
+  }
+
+  @Benchmark
+  @Group("readWhileWriting")
+  @GroupThreads(3)
+  public Optional<Transaction> reader(final ReaderState reader) {
+    return pendingTransactions.getTransactionByHash(
+        residentHashes.get(reader.next++ % residentHashes.size()));
+  }
+
+  @State(Scope.Thread)
+  public static class SenderState {
+    private final List<Transaction> transactions;
+    private final Optional<Account> account;
+
+    public SenderState() {
+      this(TRANSACTIONS_PER_SENDER);
+    }
+
+    SenderState(final int count) {
+      final var keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+      transactions = new ArrayList<>(count);
+      for (int nonce = 0; nonce < count; nonce++) {
+        transactions.add(
+            new TransactionTestFixture()
+                .type(TransactionType.EIP1559)
+                .nonce(nonce)
+                .maxFeePerGas(Optional.of(BASE_FEE.multiply(10)))
+                .maxPriorityFeePerGas(Optional.of(Wei.of(1)))
+                .createTransaction(keyPair));
+      }
+      account =
+          Optional.of(
+              new SimpleAccount(transactions.get(0).getSender(), 0, Wei.fromEth(1_000_000)));
+    }
+
+    void addAll(
+        final LayeredPendingTransactions pendingTransactions,
+        final Consumer<Object> sink) {
+      for (final Transaction transaction : transactions) {
+        sink.accept(
+            pendingTransactions.addTransaction(
+                PendingTransaction.newPendingTransaction(transaction, false, false), account));
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ReaderState {
+    private int next = 0;
+  }
+}
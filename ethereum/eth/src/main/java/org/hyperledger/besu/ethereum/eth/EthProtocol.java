@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV65;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessagePriority;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.SubProtocol;
 
 import java.util.Set;
@@ -120,6 +121,26 @@ public class EthProtocol implements SubProtocol {
     }
   }
 
+  @Override
+  public MessagePriority messagePriority(final int protocolVersion, final int code) {
+    switch (code) {
+      case EthPV62.STATUS:
+      case EthPV62.NEW_BLOCK_HASHES:
+      case EthPV62.NEW_BLOCK:
+        return MessagePriority.HIGH;
+      case EthPV62.BLOCK_BODIES:
+      case EthPV63.NODE_DATA:
+      case EthPV63.RECEIPTS:
+        return MessagePriority.BULK;
+      case EthPV65.NEW_POOLED_TRANSACTION_HASHES:
+        // a dropped announcement only delays transactions that other peers announce as well, while
+        // a dropped Transactions message would lose the transactions it carries
+        return MessagePriority.LOW;
+      default:
+        return MessagePriority.NORMAL;
+    }
+  }
+
   public static EthProtocol get() {
     return INSTANCE;
   }
@@ -32,6 +32,7 @@ public class EthProtocolConfiguration {
   public static final boolean DEFAULT_LEGACY_ETH_64_FORK_ID_ENABLED = false;
   public static final int DEFAULT_MAX_CAPABILITY = Integer.MAX_VALUE;
   public static final int DEFAULT_MIN_CAPABILITY = 0;
+  public static final long DEFAULT_ENCODED_BLOCK_CACHE_MAX_BYTES = 64L * ByteUnits.MEGABYTE;
   // Limit the size of p2p messages (in bytes)
   private final int maxMessageSize;
 
@@ -45,6 +46,8 @@ public class EthProtocolConfiguration {
   private final boolean legacyEth64ForkIdEnabled;
   private final int maxEthCapability;
   private final int minEthCapability;
+  // Limit the bytes of the encoded blocks cached to answer peer requests, 0 disables the cache
+  private final long encodedBlockCacheMaxBytes;
 
   private EthProtocolConfiguration(
       final int maxMessageSize,
@@ -55,7 +58,8 @@ public class EthProtocolConfiguration {
       final int maxGetPooledTransactions,
       final boolean legacyEth64ForkIdEnabled,
       final int maxEthCapability,
-      final int minEthCapability) {
+      final int minEthCapability,
+      final long encodedBlockCacheMaxBytes) {
     this.maxMessageSize = maxMessageSize;
     this.maxGetBlockHeaders = maxGetBlockHeaders;
     this.maxGetBlockBodies = maxGetBlockBodies;
@@ -65,6 +69,7 @@ public class EthProtocolConfiguration {
     this.legacyEth64ForkIdEnabled = legacyEth64ForkIdEnabled;
     this.maxEthCapability = maxEthCapability;
     this.minEthCapability = minEthCapability;
+    this.encodedBlockCacheMaxBytes = encodedBlockCacheMaxBytes;
   }
 
   public static EthProtocolConfiguration defaultConfig() {
@@ -111,6 +116,10 @@ public class EthProtocolConfiguration {
     return minEthCapability;
   }
 
+  public long getEncodedBlockCacheMaxBytes() {
+    return encodedBlockCacheMaxBytes;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -124,7 +133,8 @@ public class EthProtocolConfiguration {
         && maxGetBlockBodies == that.maxGetBlockBodies
         && maxGetReceipts == that.maxGetReceipts
         && maxGetNodeData == that.maxGetNodeData
-        && maxGetPooledTransactions == that.maxGetPooledTransactions;
+        && maxGetPooledTransactions == that.maxGetPooledTransactions
+        && encodedBlockCacheMaxBytes == that.encodedBlockCacheMaxBytes;
   }
 
   @Override
@@ -140,6 +150,7 @@ public class EthProtocolConfiguration {
         .add("maxGetReceipts", maxGetReceipts)
         .add("maxGetNodeData", maxGetNodeData)
         .add("maxGetPooledTransactions", maxGetPooledTransactions)
+        .add("encodedBlockCacheMaxBytes", encodedBlockCacheMaxBytes)
         .toString();
   }
 
@@ -169,6 +180,9 @@ public class EthProtocolConfiguration {
 
     private int minEthCapability = EthProtocolConfiguration.DEFAULT_MIN_CAPABILITY;
 
+    private long encodedBlockCacheMaxBytes =
+        EthProtocolConfiguration.DEFAULT_ENCODED_BLOCK_CACHE_MAX_BYTES;
+
     public Builder maxMessageSize(final PositiveNumber maxMessageSize) {
       this.maxMessageSize = maxMessageSize;
       return this;
@@ -244,6 +258,11 @@ public class EthProtocolConfiguration {
       return this;
     }
 
+    public Builder encodedBlockCacheMaxBytes(final long encodedBlockCacheMaxBytes) {
+      this.encodedBlockCacheMaxBytes = encodedBlockCacheMaxBytes;
+      return this;
+    }
+
     public EthProtocolConfiguration build() {
       return new EthProtocolConfiguration(
           maxMessageSize.getValue(),
@@ -254,7 +273,8 @@ public class EthProtocolConfiguration {
           maxGetPooledTransactions.getValue(),
           legacyEth64ForkIdEnabled,
           maxEthCapability,
-          minEthCapability);
+          minEthCapability,
+          encodedBlockCacheMaxBytes);
     }
   }
 }
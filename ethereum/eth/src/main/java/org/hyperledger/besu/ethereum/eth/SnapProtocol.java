@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.eth;
 
 import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessagePriority;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.SubProtocol;
 
 import java.util.List;
@@ -89,6 +90,19 @@ public class SnapProtocol implements SubProtocol {
     }
   }
 
+  @Override
+  public MessagePriority messagePriority(final int protocolVersion, final int code) {
+    switch (code) {
+      case SnapV1.ACCOUNT_RANGE:
+      case SnapV1.STORAGE_RANGE:
+      case SnapV1.BYTECODES:
+      case SnapV1.TRIE_NODES:
+        return MessagePriority.BULK;
+      default:
+        return MessagePriority.NORMAL;
+    }
+  }
+
   public static SnapProtocol get() {
     return INSTANCE;
   }
@@ -0,0 +1,206 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Caches the RLP encodings of the headers, bodies and receipts of the blocks near the chain head,
+ * as they are sent to peers, so the requests for these blocks, that many peers send at the same
+ * time, are answered concatenating the cached encodings instead of reading and encoding again the
+ * same data for every peer.
+ *
+ * <p>The encodings are cached the first time a peer asks for them, and only for the blocks within
+ * {@link #RECENT_BLOCKS} of the chain head, so nothing is encoded while importing blocks, and the
+ * cache is not polluted by the requests for old blocks. The least used ones are evicted when the
+ * cached bytes exceed the limit.
+ */
+class EncodedBlockDataCache {
+  static final long RECENT_BLOCKS = 128;
+
+  enum Kind {
+    HEADER,
+    BODY,
+    RECEIPTS
+  }
+
+  private record Key(Kind kind, Hash hash) {}
+
+  private final Optional<Cache<Key, Bytes>> maybeCache;
+  private final Predicate<Hash> isCacheable;
+  private final Map<Kind, Counter> hitCounters;
+  private final Map<Kind, Counter> missCounters;
+
+  EncodedBlockDataCache(
+      final long maxBytes, final Predicate<Hash> isCacheable, final MetricsSystem metricsSystem) {
+    this.maybeCache =
+        maxBytes > 0
+            ? Optional.of(
+                Caffeine.newBuilder()
+                    .maximumWeight(maxBytes)
+                    .weigher((final Key key, final Bytes value) -> value.size())
+                    .build())
+            : Optional.empty();
+    this.isCacheable = isCacheable;
+    final LabelledMetric<Counter> lookups =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.NETWORK,
+            "eth_server_encoded_cache_lookups",
+            "Lookups of the encoded headers, bodies and receipts cached to answer peer requests",
+            "kind",
+            "result");
+    this.hitCounters = countersByKind(lookups, "hit");
+    this.missCounters = countersByKind(lookups, "miss");
+  }
+
+  /**
+   * A cache that does not cache anything, the data is always encoded again
+   *
+   * @return the disabled cache
+   */
+  static EncodedBlockDataCache disabled() {
+    return new EncodedBlockDataCache(0, hash -> false, new NoOpMetricsSystem());
+  }
+
+  /**
+   * A cache for the blocks within {@link #RECENT_BLOCKS} of the head of the chain
+   *
+   * @param maxBytes the max size of the cached encodings, 0 to disable the cache
+   * @param blockchain the blockchain
+   * @param metricsSystem the metrics system
+   * @return the cache
+   */
+  static EncodedBlockDataCache forRecentBlocks(
+      final long maxBytes, final Blockchain blockchain, final MetricsSystem metricsSystem) {
+    return new EncodedBlockDataCache(
+        maxBytes,
+        hash ->
+            blockchain
+                .getBlockHeader(hash)
+                .map(
+                    header ->
+                        blockchain.getChainHeadBlockNumber() - header.getNumber() <= RECENT_BLOCKS)
+                .orElse(false),
+        metricsSystem);
+  }
+
+  private static Map<Kind, Counter> countersByKind(
+      final LabelledMetric<Counter> lookups, final String result) {
+    return Map.of(
+        Kind.HEADER, lookups.labels(label(Kind.HEADER), result),
+        Kind.BODY, lookups.labels(label(Kind.BODY), result),
+        Kind.RECEIPTS, lookups.labels(label(Kind.RECEIPTS), result));
+  }
+
+  private static String label(final Kind kind) {
+    return kind.name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Get the encoded header, encoding and caching it when not cached
+   *
+   * @param hash the hash of the block
+   * @param header supplies the header when it is not cached
+   * @return the encoded header, empty if it is not cached nor supplied
+   */
+  Optional<Bytes> header(final Hash hash, final Function<Hash, Optional<BlockHeader>> header) {
+    return get(Kind.HEADER, hash, header, EncodedBlockDataCache::encodeHeader);
+  }
+
+  /**
+   * Get the encoded body, encoding and caching it when not cached
+   *
+   * @param hash the hash of the block
+   * @param body supplies the body when it is not cached
+   * @return the encoded body, empty if it is not cached nor supplied
+   */
+  Optional<Bytes> body(final Hash hash, final Function<Hash, Optional<BlockBody>> body) {
+    return get(Kind.BODY, hash, body, EncodedBlockDataCache::encodeBody);
+  }
+
+  /**
+   * Get the encoded receipts, encoding and caching them when not cached
+   *
+   * @param hash the hash of the block
+   * @param receipts supplies the receipts when they are not cached
+   * @return the encoded receipts, empty if they are not cached nor supplied
+   */
+  Optional<Bytes> receipts(
+      final Hash hash, final Function<Hash, Optional<List<TransactionReceipt>>> receipts) {
+    return get(Kind.RECEIPTS, hash, receipts, EncodedBlockDataCache::encodeReceipts);
+  }
+
+  private <T> Optional<Bytes> get(
+      final Kind kind,
+      final Hash hash,
+      final Function<Hash, Optional<T>> reader,
+      final Function<T, Bytes> encoder) {
+    if (maybeCache.isEmpty()) {
+      return reader.apply(hash).map(encoder);
+    }
+    final Key key = new Key(kind, hash);
+    final Bytes cached = maybeCache.get().getIfPresent(key);
+    if (cached != null) {
+      hitCounters.get(kind).inc();
+      return Optional.of(cached);
+    }
+    missCounters.get(kind).inc();
+    final Optional<Bytes> maybeEncoded = reader.apply(hash).map(encoder);
+    if (maybeEncoded.isPresent() && isCacheable.test(hash)) {
+      maybeCache.get().put(key, maybeEncoded.get());
+    }
+    return maybeEncoded;
+  }
+
+  static Bytes encodeHeader(final BlockHeader header) {
+    return RLP.encode(header::writeTo);
+  }
+
+  static Bytes encodeBody(final BlockBody body) {
+    final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
+    body.writeWrappedBodyTo(bodyOutput);
+    return bodyOutput.encoded();
+  }
+
+  static Bytes encodeReceipts(final List<TransactionReceipt> receipts) {
+    final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
+    encodedReceipts.startList();
+    receipts.forEach(r -> r.writeToForNetwork(encodedReceipts));
+    encodedReceipts.endList();
+    return encodedReceipts.encoded();
+  }
+}
@@ -37,11 +37,13 @@ import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
 
+import java.math.BigInteger;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
@@ -101,6 +103,7 @@ public class EthPeer implements Comparable<EthPeer> {
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
+  private final PeerThroughput throughput = new PeerThroughput();
   private final Map<PeerValidator, Boolean> validationStatus = new ConcurrentHashMap<>();
   private final Bytes id;
   private boolean isServingSnap = false;
@@ -216,6 +219,7 @@ public class EthPeer implements Comparable<EthPeer> {
         .addArgument(this::getLoggableId)
         .log();
     LOG.trace("Timed out while waiting for response from peer {}", this);
+    throughput.recordTimeout();
     reputation.recordRequestTimeout(requestCode, this).ifPresent(this::disconnect);
   }
 
@@ -232,6 +236,16 @@ public class EthPeer implements Comparable<EthPeer> {
     reputation.recordUsefulResponse();
   }
 
+  /**
+   * Record a response to a request, to estimate the throughput of this peer
+   *
+   * @param bytes the size of the response
+   * @param elapsedNanos the time between sending the request and receiving the response
+   */
+  public void recordResponse(final long bytes, final long elapsedNanos) {
+    throughput.recordResponse(bytes, elapsedNanos);
+  }
+
   public void disconnect(final DisconnectReason reason) {
     connection.disconnect(reason);
   }
@@ -356,8 +370,19 @@ public class EthPeer implements Comparable<EthPeer> {
   public RequestManager.ResponseStream getSnapAccountRange(
       final Hash stateRoot, final Bytes32 startKeyHash, final Bytes32 endKeyHash)
       throws PeerNotConnected {
+    return getSnapAccountRange(
+        stateRoot, startKeyHash, endKeyHash, AbstractSnapMessageData.SIZE_REQUEST.longValue());
+  }
+
+  public RequestManager.ResponseStream getSnapAccountRange(
+      final Hash stateRoot,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final long responseBytes)
+      throws PeerNotConnected {
     final GetAccountRangeMessage getAccountRangeMessage =
-        GetAccountRangeMessage.create(stateRoot, startKeyHash, endKeyHash);
+        GetAccountRangeMessage.create(
+            stateRoot, startKeyHash, endKeyHash, BigInteger.valueOf(responseBytes));
     getAccountRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_ACCOUNT_RANGE),
@@ -370,8 +395,29 @@ public class EthPeer implements Comparable<EthPeer> {
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash)
       throws PeerNotConnected {
+    return getSnapStorageRange(
+        stateRoot,
+        accountHashes,
+        startKeyHash,
+        endKeyHash,
+        AbstractSnapMessageData.SIZE_REQUEST.longValue());
+  }
+
+  public RequestManager.ResponseStream getSnapStorageRange(
+      final Hash stateRoot,
+      final List<Bytes32> accountHashes,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final long responseBytes)
+      throws PeerNotConnected {
     final GetStorageRangeMessage getStorageRangeMessage =
-        GetStorageRangeMessage.create(stateRoot, accountHashes, startKeyHash, endKeyHash);
+        GetStorageRangeMessage.create(
+            Optional.empty(),
+            stateRoot,
+            accountHashes,
+            startKeyHash,
+            endKeyHash,
+            BigInteger.valueOf(responseBytes));
     getStorageRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_STORAGE_RANGE),
@@ -492,6 +538,10 @@ public class EthPeer implements Comparable<EthPeer> {
     return reputation;
   }
 
+  public PeerThroughput getThroughput() {
+    return throughput;
+  }
+
   void handleDisconnect() {
     LOG.trace("handleDisconnect - EthPeer {}", this);
 
@@ -638,9 +688,10 @@ public class EthPeer implements Comparable<EthPeer> {
   @Override
   public String toString() {
     return String.format(
-        "PeerId: %s %s, validated? %s, disconnected? %s, client: %s, %s, %s, isServingSnap %s, has height %s, connected for %s ms",
+        "PeerId: %s %s, throughput: %s, validated? %s, disconnected? %s, client: %s, %s, %s, isServingSnap %s, has height %s, connected for %s ms",
         getLoggableId(),
         reputation,
+        throughput,
         isFullyValidated(),
         isDisconnected(),
         connection.getPeerInfo().getClientId(),
@@ -79,6 +79,18 @@ public class EthPeers {
   public static final Comparator<EthPeer> LEAST_TO_MOST_BUSY =
       Comparator.comparing(EthPeer::outstandingRequests)
           .thenComparing(EthPeer::getLastRequestTimestamp);
+
+  // peers not measured yet come first, so every peer gets the chance to be measured
+  public static final Comparator<EthPeer> FASTEST_TO_SLOWEST =
+      Comparator.comparing((final EthPeer p) -> p.getThroughput().hasEstimate())
+          .thenComparing(
+              Comparator.comparingDouble((final EthPeer p) -> p.getThroughput().getBytesPerSecond())
+                  .reversed());
+
+  public static final Comparator<EthPeer> LEAST_BUSY_FASTEST_FIRST =
+      Comparator.comparing(EthPeer::outstandingRequests)
+          .thenComparing(FASTEST_TO_SLOWEST)
+          .thenComparing(EthPeer::getLastRequestTimestamp);
   public static final int NODE_ID_LENGTH = 64;
   public static final int USEFULL_PEER_SCORE_THRESHOLD = 102;
 
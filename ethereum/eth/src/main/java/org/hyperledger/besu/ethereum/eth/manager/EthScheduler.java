@@ -49,12 +49,13 @@ public class EthScheduler {
 
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final CountDownLatch shutdown = new CountDownLatch(1);
-  private static final int TX_WORKER_CAPACITY = 1_000;
+  public static final int TX_WORKER_CAPACITY = 1_000;
 
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
   protected final ExecutorService txWorkerExecutor;
   protected final ExecutorService servicesExecutor;
+  protected final ExecutorService pipelineExecutor;
   protected final ExecutorService computationExecutor;
   protected final ExecutorService blockCreationExecutor;
 
@@ -75,8 +76,41 @@ public class EthScheduler {
       final int computationWorkerCount,
       final MetricsSystem metricsSystem) {
     this(
-        MonitoredExecutors.newFixedThreadPool(
-            EthScheduler.class.getSimpleName() + "-Workers", 1, syncWorkerCount, metricsSystem),
+        syncWorkerCount,
+        txWorkerCount,
+        txWorkerQueueSize,
+        computationWorkerCount,
+        false,
+        metricsSystem);
+  }
+
+  /**
+   * Creates the scheduler executors. When virtual threads are enabled, the sync worker tasks, that
+   * mostly wait for the responses of peers, run each in a virtual thread, and the sync worker count
+   * is ignored. All the other tasks always run in pools of platform threads, and the pipelines, as
+   * the block import ones, have their own pool, so the CPU bound work never runs on the carrier
+   * threads of the virtual threads.
+   *
+   * @param syncWorkerCount the number of sync worker threads, without virtual threads
+   * @param txWorkerCount the number of transaction worker threads
+   * @param txWorkerQueueSize the number of transaction tasks that can wait for a thread
+   * @param computationWorkerCount the number of computation threads
+   * @param virtualThreadsEnabled whether the sync worker tasks run in virtual threads
+   * @param metricsSystem the metrics system
+   */
+  public EthScheduler(
+      final int syncWorkerCount,
+      final int txWorkerCount,
+      final int txWorkerQueueSize,
+      final int computationWorkerCount,
+      final boolean virtualThreadsEnabled,
+      final MetricsSystem metricsSystem) {
+    this(
+        virtualThreadsEnabled
+            ? MonitoredExecutors.newVirtualThreadExecutor(
+                EthScheduler.class.getSimpleName() + "-Workers", metricsSystem)
+            : MonitoredExecutors.newFixedThreadPool(
+                EthScheduler.class.getSimpleName() + "-Workers", 1, syncWorkerCount, metricsSystem),
         MonitoredExecutors.newScheduledThreadPool(
             EthScheduler.class.getSimpleName() + "-Timer", 1, metricsSystem),
         MonitoredExecutors.newBoundedThreadPool(
@@ -87,6 +121,8 @@ public class EthScheduler {
             metricsSystem),
         MonitoredExecutors.newCachedThreadPool(
             EthScheduler.class.getSimpleName() + "-Services", metricsSystem),
+        MonitoredExecutors.newCachedThreadPool(
+            EthScheduler.class.getSimpleName() + "-Pipelines", metricsSystem),
         MonitoredExecutors.newFixedThreadPool(
             EthScheduler.class.getSimpleName() + "-Computation",
             1,
@@ -101,12 +137,14 @@ public class EthScheduler {
       final ScheduledExecutorService scheduler,
       final ExecutorService txWorkerExecutor,
       final ExecutorService servicesExecutor,
+      final ExecutorService pipelineExecutor,
       final ExecutorService computationExecutor,
       final ExecutorService blockCreationExecutor) {
     this.syncWorkerExecutor = syncWorkerExecutor;
     this.scheduler = scheduler;
     this.txWorkerExecutor = txWorkerExecutor;
     this.servicesExecutor = servicesExecutor;
+    this.pipelineExecutor = pipelineExecutor;
     this.computationExecutor = computationExecutor;
     this.blockCreationExecutor = blockCreationExecutor;
   }
@@ -157,7 +195,7 @@ public class EthScheduler {
   }
 
   public CompletableFuture<Void> startPipeline(final Pipeline<?> pipeline) {
-    final CompletableFuture<Void> pipelineFuture = pipeline.start(servicesExecutor);
+    final CompletableFuture<Void> pipelineFuture = pipeline.start(pipelineExecutor);
     pendingFutures.add(pipelineFuture);
     pipelineFuture.whenComplete((r, t) -> pendingFutures.remove(pipelineFuture));
     return pipelineFuture;
@@ -248,6 +286,7 @@ public class EthScheduler {
       txWorkerExecutor.shutdownNow();
       scheduler.shutdownNow();
       servicesExecutor.shutdownNow();
+      pipelineExecutor.shutdownNow();
       computationExecutor.shutdownNow();
       shutdown.countDown();
     } else {
@@ -276,6 +315,9 @@ public class EthScheduler {
     if (!servicesExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
       LOG.error("{} services executor did not shutdown cleanly.", this.getClass().getSimpleName());
     }
+    if (!pipelineExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} pipeline executor did not shutdown cleanly.", this.getClass().getSimpleName());
+    }
     if (!computationExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
       LOG.error(
           "{} computation executor did not shutdown cleanly.", this.getClass().getSimpleName());
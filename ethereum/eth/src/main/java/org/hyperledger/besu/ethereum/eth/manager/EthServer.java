@@ -16,10 +16,8 @@ package org.hyperledger.besu.ethereum.eth.manager;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
 import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
@@ -41,31 +39,39 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 
 class EthServer {
+  private static final EncodedBlockDataCache NO_CACHE = EncodedBlockDataCache.disabled();
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final TransactionPool transactionPool;
   private final EthMessages ethMessages;
   private final EthProtocolConfiguration ethereumWireProtocolConfiguration;
+  private final EncodedBlockDataCache encodedBlockDataCache;
 
   EthServer(
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final TransactionPool transactionPool,
       final EthMessages ethMessages,
-      final EthProtocolConfiguration ethereumWireProtocolConfiguration) {
+      final EthProtocolConfiguration ethereumWireProtocolConfiguration,
+      final MetricsSystem metricsSystem) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.transactionPool = transactionPool;
     this.ethMessages = ethMessages;
     this.ethereumWireProtocolConfiguration = ethereumWireProtocolConfiguration;
+    this.encodedBlockDataCache =
+        EncodedBlockDataCache.forRecentBlocks(
+            ethereumWireProtocolConfiguration.getEncodedBlockCacheMaxBytes(),
+            blockchain,
+            metricsSystem);
     this.registerResponseConstructors();
   }
 
@@ -77,6 +83,7 @@ class EthServer {
         messageData ->
             constructGetHeadersResponse(
                 blockchain,
+                encodedBlockDataCache,
                 messageData,
                 ethereumWireProtocolConfiguration.getMaxGetBlockHeaders(),
                 maxMessageSize));
@@ -85,6 +92,7 @@ class EthServer {
         messageData ->
             constructGetBodiesResponse(
                 blockchain,
+                encodedBlockDataCache,
                 messageData,
                 ethereumWireProtocolConfiguration.getMaxGetBlockBodies(),
                 maxMessageSize));
@@ -93,6 +101,7 @@ class EthServer {
         messageData ->
             constructGetReceiptsResponse(
                 blockchain,
+                encodedBlockDataCache,
                 messageData,
                 ethereumWireProtocolConfiguration.getMaxGetReceipts(),
                 maxMessageSize));
@@ -119,6 +128,16 @@ class EthServer {
       final MessageData message,
       final int requestLimit,
       final int maxMessageSize) {
+    return constructGetHeadersResponse(
+        blockchain, NO_CACHE, message, requestLimit, maxMessageSize);
+  }
+
+  static MessageData constructGetHeadersResponse(
+      final Blockchain blockchain,
+      final EncodedBlockDataCache encodedBlockDataCache,
+      final MessageData message,
+      final int requestLimit,
+      final int maxMessageSize) {
     // Extract parameters from request
     final GetBlockHeadersMessage getHeaders = GetBlockHeadersMessage.readFrom(message);
     final Optional<Hash> hash = getHeaders.hash();
@@ -144,31 +163,36 @@ class EthServer {
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
-    final Bytes firstEncodedHeader = RLP.encode(firstHeader::writeTo);
+    final Bytes firstEncodedHeader =
+        encodedBlockDataCache
+            .header(firstHeader.getHash(), unused -> Optional.of(firstHeader))
+            .orElseThrow();
     if (responseSizeEstimate + firstEncodedHeader.size() > maxMessageSize) {
       return BlockHeadersMessage.create(Collections.emptyList());
     }
     responseSizeEstimate += firstEncodedHeader.size();
     rlp.writeRaw(firstEncodedHeader);
-    // Collect and encode the remaining headers
+    // Collect the remaining headers, using the cached encodings when available
     final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
     for (int i = 1; i < maxHeaders; i++) {
       final long blockNumber = firstHeader.getNumber() + i * numberDelta;
       if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
         break;
       }
-      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
-      if (maybeHeader.isEmpty()) {
+      final Optional<Bytes> maybeEncodedHeader =
+          blockchain
+              .getBlockHashByNumber(blockNumber)
+              .flatMap(
+                  blockHash -> encodedBlockDataCache.header(blockHash, blockchain::getBlockHeader));
+      if (maybeEncodedHeader.isEmpty()) {
         break;
       }
-      final BytesValueRLPOutput headerRlp = new BytesValueRLPOutput();
-      maybeHeader.get().writeTo(headerRlp);
-      final int encodedSize = headerRlp.encodedSize();
+      final int encodedSize = maybeEncodedHeader.get().size();
       if (responseSizeEstimate + encodedSize > maxMessageSize) {
         break;
       }
       responseSizeEstimate += encodedSize;
-      rlp.writeRaw(headerRlp.encoded());
+      rlp.writeRaw(maybeEncodedHeader.get());
     }
     rlp.endList();
 
@@ -180,6 +204,15 @@ class EthServer {
       final MessageData message,
       final int requestLimit,
       final int maxMessageSize) {
+    return constructGetBodiesResponse(blockchain, NO_CACHE, message, requestLimit, maxMessageSize);
+  }
+
+  static MessageData constructGetBodiesResponse(
+      final Blockchain blockchain,
+      final EncodedBlockDataCache encodedBlockDataCache,
+      final MessageData message,
+      final int requestLimit,
+      final int maxMessageSize) {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
 
@@ -192,20 +225,18 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (maybeBody.isEmpty()) {
+      final Optional<Bytes> maybeEncodedBody =
+          encodedBlockDataCache.body(hash, blockchain::getBlockBody);
+      if (maybeEncodedBody.isEmpty()) {
         continue;
       }
 
-      final BlockBody body = maybeBody.get();
-      final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
-      body.writeWrappedBodyTo(bodyOutput);
-      final int encodedSize = bodyOutput.encodedSize();
+      final int encodedSize = maybeEncodedBody.get().size();
       if (responseSizeEstimate + encodedSize > maxMessageSize) {
         break;
       }
       responseSizeEstimate += encodedSize;
-      rlp.writeRaw(bodyOutput.encoded());
+      rlp.writeRaw(maybeEncodedBody.get());
     }
     rlp.endList();
     return BlockBodiesMessage.createUnsafe(rlp.encoded());
@@ -216,6 +247,16 @@ class EthServer {
       final MessageData message,
       final int requestLimit,
       final int maxMessageSize) {
+    return constructGetReceiptsResponse(
+        blockchain, NO_CACHE, message, requestLimit, maxMessageSize);
+  }
+
+  static MessageData constructGetReceiptsResponse(
+      final Blockchain blockchain,
+      final EncodedBlockDataCache encodedBlockDataCache,
+      final MessageData message,
+      final int requestLimit,
+      final int maxMessageSize) {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
 
@@ -228,21 +269,18 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (maybeReceipts.isEmpty()) {
+      final Optional<Bytes> maybeEncodedReceipts =
+          encodedBlockDataCache.receipts(hash, blockchain::getTxReceipts);
+      if (maybeEncodedReceipts.isEmpty()) {
         continue;
       }
-      final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
-      encodedReceipts.startList();
-      maybeReceipts.get().forEach(r -> r.writeToForNetwork(encodedReceipts));
-      encodedReceipts.endList();
-      final int encodedSize = encodedReceipts.encodedSize();
+      final int encodedSize = maybeEncodedReceipts.get().size();
       if (responseSizeEstimate + encodedSize > maxMessageSize) {
         break;
       }
 
       responseSizeEstimate += encodedSize;
-      rlp.writeRaw(encodedReceipts.encoded());
+      rlp.writeRaw(maybeEncodedReceipts.get());
     }
     rlp.endList();
 
@@ -19,10 +19,16 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -31,10 +37,20 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiFunction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+/**
+ * Creates executors that export the same metrics, prefixed by the executor name: the number of
+ * tasks waiting to run, of threads running tasks and in the pool, of tasks submitted, completed and
+ * rejected, and the total microseconds tasks waited before running and took to run. The times are
+ * counters instead of timers, so busy pools like the transaction and computation ones only add two
+ * counter increments to every task. For the scheduled executors the wait time of a task starts when
+ * it is due to run.
+ */
 public class MonitoredExecutors {
 
   public static ExecutorService newFixedThreadPool(
@@ -77,15 +93,14 @@ public class MonitoredExecutors {
     return newMonitoredExecutor(
         name,
         metricsSystem,
-        (rejectedExecutionHandler, threadFactory) ->
-            new ThreadPoolExecutor(
+        (rejectedExecutionHandler, threadFactory, taskTimeCounters) ->
+            new TimedThreadPoolExecutor(
                 minWorkerCount,
                 maxWorkerCount,
-                60L,
-                TimeUnit.SECONDS,
                 workingQueue,
                 threadFactory,
-                rejectedExecutionHandler));
+                rejectedExecutionHandler,
+                taskTimeCounters));
   }
 
   public static ExecutorService newCachedThreadPool(
@@ -98,15 +113,14 @@ public class MonitoredExecutors {
     return newMonitoredExecutor(
         name,
         metricsSystem,
-        (rejectedExecutionHandler, threadFactory) ->
-            new ThreadPoolExecutor(
+        (rejectedExecutionHandler, threadFactory, taskTimeCounters) ->
+            new TimedThreadPoolExecutor(
                 corePoolSize,
                 Integer.MAX_VALUE,
-                60L,
-                TimeUnit.SECONDS,
                 new SynchronousQueue<Runnable>(),
                 threadFactory,
-                rejectedExecutionHandler));
+                rejectedExecutionHandler,
+                taskTimeCounters));
   }
 
   public static ScheduledExecutorService newScheduledThreadPool(
@@ -114,8 +128,9 @@ public class MonitoredExecutors {
     return newMonitoredExecutor(
         name,
         metricsSystem,
-        (rejectedExecutionHandler, threadFactory) ->
-            new ScheduledThreadPoolExecutor(corePoolSize, threadFactory, rejectedExecutionHandler));
+        (rejectedExecutionHandler, threadFactory, taskTimeCounters) ->
+            new TimedScheduledThreadPoolExecutor(
+                corePoolSize, threadFactory, rejectedExecutionHandler, taskTimeCounters));
   }
 
   public static ExecutorService newSingleThreadExecutor(
@@ -123,49 +138,118 @@ public class MonitoredExecutors {
     return newFixedThreadPool(name, 1, 1, metricsSystem);
   }
 
+  /**
+   * Creates an executor that runs each task in a new virtual thread, for tasks that spend most of
+   * their time blocked on I/O or waiting for other tasks. The number of tasks running at the same
+   * time is not bounded. Its queue length is the number of tasks whose virtual thread has not
+   * started running yet.
+   *
+   * @param name the name of the executor, used for its threads and metrics
+   * @param metricsSystem the metrics system
+   * @return the executor
+   */
+  public static ExecutorService newVirtualThreadExecutor(
+      final String name, final MetricsSystem metricsSystem) {
+    final String metricName = toMetricName(name);
+    final VirtualThreadExecutor executor =
+        new VirtualThreadExecutor(
+            Thread.ofVirtual().name(name + "-", 0).factory(),
+            createTaskTimeCounters(metricName, metricsSystem),
+            createRejectedTaskCounter(metricName, metricsSystem));
+    createGauges(
+        metricName,
+        metricsSystem,
+        executor::getQueueLength,
+        executor::getActiveCount,
+        executor::getThreadCount,
+        executor::getCompletedTaskCount,
+        executor::getTaskCount);
+    return executor;
+  }
+
   private static <T extends ThreadPoolExecutor> T newMonitoredExecutor(
       final String name,
       final MetricsSystem metricsSystem,
-      final BiFunction<RejectedExecutionHandler, ThreadFactory, T> creator) {
+      final ExecutorCreator<T> creator) {
 
     final String metricName = toMetricName(name);
 
     final T executor =
-        creator.apply(
+        creator.create(
             new CountingAbortPolicy(metricName, metricsSystem),
-            new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
+            new ThreadFactoryBuilder().setNameFormat(name + "-%d").build(),
+            createTaskTimeCounters(metricName, metricsSystem));
+
+    createGauges(
+        metricName,
+        metricsSystem,
+        executor.getQueue()::size,
+        executor::getActiveCount,
+        executor::getPoolSize,
+        executor::getCompletedTaskCount,
+        executor::getTaskCount);
 
+    return executor;
+  }
+
+  private static void createGauges(
+      final String metricName,
+      final MetricsSystem metricsSystem,
+      final IntSupplier queueLength,
+      final IntSupplier activeThreads,
+      final IntSupplier poolSize,
+      final LongSupplier completedTasks,
+      final LongSupplier submittedTasks) {
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.EXECUTORS,
         metricName + "_queue_length_current",
         "Current number of tasks awaiting execution",
-        executor.getQueue()::size);
+        queueLength);
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.EXECUTORS,
         metricName + "_active_threads_current",
         "Current number of threads executing tasks",
-        executor::getActiveCount);
+        activeThreads);
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.EXECUTORS,
         metricName + "_pool_size_current",
         "Current number of threads in the thread pool",
-        executor::getPoolSize);
+        poolSize);
 
     metricsSystem.createLongGauge(
         BesuMetricCategory.EXECUTORS,
         metricName + "_completed_tasks_total",
         "Total number of tasks executed",
-        executor::getCompletedTaskCount);
+        completedTasks);
 
     metricsSystem.createLongGauge(
         BesuMetricCategory.EXECUTORS,
         metricName + "_submitted_tasks_total",
         "Total number of tasks executed",
-        executor::getTaskCount);
+        submittedTasks);
+  }
 
-    return executor;
+  private static TaskTimeCounters createTaskTimeCounters(
+      final String metricName, final MetricsSystem metricsSystem) {
+    return new TaskTimeCounters(
+        metricsSystem.createCounter(
+            BesuMetricCategory.EXECUTORS,
+            metricName + "_task_wait_microseconds_total",
+            "Total microseconds tasks waited before starting to run"),
+        metricsSystem.createCounter(
+            BesuMetricCategory.EXECUTORS,
+            metricName + "_task_run_microseconds_total",
+            "Total microseconds tasks took to run"));
+  }
+
+  private static Counter createRejectedTaskCounter(
+      final String metricName, final MetricsSystem metricsSystem) {
+    return metricsSystem.createCounter(
+        BesuMetricCategory.EXECUTORS,
+        metricName + "_rejected_tasks_total",
+        "Total number of tasks rejected by this executor");
   }
 
   private static String toMetricName(final String name) {
@@ -177,11 +261,7 @@ public class MonitoredExecutors {
     private final Counter rejectedTaskCounter;
 
     public CountingAbortPolicy(final String metricName, final MetricsSystem metricsSystem) {
-      this.rejectedTaskCounter =
-          metricsSystem.createCounter(
-              BesuMetricCategory.EXECUTORS,
-              metricName + "_rejected_tasks_total",
-              "Total number of tasks rejected by this executor");
+      this.rejectedTaskCounter = createRejectedTaskCounter(metricName, metricsSystem);
     }
 
     @Override
@@ -190,4 +270,179 @@ public class MonitoredExecutors {
       super.rejectedExecution(r, e);
     }
   }
+
+  @FunctionalInterface
+  private interface ExecutorCreator<T extends ThreadPoolExecutor> {
+    T create(
+        RejectedExecutionHandler rejectedExecutionHandler,
+        ThreadFactory threadFactory,
+        TaskTimeCounters taskTimeCounters);
+  }
+
+  private record TaskTimeCounters(Counter waitCounter, Counter runCounter) {
+
+    Runnable timed(final Runnable task) {
+      Objects.requireNonNull(task);
+      final long submittedAt = System.nanoTime();
+      return () -> {
+        final long startedAt = System.nanoTime();
+        waitCounter.inc(micros(startedAt - submittedAt));
+        try {
+          task.run();
+        } finally {
+          runCounter.inc(micros(System.nanoTime() - startedAt));
+        }
+      };
+    }
+
+    private static long micros(final long nanos) {
+      return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+  }
+
+  private static class TimedThreadPoolExecutor extends ThreadPoolExecutor {
+    private final TaskTimeCounters taskTimeCounters;
+
+    TimedThreadPoolExecutor(
+        final int corePoolSize,
+        final int maximumPoolSize,
+        final BlockingQueue<Runnable> workQueue,
+        final ThreadFactory threadFactory,
+        final RejectedExecutionHandler handler,
+        final TaskTimeCounters taskTimeCounters) {
+      super(
+          corePoolSize,
+          maximumPoolSize,
+          60L,
+          TimeUnit.SECONDS,
+          workQueue,
+          threadFactory,
+          handler);
+      this.taskTimeCounters = taskTimeCounters;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      super.execute(taskTimeCounters.timed(command));
+    }
+  }
+
+  /**
+   * Every task of a scheduled executor, including the ones passed to {@code execute}, is a delayed
+   * task, whose negative delay when it starts is how long it waited since it was due.
+   */
+  private static class TimedScheduledThreadPoolExecutor extends ScheduledThreadPoolExecutor {
+    private final TaskTimeCounters taskTimeCounters;
+    private final ThreadLocal<long[]> startedAt = ThreadLocal.withInitial(() -> new long[1]);
+
+    TimedScheduledThreadPoolExecutor(
+        final int corePoolSize,
+        final ThreadFactory threadFactory,
+        final RejectedExecutionHandler handler,
+        final TaskTimeCounters taskTimeCounters) {
+      super(corePoolSize, threadFactory, handler);
+      this.taskTimeCounters = taskTimeCounters;
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable task) {
+      if (task instanceof Delayed delayed) {
+        final long lateNanos = -delayed.getDelay(TimeUnit.NANOSECONDS);
+        taskTimeCounters.waitCounter().inc(TaskTimeCounters.micros(Math.max(0, lateNanos)));
+      }
+      startedAt.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    protected void afterExecute(final Runnable task, final Throwable throwable) {
+      taskTimeCounters
+          .runCounter()
+          .inc(TaskTimeCounters.micros(System.nanoTime() - startedAt.get()[0]));
+    }
+  }
+
+  private static class VirtualThreadExecutor extends AbstractExecutorService {
+    private final ExecutorService threadPerTaskExecutor;
+    private final TaskTimeCounters taskTimeCounters;
+    private final Counter rejectedTaskCounter;
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicLong startedTasks = new AtomicLong();
+    private final AtomicLong completedTasks = new AtomicLong();
+
+    VirtualThreadExecutor(
+        final ThreadFactory threadFactory,
+        final TaskTimeCounters taskTimeCounters,
+        final Counter rejectedTaskCounter) {
+      this.threadPerTaskExecutor = Executors.newThreadPerTaskExecutor(threadFactory);
+      this.taskTimeCounters = taskTimeCounters;
+      this.rejectedTaskCounter = rejectedTaskCounter;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      final Runnable timedCommand = taskTimeCounters.timed(command);
+      submittedTasks.incrementAndGet();
+      try {
+        threadPerTaskExecutor.execute(
+            () -> {
+              startedTasks.incrementAndGet();
+              try {
+                timedCommand.run();
+              } finally {
+                completedTasks.incrementAndGet();
+              }
+            });
+      } catch (final RejectedExecutionException e) {
+        submittedTasks.decrementAndGet();
+        rejectedTaskCounter.inc();
+        throw e;
+      }
+    }
+
+    int getQueueLength() {
+      return (int) Math.max(0, submittedTasks.get() - startedTasks.get());
+    }
+
+    int getActiveCount() {
+      return (int) Math.max(0, startedTasks.get() - completedTasks.get());
+    }
+
+    int getThreadCount() {
+      return (int) Math.max(0, submittedTasks.get() - completedTasks.get());
+    }
+
+    long getCompletedTaskCount() {
+      return completedTasks.get();
+    }
+
+    long getTaskCount() {
+      return submittedTasks.get();
+    }
+
+    @Override
+    public void shutdown() {
+      threadPerTaskExecutor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return threadPerTaskExecutor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return threadPerTaskExecutor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return threadPerTaskExecutor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit)
+        throws InterruptedException {
+      return threadPerTaskExecutor.awaitTermination(timeout, unit);
+    }
+  }
 }
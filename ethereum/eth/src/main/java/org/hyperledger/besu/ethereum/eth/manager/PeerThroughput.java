@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates the throughput and the latency of a peer, as exponentially weighted moving averages of
+ * the size and the round trip time of its responses, so requests can be sized to what the peer is
+ * able to deliver and sent to the faster peers first.
+ *
+ * <p>Only the responses of at least {@link #MIN_THROUGHPUT_SAMPLE_BYTES} count for the
+ * throughput, since the time to get a small response, as a few headers or an empty body, is
+ * dominated by the round trip time and would make a fast peer look slow, shrinking its requests for
+ * bodies and receipts. All the responses count for the latency.
+ *
+ * <p>A timeout counts as a response with no data, lowering the throughput estimate of a measured
+ * peer.
+ */
+public class PeerThroughput {
+  static final double ALPHA = 0.2;
+  static final long TARGET_RESPONSE_MILLIS = 2_000;
+  static final long MIN_THROUGHPUT_SAMPLE_BYTES = 16 * 1024;
+  private static final long MIN_ELAPSED_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private double bytesPerSecond;
+  private double latencyMillis;
+  private boolean hasEstimate = false;
+  private boolean hasLatency = false;
+
+  public synchronized void recordResponse(final long bytes, final long elapsedNanos) {
+    final long elapsed = Math.max(elapsedNanos, MIN_ELAPSED_NANOS);
+    final double latency = elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    if (hasLatency) {
+      latencyMillis += ALPHA * (latency - latencyMillis);
+    } else {
+      latencyMillis = latency;
+      hasLatency = true;
+    }
+    if (bytes < MIN_THROUGHPUT_SAMPLE_BYTES) {
+      return;
+    }
+    final double rate = bytes * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    if (hasEstimate) {
+      bytesPerSecond += ALPHA * (rate - bytesPerSecond);
+    } else {
+      bytesPerSecond = rate;
+      hasEstimate = true;
+    }
+  }
+
+  public synchronized void recordTimeout() {
+    // without an estimate yet there is nothing to lower, the reputation takes care of such peers
+    if (hasEstimate) {
+      bytesPerSecond -= ALPHA * bytesPerSecond;
+    }
+  }
+
+  public synchronized boolean hasEstimate() {
+    return hasEstimate;
+  }
+
+  public synchronized double getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  public synchronized double getLatencyMillis() {
+    return latencyMillis;
+  }
+
+  /**
+   * The number of items to request, so the response is expected within {@link
+   * #TARGET_RESPONSE_MILLIS}
+   *
+   * @param maxItems the number of items wanted, returned as is if there is no estimate yet
+   * @param itemBytesEstimate the expected size of an item
+   * @return the number of items to request, between 1 and maxItems
+   */
+  public int requestSize(final int maxItems, final int itemBytesEstimate) {
+    final long bytes = responseBytes(itemBytesEstimate, (long) maxItems * itemBytesEstimate);
+    return (int) Math.max(1, Math.min(maxItems, bytes / itemBytesEstimate));
+  }
+
+  /**
+   * The response size to request, so the response is expected within {@link
+   * #TARGET_RESPONSE_MILLIS}
+   *
+   * @param minBytes the lower bound of the response size
+   * @param maxBytes the response size wanted, returned as is if there is no estimate yet
+   * @return the response size to request, between minBytes and maxBytes
+   */
+  public synchronized long responseBytes(final long minBytes, final long maxBytes) {
+    if (!hasEstimate) {
+      return maxBytes;
+    }
+    final long bytes = (long) (bytesPerSecond * TARGET_RESPONSE_MILLIS / 1000);
+    return Math.max(minBytes, Math.min(maxBytes, bytes));
+  }
+
+  @Override
+  public synchronized String toString() {
+    return hasEstimate
+        ? String.format("%.0f B/s, %.0f ms", bytesPerSecond, latencyMillis)
+        : "not measured";
+  }
+}
@@ -79,7 +79,12 @@ public class RequestManager {
             ethMessage.getData().unwrapMessageData();
         Optional.ofNullable(responseStreams.get(requestIdAndEthMessage.getKey()))
             .ifPresentOrElse(
-                responseStream -> responseStream.processMessage(requestIdAndEthMessage.getValue()),
+                responseStream -> {
+                  peer.recordResponse(
+                      ethMessage.getData().getSize(),
+                      System.nanoTime() - responseStream.requestedAtNanos);
+                  responseStream.processMessage(requestIdAndEthMessage.getValue());
+                },
                 // Consider incorrect requestIds to be a useless response; too
                 // many of these and we will disconnect.
                 () -> peer.recordUselessResponse("Request ID incorrect"));
@@ -162,6 +167,7 @@ public class RequestManager {
     private final EthPeer peer;
     private final DeregistrationProcessor deregisterCallback;
     private final Queue<Response> bufferedResponses = new ConcurrentLinkedQueue<>();
+    private final long requestedAtNanos = System.nanoTime();
     private volatile boolean closed = false;
     private volatile ResponseCallback responseCallback = null;
 
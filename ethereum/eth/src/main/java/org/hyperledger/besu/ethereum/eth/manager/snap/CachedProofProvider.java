@@ -0,0 +1,112 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.trie.MerkleTrie;
+import org.hyperledger.besu.ethereum.trie.NodeLoader;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Generates the range proofs sent by the snap server, keeping the trie nodes it reads in a cache
+ * shared by all the requests. The proofs of the requests for the same state go through the same
+ * nodes near the root, so most of the path to a key is read from the cache instead of the
+ * database.
+ *
+ * <p>The nodes are cached by hash, and since a node hash identifies its content the cached nodes
+ * are valid for any state and any account storage trie.
+ */
+class CachedProofProvider {
+  static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+  private final Cache<Bytes32, Bytes> nodesByHash;
+
+  CachedProofProvider(final long maxBytes) {
+    this.nodesByHash =
+        Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((final Bytes32 hash, final Bytes node) -> node.size())
+            .build();
+  }
+
+  /**
+   * Get the nodes proving the value of an account, or its absence
+   *
+   * @param storage the storage of the state
+   * @param worldStateRoot the root hash of the state
+   * @param accountHash the hash of the account
+   * @return the proof nodes from the root to the account
+   */
+  List<Bytes> getAccountProofRelatedNodes(
+      final BonsaiWorldStateKeyValueStorage storage,
+      final Bytes32 worldStateRoot,
+      final Bytes32 accountHash) {
+    return proof(cached(storage::getAccountStateTrieNode), worldStateRoot, accountHash);
+  }
+
+  /**
+   * Get the nodes proving the value of a storage slot, or its absence
+   *
+   * @param storage the storage of the state
+   * @param storageRoot the root hash of the account storage trie
+   * @param accountHash the hash of the account
+   * @param slotHash the hash of the slot
+   * @return the proof nodes from the storage root to the slot
+   */
+  List<Bytes> getStorageProofRelatedNodes(
+      final BonsaiWorldStateKeyValueStorage storage,
+      final Bytes32 storageRoot,
+      final Bytes32 accountHash,
+      final Bytes32 slotHash) {
+    final Hash account = Hash.wrap(accountHash);
+    return proof(
+        cached(
+            (location, nodeHash) -> storage.getAccountStorageTrieNode(account, location, nodeHash)),
+        storageRoot,
+        slotHash);
+  }
+
+  long cachedNodes() {
+    return nodesByHash.estimatedSize();
+  }
+
+  private static List<Bytes> proof(
+      final NodeLoader nodeLoader, final Bytes32 rootHash, final Bytes32 key) {
+    final MerkleTrie<Bytes, Bytes> trie =
+        new StoredMerklePatriciaTrie<>(nodeLoader, rootHash, b -> b, b -> b);
+    return trie.getValueWithProof(key).getProofRelatedNodes();
+  }
+
+  private NodeLoader cached(final NodeLoader nodeLoader) {
+    return (location, nodeHash) -> {
+      final Bytes cachedNode = nodesByHash.getIfPresent(nodeHash);
+      if (cachedNode != null) {
+        return Optional.of(cachedNode);
+      }
+      final Optional<Bytes> node = nodeLoader.getNode(location, nodeHash);
+      node.ifPresent(value -> nodesByHash.put(nodeHash, value));
+      return node;
+    };
+  }
+}
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.eth.manager.snap;
 
+import static org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData.SIZE_REQUEST;
+
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
@@ -37,6 +39,8 @@ public class GetAccountRangeFromPeerTask
     extends AbstractPeerRequestTask<AccountRangeMessage.AccountRangeData> {
 
   private static final Logger LOG = LoggerFactory.getLogger(GetAccountRangeFromPeerTask.class);
+  // the peer is asked for a smaller range when it is slow, but not so small the proofs dominate
+  static final long MIN_RESPONSE_BYTES = 64 * 1024;
 
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
@@ -88,7 +92,10 @@ public class GetAccountRangeFromPeerTask
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
-            return peer.getSnapAccountRange(blockHeader.getStateRoot(), startKeyHash, endKeyHash);
+            final long responseBytes =
+                peer.getThroughput().responseBytes(MIN_RESPONSE_BYTES, SIZE_REQUEST.longValue());
+            return peer.getSnapAccountRange(
+                blockHeader.getStateRoot(), startKeyHash, endKeyHash, responseBytes);
           }
 
           @Override
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.eth.manager.snap;
 
+import static org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData.SIZE_REQUEST;
+
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
@@ -38,6 +40,7 @@ public class GetStorageRangeFromPeerTask
     extends AbstractPeerRequestTask<StorageRangeMessage.SlotRangeData> {
 
   private static final Logger LOG = LoggerFactory.getLogger(GetStorageRangeFromPeerTask.class);
+  static final long MIN_RESPONSE_BYTES = 64 * 1024;
 
   private final List<Bytes32> accountHashes;
   private final Bytes32 startKeyHash;
@@ -93,8 +96,14 @@ public class GetStorageRangeFromPeerTask
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
+            final long responseBytes =
+                peer.getThroughput().responseBytes(MIN_RESPONSE_BYTES, SIZE_REQUEST.longValue());
             return peer.getSnapStorageRange(
-                blockHeader.getStateRoot(), accountHashes, startKeyHash, endKeyHash);
+                blockHeader.getStateRoot(),
+                accountHashes,
+                startKeyHash,
+                endKeyHash,
+                responseBytes);
           }
 
           @Override
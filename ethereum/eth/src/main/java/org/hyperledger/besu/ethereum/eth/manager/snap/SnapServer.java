@@ -29,10 +29,10 @@ import org.hyperledger.besu.ethereum.eth.messages.snap.TrieNodesMessage;
 import org.hyperledger.besu.ethereum.eth.sync.DefaultSynchronizer;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
-import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.StorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiWorldStateProvider;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.FlatDbMode;
@@ -40,19 +40,27 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
 import org.hyperledger.besu.plugin.services.BesuEvents;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
 import java.util.stream.Collectors;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
 import kotlin.Pair;
 import kotlin.collections.ArrayDeque;
@@ -71,6 +79,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   private static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
   private static final int MAX_CODE_LOOKUPS_PER_REQUEST = 1024;
   private static final int MAX_TRIE_LOOKUPS_PER_REQUEST = 1024;
+  // the request id added to the response when it is sent, a scalar of at most 8 bytes
+  private static final int MAX_REQUEST_ID_SIZE = 9;
+  // the headers of the response lists, at most 4 bytes each for responses below 16 MiB, and the
+  // request id
+  private static final int RESPONSE_OVERHEAD_BYTES = 4 * 4 + MAX_REQUEST_ID_SIZE;
+  private static final int RECENT_WORLD_STATE_STORAGES_LIMIT = 16;
   private static final AccountRangeMessage EMPTY_ACCOUNT_RANGE =
       AccountRangeMessage.create(new HashMap<>(), new ArrayDeque<>());
   private static final StorageRangeMessage EMPTY_STORAGE_RANGE =
@@ -88,6 +102,14 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
   private final WorldStateStorageCoordinator worldStateStorageCoordinator;
   private final Optional<ProtocolContext> protocolContext;
+  private final CachedProofProvider proofProvider =
+      new CachedProofProvider(CachedProofProvider.DEFAULT_MAX_BYTES);
+  // the storages of the states recently served, shared by the concurrent requests
+  private final Cache<Hash, BonsaiWorldStateKeyValueStorage> recentWorldStateStorages =
+      Caffeine.newBuilder()
+          .maximumSize(RECENT_WORLD_STATE_STORAGES_LIMIT)
+          .expireAfterAccess(Duration.ofMinutes(1))
+          .build();
 
   // whether snap server is enabled
   private final boolean snapServerEnabled;
@@ -194,6 +216,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
   public synchronized SnapServer stop() {
     isStarted.set(false);
+    recentWorldStateStorages.invalidateAll();
     return this;
   }
 
@@ -229,24 +252,23 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
       if (range.worldStateRootHash().equals(Hash.EMPTY_TRIE_HASH)) {
         return AccountRangeMessage.create(new HashMap<>(), List.of(MerkleTrie.EMPTY_TRIE_NODE));
       }
-      return worldStateStorageProvider
-          .apply(range.worldStateRootHash())
-          .map(
+      return withWorldStateStorage(
+              range.worldStateRootHash(),
               storage -> {
                 LOGGER.trace("obtained worldstate in {}", stopWatch);
+                // the proof of the range origin is always sent, and the proof of the last account
+                // is about as large, since the paths to the accounts have about the same depth
+                final List<Bytes> originProof =
+                    proofProvider.getAccountProofRelatedNodes(
+                        storage, range.worldStateRootHash(), range.startKeyHash());
                 StatefulPredicate shouldContinuePredicate =
                     new StatefulPredicate(
                         "account",
                         stopWatch,
                         maxResponseBytes,
-                        (pair) -> {
-                          var rlpOutput = new BytesValueRLPOutput();
-                          rlpOutput.startList();
-                          rlpOutput.writeBytes(pair.getFirst());
-                          rlpOutput.writeRLPBytes(pair.getSecond());
-                          rlpOutput.endList();
-                          return rlpOutput.encodedSize();
-                        });
+                        pair -> accountEntrySize(pair.getFirst(), pair.getSecond()));
+                shouldContinuePredicate.reserve(
+                    RESPONSE_OVERHEAD_BYTES + 2 * encodedItemsSize(originProof));
 
                 NavigableMap<Bytes32, Bytes> accounts =
                     storage.streamFlatAccounts(
@@ -260,18 +282,17 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                   accounts = storage.streamFlatAccounts(range.endKeyHash(), UInt256.MAX_VALUE, 1L);
                 }
 
-                final var worldStateProof =
-                    new WorldStateProofProvider(new WorldStateStorageCoordinator(storage));
                 final List<Bytes> proof =
-                    worldStateProof.getAccountProofRelatedNodes(
-                        range.worldStateRootHash(), Hash.wrap(range.startKeyHash()));
-
-                if (!accounts.isEmpty()) {
-                  proof.addAll(
-                      worldStateProof.getAccountProofRelatedNodes(
-                          range.worldStateRootHash(), Hash.wrap(accounts.lastKey())));
-                }
-                var resp = AccountRangeMessage.create(accounts, proof);
+                    proveRange(
+                        originProof,
+                        accounts,
+                        lastKey ->
+                            proofProvider.getAccountProofRelatedNodes(
+                                storage, range.worldStateRootHash(), lastKey),
+                        SnapServer::accountEntrySize,
+                        RLP::encodedListSize,
+                        maxResponseBytes);
+                final MessageData resp = AccountRangeMessage.create(accounts, proof);
                 if (accounts.isEmpty()) {
                   LOGGER.debug(
                       "returned empty account range message for {} to  {}, proof count {}",
@@ -325,9 +346,8 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     .collect(Collectors.joining(",", "[", "]")))
         .log();
     try {
-      return worldStateStorageProvider
-          .apply(range.worldStateRootHash())
-          .map(
+      return withWorldStateStorage(
+              range.worldStateRootHash(),
               storage -> {
                 LOGGER.trace("obtained worldstate in {}", stopWatch);
                 // reusable predicate to limit by rec count and bytes:
@@ -336,14 +356,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                         "storage",
                         stopWatch,
                         maxResponseBytes,
-                        (pair) -> {
-                          var slotRlpOutput = new BytesValueRLPOutput();
-                          slotRlpOutput.startList();
-                          slotRlpOutput.writeBytes(pair.getFirst());
-                          slotRlpOutput.writeBytes(pair.getSecond());
-                          slotRlpOutput.endList();
-                          return slotRlpOutput.encodedSize();
-                        });
+                        pair -> slotEntrySize(pair.getFirst(), pair.getSecond()));
 
                 // only honor start and end hash if request is for a single account's storage:
                 Bytes32 startKeyBytes, endKeyBytes;
@@ -358,10 +371,22 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                       !(startKeyBytes.equals(Hash.ZERO) && endKeyBytes.equals(HASH_LAST));
                 }
 
+                // a partial range is always sent with its proofs, so they are reserved up front,
+                // while the proofs of a range interrupted by the limit are made to fit afterwards
+                final List<Bytes> partialRangeOriginProof =
+                    isPartialRange
+                        ? proofProvider.getStorageProofRelatedNodes(
+                            storage,
+                            getAccountStorageRoot(range.hashes().first(), storage),
+                            range.hashes().first(),
+                            startKeyBytes)
+                        : List.of();
+                statefulPredicate.reserve(
+                    RESPONSE_OVERHEAD_BYTES + 2 * encodedItemsSize(partialRangeOriginProof));
+
                 ArrayDeque<NavigableMap<Bytes32, Bytes>> collectedStorages = new ArrayDeque<>();
+                int collectedStoragesSize = 0;
                 List<Bytes> proofNodes = new ArrayList<>();
-                final var worldStateProof =
-                    new WorldStateProofProvider(new WorldStateStorageCoordinator(storage));
 
                 for (var forAccountHash : range.hashes()) {
                   var accountStorages =
@@ -379,36 +404,56 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                             Hash.wrap(forAccountHash), range.endKeyHash(), UInt256.MAX_VALUE, 1L);
                   }
 
-                  // don't send empty storage ranges
-                  if (!accountStorages.isEmpty()) {
-                    collectedStorages.add(accountStorages);
-                  }
-
                   // if a partial storage range was requested, or we interrupted storage due to
                   // request limits, send proofs:
                   if (isPartialRange || !statefulPredicate.shouldGetMore()) {
-                    // send a proof for the left side range origin
-                    proofNodes.addAll(
-                        worldStateProof.getStorageProofRelatedNodes(
-                            getAccountStorageRoot(forAccountHash, storage),
-                            forAccountHash,
-                            Hash.wrap(startKeyBytes)));
-                    if (!accountStorages.isEmpty()) {
-                      // send a proof for the last key on the right
-                      proofNodes.addAll(
-                          worldStateProof.getStorageProofRelatedNodes(
-                              getAccountStorageRoot(forAccountHash, storage),
-                              forAccountHash,
-                              Hash.wrap(accountStorages.lastKey())));
+                    final Hash storageRoot = getAccountStorageRoot(forAccountHash, storage);
+                    final List<Bytes> originProof =
+                        isPartialRange
+                            ? partialRangeOriginProof
+                            : proofProvider.getStorageProofRelatedNodes(
+                                storage, storageRoot, forAccountHash, startKeyBytes);
+                    final int previousStoragesSize = collectedStoragesSize;
+                    proofNodes =
+                        proveRange(
+                            originProof,
+                            accountStorages,
+                            lastKey ->
+                                proofProvider.getStorageProofRelatedNodes(
+                                    storage, storageRoot, forAccountHash, lastKey),
+                            SnapServer::slotEntrySize,
+                            size ->
+                                RLP.encodedListSize(
+                                    previousStoragesSize + RLP.encodedListSize(size)),
+                            maxResponseBytes);
+                    final int storagesListSize =
+                        RLP.encodedListSize(rangeSize(accountStorages, SnapServer::slotEntrySize));
+                    if (!collectedStorages.isEmpty()
+                        && responseSize(
+                                RLP.encodedListSize(collectedStoragesSize + storagesListSize),
+                                proofNodes)
+                            > maxResponseBytes) {
+                      // not even a slot of this storage fits with its proofs, the response ends
+                      // with the previous complete storages
+                      accountStorages.clear();
+                      proofNodes = new ArrayList<>();
                     }
                   }
 
+                  // don't send empty storage ranges
+                  if (!accountStorages.isEmpty()) {
+                    collectedStorages.add(accountStorages);
+                    final int storagesSize = rangeSize(accountStorages, SnapServer::slotEntrySize);
+                    collectedStoragesSize += RLP.encodedListSize(storagesSize);
+                    statefulPredicate.consume(RLP.encodedListSize(storagesSize) - storagesSize);
+                  }
+
                   if (!statefulPredicate.shouldGetMore()) {
                     break;
                   }
                 }
 
-                var resp = StorageRangeMessage.create(collectedStorages, proofNodes);
+                final MessageData resp = StorageRangeMessage.create(collectedStorages, proofNodes);
                 LOGGER.debug(
                     "returned in {} storage {} to {} range {} to {} with {} storages and {} proofs, resp size {} of max {}",
                     stopWatch,
@@ -588,9 +633,9 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
     final Function<Pair<Bytes32, Bytes>, Integer> encodingSizeAccumulator;
     final StopWatch stopWatch;
     final int maxResponseBytes;
-    // TODO: remove this hack,  10% is a fudge factor to account for the proof node size
-    final int maxResponseBytesFudgeFactor;
     final String forWhat;
+    // bytes of the response not taken by the records, like the proofs and the list headers
+    int reservedBytes = 0;
 
     StatefulPredicate(
         final String forWhat,
@@ -599,7 +644,6 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         final Function<Pair<Bytes32, Bytes>, Integer> encodingSizeAccumulator) {
       this.stopWatch = stopWatch;
       this.maxResponseBytes = maxResponseBytes;
-      this.maxResponseBytesFudgeFactor = maxResponseBytes * 9 / 10;
       this.forWhat = forWhat;
       this.encodingSizeAccumulator = encodingSizeAccumulator;
     }
@@ -608,6 +652,24 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
       return shouldContinue.get();
     }
 
+    /**
+     * Reserve bytes of the response for what is added to the records
+     *
+     * @param bytes the bytes not available for the records
+     */
+    void reserve(final int bytes) {
+      reservedBytes = bytes;
+    }
+
+    /**
+     * Account for bytes of the response added between the records
+     *
+     * @param bytes the bytes added
+     */
+    void consume(final int bytes) {
+      byteLimit.addAndGet(bytes);
+    }
+
     @Override
     public boolean test(final Pair<Bytes32, Bytes> pair) {
       LOGGER
@@ -628,14 +690,17 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         return false;
       }
 
+      final int recordSize = encodingSizeAccumulator.apply(pair);
       var hasNoRecords = recordLimit.get() == 0;
-      var underRecordLimit = recordLimit.addAndGet(1) <= MAX_ENTRIES_PER_REQUEST;
-      var underByteLimit =
-          byteLimit.accumulateAndGet(0, (cur, __) -> cur + encodingSizeAccumulator.apply(pair))
-              < maxResponseBytesFudgeFactor;
+      var underRecordLimit = recordLimit.get() < MAX_ENTRIES_PER_REQUEST;
+      // stop at the first record that does not fit, so the response is as close as possible to
+      // the limit without exceeding it
+      var underByteLimit = byteLimit.get() + recordSize + reservedBytes <= maxResponseBytes;
       // Only enforce limits when we have at least 1 record as the snapsync spec
       // requires at least 1 record must be returned
       if (hasNoRecords || (underRecordLimit && underByteLimit)) {
+        recordLimit.incrementAndGet();
+        byteLimit.addAndGet(recordSize);
         return true;
       } else {
         shouldContinue.set(false);
@@ -651,6 +716,124 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
     }
   }
 
+  /**
+   * Get the proof of a range, made of the proof of its origin and the proof of its last key. When
+   * the response would exceed the limit, because the proof of the last key is larger than
+   * reserved, the last keys are left out of the range until it fits, but the range keeps at least
+   * one key.
+   *
+   * @param originProof the proof of the origin of the range
+   * @param range the range, from which the keys that do not fit are removed
+   * @param proofOf gets the proof of a key
+   * @param entrySize the encoded size of an entry of the range
+   * @param rangesListSize the encoded size of the list of ranges given the payload size of the
+   *     range
+   * @param maxResponseBytes the response size limit
+   * @return the proof nodes, without duplicates
+   */
+  private static List<Bytes> proveRange(
+      final List<Bytes> originProof,
+      final NavigableMap<Bytes32, Bytes> range,
+      final Function<Bytes32, List<Bytes>> proofOf,
+      final ToIntBiFunction<Bytes32, Bytes> entrySize,
+      final IntUnaryOperator rangesListSize,
+      final int maxResponseBytes) {
+    int rangeSize = rangeSize(range, entrySize);
+    while (true) {
+      // the origin and last key proofs share at least the root node
+      final Set<Bytes> proof = new LinkedHashSet<>(originProof);
+      if (!range.isEmpty()) {
+        proof.addAll(proofOf.apply(range.lastKey()));
+      }
+      final List<Bytes> proofNodes = new ArrayList<>(proof);
+      int excess =
+          responseSize(rangesListSize.applyAsInt(rangeSize), proofNodes) - maxResponseBytes;
+      if (excess <= 0 || range.size() <= 1) {
+        return proofNodes;
+      }
+      while (excess > 0 && range.size() > 1) {
+        final Map.Entry<Bytes32, Bytes> last = range.pollLastEntry();
+        final int lastSize = entrySize.applyAsInt(last.getKey(), last.getValue());
+        rangeSize -= lastSize;
+        excess -= lastSize;
+      }
+    }
+  }
+
+  private static int responseSize(final int rangesListSize, final List<Bytes> proof) {
+    return RLP.encodedListSize(
+        MAX_REQUEST_ID_SIZE + rangesListSize + RLP.encodedListSize(encodedItemsSize(proof)));
+  }
+
+  private static int rangeSize(
+      final NavigableMap<Bytes32, Bytes> range, final ToIntBiFunction<Bytes32, Bytes> entrySize) {
+    int size = 0;
+    for (final Map.Entry<Bytes32, Bytes> entry : range.entrySet()) {
+      size += entrySize.applyAsInt(entry.getKey(), entry.getValue());
+    }
+    return size;
+  }
+
+  private static int encodedItemsSize(final List<Bytes> items) {
+    int size = 0;
+    for (final Bytes item : items) {
+      size += RLP.encodedSize(item);
+    }
+    return size;
+  }
+
+  private static int accountEntrySize(final Bytes32 accountHash, final Bytes account) {
+    // the account is already RLP encoded
+    return RLP.encodedListSize(RLP.encodedSize(accountHash) + account.size());
+  }
+
+  private static int slotEntrySize(final Bytes32 slotHash, final Bytes slot) {
+    return RLP.encodedListSize(RLP.encodedSize(slotHash) + RLP.encodedSize(slot));
+  }
+
+  /**
+   * Serve a request with the storage of a state. The storage is shared by the concurrent requests
+   * for the same state, and it is kept open while the request is served even if the state is
+   * evicted meanwhile from the cached states.
+   */
+  private <T> Optional<T> withWorldStateStorage(
+      final Hash rootHash, final Function<BonsaiWorldStateKeyValueStorage, T> serve) {
+    final BonsaiWorldStateKeyValueStorage recentStorage =
+        recentWorldStateStorages.getIfPresent(rootHash);
+    if (recentStorage != null) {
+      final Optional<T> served = serveIfOpen(recentStorage, serve);
+      if (served.isPresent()) {
+        return served;
+      }
+      recentWorldStateStorages.invalidate(rootHash);
+    }
+    return worldStateStorageProvider
+        .apply(rootHash)
+        .flatMap(
+            storage -> {
+              recentWorldStateStorages.put(rootHash, storage);
+              return serveIfOpen(storage, serve);
+            });
+  }
+
+  private static <T> Optional<T> serveIfOpen(
+      final BonsaiWorldStateKeyValueStorage storage,
+      final Function<BonsaiWorldStateKeyValueStorage, T> serve) {
+    final long subscriberId;
+    try {
+      // a storage is not closed while it has subscribers
+      subscriberId = storage.subscribe(new StorageSubscriber() {});
+    } catch (final RuntimeException e) {
+      LOGGER.trace("worldstate storage closed before serving the request", e);
+      return Optional.empty();
+    }
+    try {
+      return Optional.ofNullable(serve.apply(storage));
+    } finally {
+      storage.unSubscribe(subscriberId);
+    }
+  }
+
   Hash getAccountStorageRoot(
       final Bytes32 accountHash, final BonsaiWorldStateKeyValueStorage storage) {
     return storage
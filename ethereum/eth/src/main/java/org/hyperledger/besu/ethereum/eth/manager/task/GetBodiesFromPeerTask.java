@@ -49,6 +49,7 @@ import org.slf4j.LoggerFactory;
 /** Requests bodies from a peer by header, matches up headers to bodies, and returns blocks. */
 public class GetBodiesFromPeerTask extends AbstractPeerRequestTask<List<Block>> {
   private static final Logger LOG = LoggerFactory.getLogger(GetBodiesFromPeerTask.class);
+  static final int ESTIMATED_BODY_BYTES = 64 * 1024;
 
   private final ProtocolSchedule protocolSchedule;
   private final List<BlockHeader> headers;
@@ -93,12 +94,15 @@ public class GetBodiesFromPeerTask extends AbstractPeerRequestTask<List<Block>>
 
     return sendRequestToPeer(
         peer -> {
+          // ask a slow peer only for what it can deliver in time, the rest is requested again
+          final int count =
+              peer.getThroughput().requestSize(blockHashes.size(), ESTIMATED_BODY_BYTES);
           LOG.atTrace()
               .setMessage("Requesting {} bodies from peer {}.")
-              .addArgument(blockHashes.size())
+              .addArgument(count)
               .addArgument(peer)
               .log();
-          return peer.getBodies(blockHashes);
+          return peer.getBodies(blockHashes.subList(0, count));
         },
         minimumRequiredBlockNumber);
   }
@@ -42,6 +42,7 @@ import org.slf4j.LoggerFactory;
 public class GetReceiptsFromPeerTask
     extends AbstractPeerRequestTask<Map<BlockHeader, List<TransactionReceipt>>> {
   private static final Logger LOG = LoggerFactory.getLogger(GetReceiptsFromPeerTask.class);
+  static final int ESTIMATED_RECEIPTS_BYTES = 64 * 1024;
 
   private final Collection<BlockHeader> blockHeaders;
   private final Map<Hash, List<BlockHeader>> headersByReceiptsRoot = new HashMap<>();
@@ -83,12 +84,15 @@ public class GetReceiptsFromPeerTask
             .collect(toList());
     return sendRequestToPeer(
         peer -> {
+          // ask a slow peer only for what it can deliver in time, the rest is requested again
+          final int count =
+              peer.getThroughput().requestSize(blockHashes.size(), ESTIMATED_RECEIPTS_BYTES);
           LOG.atTrace()
               .setMessage("Requesting {} receipts from peer {}")
-              .addArgument(blockHeaders::size)
+              .addArgument(count)
               .addArgument(peer::getLoggableId)
               .log();
-          return peer.getReceipts(blockHashes);
+          return peer.getReceipts(blockHashes.subList(0, count));
         },
         maximumRequiredBlockNumber);
   }
@@ -48,12 +48,20 @@ public final class GetAccountRangeMessage extends AbstractSnapMessageData {
 
   public static GetAccountRangeMessage create(
       final Hash worldStateRootHash, final Bytes32 startKeyHash, final Bytes32 endKeyHash) {
+    return create(worldStateRootHash, startKeyHash, endKeyHash, SIZE_REQUEST);
+  }
+
+  public static GetAccountRangeMessage create(
+      final Hash worldStateRootHash,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes) {
     final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
     tmp.startList();
     tmp.writeBytes(worldStateRootHash);
     tmp.writeBytes(startKeyHash);
     tmp.writeBytes(endKeyHash);
-    tmp.writeBigIntegerScalar(SIZE_REQUEST);
+    tmp.writeBigIntegerScalar(responseBytes);
     tmp.endList();
     return new GetAccountRangeMessage(tmp.encoded());
   }
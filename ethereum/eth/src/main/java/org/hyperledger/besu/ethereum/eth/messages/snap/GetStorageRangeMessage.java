@@ -63,6 +63,17 @@ public final class GetStorageRangeMessage extends AbstractSnapMessageData {
       final List<Bytes32> accountHashes,
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash) {
+    return create(
+        requestId, worldStateRootHash, accountHashes, startKeyHash, endKeyHash, SIZE_REQUEST);
+  }
+
+  public static GetStorageRangeMessage create(
+      final Optional<BigInteger> requestId,
+      final Hash worldStateRootHash,
+      final List<Bytes32> accountHashes,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes) {
     final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
     tmp.startList();
     requestId.ifPresent(tmp::writeBigIntegerScalar);
@@ -70,7 +81,7 @@ public final class GetStorageRangeMessage extends AbstractSnapMessageData {
     tmp.writeList(accountHashes, (hash, rlpOutput) -> rlpOutput.writeBytes(hash));
     tmp.writeBytes(startKeyHash);
     tmp.writeBytes(endKeyHash);
-    tmp.writeBigIntegerScalar(SIZE_REQUEST);
+    tmp.writeBigIntegerScalar(responseBytes);
     tmp.endList();
     return new GetStorageRangeMessage(tmp.encoded());
   }
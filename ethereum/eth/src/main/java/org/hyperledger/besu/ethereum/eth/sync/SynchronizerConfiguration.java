@@ -51,6 +51,8 @@ public class SynchronizerConfiguration {
       TimeUnit.SECONDS.toMillis(60);
 
   public static final boolean DEFAULT_CHECKPOINT_POST_MERGE_ENABLED = false;
+  public static final boolean DEFAULT_DECOUPLED_BLOCK_DOWNLOAD_ENABLED = false;
+  public static final boolean DEFAULT_VIRTUAL_THREADS_ENABLED = false;
 
   // Fast sync config
   private final int syncPivotDistance;
@@ -85,6 +87,8 @@ public class SynchronizerConfiguration {
   private final int maxTrailingPeers;
   private final long worldStateMinMillisBeforeStalling;
   private final long propagationManagerGetBlockTimeoutMillis;
+  private final boolean decoupledBlockDownloadEnabled;
+  private final boolean virtualThreadsEnabled;
 
   private SynchronizerConfiguration(
       final int syncPivotDistance,
@@ -108,7 +112,9 @@ public class SynchronizerConfiguration {
       final int computationParallelism,
       final int maxTrailingPeers,
       final long propagationManagerGetBlockTimeoutMillis,
-      final boolean checkpointPostMergeEnabled) {
+      final boolean checkpointPostMergeEnabled,
+      final boolean decoupledBlockDownloadEnabled,
+      final boolean virtualThreadsEnabled) {
     this.syncPivotDistance = syncPivotDistance;
     this.fastSyncFullValidationRate = fastSyncFullValidationRate;
     this.syncMinimumPeerCount = syncMinimumPeerCount;
@@ -131,6 +137,8 @@ public class SynchronizerConfiguration {
     this.maxTrailingPeers = maxTrailingPeers;
     this.propagationManagerGetBlockTimeoutMillis = propagationManagerGetBlockTimeoutMillis;
     this.checkpointPostMergeEnabled = checkpointPostMergeEnabled;
+    this.decoupledBlockDownloadEnabled = decoupledBlockDownloadEnabled;
+    this.virtualThreadsEnabled = virtualThreadsEnabled;
   }
 
   public static Builder builder() {
@@ -256,6 +264,26 @@ public class SynchronizerConfiguration {
     return propagationManagerGetBlockTimeoutMillis;
   }
 
+  /**
+   * Whether fast and checkpoint sync download the bodies and the receipts of a range of blocks at
+   * the same time, and store the blocks in write batches combining many of them.
+   *
+   * @return true if the decoupled block download is enabled
+   */
+  public boolean isDecoupledBlockDownloadEnabled() {
+    return decoupledBlockDownloadEnabled;
+  }
+
+  /**
+   * Whether the sync worker tasks, that mostly wait for peer responses, run in virtual threads
+   * instead of a pool of platform threads.
+   *
+   * @return true if the virtual threads are enabled
+   */
+  public boolean isVirtualThreadsEnabled() {
+    return virtualThreadsEnabled;
+  }
+
   public static class Builder {
     private SyncMode syncMode = SyncMode.FULL;
     private int syncMinimumPeerCount = DEFAULT_SYNC_MINIMUM_PEERS;
@@ -284,6 +312,8 @@ public class SynchronizerConfiguration {
     private long propagationManagerGetBlockTimeoutMillis =
         DEFAULT_PROPAGATION_MANAGER_GET_BLOCK_TIMEOUT_MILLIS;
     private boolean checkpointPostMergeEnabled = DEFAULT_CHECKPOINT_POST_MERGE_ENABLED;
+    private boolean decoupledBlockDownloadEnabled = DEFAULT_DECOUPLED_BLOCK_DOWNLOAD_ENABLED;
+    private boolean virtualThreadsEnabled = DEFAULT_VIRTUAL_THREADS_ENABLED;
 
     public Builder syncPivotDistance(final int distance) {
       syncPivotDistance = distance;
@@ -406,6 +436,16 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder decoupledBlockDownloadEnabled(final boolean decoupledBlockDownloadEnabled) {
+      this.decoupledBlockDownloadEnabled = decoupledBlockDownloadEnabled;
+      return this;
+    }
+
+    public Builder virtualThreadsEnabled(final boolean virtualThreadsEnabled) {
+      this.virtualThreadsEnabled = virtualThreadsEnabled;
+      return this;
+    }
+
     public SynchronizerConfiguration build() {
       return new SynchronizerConfiguration(
           syncPivotDistance,
@@ -429,7 +469,9 @@ public class SynchronizerConfiguration {
           computationParallelism,
           maxTrailingPeers,
           propagationManagerGetBlockTimeoutMillis,
-          checkpointPostMergeEnabled);
+          checkpointPostMergeEnabled,
+          decoupledBlockDownloadEnabled,
+          virtualThreadsEnabled);
     }
   }
 }
@@ -88,6 +88,12 @@ public class CheckpointSyncDownloadPipelineFactory extends FastSyncDownloadPipel
                 "Number of header process by each chain download pipeline stage",
                 "step",
                 "action"),
+            metricsSystem.createLabelledCounter(
+                BesuMetricCategory.SYNCHRONIZER,
+                "chain_download_pipeline_wait_microseconds_total",
+                "Microseconds each chain download pipeline stage was blocked, starved or queued",
+                "step",
+                "action"),
             true,
             "checkpointSync")
         .thenProcessAsyncOrdered("downloadBlock", checkPointDownloadBlockStep::downloadBlock, 1)
@@ -0,0 +1,81 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.CompleteBlocksTask;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.GetReceiptsForHeadersTask;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Downloads the bodies and the receipts of a range of headers at the same time, since both only
+ * need the headers, instead of requesting the receipts once the bodies are complete.
+ */
+public class DownloadBodiesAndReceiptsStep
+    implements Function<List<BlockHeader>, CompletableFuture<List<BlockWithReceipts>>> {
+  private final ProtocolSchedule protocolSchedule;
+  private final EthContext ethContext;
+  private final MetricsSystem metricsSystem;
+  private final OperationTimer bodiesTimer;
+  private final OperationTimer receiptsTimer;
+
+  public DownloadBodiesAndReceiptsStep(
+      final ProtocolSchedule protocolSchedule,
+      final EthContext ethContext,
+      final MetricsSystem metricsSystem,
+      final LabelledMetric<OperationTimer> stageTimer) {
+    this.protocolSchedule = protocolSchedule;
+    this.ethContext = ethContext;
+    this.metricsSystem = metricsSystem;
+    this.bodiesTimer = stageTimer.labels("downloadBodies");
+    this.receiptsTimer = stageTimer.labels("downloadReceipts");
+  }
+
+  @Override
+  public CompletableFuture<List<BlockWithReceipts>> apply(final List<BlockHeader> headers) {
+    final OperationTimer.TimingContext bodiesTiming = bodiesTimer.startTimer();
+    final CompletableFuture<List<Block>> getBodies =
+        CompleteBlocksTask.forHeaders(protocolSchedule, ethContext, headers, metricsSystem).run();
+    getBodies.whenComplete((blocks, error) -> bodiesTiming.stopTimer());
+    final OperationTimer.TimingContext receiptsTiming = receiptsTimer.startTimer();
+    final CompletableFuture<Map<BlockHeader, List<TransactionReceipt>>> getReceipts =
+        GetReceiptsForHeadersTask.forHeaders(ethContext, headers, metricsSystem).run();
+    getReceipts.whenComplete((receipts, error) -> receiptsTiming.stopTimer());
+
+    final CompletableFuture<List<BlockWithReceipts>> combineBodiesAndReceipts =
+        getBodies.thenCombine(getReceipts, DownloadReceiptsStep::combineBlocksAndReceipts);
+    combineBodiesAndReceipts.whenComplete(
+        (blocksWithReceipts, error) -> {
+          // when one download fails or the step is cancelled, the other is not needed anymore
+          if (error != null) {
+            getBodies.cancel(true);
+            getReceipts.cancel(true);
+          }
+        });
+    return combineBodiesAndReceipts;
+  }
+}
@@ -42,9 +42,12 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 
 import org.slf4j.Logger;
@@ -52,6 +55,9 @@ import org.slf4j.LoggerFactory;
 
 public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory {
   private static final Logger LOG = LoggerFactory.getLogger(FastSyncDownloadPipelineFactory.class);
+  static final int MAX_BLOCKS_PER_WRITE = 2_000;
+  static final long WRITE_BATCH_BYTES = 64 * 1024 * 1024;
+  static final Duration WRITE_BATCH_MAX_WAIT = Duration.ofMillis(500);
 
   protected final SynchronizerConfiguration syncConfig;
   protected final ProtocolSchedule protocolSchedule;
@@ -137,6 +143,34 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
             metricsSystem);
     final RangeHeadersValidationStep validateHeadersJoinUpStep =
         new RangeHeadersValidationStep(protocolSchedule, protocolContext, detachedValidationPolicy);
+
+    final PipelineBuilder<SyncTargetRange, List<BlockHeader>> headersPipeline =
+        PipelineBuilder.createPipelineFrom(
+            "fetchCheckpoints",
+            checkpointRangeSource,
+            downloaderParallelism,
+            metricsSystem.createLabelledCounter(
+                BesuMetricCategory.SYNCHRONIZER,
+                "chain_download_pipeline_processed_total",
+                "Number of entries process by each chain download pipeline stage",
+                "step",
+                "action"),
+            metricsSystem.createLabelledCounter(
+                BesuMetricCategory.SYNCHRONIZER,
+                "chain_download_pipeline_wait_microseconds_total",
+                "Microseconds each chain download pipeline stage was blocked, starved or queued",
+                "step",
+                "action"),
+            true,
+            "fastSync")
+            .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
+            .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
+            .inBatches(headerRequestSize);
+
+    if (syncConfig.isDecoupledBlockDownloadEnabled()) {
+      return finishWithCombinedWrites(headersPipeline, singleHeaderBufferSize);
+    }
+
     final DownloadBodiesStep downloadBodiesStep =
         new DownloadBodiesStep(protocolSchedule, ethContext, metricsSystem);
     final DownloadReceiptsStep downloadReceiptsStep =
@@ -150,26 +184,57 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
             ethContext,
             fastSyncState.getPivotBlockHeader().get());
 
-    return PipelineBuilder.createPipelineFrom(
-            "fetchCheckpoints",
-            checkpointRangeSource,
-            downloaderParallelism,
-            metricsSystem.createLabelledCounter(
-                BesuMetricCategory.SYNCHRONIZER,
-                "chain_download_pipeline_processed_total",
-                "Number of entries process by each chain download pipeline stage",
-                "step",
-                "action"),
-            true,
-            "fastSync")
-        .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
-        .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
-        .inBatches(headerRequestSize)
+    return headersPipeline
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
         .thenProcessAsyncOrdered("downloadReceipts", downloadReceiptsStep, downloaderParallelism)
         .andFinishWith("importBlock", importBlockStep);
   }
 
+  /**
+   * Download the bodies and the receipts of every range of headers at the same time, and store the
+   * blocks in batches that grow up to {@link #WRITE_BATCH_BYTES} while the writes are slower than
+   * the download. When the download is slower, a batch waits up to {@link #WRITE_BATCH_MAX_WAIT}
+   * for more blocks, instead of a write for every range.
+   */
+  private Pipeline<SyncTargetRange> finishWithCombinedWrites(
+      final PipelineBuilder<SyncTargetRange, List<BlockHeader>> headersPipeline,
+      final int blocksBufferSize) {
+    final LabelledMetric<OperationTimer> stageTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.SYNCHRONIZER,
+            "chain_download_stage_duration_seconds",
+            "Time spent in each chain download stage",
+            "step");
+    final DownloadBodiesAndReceiptsStep downloadBodiesAndReceiptsStep =
+        new DownloadBodiesAndReceiptsStep(protocolSchedule, ethContext, metricsSystem, stageTimer);
+    final WriteCombiningImportBlocksStep importBlocksStep =
+        new WriteCombiningImportBlocksStep(
+            protocolSchedule,
+            protocolContext,
+            attachedValidationPolicy,
+            ommerValidationPolicy,
+            ethContext,
+            fastSyncState.getPivotBlockHeader().get(),
+            metricsSystem.createCounter(
+                BesuMetricCategory.SYNCHRONIZER,
+                "chain_download_stored_bytes_total",
+                "Estimated size of the blocks and receipts stored by the chain download"),
+            stageTimer.labels("storeBlocks"));
+
+    return headersPipeline
+        .thenProcessAsyncOrdered(
+            "downloadBodiesAndReceipts",
+            downloadBodiesAndReceiptsStep,
+            syncConfig.getDownloaderParallelism())
+        .thenFlatMap("splitBlocks", List::stream, blocksBufferSize)
+        .inBatches(
+            MAX_BLOCKS_PER_WRITE,
+            WriteCombiningImportBlocksStep.endBatchAfterBytes(
+                MAX_BLOCKS_PER_WRITE, WRITE_BATCH_BYTES),
+            WRITE_BATCH_MAX_WAIT)
+        .andFinishWith("importBlock", importBlocksStep);
+  }
+
   protected BlockHeader getCommonAncestor(final SyncTarget syncTarget) {
     return syncTarget.commonAncestor();
   }
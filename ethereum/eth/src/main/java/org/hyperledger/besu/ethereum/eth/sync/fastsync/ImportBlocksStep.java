@@ -37,10 +37,10 @@ public class ImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
   private static final Logger LOG = LoggerFactory.getLogger(ImportBlocksStep.class);
   private static final long PRINT_DELAY = TimeUnit.SECONDS.toMillis(30L);
 
-  private final ProtocolSchedule protocolSchedule;
+  protected final ProtocolSchedule protocolSchedule;
   protected final ProtocolContext protocolContext;
-  private final ValidationPolicy headerValidationPolicy;
-  private final ValidationPolicy ommerValidationPolicy;
+  protected final ValidationPolicy headerValidationPolicy;
+  protected final ValidationPolicy ommerValidationPolicy;
   private final EthContext ethContext;
   private long accumulatedTime = 0L;
   private OptionalLong logStartBlock = OptionalLong.empty();
@@ -64,15 +64,7 @@ public class ImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
   @Override
   public void accept(final List<BlockWithReceipts> blocksWithReceipts) {
     final long startTime = System.nanoTime();
-    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
-      if (!importBlock(blockWithReceipts)) {
-        throw InvalidBlockException.fromInvalidBlock(blockWithReceipts.getHeader());
-      }
-      LOG.atTrace()
-          .setMessage("Imported block {}")
-          .addArgument(blockWithReceipts.getBlock()::toLogString)
-          .log();
-    }
+    importBlocks(blocksWithReceipts);
     if (logStartBlock.isEmpty()) {
       logStartBlock = OptionalLong.of(blocksWithReceipts.get(0).getNumber());
     }
@@ -110,6 +102,18 @@ public class ImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
     return blocksPercent;
   }
 
+  protected void importBlocks(final List<BlockWithReceipts> blocksWithReceipts) {
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      if (!importBlock(blockWithReceipts)) {
+        throw InvalidBlockException.fromInvalidBlock(blockWithReceipts.getHeader());
+      }
+      LOG.atTrace()
+          .setMessage("Imported block {}")
+          .addArgument(blockWithReceipts.getBlock()::toLogString)
+          .log();
+    }
+  }
+
   protected boolean importBlock(final BlockWithReceipts blockWithReceipts) {
     final BlockImporter importer =
         protocolSchedule.getByBlockHeader(blockWithReceipts.getHeader()).getBlockImporter();
@@ -0,0 +1,163 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync;
+
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.sync.ValidationPolicy;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Imports blocks as {@link ImportBlocksStep} does, but validates every block against the previous
+ * one of the batch and stores all the blocks of the batch in a single write, instead of a write per
+ * block. Used with {@link #endBatchAfterBytes(int, long)}, the batches grow up to a size in bytes
+ * when the download is faster than the writes.
+ *
+ * <p>The ommers of a block are validated against ancestors read from the blockchain, so the blocks
+ * validated before a block with ommers are stored first.
+ */
+public class WriteCombiningImportBlocksStep extends ImportBlocksStep {
+  private static final int HEADER_BYTES_ESTIMATE = 600;
+  private static final int RECEIPT_BYTES_ESTIMATE = 300;
+  private static final int LOG_BYTES_ESTIMATE = 60;
+
+  private final Counter storedBytesCounter;
+  private final OperationTimer writeTimer;
+
+  public WriteCombiningImportBlocksStep(
+      final ProtocolSchedule protocolSchedule,
+      final ProtocolContext protocolContext,
+      final ValidationPolicy headerValidationPolicy,
+      final ValidationPolicy ommerValidationPolicy,
+      final EthContext ethContext,
+      final BlockHeader pivotHeader,
+      final Counter storedBytesCounter,
+      final OperationTimer writeTimer) {
+    super(
+        protocolSchedule,
+        protocolContext,
+        headerValidationPolicy,
+        ommerValidationPolicy,
+        ethContext,
+        pivotHeader);
+    this.storedBytesCounter = storedBytesCounter;
+    this.writeTimer = writeTimer;
+  }
+
+  /**
+   * The condition to end a batch of blocks, for {@code PipelineBuilder.inBatches}, once it has
+   * reached a size in bytes
+   *
+   * @param maxBlocks the maximum number of blocks in a batch
+   * @param maxBytes the size in bytes after which no more blocks are added to the batch
+   * @return the number of blocks that can still be added to the batch
+   */
+  public static Function<List<BlockWithReceipts>, Integer> endBatchAfterBytes(
+      final int maxBlocks, final long maxBytes) {
+    return batch -> {
+      long bytes = 0;
+      for (final BlockWithReceipts blockWithReceipts : batch) {
+        bytes += estimatedSize(blockWithReceipts);
+      }
+      return bytes >= maxBytes ? 0 : maxBlocks - batch.size();
+    };
+  }
+
+  @Override
+  protected void importBlocks(final List<BlockWithReceipts> blocksWithReceipts) {
+    final List<BlockWithReceipts> validatedBlocks = new ArrayList<>(blocksWithReceipts.size());
+    BlockHeader parent = null;
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      final Block block = blockWithReceipts.getBlock();
+      if (!block.getBody().getOmmers().isEmpty()) {
+        storeBlocks(validatedBlocks);
+      }
+      if (parent == null) {
+        parent =
+            protocolContext
+                .getBlockchain()
+                .getBlockHeader(block.getHeader().getParentHash())
+                .orElseThrow(() -> InvalidBlockException.fromInvalidBlock(block.getHeader()));
+      }
+      if (!validateBlock(blockWithReceipts, parent)) {
+        throw InvalidBlockException.fromInvalidBlock(block.getHeader());
+      }
+      validatedBlocks.add(blockWithReceipts);
+      parent = block.getHeader();
+    }
+    storeBlocks(validatedBlocks);
+  }
+
+  private boolean validateBlock(
+      final BlockWithReceipts blockWithReceipts, final BlockHeader parent) {
+    final Block block = blockWithReceipts.getBlock();
+    return protocolSchedule
+        .getByBlockHeader(block.getHeader())
+        .getBlockValidator()
+        .fastBlockValidation(
+            protocolContext,
+            block,
+            parent,
+            blockWithReceipts.getReceipts(),
+            block.getBody().getRequests(),
+            headerValidationPolicy.getValidationModeForNextBlock(),
+            ommerValidationPolicy.getValidationModeForNextBlock());
+  }
+
+  private void storeBlocks(final List<BlockWithReceipts> validatedBlocks) {
+    if (validatedBlocks.isEmpty()) {
+      return;
+    }
+    final OperationTimer.TimingContext writeTiming = writeTimer.startTimer();
+    protocolContext.getBlockchain().appendBlocks(List.copyOf(validatedBlocks));
+    writeTiming.stopTimer();
+
+    long bytes = 0;
+    for (final BlockWithReceipts blockWithReceipts : validatedBlocks) {
+      bytes += estimatedSize(blockWithReceipts);
+    }
+    storedBytesCounter.inc(bytes);
+    validatedBlocks.clear();
+  }
+
+  // an estimate from the encoded transactions, cheap since their size is already known
+  static long estimatedSize(final BlockWithReceipts blockWithReceipts) {
+    long size = HEADER_BYTES_ESTIMATE;
+    for (final Transaction transaction :
+        blockWithReceipts.getBlock().getBody().getTransactions()) {
+      size += transaction.getSize();
+    }
+    for (final TransactionReceipt receipt : blockWithReceipts.getReceipts()) {
+      size += RECEIPT_BYTES_ESTIMATE;
+      for (final Log log : receipt.getLogsList()) {
+        size += LOG_BYTES_ESTIMATE + log.getData().size() + 32L * log.getTopics().size();
+      }
+    }
+    return size;
+  }
+}
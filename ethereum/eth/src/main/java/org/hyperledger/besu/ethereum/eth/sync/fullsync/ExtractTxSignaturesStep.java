@@ -16,12 +16,18 @@ package org.hyperledger.besu.ethereum.eth.sync.fullsync;
 
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Block>> {
+  private final OperationTimer extractTimer;
+
+  public ExtractTxSignaturesStep(final OperationTimer extractTimer) {
+    this.extractTimer = extractTimer;
+  }
 
   @Override
   public Stream<Block> apply(final List<Block> blocks) {
@@ -29,7 +35,9 @@ public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Blo
   }
 
   private Block extractSignatures(final Block block) {
-    block.getBody().getTransactions().forEach(Transaction::getSender);
+    try (final OperationTimer.TimingContext ignored = extractTimer.startTimer()) {
+      block.getBody().getTransactions().forEach(Transaction::getSender);
+    }
     return block;
   }
 }
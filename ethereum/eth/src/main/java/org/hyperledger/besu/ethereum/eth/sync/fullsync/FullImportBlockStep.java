@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockExcep
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.time.Instant;
 import java.util.function.Consumer;
@@ -37,16 +38,19 @@ public class FullImportBlockStep implements Consumer<Block> {
   private long gasAccumulator = 0;
   private long lastReportMillis = 0;
   private final SyncTerminationCondition fullSyncTerminationCondition;
+  private final OperationTimer importTimer;
 
   public FullImportBlockStep(
       final ProtocolSchedule protocolSchedule,
       final ProtocolContext protocolContext,
       final EthContext ethContext,
-      final SyncTerminationCondition syncTerminationCondition) {
+      final SyncTerminationCondition syncTerminationCondition,
+      final OperationTimer importTimer) {
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.ethContext = ethContext;
     this.fullSyncTerminationCondition = syncTerminationCondition;
+    this.importTimer = importTimer;
   }
 
   @Override
@@ -59,8 +63,11 @@ public class FullImportBlockStep implements Consumer<Block> {
     final String blockHash = block.getHash().toHexString();
     final BlockImporter importer =
         protocolSchedule.getByBlockHeader(block.getHeader()).getBlockImporter();
-    final BlockImportResult blockImportResult =
-        importer.importBlock(protocolContext, block, HeaderValidationMode.SKIP_DETACHED);
+    final BlockImportResult blockImportResult;
+    try (final OperationTimer.TimingContext ignored = importTimer.startTimer()) {
+      blockImportResult =
+          importer.importBlock(protocolContext, block, HeaderValidationMode.SKIP_DETACHED);
+    }
     if (!blockImportResult.isImported()) {
       throw InvalidBlockException.fromInvalidBlock(block.getHeader());
     }
@@ -33,6 +33,8 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
@@ -105,11 +107,27 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
         new RangeHeadersValidationStep(protocolSchedule, protocolContext, detachedValidationPolicy);
     final DownloadBodiesStep downloadBodiesStep =
         new DownloadBodiesStep(protocolSchedule, ethContext, metricsSystem);
-    final ExtractTxSignaturesStep extractTxSignaturesStep = new ExtractTxSignaturesStep();
+    final LabelledMetric<OperationTimer> stageTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.SYNCHRONIZER,
+            "chain_download_stage_duration_seconds",
+            "Time spent in each chain download stage",
+            "step");
+    final ExtractTxSignaturesStep extractTxSignaturesStep =
+        new ExtractTxSignaturesStep(stageTimer.labels("extractTxSignatures"));
+    final PrefetchStateStep prefetchStateStep =
+        new PrefetchStateStep(
+            protocolContext.getWorldStateArchive(), stageTimer.labels("prefetchState"));
     final FullImportBlockStep importBlockStep =
         new FullImportBlockStep(
-            protocolSchedule, protocolContext, ethContext, fullSyncTerminationCondition);
+            protocolSchedule,
+            protocolContext,
+            ethContext,
+            fullSyncTerminationCondition,
+            stageTimer.labels("importBlock"));
 
+    // every stage runs on its own thread, so the senders and the state of the next blocks are read
+    // while a block is imported
     return PipelineBuilder.createPipelineFrom(
             "fetchCheckpoints",
             checkpointRangeSource,
@@ -120,6 +138,12 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
                 "Number of entries process by each chain download pipeline stage",
                 "step",
                 "action"),
+            metricsSystem.createLabelledCounter(
+                BesuMetricCategory.SYNCHRONIZER,
+                "chain_download_pipeline_wait_microseconds_total",
+                "Microseconds each chain download pipeline stage was blocked, starved or queued",
+                "step",
+                "action"),
             true,
             "fullSync")
         .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
@@ -127,6 +151,7 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
         .inBatches(headerRequestSize)
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
         .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
+        .thenProcess("prefetchState", prefetchStateStep)
         .andFinishWith("importBlock", importBlockStep);
   }
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fullsync;
+
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads ahead the state a block is going to touch, while the blocks before it are executed. The
+ * flat database entries and the account trie nodes of the coinbase, of the senders and recipients
+ * of the transactions, and of the accounts and slots in their access lists are read, so the
+ * execution and the state root calculation of the block find them in the caches.
+ *
+ * <p>The reads are only a hint: they are done against the state persisted at that moment, and any
+ * error is ignored. Only Bonsai world states are prefetched, other blocks are passed through.
+ */
+public class PrefetchStateStep implements Function<Block, Block> {
+  private static final Logger LOG = LoggerFactory.getLogger(PrefetchStateStep.class);
+
+  private final WorldStateArchive worldStateArchive;
+  private final OperationTimer prefetchTimer;
+
+  public PrefetchStateStep(
+      final WorldStateArchive worldStateArchive, final OperationTimer prefetchTimer) {
+    this.worldStateArchive = worldStateArchive;
+    this.prefetchTimer = prefetchTimer;
+  }
+
+  @Override
+  public Block apply(final Block block) {
+    if (worldStateArchive instanceof BonsaiWorldStateProvider bonsaiWorldStateProvider) {
+      try (final OperationTimer.TimingContext ignored = prefetchTimer.startTimer()) {
+        prefetch(
+            block,
+            (BonsaiWorldStateKeyValueStorage)
+                bonsaiWorldStateProvider.getWorldStateKeyValueStorage(),
+            bonsaiWorldStateProvider.getCachedMerkleTrieLoader());
+      } catch (final RuntimeException e) {
+        LOG.debug("Error prefetching the state of block {}", block.toLogString(), e);
+      }
+    }
+    return block;
+  }
+
+  private void prefetch(
+      final Block block,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final BonsaiCachedMerkleTrieLoader merkleTrieLoader) {
+    final Hash worldStateRootHash =
+        worldStateStorage
+            .getWorldStateRootHash()
+            .map(rootHash -> Hash.wrap(Bytes32.wrap(rootHash)))
+            .orElse(null);
+    final Set<Address> accounts = new LinkedHashSet<>();
+    final Set<Address> contracts = new LinkedHashSet<>();
+    final List<AccessListEntry> accessList = new ArrayList<>();
+    accounts.add(block.getHeader().getCoinbase());
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      accounts.add(transaction.getSender());
+      transaction.getTo().ifPresent(contracts::add);
+      transaction.getAccessList().ifPresent(accessList::addAll);
+    }
+    accounts.addAll(contracts);
+    accessList.forEach(entry -> accounts.add(entry.address()));
+
+    for (final Address account : accounts) {
+      if (worldStateRootHash != null) {
+        merkleTrieLoader.cacheAccountNodes(worldStateStorage, worldStateRootHash, account);
+      }
+      final Hash accountHash = account.addressHash();
+      worldStateStorage
+          .getAccount(accountHash)
+          .filter(accountValue -> contracts.contains(account))
+          .map(accountValue -> StateTrieAccountValue.readFrom(RLP.input(accountValue)))
+          .ifPresent(
+              accountValue -> worldStateStorage.getCode(accountValue.getCodeHash(), accountHash));
+    }
+    for (final AccessListEntry entry : accessList) {
+      for (final Bytes32 storageKey : entry.storageKeys()) {
+        final StorageSlotKey slotKey = new StorageSlotKey(UInt256.fromBytes(storageKey));
+        merkleTrieLoader.cacheStorageNodes(worldStateStorage, entry.address(), slotKey);
+        worldStateStorage.getStorageValueByStorageSlotKey(entry.address().addressHash(), slotKey);
+      }
+    }
+  }
+}
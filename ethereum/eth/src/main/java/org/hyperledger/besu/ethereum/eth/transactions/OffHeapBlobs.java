@@ -0,0 +1,192 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Blob;
+import org.hyperledger.besu.datatypes.BlobsWithCommitments;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.bytes.AbstractBytes;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+
+/**
+ * Moves the blobs of pooled blob transactions off the heap.
+ *
+ * <p>Every blob is around 128KB, so a pool full of blob transactions could add GBs to the heap,
+ * where the blobs are rarely read: only when they are sent to peers asking for pooled transactions,
+ * when a block with them is built and when they are cached on confirmation. Here the blob data is
+ * copied to a direct buffer and the transaction is replaced with a copy whose blobs are views over
+ * that buffer, so the heap only keeps the small parts of the transaction, like versioned hashes,
+ * commitments and proofs, while the blob data is read from native memory only when needed.
+ *
+ * <p>The native memory of a blob is only released after it is no longer referenced and the
+ * garbage collector has run, since blobs removed from the pool can still be in use, for example by
+ * a block being built or by the blob cache. So the store is bounded instead: when the native memory
+ * not released yet would exceed the max, the blobs of new transactions are kept on the heap.
+ */
+public class OffHeapBlobs {
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private final long maxBytes;
+  private final AtomicLong blobCount = new AtomicLong();
+  private final AtomicLong blobBytes = new AtomicLong();
+  private final Counter keptOnHeapCounter;
+
+  public OffHeapBlobs(final MetricsSystem metricsSystem, final long maxBytes) {
+    this.maxBytes = maxBytes;
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "off_heap_blobs",
+        "Number of blobs of pooled transactions stored off heap",
+        blobCount::get);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "off_heap_blobs_bytes",
+        "Native memory used by the blobs of pooled transactions stored off heap",
+        blobBytes::get);
+    keptOnHeapCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "off_heap_blobs_kept_on_heap",
+            "Number of blob transactions whose blobs were kept on heap since the store was full");
+  }
+
+  /**
+   * Return a copy of the transaction with the blobs stored off heap, or the transaction itself if
+   * it has no blobs or they do not fit in the store.
+   *
+   * @param transaction the transaction
+   * @return the transaction with the blobs stored off heap
+   */
+  public Transaction moveOffHeap(final Transaction transaction) {
+    return transaction
+        .getBlobsWithCommitments()
+        .filter(this::reserve)
+        .map(bwc -> transaction.withBlobsWithCommitments(moveOffHeap(bwc)))
+        .orElse(transaction);
+  }
+
+  private boolean reserve(final BlobsWithCommitments blobsWithCommitments) {
+    final long size =
+        blobsWithCommitments.getBlobs().stream().mapToLong(blob -> blob.getData().size()).sum();
+    long current;
+    do {
+      current = blobBytes.get();
+      if (current + size > maxBytes) {
+        keptOnHeapCounter.inc();
+        return false;
+      }
+    } while (!blobBytes.compareAndSet(current, current + size));
+    return true;
+  }
+
+  private BlobsWithCommitments moveOffHeap(final BlobsWithCommitments blobsWithCommitments) {
+    return new BlobsWithCommitments(
+        blobsWithCommitments.getBlobQuads().stream()
+            .map(
+                blobQuad ->
+                    new BlobsWithCommitments.BlobQuad(
+                        moveOffHeap(blobQuad.blob()),
+                        blobQuad.kzgCommitment(),
+                        blobQuad.kzgProof(),
+                        blobQuad.versionedHash()))
+            .toList());
+  }
+
+  private Blob moveOffHeap(final Blob blob) {
+    final Bytes data = blob.getData();
+    final int size = data.size();
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+    data.appendTo(buffer);
+    buffer.flip();
+    final Bytes offHeapData = new DirectBytes(buffer);
+
+    // the bytes are already reserved for the whole transaction
+    blobCount.incrementAndGet();
+    // slices of the data share the buffer, so the memory is released when no one uses it
+    CLEANER.register(
+        buffer,
+        () -> {
+          blobCount.decrementAndGet();
+          blobBytes.addAndGet(-size);
+        });
+    return new Blob(offHeapData);
+  }
+
+  public long getBlobCount() {
+    return blobCount.get();
+  }
+
+  public long getBlobBytes() {
+    return blobBytes.get();
+  }
+
+  /**
+   * Read only view over a direct buffer that is never modified, so it can be its own copy, this way
+   * the pool can detach the transactions without moving their blobs back to the heap.
+   */
+  private static class DirectBytes extends AbstractBytes {
+    private final ByteBuffer buffer;
+
+    DirectBytes(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int size() {
+      return buffer.limit();
+    }
+
+    @Override
+    public byte get(final int i) {
+      return buffer.get(i);
+    }
+
+    @Override
+    public Bytes slice(final int i, final int length) {
+      return new DirectBytes(buffer.slice(i, length));
+    }
+
+    @Override
+    public Bytes copy() {
+      return this;
+    }
+
+    @Override
+    public MutableBytes mutableCopy() {
+      return MutableBytes.wrap(toArray());
+    }
+
+    @Override
+    public byte[] toArray() {
+      final byte[] array = new byte[size()];
+      buffer.get(0, array);
+      return array;
+    }
+
+    @Override
+    public void appendTo(final ByteBuffer byteBuffer) {
+      byteBuffer.put(buffer.duplicate());
+    }
+  }
+}
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.eth.transactions;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
@@ -46,8 +48,11 @@ public abstract class PendingTransaction
   static final int BLOB_SIZE = 131136;
   static final int BLOBS_WITH_COMMITMENTS_SIZE = 40;
   static final int PENDING_TRANSACTION_MEMORY_SIZE = 40;
+  // estimated from the layout of the authorization, its signature and its computed authority
+  static final int SET_CODE_AUTHORIZATION_MEMORY_SIZE = 568;
   private static final AtomicLong TRANSACTIONS_ADDED = new AtomicLong();
-  private final Transaction transaction;
+  // only ever replaced with an equal copy, see replaceTransaction
+  private volatile Transaction transaction;
   private final long addedAt;
   private final long sequence; // Allows prioritization based on order transactions are added
 
@@ -125,6 +130,22 @@ public abstract class PendingTransaction
 
   public abstract PendingTransaction detachedCopy();
 
+  /**
+   * Replace the transaction with an equal copy, that has the same hash, content and size, so this
+   * is transparent to the pools holding it. Used to detach the transaction once it is accepted by
+   * a pool, or to store its blobs off heap.
+   *
+   * @param equalTransaction the copy of the transaction
+   */
+  public void replaceTransaction(final Transaction equalTransaction) {
+    checkArgument(
+        equalTransaction.getHash().equals(transaction.getHash()),
+        "Replacing transaction %s with a different one %s",
+        transaction.getHash(),
+        equalTransaction.getHash());
+    this.transaction = equalTransaction;
+  }
+
   private int computeMemorySize() {
     return switch (transaction.getType()) {
           case FRONTIER -> computeFrontierMemorySize();
@@ -166,7 +187,10 @@ public abstract class PendingTransaction
   }
 
   private int computeSetCodeMemorySize() {
-    return 0;
+    return computeEIP1559MemorySize()
+        + BASE_OPTIONAL_SIZE // for the authorization list field
+        + BASE_LIST_SIZE
+        + (SET_CODE_AUTHORIZATION_MEMORY_SIZE * transaction.authorizationListSize());
   }
 
   private int computeBlobWithCommitmentsMemorySize() {
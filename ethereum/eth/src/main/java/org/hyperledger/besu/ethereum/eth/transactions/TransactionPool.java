@@ -32,6 +32,7 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.KzgBatchVerifier;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
@@ -42,6 +43,7 @@ import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.fluent.SimpleAccount;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.io.BufferedReader;
@@ -52,9 +54,12 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Map;
@@ -63,11 +68,15 @@ import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -88,6 +97,10 @@ import org.slf4j.LoggerFactory;
 public class TransactionPool implements BlockAddedObserver {
   private static final Logger LOG = LoggerFactory.getLogger(TransactionPool.class);
   private static final Logger LOG_FOR_REPLAY = LoggerFactory.getLogger("LOG_FOR_REPLAY");
+  private static final int STATELESS_VALIDATION_BATCH_SIZE = 32;
+  private static final int STATELESS_VALIDATION_MAX_HELPERS =
+      Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  private static final Duration SNAPSHOT_FLUSH_INTERVAL = Duration.ofSeconds(1);
   private final Supplier<PendingTransactions> pendingTransactionsSupplier;
   private volatile PendingTransactions pendingTransactions = new DisabledPendingTransactions();
   private final ProtocolSchedule protocolSchedule;
@@ -101,6 +114,9 @@ public class TransactionPool implements BlockAddedObserver {
       new PendingTransactionsListenersProxy();
   private volatile OptionalLong subscribeConnectId = OptionalLong.empty();
   private final SaveRestoreManager saveRestoreManager = new SaveRestoreManager();
+  private final Optional<TransactionPoolSnapshot> maybeSnapshot;
+  private volatile Optional<ScheduledFuture<?>> maybeSnapshotFlushTask = Optional.empty();
+  private final Optional<OffHeapBlobs> maybeOffHeapBlobs;
   private final Set<Address> localSenders = ConcurrentHashMap.newKeySet();
   private final EthScheduler.OrderedProcessor<BlockAddedEvent> blockAddedEventOrderedProcessor;
 
@@ -121,6 +137,20 @@ public class TransactionPool implements BlockAddedObserver {
     this.configuration = configuration;
     this.blockAddedEventOrderedProcessor =
         ethContext.getScheduler().createOrderedProcessor(this::processBlockAddedEvent);
+    this.maybeSnapshot =
+        configuration.getUnstable().getSnapshotEnabled()
+            ? Optional.of(
+                new TransactionPoolSnapshot(configuration.getUnstable().getSnapshotFile()))
+            : Optional.empty();
+    maybeSnapshot.ifPresent(
+        snapshot -> subscribeDroppedTransactions(snapshot::onTransactionDropped));
+    this.maybeOffHeapBlobs =
+        configuration.getUnstable().getBlobsOffHeapEnabled()
+            ? Optional.of(
+                new OffHeapBlobs(
+                    metrics.getMetricsSystem(),
+                    configuration.getUnstable().getBlobsOffHeapMaxBytes()))
+            : Optional.empty();
     initLogForReplay();
   }
 
@@ -185,19 +215,8 @@ public class TransactionPool implements BlockAddedObserver {
     final List<Transaction> addedTransactions = new ArrayList<>(initialCount);
     LOG.trace("Adding {} remote transactions", initialCount);
 
-    final var validationResults =
-        sortedBySenderAndNonce(transactions)
-            .collect(
-                Collectors.toMap(
-                    Transaction::getHash,
-                    transaction -> {
-                      final var result = addTransaction(transaction, false);
-                      if (result.isValid()) {
-                        addedTransactions.add(transaction);
-                      }
-                      return result;
-                    },
-                    (transaction1, transaction2) -> transaction1));
+    final Map<Hash, ValidationResult<TransactionInvalidReason>> validationResults =
+        addTransactionsInParallel(transactions, false, addedTransactions);
 
     LOG_FOR_REPLAY
         .atTrace()
@@ -220,30 +239,255 @@ public class TransactionPool implements BlockAddedObserver {
     return validationResults;
   }
 
+  /**
+   * Adds a list of transactions, running the stateless validation in parallel, and then checking
+   * and inserting them serially ordered by sender and nonce.
+   *
+   * @param transactions the transactions to add
+   * @param isLocal if the transactions were received from a local source
+   * @param addedTransactions collects the transactions that have been added
+   * @return the validation result of each transaction
+   */
+  private Map<Hash, ValidationResult<TransactionInvalidReason>> addTransactionsInParallel(
+      final Collection<Transaction> transactions,
+      final boolean isLocal,
+      final List<Transaction> addedTransactions) {
+    final int initialCount = transactions.size();
+    final Map<Hash, ValidationResult<TransactionInvalidReason>> validationResults =
+        new HashMap<>(initialCount);
+    final List<Transaction> unknownTransactions = new ArrayList<>(initialCount);
+    for (final Transaction transaction : transactions) {
+      if (validationResults.containsKey(transaction.getHash())) {
+        continue;
+      }
+      if (pendingTransactions.containsTransaction(transaction)) {
+        validationResults.put(
+            transaction.getHash(),
+            rejectAlreadyKnown(transaction, isLocal, isPriorityTransaction(transaction, isLocal)));
+      } else {
+        // placeholder, replaced by the outcome of the validation below
+        validationResults.put(transaction.getHash(), ValidationResult.valid());
+        unknownTransactions.add(transaction);
+      }
+    }
+
+    final List<StatelessValidationResult> statelessResults =
+        validateStatelessInBatches(unknownTransactions, isLocal);
+
+    final List<StatelessValidationResult> toInsert = new ArrayList<>(statelessResults.size());
+    for (final StatelessValidationResult statelessResult : statelessResults) {
+      if (statelessResult.result().isValid()) {
+        toInsert.add(statelessResult);
+      } else {
+        validationResults.put(
+            statelessResult.transaction().getHash(),
+            addValidatedTransaction(
+                statelessResult.transaction(),
+                isLocal,
+                statelessResult.hasPriority(),
+                new ValidationResultAndAccount(statelessResult.result())));
+      }
+    }
+
+    // the serial stage, senders are already recovered so sorting is cheap
+    toInsert.sort(
+        Comparator.comparing((StatelessValidationResult r) -> r.transaction().getSender())
+            .thenComparing(r -> r.transaction().getNonce()));
+    metrics.updateRemoteStageQueueDepth(TransactionPoolMetrics.INSERTION_STAGE, toInsert.size());
+    final OperationTimer.TimingContext insertionTimer =
+        metrics.startRemoteStageTimer(TransactionPoolMetrics.INSERTION_STAGE);
+    final Optional<BlockHeader> maybeChainHeadBlockHeader = getChainHeadBlockHeader();
+    for (final StatelessValidationResult statelessResult : toInsert) {
+      final Transaction transaction = statelessResult.transaction();
+      final ValidationResultAndAccount validationResult =
+          maybeChainHeadBlockHeader
+              .map(chainHeadBlockHeader -> validateForSender(transaction, chainHeadBlockHeader))
+              .orElseGet(() -> ValidationResultAndAccount.invalid(CHAIN_HEAD_NOT_AVAILABLE));
+      final var result =
+          addValidatedTransaction(
+              transaction, isLocal, statelessResult.hasPriority(), validationResult);
+      if (result.isValid()) {
+        addedTransactions.add(transaction);
+      }
+      validationResults.put(transaction.getHash(), result);
+      metrics.updateRemoteStageQueueDepth(TransactionPoolMetrics.INSERTION_STAGE, -1);
+    }
+    insertionTimer.stopTimer();
+    return validationResults;
+  }
+
+  /**
+   * Runs the checks that do not depend on the world state, recovering the senders on the way.
+   * Large lists are split in batches that are validated by the computation workers and by the
+   * calling thread, which takes its share of the batches so it never waits for a batch that has
+   * not been started yet. The KZG proofs of the blobs of each batch are verified together, that is
+   * much cheaper than verifying them transaction by transaction.
+   *
+   * @param transactions the transactions to validate
+   * @param isLocal if the transactions were received from a local source
+   * @return the results, in the same order as the transactions
+   */
+  private List<StatelessValidationResult> validateStatelessInBatches(
+      final List<Transaction> transactions, final boolean isLocal) {
+    if (transactions.isEmpty()) {
+      return List.of();
+    }
+    final OperationTimer.TimingContext statelessTimer =
+        metrics.startRemoteStageTimer(TransactionPoolMetrics.STATELESS_VALIDATION_STAGE);
+    final Optional<BlockHeader> maybeChainHeadBlockHeader = getChainHeadBlockHeader();
+    final StatelessValidationResult[] results = new StatelessValidationResult[transactions.size()];
+    final int batchCount =
+        (transactions.size() + STATELESS_VALIDATION_BATCH_SIZE - 1)
+            / STATELESS_VALIDATION_BATCH_SIZE;
+    final AtomicInteger nextBatch = new AtomicInteger();
+    final CountDownLatch pendingBatches = new CountDownLatch(batchCount);
+    metrics.updateRemoteStageQueueDepth(
+        TransactionPoolMetrics.STATELESS_VALIDATION_STAGE, batchCount);
+
+    final Executor computationExecutor =
+        command ->
+            ethContext
+                .getScheduler()
+                .scheduleComputationTask(
+                    () -> {
+                      command.run();
+                      return null;
+                    });
+    final Runnable batchValidator =
+        () -> {
+          int batch;
+          while ((batch = nextBatch.getAndIncrement()) < batchCount) {
+            metrics.updateRemoteStageQueueDepth(
+                TransactionPoolMetrics.STATELESS_VALIDATION_STAGE, -1);
+            try {
+              final int from = batch * STATELESS_VALIDATION_BATCH_SIZE;
+              final int to = Math.min(from + STATELESS_VALIDATION_BATCH_SIZE, transactions.size());
+              final Set<Hash> blobsVerified =
+                  KzgBatchVerifier.verifiedTransactions(
+                      transactions.subList(from, to), computationExecutor);
+              for (int i = from; i < to; i++) {
+                final Transaction transaction = transactions.get(i);
+                try {
+                  results[i] =
+                      recoverSenderAndValidateStateless(
+                          transaction,
+                          isLocal,
+                          blobsVerified.contains(transaction.getHash()),
+                          maybeChainHeadBlockHeader);
+                } catch (final RuntimeException e) {
+                  LOG.debug("Error validating transaction {}", transaction.getHash(), e);
+                  results[i] =
+                      new StatelessValidationResult(
+                          transaction,
+                          false,
+                          ValidationResult.invalid(INTERNAL_ERROR, e.getMessage()));
+                }
+              }
+            } finally {
+              pendingBatches.countDown();
+            }
+          }
+        };
+
+    final int helpers = Math.min(batchCount - 1, STATELESS_VALIDATION_MAX_HELPERS);
+    for (int i = 0; i < helpers; i++) {
+      ethContext
+          .getScheduler()
+          .scheduleComputationTask(
+              () -> {
+                batchValidator.run();
+                return null;
+              });
+    }
+    batchValidator.run();
+
+    try {
+      pendingBatches.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while validating remote transactions", e);
+    }
+    statelessTimer.stopTimer();
+    return Arrays.asList(results);
+  }
+
+  private StatelessValidationResult recoverSenderAndValidateStateless(
+      final Transaction transaction,
+      final boolean isLocal,
+      final boolean blobKzgProofsVerified,
+      final Optional<BlockHeader> maybeChainHeadBlockHeader) {
+    try {
+      // recover the sender here, so the serial stage never pays for it
+      transaction.getSender();
+    } catch (final RuntimeException e) {
+      return new StatelessValidationResult(
+          transaction,
+          false,
+          ValidationResult.invalid(TransactionInvalidReason.INVALID_SIGNATURE, e.getMessage()));
+    }
+    final boolean hasPriority = isPriorityTransaction(transaction, isLocal);
+    if (maybeChainHeadBlockHeader.isEmpty()) {
+      LOG.atWarn()
+          .setMessage("rejecting transaction {} due to chain head not available yet")
+          .addArgument(transaction::getHash)
+          .log();
+      return new StatelessValidationResult(
+          transaction, hasPriority, ValidationResult.invalid(CHAIN_HEAD_NOT_AVAILABLE));
+    }
+    return new StatelessValidationResult(
+        transaction,
+        hasPriority,
+        validateStateless(
+            transaction,
+            isLocal,
+            hasPriority,
+            blobKzgProofsVerified,
+            maybeChainHeadBlockHeader.get()));
+  }
+
   private ValidationResult<TransactionInvalidReason> addTransaction(
       final Transaction transaction, final boolean isLocal) {
 
     final boolean hasPriority = isPriorityTransaction(transaction, isLocal);
 
     if (pendingTransactions.containsTransaction(transaction)) {
-      LOG.atTrace()
-          .setMessage("Discard already present transaction {}")
-          .addArgument(transaction::toTraceLog)
-          .log();
-      // We already have this transaction, don't even validate it.
-      metrics.incrementRejected(isLocal, hasPriority, TRANSACTION_ALREADY_KNOWN, "txpool");
-      return ValidationResult.invalid(TRANSACTION_ALREADY_KNOWN);
+      return rejectAlreadyKnown(transaction, isLocal, hasPriority);
     }
 
-    final ValidationResultAndAccount validationResult =
-        validateTransaction(transaction, isLocal, hasPriority);
+    return addValidatedTransaction(
+        transaction, isLocal, hasPriority, validateTransaction(transaction, isLocal, hasPriority));
+  }
+
+  private ValidationResult<TransactionInvalidReason> rejectAlreadyKnown(
+      final Transaction transaction, final boolean isLocal, final boolean hasPriority) {
+    LOG.atTrace()
+        .setMessage("Discard already present transaction {}")
+        .addArgument(transaction::toTraceLog)
+        .log();
+    // We already have this transaction, don't even validate it.
+    metrics.incrementRejected(isLocal, hasPriority, TRANSACTION_ALREADY_KNOWN, "txpool");
+    return ValidationResult.invalid(TRANSACTION_ALREADY_KNOWN);
+  }
+
+  private ValidationResult<TransactionInvalidReason> addValidatedTransaction(
+      final Transaction transaction,
+      final boolean isLocal,
+      final boolean hasPriority,
+      final ValidationResultAndAccount validationResult) {
 
     if (validationResult.result.isValid()) {
+      final PendingTransaction pendingTransaction =
+          PendingTransaction.newPendingTransaction(transaction, isLocal, hasPriority);
       final TransactionAddedResult status =
-          pendingTransactions.addTransaction(
-              PendingTransaction.newPendingTransaction(transaction, isLocal, hasPriority),
-              validationResult.maybeAccount);
+          pendingTransactions.addTransaction(pendingTransaction, validationResult.maybeAccount);
       if (status.isSuccess()) {
+        // only accepted transactions pay for the copy, the pool holds this same pending transaction
+        maybeOffHeapBlobs.ifPresent(
+            offHeapBlobs ->
+                pendingTransaction.replaceTransaction(
+                    offHeapBlobs.moveOffHeap(pendingTransaction.getTransaction())));
+        maybeSnapshot.ifPresent(
+            snapshot -> snapshot.onTransactionAdded(pendingTransaction.getTransaction(), isLocal));
         LOG.atTrace()
             .setMessage("Added {} transaction {}")
             .addArgument(() -> isLocal ? "local" : "remote")
@@ -398,12 +642,27 @@ public class TransactionPool implements BlockAddedObserver {
       return ValidationResultAndAccount.invalid(CHAIN_HEAD_NOT_AVAILABLE);
     }
 
+    final ValidationResult<TransactionInvalidReason> statelessResult =
+        validateStateless(transaction, isLocal, hasPriority, false, chainHeadBlockHeader);
+    if (!statelessResult.isValid()) {
+      return new ValidationResultAndAccount(statelessResult);
+    }
+    return validateForSender(transaction, chainHeadBlockHeader);
+  }
+
+  private ValidationResult<TransactionInvalidReason> validateStateless(
+      final Transaction transaction,
+      final boolean isLocal,
+      final boolean hasPriority,
+      final boolean blobKzgProofsVerified,
+      final BlockHeader chainHeadBlockHeader) {
+
     final FeeMarket feeMarket =
         protocolSchedule.getByBlockHeader(chainHeadBlockHeader).getFeeMarket();
     final TransactionInvalidReason priceInvalidReason =
         validatePrice(transaction, isLocal, hasPriority, feeMarket);
     if (priceInvalidReason != null) {
-      return ValidationResultAndAccount.invalid(priceInvalidReason);
+      return ValidationResult.invalid(priceInvalidReason);
     }
 
     final ValidationResult<TransactionInvalidReason> basicValidationResult =
@@ -414,32 +673,33 @@ public class TransactionPool implements BlockAddedObserver {
                 Optional.of(
                     Wei.ZERO), // TransactionValidationParams.transactionPool() allows underpriced
                 // txs
-                TransactionValidationParams.transactionPool());
+                blobKzgProofsVerified
+                    ? TransactionValidationParams.transactionPoolWithVerifiedBlobs()
+                    : TransactionValidationParams.transactionPool());
     if (!basicValidationResult.isValid()) {
-      return new ValidationResultAndAccount(basicValidationResult);
+      return basicValidationResult;
     }
 
     if (hasPriority
         && strictReplayProtectionShouldBeEnforcedLocally(chainHeadBlockHeader)
         && transaction.getChainId().isEmpty()) {
       // Strict replay protection is enabled but the tx is not replay-protected
-      return ValidationResultAndAccount.invalid(
-          TransactionInvalidReason.REPLAY_PROTECTED_SIGNATURE_REQUIRED);
+      return ValidationResult.invalid(TransactionInvalidReason.REPLAY_PROTECTED_SIGNATURE_REQUIRED);
     }
     if (transaction.getGasLimit() > chainHeadBlockHeader.getGasLimit()) {
-      return ValidationResultAndAccount.invalid(
+      return ValidationResult.invalid(
           TransactionInvalidReason.EXCEEDS_BLOCK_GAS_LIMIT,
           String.format(
               "Transaction gas limit of %s exceeds block gas limit of %s",
               transaction.getGasLimit(), chainHeadBlockHeader.getGasLimit()));
     }
     if (transaction.getType().equals(TransactionType.EIP1559) && !feeMarket.implementsBaseFee()) {
-      return ValidationResultAndAccount.invalid(
+      return ValidationResult.invalid(
           TransactionInvalidReason.INVALID_TRANSACTION_FORMAT,
           "EIP-1559 transaction are not allowed yet");
     } else if (transaction.getType().equals(TransactionType.BLOB)
         && transaction.getBlobsWithCommitments().isEmpty()) {
-      return ValidationResultAndAccount.invalid(
+      return ValidationResult.invalid(
           TransactionInvalidReason.INVALID_BLOBS, "Blob transaction must have at least one blob");
     }
 
@@ -450,10 +710,14 @@ public class TransactionPool implements BlockAddedObserver {
             .createTransactionValidator()
             .validateTransaction(transaction, isLocal, hasPriority);
     if (maybePluginInvalid.isPresent()) {
-      return ValidationResultAndAccount.invalid(
+      return ValidationResult.invalid(
           TransactionInvalidReason.PLUGIN_TX_POOL_VALIDATOR, maybePluginInvalid.get());
     }
+    return ValidationResult.valid();
+  }
 
+  private ValidationResultAndAccount validateForSender(
+      final Transaction transaction, final BlockHeader chainHeadBlockHeader) {
     try (final var worldState =
         protocolContext
             .getWorldStateArchive()
@@ -576,6 +840,11 @@ public class TransactionPool implements BlockAddedObserver {
     void onTransactionsAdded(Collection<Transaction> transactions);
   }
 
+  private record StatelessValidationResult(
+      Transaction transaction,
+      boolean hasPriority,
+      ValidationResult<TransactionInvalidReason> result) {}
+
   private static class ValidationResultAndAccount {
     final ValidationResult<TransactionInvalidReason> result;
     final Optional<Account> maybeAccount;
@@ -617,16 +886,78 @@ public class TransactionPool implements BlockAddedObserver {
               t -> {
                 LOG.error("Error while restoring transaction pool from disk", t);
                 return null;
-              });
+              })
+          .thenCompose(unused -> restoreFromSnapshot());
     }
     return CompletableFuture.completedFuture(null);
   }
 
+  /**
+   * Reload the content of the snapshot, if enabled, through the same parallel validation of the
+   * remote transactions, then start recording the pool changes to it.
+   */
+  private CompletableFuture<Void> restoreFromSnapshot() {
+    return maybeSnapshot
+        .map(
+            snapshot ->
+                ethContext
+                    .getScheduler()
+                    .scheduleServiceTask(() -> restoreFromSnapshot(snapshot))
+                    .exceptionally(
+                        t -> {
+                          LOG.error("Error while restoring transaction pool from snapshot", t);
+                          return null;
+                        }))
+        .orElseGet(() -> CompletableFuture.completedFuture(null));
+  }
+
+  private void restoreFromSnapshot(final TransactionPoolSnapshot snapshot) {
+    final long started = System.currentTimeMillis();
+    final List<TransactionPoolSnapshot.Entry> entries = snapshot.load();
+    if (!entries.isEmpty()) {
+      LOG.info("Restoring {} transactions from snapshot {}", entries.size(), snapshot.getFile());
+      final Map<Boolean, List<Transaction>> transactionsByLocality =
+          entries.stream()
+              .collect(
+                  Collectors.partitioningBy(
+                      TransactionPoolSnapshot.Entry::isLocal,
+                      Collectors.mapping(
+                          TransactionPoolSnapshot.Entry::transaction, Collectors.toList())));
+      final List<Transaction> addedTransactions = new ArrayList<>(entries.size());
+      addTransactionsInParallel(transactionsByLocality.get(true), true, addedTransactions);
+      addedTransactions.forEach(transaction -> localSenders.add(transaction.getSender()));
+      addTransactionsInParallel(transactionsByLocality.get(false), false, addedTransactions);
+      LOG.info(
+          "Restored {} transactions of {} from snapshot {} in {}ms",
+          addedTransactions.size(),
+          entries.size(),
+          snapshot.getFile(),
+          System.currentTimeMillis() - started);
+    }
+
+    if (isEnabled()) {
+      // compactions must always see this pool, not the one installed when it is disabled
+      final PendingTransactions recordedPendingTransactions = pendingTransactions;
+      snapshot.start(recordedPendingTransactions::getPendingTransactions);
+      final EthScheduler scheduler = ethContext.getScheduler();
+      maybeSnapshotFlushTask =
+          Optional.of(
+              scheduler.scheduleFutureTaskWithFixedDelay(
+                  () -> scheduler.executeServiceTask(snapshot::flush),
+                  SNAPSHOT_FLUSH_INTERVAL,
+                  SNAPSHOT_FLUSH_INTERVAL));
+    }
+  }
+
   public CompletableFuture<Void> setDisabled() {
     if (isEnabled()) {
       isPoolEnabled.set(false);
       subscribeConnectId.ifPresent(ethContext.getEthPeers()::unsubscribeConnect);
       pendingTransactionsListenersProxy.unsubscribe();
+      maybeSnapshotFlushTask.ifPresent(flushTask -> flushTask.cancel(false));
+      maybeSnapshotFlushTask = Optional.empty();
+      // write the last changes while the pool content is still in place
+      maybeSnapshot.ifPresent(TransactionPoolSnapshot::stop);
       final PendingTransactions pendingTransactionsToSave = pendingTransactions;
       pendingTransactions = new DisabledPendingTransactions();
       return saveRestoreManager
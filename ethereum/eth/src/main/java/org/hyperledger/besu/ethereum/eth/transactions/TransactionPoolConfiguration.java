@@ -40,6 +40,11 @@ public interface TransactionPoolConfiguration {
   interface Unstable {
     Duration ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD = Duration.ofMillis(500);
     int DEFAULT_TX_MSG_KEEP_ALIVE = 60;
+    boolean DEFAULT_SNAPSHOT_ENABLED = false;
+    File DEFAULT_SNAPSHOT_FILE = new File("txpool.snapshot");
+    boolean DEFAULT_BLOBS_OFF_HEAP_ENABLED = false;
+    long DEFAULT_BLOBS_OFF_HEAP_MAX_BYTES = 1024L * 1024 * 1024;
+    long DEFAULT_MEMORY_BUDGET_BYTES = 0L;
 
     TransactionPoolConfiguration.Unstable DEFAULT =
         ImmutableTransactionPoolConfiguration.Unstable.builder().build();
@@ -53,6 +58,31 @@ public interface TransactionPoolConfiguration {
     default int getTxMessageKeepAliveSeconds() {
       return DEFAULT_TX_MSG_KEEP_ALIVE;
     }
+
+    @Value.Default
+    default Boolean getSnapshotEnabled() {
+      return DEFAULT_SNAPSHOT_ENABLED;
+    }
+
+    @Value.Default
+    default File getSnapshotFile() {
+      return DEFAULT_SNAPSHOT_FILE;
+    }
+
+    @Value.Default
+    default Boolean getBlobsOffHeapEnabled() {
+      return DEFAULT_BLOBS_OFF_HEAP_ENABLED;
+    }
+
+    @Value.Default
+    default long getBlobsOffHeapMaxBytes() {
+      return DEFAULT_BLOBS_OFF_HEAP_MAX_BYTES;
+    }
+
+    @Value.Default
+    default long getMemoryBudgetBytes() {
+      return DEFAULT_MEMORY_BUDGET_BYTES;
+    }
   }
 
   enum Implementation {
@@ -23,9 +23,11 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.DoubleSupplier;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -38,6 +40,8 @@ public class TransactionPoolMetrics {
   public static final String REMOVED_COUNTER_NAME = "removed_total";
   public static final String REJECTED_COUNTER_NAME = "rejected_total";
   public static final String EXPIRED_MESSAGES_COUNTER_NAME = "messages_expired_total";
+  public static final String STATELESS_VALIDATION_STAGE = "stateless_validation";
+  public static final String INSERTION_STAGE = "insertion";
   private static final int SKIPPED_MESSAGES_LOGGING_THRESHOLD = 1000;
   private final MetricsSystem metricsSystem;
   private final LabelledMetric<Counter> addedCounter;
@@ -55,6 +59,9 @@ public class TransactionPoolMetrics {
   private final Map<Pair<String, TransactionType>, ReplaceableDoubleSupplier>
       transactionCountByTypeSuppliers = new HashMap<>();
   private final Map<String, ReplaceableDoubleSupplier> uniqueSendersSuppliers = new HashMap<>();
+  private final LabelledMetric<OperationTimer> remoteStageLatency;
+  private final Map<String, AtomicLong> remoteStageQueueDepth =
+      Map.of(STATELESS_VALIDATION_STAGE, new AtomicLong(), INSERTION_STAGE, new AtomicLong());
 
   public TransactionPoolMetrics(final MetricsSystem metricsSystem) {
     this.metricsSystem = metricsSystem;
@@ -130,6 +137,23 @@ public class TransactionPoolMetrics {
             "remote_transactions_already_seen_total",
             "Total number of received transactions already seen",
             "message");
+
+    remoteStageLatency =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "remote_transactions_stage_latency_seconds",
+            "Time spent in each stage of adding a batch of remote transactions",
+            "stage");
+
+    final LabelledGauge remoteStageQueueDepthGauge =
+        metricsSystem.createLabelledGauge(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "remote_transactions_stage_queue_depth",
+            "Work waiting in each stage of adding remote transactions, batches for the stateless"
+                + " validation and transactions for the insertion",
+            "stage");
+    remoteStageQueueDepth.forEach(
+        (stage, depth) -> remoteStageQueueDepthGauge.labels(depth::get, stage));
   }
 
   public MetricsSystem getMetricsSystem() {
@@ -254,6 +278,14 @@ public class TransactionPoolMetrics {
     alreadySeenTransactionsCounter.labels(message).inc(count);
   }
 
+  public OperationTimer.TimingContext startRemoteStageTimer(final String stage) {
+    return remoteStageLatency.labels(stage).startTimer();
+  }
+
+  public void updateRemoteStageQueueDepth(final String stage, final long delta) {
+    remoteStageQueueDepth.get(stage).addAndGet(delta);
+  }
+
   private String location(final boolean receivedFromLocalSource) {
     return receivedFromLocalSource ? "local" : "remote";
   }
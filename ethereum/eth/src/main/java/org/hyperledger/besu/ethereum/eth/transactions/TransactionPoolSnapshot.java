@@ -0,0 +1,351 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binary snapshot of the transaction pool content, kept up to date while the pool runs, so the
+ * pool can be filled again quickly after a restart.
+ *
+ * <p>The file is an append log: after a header with the format version, every transaction added to
+ * or dropped from the pool is appended as a record, so a restart at any time only loses the records
+ * not flushed yet. Records are queued by the pool and written in batches by {@link #flush()}, and
+ * when the log has many more records than the pool has transactions it is compacted, writing the
+ * current pool content to a new file that atomically replaces the log.
+ *
+ * <p>Transactions are written with the pooled transaction encoding, so blob transactions keep their
+ * blobs and can be validated again on load.
+ *
+ * <p>Every record has a checksum, and a truncated or corrupted tail, left by a crash while writing,
+ * is ignored on load.
+ */
+public class TransactionPoolSnapshot {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionPoolSnapshot.class);
+  static final int MAGIC = 0x54585053; // TXPS
+  // version 1 wrote the transactions without the blobs
+  static final int VERSION = 2;
+  private static final byte ADDED = 1;
+  private static final byte DROPPED = 2;
+  private static final byte LOCAL_FLAG = 1;
+  private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+  private static final int DEFAULT_MIN_RECORDS_TO_COMPACT = 10_000;
+
+  private final File file;
+  private final int minRecordsToCompact;
+  private final Queue<Record> pendingRecords = new ConcurrentLinkedQueue<>();
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private volatile boolean recording = false;
+  private Supplier<Collection<PendingTransaction>> poolContent;
+  private FileOutputStream fileOutput;
+  private DataOutputStream output;
+  private long recordsSinceCompaction;
+
+  public TransactionPoolSnapshot(final File file) {
+    this(file, DEFAULT_MIN_RECORDS_TO_COMPACT);
+  }
+
+  @VisibleForTesting
+  TransactionPoolSnapshot(final File file, final int minRecordsToCompact) {
+    this.file = file;
+    this.minRecordsToCompact = minRecordsToCompact;
+  }
+
+  /**
+   * A transaction to restore in the pool
+   *
+   * @param transaction the transaction
+   * @param isLocal if the transaction was received from a local source
+   */
+  public record Entry(Transaction transaction, boolean isLocal) {}
+
+  private record Record(byte kind, Transaction transaction, boolean isLocal) {}
+
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Read the transactions of the snapshot, replaying the log. Transactions are returned in the
+   * order they were first added.
+   *
+   * @return the transactions of the snapshot, empty if there is no snapshot or it is not readable
+   */
+  public List<Entry> load() {
+    if (!file.exists()) {
+      return List.of();
+    }
+    final Map<Hash, Entry> entries = new LinkedHashMap<>();
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      final int magic = in.readInt();
+      final int version = in.readInt();
+      if (magic != MAGIC || version != VERSION) {
+        LOG.warn(
+            "Ignoring transaction pool snapshot {} with unsupported format {}:{}",
+            file,
+            Integer.toHexString(magic),
+            version);
+        return List.of();
+      }
+      readRecords(in, entries);
+    } catch (final EOFException e) {
+      LOG.warn("Ignoring empty transaction pool snapshot {}", file);
+    } catch (final IOException e) {
+      LOG.warn("Error reading transaction pool snapshot {}", file, e);
+    }
+    return List.copyOf(entries.values());
+  }
+
+  private void readRecords(final DataInputStream in, final Map<Hash, Entry> entries)
+      throws IOException {
+    final CRC32 crc = new CRC32();
+    int kind;
+    while ((kind = in.read()) != -1) {
+      try {
+        final int flags = in.readUnsignedByte();
+        final int size = in.readInt();
+        if (size < 0 || size > MAX_RECORD_SIZE) {
+          LOG.warn("Ignoring the rest of transaction pool snapshot {}, it is corrupted", file);
+          return;
+        }
+        final byte[] payload = new byte[size];
+        in.readFully(payload);
+        final int checksum = in.readInt();
+        crc.reset();
+        crc.update(kind);
+        crc.update(flags);
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+          LOG.warn("Ignoring the rest of transaction pool snapshot {}, it is corrupted", file);
+          return;
+        }
+        applyRecord((byte) kind, flags, Bytes.wrap(payload), entries);
+      } catch (final EOFException e) {
+        LOG.warn("Ignoring truncated last record of transaction pool snapshot {}", file);
+        return;
+      }
+    }
+  }
+
+  private void applyRecord(
+      final byte kind, final int flags, final Bytes payload, final Map<Hash, Entry> entries) {
+    try {
+      switch (kind) {
+        case ADDED -> {
+          final Transaction transaction =
+              TransactionDecoder.decodeOpaqueBytes(payload, EncodingContext.POOLED_TRANSACTION);
+          entries.put(
+              transaction.getHash(), new Entry(transaction, (flags & LOCAL_FLAG) == LOCAL_FLAG));
+        }
+        case DROPPED -> entries.remove(Hash.wrap(Bytes32.wrap(payload)));
+        default -> LOG.debug("Skipping unknown record kind {} in {}", kind, file);
+      }
+    } catch (final RuntimeException e) {
+      LOG.debug("Skipping unreadable record in transaction pool snapshot {}", file, e);
+    }
+  }
+
+  /**
+   * Start recording the pool changes, first compacting the log to the current pool content
+   *
+   * @param poolContent supplies the current pool content, used for compactions
+   */
+  public void start(final Supplier<Collection<PendingTransaction>> poolContent) {
+    writeLock.lock();
+    try {
+      this.poolContent = poolContent;
+      pendingRecords.clear();
+      // changes from now on are queued, and the compaction below sees at least the pool content
+      // before them, since replaying a change twice is harmless nothing is lost
+      recording = true;
+      compact();
+    } catch (final IOException e) {
+      LOG.warn("Error writing transaction pool snapshot {}, disabling it", file, e);
+      stopRecording();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** Append the pending changes, without compacting the log, and stop recording */
+  public void stop() {
+    recording = false;
+    writeLock.lock();
+    try {
+      appendPendingRecords(false);
+      stopRecording();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  public boolean isRecording() {
+    return recording;
+  }
+
+  public void onTransactionAdded(final Transaction transaction, final boolean isLocal) {
+    if (recording) {
+      pendingRecords.add(new Record(ADDED, transaction, isLocal));
+    }
+  }
+
+  public void onTransactionDropped(final Transaction transaction) {
+    if (recording) {
+      pendingRecords.add(new Record(DROPPED, transaction, false));
+    }
+  }
+
+  /**
+   * Append the queued changes to the log, and compact it when it has grown to more than twice the
+   * pool size.
+   */
+  public void flush() {
+    writeLock.lock();
+    try {
+      appendPendingRecords(true);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void appendPendingRecords(final boolean compactionAllowed) {
+    try {
+      if (output == null || pendingRecords.isEmpty()) {
+        return;
+      }
+      for (Record record = pendingRecords.poll(); record != null; record = pendingRecords.poll()) {
+        writeRecord(output, record);
+        recordsSinceCompaction++;
+      }
+      output.flush();
+      fileOutput.getChannel().force(false);
+
+      if (compactionAllowed
+          && recordsSinceCompaction >= minRecordsToCompact
+          && recordsSinceCompaction > 2L * poolContent.get().size()) {
+        compact();
+      }
+    } catch (final IOException e) {
+      LOG.warn("Error writing transaction pool snapshot {}, disabling it", file, e);
+      stopRecording();
+    }
+  }
+
+  private void compact() throws IOException {
+    closeOutput();
+    final File compactedFile = new File(file.getPath() + ".tmp");
+    final Collection<PendingTransaction> content = poolContent.get();
+    try (final FileOutputStream compactedFileOutput = new FileOutputStream(compactedFile);
+        final DataOutputStream compactedOutput =
+            new DataOutputStream(new BufferedOutputStream(compactedFileOutput))) {
+      compactedOutput.writeInt(MAGIC);
+      compactedOutput.writeInt(VERSION);
+      for (final PendingTransaction pendingTransaction : content) {
+        writeRecord(
+            compactedOutput,
+            new Record(
+                ADDED,
+                pendingTransaction.getTransaction(),
+                pendingTransaction.isReceivedFromLocalSource()));
+      }
+      compactedOutput.flush();
+      compactedFileOutput.getChannel().force(true);
+    }
+    Files.move(
+        compactedFile.toPath(),
+        file.toPath(),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    LOG.debug("Compacted transaction pool snapshot {} to {} transactions", file, content.size());
+
+    fileOutput = new FileOutputStream(file, true);
+    output = new DataOutputStream(new BufferedOutputStream(fileOutput));
+    recordsSinceCompaction = 0;
+  }
+
+  private static void writeRecord(final DataOutputStream out, final Record record)
+      throws IOException {
+    final byte flags = record.isLocal() ? LOCAL_FLAG : 0;
+    final Bytes payload =
+        record.kind() == ADDED
+            ? TransactionEncoder.encodeOpaqueBytes(
+                record.transaction(), EncodingContext.POOLED_TRANSACTION)
+            : record.transaction().getHash();
+    final byte[] payloadBytes = payload.toArrayUnsafe();
+    final CRC32 crc = new CRC32();
+    crc.update(record.kind());
+    crc.update(flags);
+    crc.update(payloadBytes);
+
+    out.writeByte(record.kind());
+    out.writeByte(flags);
+    out.writeInt(payloadBytes.length);
+    out.write(payloadBytes);
+    out.writeInt((int) crc.getValue());
+  }
+
+  private void stopRecording() {
+    recording = false;
+    pendingRecords.clear();
+    try {
+      closeOutput();
+    } catch (final IOException e) {
+      LOG.debug("Error closing transaction pool snapshot {}", file, e);
+    }
+  }
+
+  private void closeOutput() throws IOException {
+    if (output != null) {
+      try {
+        output.close();
+      } finally {
+        output = null;
+        fileOutput = null;
+      }
+    }
+  }
+}
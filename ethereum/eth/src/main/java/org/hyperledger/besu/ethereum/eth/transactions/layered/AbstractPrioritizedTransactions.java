@@ -24,6 +24,8 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +39,7 @@ import java.util.function.Predicate;
  * next block. The pending transactions are kept sorted by paid fee descending.
  */
 public abstract class AbstractPrioritizedTransactions extends AbstractSequentialTransactionsLayer {
-  protected final TreeSet<PendingTransaction> orderByFee;
+  protected final FeeOrderedTransactions orderByFee;
   protected final MiningParameters miningParameters;
 
   public AbstractPrioritizedTransactions(
@@ -48,7 +50,8 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
       final BiFunction<PendingTransaction, PendingTransaction, Boolean>
           transactionReplacementTester,
       final BlobCache blobCache,
-      final MiningParameters miningParameters) {
+      final MiningParameters miningParameters,
+      final FeeOrderedTransactions orderByFee) {
     super(
         poolConfig,
         ethScheduler,
@@ -56,7 +59,7 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
         transactionReplacementTester,
         metrics,
         blobCache);
-    this.orderByFee = new TreeSet<>(this::compareByFee);
+    this.orderByFee = orderByFee;
     this.miningParameters = miningParameters;
   }
 
@@ -127,7 +130,9 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
     return orderByFee.first();
   }
 
-  protected abstract int compareByFee(final PendingTransaction pt1, final PendingTransaction pt2);
+  protected int compareByFee(final PendingTransaction pt1, final PendingTransaction pt2) {
+    return orderByFee.compare(pt1, pt2);
+  }
 
   @Override
   protected void internalRemove(
@@ -178,14 +183,17 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
   @Override
   public List<SenderPendingTransactions> getBySender() {
     final var sendersToAdd = new HashSet<>(txsBySender.keySet());
-    return orderByFee.descendingSet().stream()
-        .map(PendingTransaction::getSender)
-        .filter(sendersToAdd::remove)
-        .map(
-            sender ->
-                new SenderPendingTransactions(
-                    sender, List.copyOf(txsBySender.get(sender).values())))
-        .toList();
+    final List<SenderPendingTransactions> bySender = new ArrayList<>(sendersToAdd.size());
+    final var itDescending = orderByFee.descendingIterator();
+    // stop as soon as all the senders are found, without visiting the rest of the order
+    while (!sendersToAdd.isEmpty() && itDescending.hasNext()) {
+      final var sender = itDescending.next().getSender();
+      if (sendersToAdd.remove(sender)) {
+        bySender.add(
+            new SenderPendingTransactions(sender, List.copyOf(txsBySender.get(sender).values())));
+      }
+    }
+    return Collections.unmodifiableList(bySender);
   }
 
   @Override
@@ -51,6 +51,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -74,7 +75,8 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   protected final BiFunction<PendingTransaction, PendingTransaction, Boolean>
       transactionReplacementTester;
   protected final TransactionPoolMetrics metrics;
-  protected final Map<Hash, PendingTransaction> pendingTransactions = new HashMap<>();
+  // concurrent so that lookups by hash can be served without holding the pool lock
+  protected final Map<Hash, PendingTransaction> pendingTransactions = new ConcurrentHashMap<>();
   protected final Map<Address, NavigableMap<Long, PendingTransaction>> txsBySender =
       new HashMap<>();
   private final Subscribers<PendingTransactionAddedListener> onAddedListeners =
@@ -182,7 +184,9 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     }
 
     if (addStatus.isSuccess()) {
-      processAdded(pendingTransaction.detachedCopy());
+      // detached in place, so the caller keeps a reference to the transaction held by the layer
+      pendingTransaction.replaceTransaction(pendingTransaction.getTransaction().detachedCopy());
+      processAdded(pendingTransaction);
       addStatus.maybeReplacedTransaction().ifPresent(this::replaced);
 
       nextLayer.notifyAdded(pendingTransaction);
@@ -0,0 +1,318 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import com.google.common.collect.Iterators;
+import org.apache.tuweni.units.bigints.UInt256s;
+
+/**
+ * Fee order for base fee markets, where the effective priority fee of a transaction is {@code
+ * min(maxPriorityFee, maxFee - baseFee)} and so the order changes with the base fee.
+ *
+ * <p>Instead of sorting again everything when the base fee changes, the transactions are split in
+ * two sets, each one with an order that does not depend on the base fee: the capped set contains
+ * the transactions that pay their whole max priority fee, and is ordered by it, while the fee
+ * limited set contains the transactions that pay less, since {@code maxFee - baseFee} is the limit,
+ * and is ordered by max fee. A transaction moves from one set to the other only when the base fee
+ * crosses its cap threshold {@code maxFee - maxPriorityFee}, so the transactions are also indexed
+ * by cap threshold, and on a base fee change only the ones with a threshold between the old and
+ * the new base fee are moved. The full order is the merge of the two sets, done while iterating.
+ *
+ * <p>Priority and not priority transactions are kept apart, since the priority ones always come
+ * after.
+ *
+ * <p>This class is not thread safe, access is synchronized by the pending transactions.
+ */
+public class BaseFeeOrderedTransactions implements FeeOrderedTransactions {
+  private static final Comparator<PendingTransaction> CAPPED_ORDER =
+      Comparator.comparing(BaseFeeOrderedTransactions::cappedPriorityFee)
+          .thenComparing(BaseFeeOrderedTransactions::maxFee)
+          .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
+          .thenComparing(PendingTransaction::getSequence);
+  private static final Comparator<PendingTransaction> FEE_LIMITED_ORDER =
+      Comparator.comparing(BaseFeeOrderedTransactions::maxFee)
+          .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
+          .thenComparing(PendingTransaction::getSequence);
+
+  private Optional<Wei> baseFee;
+  private final Comparator<PendingTransaction> order =
+      Comparator.comparing(PendingTransaction::hasPriority)
+          .thenComparing(
+              (PendingTransaction pendingTransaction) ->
+                  pendingTransaction.getTransaction().getEffectivePriorityFeePerGas(baseFee))
+          .thenComparing(BaseFeeOrderedTransactions::maxFee)
+          .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
+          .thenComparing(PendingTransaction::getSequence);
+
+  private final Partition notPriority = new Partition();
+  private final Partition priority = new Partition();
+  private final NavigableMap<Wei, Set<PendingTransaction>> byCapThreshold = new TreeMap<>();
+
+  public BaseFeeOrderedTransactions(final Wei baseFee) {
+    this.baseFee = Optional.of(baseFee);
+  }
+
+  public Wei getBaseFee() {
+    return baseFee.get();
+  }
+
+  /**
+   * Update the order to a new base fee, only moving the transactions whose cap threshold is
+   * between the current and the new base fee.
+   *
+   * @param newBaseFee the new base fee
+   */
+  public void updateBaseFee(final Wei newBaseFee) {
+    final Wei oldBaseFee = baseFee.get();
+    baseFee = Optional.of(newBaseFee);
+    if (newBaseFee.greaterThan(oldBaseFee)) {
+      // these are no longer able to pay their whole max priority fee
+      byCapThreshold
+          .subMap(oldBaseFee, true, newBaseFee, false)
+          .values()
+          .forEach(txs -> txs.forEach(pt -> partitionOf(pt).moveToFeeLimited(pt)));
+    } else if (newBaseFee.lessThan(oldBaseFee)) {
+      // these are now able to pay their whole max priority fee
+      byCapThreshold
+          .subMap(newBaseFee, true, oldBaseFee, false)
+          .values()
+          .forEach(txs -> txs.forEach(pt -> partitionOf(pt).moveToCapped(pt)));
+    }
+  }
+
+  /**
+   * Starting from the least profitable transaction, collect all the transactions that match the
+   * predicate, stopping at the first one that does not match. Priority and not priority
+   * transactions are scanned separately, so the predicate must be monotone for each of them, like
+   * any check on a minimum fee.
+   *
+   * @param predicate the predicate to match
+   * @return the least profitable transactions that match the predicate
+   */
+  public List<PendingTransaction> getLowestMatching(final Predicate<PendingTransaction> predicate) {
+    final List<PendingTransaction> matching = new ArrayList<>();
+    notPriority.collectLowestMatching(predicate, matching);
+    priority.collectLowestMatching(predicate, matching);
+    return matching;
+  }
+
+  @Override
+  public boolean add(final PendingTransaction pendingTransaction) {
+    if (partitionOf(pendingTransaction).add(pendingTransaction)) {
+      byCapThreshold
+          .computeIfAbsent(capThreshold(pendingTransaction), unused -> new HashSet<>())
+          .add(pendingTransaction);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean remove(final PendingTransaction pendingTransaction) {
+    if (partitionOf(pendingTransaction).remove(pendingTransaction)) {
+      final Wei capThreshold = capThreshold(pendingTransaction);
+      final Set<PendingTransaction> sameThreshold = byCapThreshold.get(capThreshold);
+      sameThreshold.remove(pendingTransaction);
+      if (sameThreshold.isEmpty()) {
+        byCapThreshold.remove(capThreshold);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void clear() {
+    notPriority.clear();
+    priority.clear();
+    byCapThreshold.clear();
+  }
+
+  @Override
+  public int size() {
+    return notPriority.size() + priority.size();
+  }
+
+  @Override
+  public PendingTransaction first() {
+    if (!notPriority.isEmpty()) {
+      return notPriority.first();
+    }
+    if (!priority.isEmpty()) {
+      return priority.first();
+    }
+    throw new NoSuchElementException();
+  }
+
+  @Override
+  public PendingTransaction last() {
+    if (!priority.isEmpty()) {
+      return priority.last();
+    }
+    if (!notPriority.isEmpty()) {
+      return notPriority.last();
+    }
+    throw new NoSuchElementException();
+  }
+
+  @Override
+  public Iterator<PendingTransaction> iterator() {
+    return Iterators.unmodifiableIterator(
+        Iterators.concat(notPriority.ascendingIterator(), priority.ascendingIterator()));
+  }
+
+  @Override
+  public Iterator<PendingTransaction> descendingIterator() {
+    return Iterators.unmodifiableIterator(
+        Iterators.concat(priority.descendingIterator(), notPriority.descendingIterator()));
+  }
+
+  @Override
+  public int compare(final PendingTransaction pt1, final PendingTransaction pt2) {
+    return order.compare(pt1, pt2);
+  }
+
+  private Partition partitionOf(final PendingTransaction pendingTransaction) {
+    return pendingTransaction.hasPriority() ? priority : notPriority;
+  }
+
+  private boolean isCapped(final PendingTransaction pendingTransaction) {
+    return capThreshold(pendingTransaction).greaterOrEqualThan(baseFee.get());
+  }
+
+  private static Wei maxFee(final PendingTransaction pendingTransaction) {
+    return pendingTransaction.getTransaction().getMaxGasPrice();
+  }
+
+  /**
+   * The priority fee paid when the base fee is low enough, for legacy transactions it is the gas
+   * price, that is the same as assuming a zero base fee.
+   */
+  private static Wei cappedPriorityFee(final PendingTransaction pendingTransaction) {
+    final Transaction transaction = pendingTransaction.getTransaction();
+    if (transaction.getType().supports1559FeeMarket()) {
+      return UInt256s.min(
+          transaction.getMaxPriorityFeePerGas().get(), transaction.getMaxFeePerGas().get());
+    }
+    return transaction.getGasPrice().get();
+  }
+
+  /** The highest base fee at which the whole capped priority fee is still paid */
+  private static Wei capThreshold(final PendingTransaction pendingTransaction) {
+    return maxFee(pendingTransaction).subtract(cappedPriorityFee(pendingTransaction));
+  }
+
+  private class Partition {
+    private final TreeSet<PendingTransaction> capped = new TreeSet<>(CAPPED_ORDER);
+    private final TreeSet<PendingTransaction> feeLimited = new TreeSet<>(FEE_LIMITED_ORDER);
+
+    boolean add(final PendingTransaction pendingTransaction) {
+      return setOf(pendingTransaction).add(pendingTransaction);
+    }
+
+    boolean remove(final PendingTransaction pendingTransaction) {
+      return setOf(pendingTransaction).remove(pendingTransaction);
+    }
+
+    void moveToCapped(final PendingTransaction pendingTransaction) {
+      feeLimited.remove(pendingTransaction);
+      capped.add(pendingTransaction);
+    }
+
+    void moveToFeeLimited(final PendingTransaction pendingTransaction) {
+      capped.remove(pendingTransaction);
+      feeLimited.add(pendingTransaction);
+    }
+
+    void clear() {
+      capped.clear();
+      feeLimited.clear();
+    }
+
+    int size() {
+      return capped.size() + feeLimited.size();
+    }
+
+    boolean isEmpty() {
+      return capped.isEmpty() && feeLimited.isEmpty();
+    }
+
+    PendingTransaction first() {
+      if (capped.isEmpty()) {
+        return feeLimited.first();
+      }
+      if (feeLimited.isEmpty()) {
+        return capped.first();
+      }
+      final PendingTransaction firstCapped = capped.first();
+      final PendingTransaction firstFeeLimited = feeLimited.first();
+      return order.compare(firstCapped, firstFeeLimited) < 0 ? firstCapped : firstFeeLimited;
+    }
+
+    PendingTransaction last() {
+      if (capped.isEmpty()) {
+        return feeLimited.last();
+      }
+      if (feeLimited.isEmpty()) {
+        return capped.last();
+      }
+      final PendingTransaction lastCapped = capped.last();
+      final PendingTransaction lastFeeLimited = feeLimited.last();
+      return order.compare(lastCapped, lastFeeLimited) > 0 ? lastCapped : lastFeeLimited;
+    }
+
+    Iterator<PendingTransaction> ascendingIterator() {
+      return Iterators.mergeSorted(List.of(capped.iterator(), feeLimited.iterator()), order);
+    }
+
+    Iterator<PendingTransaction> descendingIterator() {
+      return Iterators.mergeSorted(
+          List.of(capped.descendingIterator(), feeLimited.descendingIterator()), order.reversed());
+    }
+
+    void collectLowestMatching(
+        final Predicate<PendingTransaction> predicate, final List<PendingTransaction> matching) {
+      final Iterator<PendingTransaction> itAscending = ascendingIterator();
+      while (itAscending.hasNext()) {
+        final PendingTransaction pendingTransaction = itAscending.next();
+        if (!predicate.test(pendingTransaction)) {
+          return;
+        }
+        matching.add(pendingTransaction);
+      }
+    }
+
+    private TreeSet<PendingTransaction> setOf(final PendingTransaction pendingTransaction) {
+      return isCapped(pendingTransaction) ? capped : feeLimited;
+    }
+  }
+}
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.eth.transactions.layered;
 
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.TransactionsLayer.RemovalReason.BELOW_BASE_FEE;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
@@ -28,7 +29,8 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -39,6 +41,7 @@ import org.slf4j.LoggerFactory;
 public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransactions {
 
   private static final Logger LOG = LoggerFactory.getLogger(BaseFeePrioritizedTransactions.class);
+  private final BaseFeeOrderedTransactions orderByBaseFee;
   private Optional<Wei> nextBlockBaseFee;
 
   public BaseFeePrioritizedTransactions(
@@ -52,30 +55,39 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
       final FeeMarket feeMarket,
       final BlobCache blobCache,
       final MiningParameters miningParameters) {
-    super(
+    this(
         poolConfig,
         ethScheduler,
         nextLayer,
         metrics,
         transactionReplacementTester,
         blobCache,
-        miningParameters);
-    this.nextBlockBaseFee =
-        Optional.of(calculateNextBlockBaseFee(feeMarket, chainHeadHeaderSupplier.get()));
+        miningParameters,
+        new BaseFeeOrderedTransactions(
+            calculateNextBlockBaseFee(feeMarket, chainHeadHeaderSupplier.get())));
   }
 
-  @Override
-  protected int compareByFee(final PendingTransaction pt1, final PendingTransaction pt2) {
-    return Comparator.comparing(PendingTransaction::hasPriority)
-        .thenComparing(
-            (PendingTransaction pendingTransaction) ->
-                pendingTransaction.getTransaction().getEffectivePriorityFeePerGas(nextBlockBaseFee))
-        .thenComparing(
-            (PendingTransaction pendingTransaction) ->
-                pendingTransaction.getTransaction().getMaxGasPrice())
-        .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
-        .thenComparing(PendingTransaction::getSequence)
-        .compare(pt1, pt2);
+  private BaseFeePrioritizedTransactions(
+      final TransactionPoolConfiguration poolConfig,
+      final EthScheduler ethScheduler,
+      final TransactionsLayer nextLayer,
+      final TransactionPoolMetrics metrics,
+      final BiFunction<PendingTransaction, PendingTransaction, Boolean>
+          transactionReplacementTester,
+      final BlobCache blobCache,
+      final MiningParameters miningParameters,
+      final BaseFeeOrderedTransactions orderByBaseFee) {
+    super(
+        poolConfig,
+        ethScheduler,
+        nextLayer,
+        metrics,
+        transactionReplacementTester,
+        blobCache,
+        miningParameters,
+        orderByBaseFee);
+    this.orderByBaseFee = orderByBaseFee;
+    this.nextBlockBaseFee = Optional.of(orderByBaseFee.getBaseFee());
   }
 
   /**
@@ -98,52 +110,44 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
         .log();
 
     nextBlockBaseFee = Optional.of(newNextBlockBaseFee);
-    orderByFee.clear();
-
-    final var itTxsBySender = txsBySender.entrySet().iterator();
-    while (itTxsBySender.hasNext()) {
-      final var senderTxs = itTxsBySender.next().getValue();
-
-      Optional<Long> maybeFirstUnderpricedNonce = Optional.empty();
-
-      for (final var e : senderTxs.entrySet()) {
-        final PendingTransaction tx = e.getValue();
-        // it must pass the promotion filter to be prioritized
-        if (promotionFilter(tx)) {
-          orderByFee.add(tx);
-        } else {
-          // otherwise sender txs starting from this nonce need to be demoted to next layer,
-          // and we can go to next sender
-          maybeFirstUnderpricedNonce = Optional.of(e.getKey());
-          break;
-        }
-      }
-
-      maybeFirstUnderpricedNonce.ifPresent(
-          nonce -> {
-            // demote all txs after the first underpriced to the next layer, because none of them is
-            // executable now, and we can avoid sorting them until they are candidate for execution
-            // again
-            final var demoteTxs = senderTxs.tailMap(nonce, true);
-            while (!demoteTxs.isEmpty()) {
-              final PendingTransaction demoteTx = demoteTxs.pollLastEntry().getValue();
-              LOG.atTrace()
-                  .setMessage("Demoting tx {} with max gas price below next block base fee {}")
-                  .addArgument(demoteTx::toTraceLog)
-                  .addArgument(newNextBlockBaseFee::toHumanReadableString)
-                  .log();
-              processEvict(senderTxs, demoteTx, BELOW_BASE_FEE);
-              addToNextLayer(senderTxs, demoteTx, 0);
-            }
-          });
-
-      if (senderTxs.isEmpty()) {
-        itTxsBySender.remove();
-      }
+    // only the txs crossing their cap threshold are moved, the rest keeps its relative order
+    orderByBaseFee.updateBaseFee(newNextBlockBaseFee);
+
+    // the txs that do not pass the promotion filter anymore are the least profitable ones,
+    // so only the bottom of the order needs to be checked, for each sender all the txs starting
+    // from the first underpriced nonce need to be demoted to the next layer
+    final Map<Address, Long> firstUnderpricedNonceBySender = new HashMap<>();
+    for (final PendingTransaction tx :
+        orderByBaseFee.getLowestMatching(pendingTx -> !promotionFilter(pendingTx))) {
+      firstUnderpricedNonceBySender.merge(tx.getSender(), tx.getNonce(), Math::min);
     }
+
+    firstUnderpricedNonceBySender.forEach(
+        (sender, nonce) -> {
+          final var senderTxs = txsBySender.get(sender);
+          // demote all txs after the first underpriced to the next layer, because none of them is
+          // executable now, and we can avoid sorting them until they are candidate for execution
+          // again
+          final var demoteTxs = senderTxs.tailMap(nonce, true);
+          while (!demoteTxs.isEmpty()) {
+            final PendingTransaction demoteTx = demoteTxs.pollLastEntry().getValue();
+            LOG.atTrace()
+                .setMessage("Demoting tx {} with max gas price below next block base fee {}")
+                .addArgument(demoteTx::toTraceLog)
+                .addArgument(newNextBlockBaseFee::toHumanReadableString)
+                .log();
+            processEvict(senderTxs, demoteTx, BELOW_BASE_FEE);
+            addToNextLayer(senderTxs, demoteTx, 0);
+          }
+
+          if (senderTxs.isEmpty()) {
+            txsBySender.remove(sender);
+          }
+        });
   }
 
-  private Wei calculateNextBlockBaseFee(final FeeMarket feeMarket, final BlockHeader blockHeader) {
+  private static Wei calculateNextBlockBaseFee(
+      final FeeMarket feeMarket, final BlockHeader blockHeader) {
     if (feeMarket.implementsBaseFee()) {
       final var baseFeeMarket = (BaseFeeMarket) feeMarket;
       return baseFeeMarket.computeBaseFee(
@@ -0,0 +1,67 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.Iterator;
+
+/**
+ * The pending transactions of the prioritized layer ordered by the fee they pay, the iteration
+ * order is ascending, so the first is the least profitable transaction and the last is the most
+ * profitable one.
+ */
+public interface FeeOrderedTransactions extends Iterable<PendingTransaction> {
+
+  boolean add(PendingTransaction pendingTransaction);
+
+  boolean remove(PendingTransaction pendingTransaction);
+
+  void clear();
+
+  int size();
+
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Get the least profitable transaction
+   *
+   * @return the least profitable transaction
+   * @throws java.util.NoSuchElementException if there are no transactions
+   */
+  PendingTransaction first();
+
+  /**
+   * Get the most profitable transaction
+   *
+   * @return the most profitable transaction
+   * @throws java.util.NoSuchElementException if there are no transactions
+   */
+  PendingTransaction last();
+
+  Iterator<PendingTransaction> descendingIterator();
+
+  /**
+   * Compare two transactions using the current order
+   *
+   * @param pt1 the first transaction
+   * @param pt2 the second transaction
+   * @return a negative integer, zero, or a positive integer as the first transaction is less, equal
+   *     or more profitable than the second
+   */
+  int compare(PendingTransaction pt1, PendingTransaction pt2);
+}
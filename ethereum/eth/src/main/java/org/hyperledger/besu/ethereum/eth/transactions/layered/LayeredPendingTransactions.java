@@ -18,8 +18,10 @@ import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.reducing;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.ALREADY_KNOWN;
+import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.EVICTED_OVER_MEMORY_BUDGET;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.INTERNAL_ERROR;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.NONCE_TOO_FAR_IN_FUTURE_FOR_SENDER;
+import static org.hyperledger.besu.ethereum.eth.transactions.layered.TransactionsLayer.RemovalReason.EVICTED;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.TransactionsLayer.RemovalReason.INVALIDATED;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.TransactionsLayer.RemovalReason.RECONCILED;
 
@@ -46,6 +48,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -55,6 +60,16 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+/**
+ * The layered implementation of the pending transactions.
+ *
+ * <p>Writers are serialized by the monitor of this object, since adding a transaction could evict,
+ * promote or demote transactions of any other sender across the layers. Readers do not take it:
+ * every write bumps a version twice, to an odd value when it starts and to an even one when it
+ * ends, so lookups by hash are served by the concurrent maps of the layers and only retried under
+ * the lock when they miss and a write overlapped them, while the collections are served from
+ * immutable snapshots that are rebuilt, at most once per version, when they are stale.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Logger LOG_FOR_REPLAY = LoggerFactory.getLogger("LOG_FOR_REPLAY");
@@ -62,6 +77,35 @@ public class LayeredPendingTransactions implements PendingTransactions {
   private final TransactionPoolConfiguration poolConfig;
   private final AbstractPrioritizedTransactions prioritizedTransactions;
   private final EthScheduler ethScheduler;
+  private final Optional<MemoryBudgetEviction> maybeMemoryBudgetEviction;
+  private final MemoryBudgetEviction.EvictablePool evictablePool =
+      new MemoryBudgetEviction.EvictablePool() {
+        @Override
+        public List<PendingTransaction> getAll() {
+          return prioritizedTransactions.getAll();
+        }
+
+        @Override
+        public List<PendingTransaction> getAllFor(final Address sender) {
+          return prioritizedTransactions.getAllFor(sender);
+        }
+
+        @Override
+        public int count() {
+          return prioritizedTransactions.count();
+        }
+
+        @Override
+        public void evict(final PendingTransaction pendingTransaction) {
+          prioritizedTransactions.remove(pendingTransaction, EVICTED);
+          prioritizedTransactions.notifyTransactionDropped(pendingTransaction);
+        }
+      };
+  private volatile long version = 0;
+  private final AtomicReference<Versioned<List<PendingTransaction>>> allSnapshot =
+      new AtomicReference<>();
+  private final AtomicReference<Versioned<List<SenderPendingTransactions>>> bySenderSnapshot =
+      new AtomicReference<>();
 
   public LayeredPendingTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -70,16 +114,67 @@ public class LayeredPendingTransactions implements PendingTransactions {
     this.poolConfig = poolConfig;
     this.prioritizedTransactions = prioritizedTransactions;
     this.ethScheduler = ethScheduler;
+    final long memoryBudget = poolConfig.getUnstable().getMemoryBudgetBytes();
+    this.maybeMemoryBudgetEviction =
+        memoryBudget > 0 ? Optional.of(new MemoryBudgetEviction(memoryBudget)) : Optional.empty();
   }
 
   @Override
   public synchronized void reset() {
-    prioritizedTransactions.reset();
+    beginWrite();
+    try {
+      prioritizedTransactions.reset();
+    } finally {
+      endWrite();
+    }
   }
 
   @Override
   public synchronized TransactionAddedResult addTransaction(
       final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
+    beginWrite();
+    try {
+      final TransactionAddedResult result =
+          internalAddTransaction(pendingTransaction, maybeSenderAccount);
+      if (result.isSuccess()
+          && maybeMemoryBudgetEviction.isPresent()
+          && evictOverBudget(maybeMemoryBudgetEviction.get(), pendingTransaction)) {
+        // the new transaction scored too low to fit in the memory budget
+        return EVICTED_OVER_MEMORY_BUDGET;
+      }
+      return result;
+    } finally {
+      endWrite();
+    }
+  }
+
+  /**
+   * Evict transactions if the memory budget is exceeded
+   *
+   * @param memoryBudgetEviction the memory budget eviction
+   * @param addedTransaction the transaction that has just been added
+   * @return true if the added transaction has been evicted
+   */
+  private boolean evictOverBudget(
+      final MemoryBudgetEviction memoryBudgetEviction, final PendingTransaction addedTransaction) {
+    memoryBudgetEviction.onAdded(addedTransaction, evictablePool);
+    final long usedSpace = prioritizedTransactions.getCumulativeUsedSpace();
+    if (memoryBudgetEviction.isOverBudget(usedSpace)) {
+      final List<PendingTransaction> evictions =
+          memoryBudgetEviction.evict(usedSpace, evictablePool);
+      LOG.atDebug()
+          .setMessage("Memory budget exceeded, used {} bytes, evicted {} transactions")
+          .addArgument(usedSpace)
+          .addArgument(evictions::size)
+          .log();
+      return evictions.stream()
+          .anyMatch(evictedTx -> evictedTx.getHash().equals(addedTransaction.getHash()));
+    }
+    return false;
+  }
+
+  private TransactionAddedResult internalAddTransaction(
+      final PendingTransaction pendingTransaction, final Optional<Account> maybeSenderAccount) {
 
     final long stateSenderNonce = maybeSenderAccount.map(AccountState::getNonce).orElse(0L);
 
@@ -302,26 +397,30 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
-    return prioritizedTransactions.getAllLocal();
+  public List<Transaction> getLocalTransactions() {
+    return getPendingTransactions().stream()
+        .filter(PendingTransaction::isReceivedFromLocalSource)
+        .map(PendingTransaction::getTransaction)
+        .toList();
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
-    return prioritizedTransactions.getAllPriority();
+  public List<Transaction> getPriorityTransactions() {
+    return getPendingTransactions().stream()
+        .filter(PendingTransaction::hasPriority)
+        .map(PendingTransaction::getTransaction)
+        .toList();
   }
 
   @Override
   public void selectTransactions(final PendingTransactions.TransactionSelector selector) {
     final List<PendingTransaction> invalidTransactions = new ArrayList<>();
 
-    final List<SenderPendingTransactions> candidateTxsBySender;
-    synchronized (this) {
-      // since selecting transactions for block creation is a potential long operation
-      // we want to avoid to keep the lock for all the process, but we just lock to get
-      // the candidate transactions
-      candidateTxsBySender = prioritizedTransactions.getBySender();
-    }
+    // since selecting transactions for block creation is a potential long operation
+    // we want to avoid to keep the lock for all the process, so we work on a snapshot
+    // of the candidate transactions
+    final List<SenderPendingTransactions> candidateTxsBySender =
+        readSnapshot(bySenderSnapshot, prioritizedTransactions::getBySender);
 
     selection:
     for (final var senderTxs : candidateTxsBySender) {
@@ -360,7 +459,12 @@ public class LayeredPendingTransactions implements PendingTransactions {
             invalidTransactions.forEach(
                 invalidTx -> {
                   synchronized (this) {
-                    prioritizedTransactions.remove(invalidTx, INVALIDATED);
+                    beginWrite();
+                    try {
+                      prioritizedTransactions.remove(invalidTx, INVALIDATED);
+                    } finally {
+                      endWrite();
+                    }
                   }
                 }));
   }
@@ -371,23 +475,73 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
-    return prioritizedTransactions.count();
+  public int size() {
+    return readOptimistically(prioritizedTransactions::count, unused -> false);
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
-    return prioritizedTransactions.contains(transaction);
+  public boolean containsTransaction(final Transaction transaction) {
+    return readOptimistically(
+        () -> prioritizedTransactions.contains(transaction), Boolean::booleanValue);
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
-    return prioritizedTransactions.getByHash(transactionHash);
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return readOptimistically(
+        () -> prioritizedTransactions.getByHash(transactionHash), Optional::isPresent);
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
-    return prioritizedTransactions.getAll();
+  public List<PendingTransaction> getPendingTransactions() {
+    return readSnapshot(allSnapshot, () -> List.copyOf(prioritizedTransactions.getAll()));
+  }
+
+  private <T> T readSnapshot(
+      final AtomicReference<Versioned<T>> snapshot, final Supplier<T> builder) {
+    final Versioned<T> current = snapshot.get();
+    if (current != null && current.version() == version) {
+      return current.value();
+    }
+    synchronized (this) {
+      final Versioned<T> lockedCurrent = snapshot.get();
+      if (lockedCurrent != null && lockedCurrent.version() == version) {
+        return lockedCurrent.value();
+      }
+      final Versioned<T> rebuilt = new Versioned<>(version, builder.get());
+      snapshot.set(rebuilt);
+      return rebuilt.value();
+    }
+  }
+
+  private void beginWrite() {
+    // only called holding the monitor, so there is a single writer of the version
+    version++;
+  }
+
+  private void endWrite() {
+    version++;
+  }
+
+  /**
+   * Runs a read without the lock, and repeats it holding the lock only when it was not conclusive
+   * and a write could have overlapped it.
+   *
+   * @param read the read, that must only touch the concurrent structures of the layers
+   * @param isConclusive whether a result is right even if a write overlapped the read, like a hit
+   * @return the result of the read
+   * @param <T> the type of the result
+   */
+  private <T> T readOptimistically(final Supplier<T> read, final Predicate<T> isConclusive) {
+    final long startVersion = version;
+    if ((startVersion & 1) == 0) {
+      final T result = read.get();
+      if (isConclusive.test(result) || version == startVersion) {
+        return result;
+      }
+    }
+    synchronized (this) {
+      return read.get();
+    }
   }
 
   @Override
@@ -421,6 +575,19 @@ public class LayeredPendingTransactions implements PendingTransactions {
       final List<Transaction> confirmedTransactions,
       final List<Transaction> reorgTransactions,
       final FeeMarket feeMarket) {
+    beginWrite();
+    try {
+      internalManageBlockAdded(blockHeader, confirmedTransactions, reorgTransactions, feeMarket);
+    } finally {
+      endWrite();
+    }
+  }
+
+  private void internalManageBlockAdded(
+      final BlockHeader blockHeader,
+      final List<Transaction> confirmedTransactions,
+      final List<Transaction> reorgTransactions,
+      final FeeMarket feeMarket) {
     LOG.atTrace()
         .setMessage("Managing new added block {}")
         .addArgument(blockHeader::toLogString)
@@ -541,4 +708,14 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public Optional<Transaction> restoreBlob(final Transaction transaction) {
     return prioritizedTransactions.getBlobCache().restoreBlob(transaction);
   }
+
+  /**
+   * An immutable view of the pool, taken under the lock and reused by the readers until the next
+   * write.
+   *
+   * @param version the version of the pool when the view was taken
+   * @param value the view
+   * @param <T> the type of the view
+   */
+  private record Versioned<T>(long version, T value) {}
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the memory used by all the layers of the pool within a global budget.
+ *
+ * <p>When the budget is exceeded, the transactions with the lowest score are evicted, until the
+ * used memory goes below a low watermark, so the evictions happen in batches and not at every new
+ * transaction, that would be expensive when the pool is full and flooded by gossip. The score is
+ * the value density of the transaction, that is the max fee it could pay per byte of memory it
+ * uses, halved every {@link #SCORE_HALF_LIFE} the transaction stays in the pool, so old
+ * transactions that are not included leave space for new ones.
+ *
+ * <p>To not create nonce gaps, only the transaction with the highest nonce of a sender can be
+ * evicted, and once it is evicted the one before it becomes a candidate. Transactions with
+ * priority are never evicted.
+ *
+ * <p>Since every score halves at the same pace, the order of two transactions never changes, so
+ * the candidates are kept in a heap, ordered by a time independent key, that is updated when
+ * transactions are added or evicted, instead of scoring the whole pool for every batch. Entries of
+ * transactions that left the pool, or are no longer the highest nonce of their sender, are
+ * discarded when they reach the top, and the heap is rebuilt from the pool content only when it
+ * holds too many of them or it runs out of candidates.
+ */
+class MemoryBudgetEviction {
+  static final double LOW_WATERMARK = 0.9;
+  static final Duration SCORE_HALF_LIFE = Duration.ofMinutes(30);
+  private static final int MIN_CANDIDATES_TO_REBUILD = 1024;
+
+  /** The view of the pool needed to select and apply the evictions */
+  interface EvictablePool {
+    List<PendingTransaction> getAll();
+
+    List<PendingTransaction> getAllFor(Address sender);
+
+    int count();
+
+    void evict(PendingTransaction pendingTransaction);
+  }
+
+  private final long budget;
+  private final long lowWatermark;
+  private final PriorityQueue<Candidate> candidates =
+      new PriorityQueue<>(Comparator.comparingDouble(Candidate::key));
+
+  MemoryBudgetEviction(final long budget) {
+    this.budget = budget;
+    this.lowWatermark = (long) (budget * LOW_WATERMARK);
+  }
+
+  boolean isOverBudget(final long usedSpace) {
+    return usedSpace > budget;
+  }
+
+  /**
+   * Track a transaction added to the pool as a candidate for eviction
+   *
+   * @param pendingTransaction the added transaction
+   * @param pool the pool
+   */
+  void onAdded(final PendingTransaction pendingTransaction, final EvictablePool pool) {
+    offer(pendingTransaction);
+    if (candidates.size() > Math.max(MIN_CANDIDATES_TO_REBUILD, 2 * pool.count())) {
+      rebuild(pool.getAll());
+    }
+  }
+
+  /**
+   * Evict transactions, in score order, until the used memory goes below the low watermark.
+   *
+   * @param usedSpace the memory used by the pool
+   * @param pool the pool
+   * @return the evicted transactions, in the order they have been evicted
+   */
+  List<PendingTransaction> evict(final long usedSpace, final EvictablePool pool) {
+    final List<PendingTransaction> evictions = new ArrayList<>();
+    long remaining = usedSpace;
+    boolean rebuilt = false;
+    while (remaining > lowWatermark) {
+      if (candidates.isEmpty()) {
+        if (rebuilt) {
+          break;
+        }
+        rebuild(pool.getAll());
+        rebuilt = true;
+        continue;
+      }
+      final PendingTransaction candidate = candidates.poll().pendingTransaction();
+      final List<PendingTransaction> senderTxs = pool.getAllFor(candidate.getSender());
+      final PendingTransaction last = highestNonce(senderTxs);
+      if (last == null || !last.getHash().equals(candidate.getHash())) {
+        // stale, evicted by other means or not the highest nonce anymore
+        continue;
+      }
+      pool.evict(candidate);
+      evictions.add(candidate);
+      remaining -= candidate.memorySize();
+      senderTxs.stream()
+          .filter(pendingTransaction -> pendingTransaction.getNonce() == candidate.getNonce() - 1)
+          .findFirst()
+          .ifPresent(this::offer);
+    }
+    return evictions;
+  }
+
+  private void rebuild(final Collection<PendingTransaction> pendingTransactions) {
+    candidates.clear();
+    final Map<Address, PendingTransaction> highestBySender = new HashMap<>();
+    pendingTransactions.forEach(
+        pendingTransaction ->
+            highestBySender.merge(
+                pendingTransaction.getSender(),
+                pendingTransaction,
+                (a, b) -> a.getNonce() >= b.getNonce() ? a : b));
+    highestBySender.values().forEach(this::offer);
+  }
+
+  private void offer(final PendingTransaction pendingTransaction) {
+    if (!pendingTransaction.hasPriority()) {
+      candidates.add(new Candidate(pendingTransaction, key(pendingTransaction)));
+    }
+  }
+
+  private static PendingTransaction highestNonce(final List<PendingTransaction> senderTxs) {
+    PendingTransaction highest = null;
+    for (final PendingTransaction pendingTransaction : senderTxs) {
+      if (highest == null || pendingTransaction.getNonce() > highest.getNonce()) {
+        highest = pendingTransaction;
+      }
+    }
+    return highest;
+  }
+
+  /**
+   * The max fee the transaction could pay per byte of memory it uses, decreasing with age
+   *
+   * @param pendingTransaction the pending transaction
+   * @param now the current time in millis
+   * @return the score of the transaction, lower scores are evicted first
+   */
+  static double score(final PendingTransaction pendingTransaction, final long now) {
+    final long age = Math.max(0, now - pendingTransaction.getAddedAt());
+    return valueDensity(pendingTransaction)
+        * Math.pow(0.5, (double) age / SCORE_HALF_LIFE.toMillis());
+  }
+
+  /**
+   * The base 2 logarithm of the score, plus the number of half lives elapsed since the epoch, that
+   * orders the transactions like the score at any time.
+   */
+  static double key(final PendingTransaction pendingTransaction) {
+    return Math.log(valueDensity(pendingTransaction)) / Math.log(2)
+        + (double) pendingTransaction.getAddedAt() / SCORE_HALF_LIFE.toMillis();
+  }
+
+  private static double valueDensity(final PendingTransaction pendingTransaction) {
+    final double maxFee =
+        pendingTransaction.getTransaction().getMaxGasPrice().getAsBigInteger().doubleValue()
+            * pendingTransaction.getTransaction().getGasLimit();
+    return maxFee / pendingTransaction.memorySize();
+  }
+
+  private record Candidate(PendingTransaction pendingTransaction, double key) {}
+}
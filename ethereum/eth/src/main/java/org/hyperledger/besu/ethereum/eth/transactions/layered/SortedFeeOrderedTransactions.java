@@ -0,0 +1,80 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * Fee order for transactions that are ranked by a comparator that never changes, like the gas price
+ * one, so a sorted set is all that is needed.
+ */
+public class SortedFeeOrderedTransactions implements FeeOrderedTransactions {
+  private final Comparator<PendingTransaction> comparator;
+  private final TreeSet<PendingTransaction> orderByFee;
+
+  public SortedFeeOrderedTransactions(final Comparator<PendingTransaction> comparator) {
+    this.comparator = comparator;
+    this.orderByFee = new TreeSet<>(comparator);
+  }
+
+  @Override
+  public boolean add(final PendingTransaction pendingTransaction) {
+    return orderByFee.add(pendingTransaction);
+  }
+
+  @Override
+  public boolean remove(final PendingTransaction pendingTransaction) {
+    return orderByFee.remove(pendingTransaction);
+  }
+
+  @Override
+  public void clear() {
+    orderByFee.clear();
+  }
+
+  @Override
+  public int size() {
+    return orderByFee.size();
+  }
+
+  @Override
+  public PendingTransaction first() {
+    return orderByFee.first();
+  }
+
+  @Override
+  public PendingTransaction last() {
+    return orderByFee.last();
+  }
+
+  @Override
+  public Iterator<PendingTransaction> iterator() {
+    return orderByFee.iterator();
+  }
+
+  @Override
+  public Iterator<PendingTransaction> descendingIterator() {
+    return orderByFee.descendingIterator();
+  }
+
+  @Override
+  public int compare(final PendingTransaction pt1, final PendingTransaction pt2) {
+    return comparator.compare(pt1, pt2);
+  }
+}
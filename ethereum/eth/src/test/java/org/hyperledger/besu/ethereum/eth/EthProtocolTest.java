@@ -16,7 +16,10 @@ package org.hyperledger.besu.ethereum.eth;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV65;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessagePriority;
 
 import org.junit.jupiter.api.Test;
 
@@ -44,4 +47,17 @@ public class EthProtocolTest {
   public void eth66CheckWithNullNameReturnsFalse() {
     assertThat(EthProtocol.isEth66Compatible(Capability.create(null, 1))).isFalse();
   }
+
+  @Test
+  public void onlyTransactionAnnouncementsAreDroppable() {
+    final EthProtocol ethProtocol = EthProtocol.get();
+    final int version = EthProtocol.ETH68.getVersion();
+
+    assertThat(ethProtocol.messagePriority(version, EthPV65.NEW_POOLED_TRANSACTION_HASHES))
+        .isEqualTo(MessagePriority.LOW);
+    assertThat(ethProtocol.messagePriority(version, EthPV62.TRANSACTIONS))
+        .isEqualTo(MessagePriority.NORMAL);
+    assertThat(ethProtocol.messagePriority(version, EthPV65.POOLED_TRANSACTIONS))
+        .isEqualTo(MessagePriority.NORMAL);
+  }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class EncodedBlockDataCacheTest {
+  private static final long MAX_BYTES =
+      EthProtocolConfiguration.DEFAULT_ENCODED_BLOCK_CACHE_MAX_BYTES;
+  private final BlockDataGenerator dataGenerator = new BlockDataGenerator(0);
+  private final EncodedBlockDataCache cache =
+      new EncodedBlockDataCache(MAX_BYTES, hash -> true, new NoOpMetricsSystem());
+
+  @Test
+  public void dataIsCachedOnTheFirstRead() {
+    final Block block = dataGenerator.block();
+    final List<TransactionReceipt> receipts = dataGenerator.receipts(block);
+
+    assertThat(cache.header(block.getHash(), hash -> Optional.of(block.getHeader())))
+        .contains(EncodedBlockDataCache.encodeHeader(block.getHeader()));
+    assertThat(cache.body(block.getHash(), hash -> Optional.of(block.getBody())))
+        .contains(EncodedBlockDataCache.encodeBody(block.getBody()));
+    assertThat(cache.receipts(block.getHash(), hash -> Optional.of(receipts)))
+        .contains(EncodedBlockDataCache.encodeReceipts(receipts));
+
+    assertThat(cache.header(block.getHash(), notRead()))
+        .contains(EncodedBlockDataCache.encodeHeader(block.getHeader()));
+    assertThat(cache.body(block.getHash(), notRead()))
+        .contains(EncodedBlockDataCache.encodeBody(block.getBody()));
+    assertThat(cache.receipts(block.getHash(), notRead()))
+        .contains(EncodedBlockDataCache.encodeReceipts(receipts));
+  }
+
+  @Test
+  public void missingDataIsNotCached() {
+    final Block block = dataGenerator.block();
+
+    assertThat(cache.body(block.getHash(), notRead())).isEmpty();
+    assertThat(cache.body(block.getHash(), hash -> Optional.of(block.getBody())))
+        .contains(EncodedBlockDataCache.encodeBody(block.getBody()));
+  }
+
+  @Test
+  public void onlyBlocksNearTheChainHeadAreCached() {
+    final Block old = dataGenerator.block();
+    final long headNumber = old.getHeader().getNumber() + EncodedBlockDataCache.RECENT_BLOCKS + 1;
+    final Block recent =
+        dataGenerator.block(BlockDataGenerator.BlockOptions.create().setBlockNumber(headNumber));
+    final Blockchain blockchain = mock(Blockchain.class);
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(headNumber);
+    when(blockchain.getBlockHeader(old.getHash())).thenReturn(Optional.of(old.getHeader()));
+    when(blockchain.getBlockHeader(recent.getHash())).thenReturn(Optional.of(recent.getHeader()));
+    final EncodedBlockDataCache recentBlocksCache =
+        EncodedBlockDataCache.forRecentBlocks(MAX_BYTES, blockchain, new NoOpMetricsSystem());
+
+    recentBlocksCache.header(old.getHash(), hash -> Optional.of(old.getHeader()));
+    recentBlocksCache.header(recent.getHash(), hash -> Optional.of(recent.getHeader()));
+
+    assertThat(recentBlocksCache.header(old.getHash(), notRead())).isEmpty();
+    assertThat(recentBlocksCache.header(recent.getHash(), notRead()))
+        .contains(EncodedBlockDataCache.encodeHeader(recent.getHeader()));
+  }
+
+  @Test
+  public void disabledCacheDoesNotCache() {
+    final EncodedBlockDataCache disabled = EncodedBlockDataCache.disabled();
+    final Block block = dataGenerator.block();
+
+    assertThat(disabled.header(block.getHash(), hash -> Optional.of(block.getHeader())))
+        .isPresent();
+    assertThat(disabled.header(block.getHash(), notRead())).isEmpty();
+  }
+
+  private static <T> Function<Hash, Optional<T>> notRead() {
+    return hash -> Optional.empty();
+  }
+}
@@ -1092,10 +1092,12 @@ public final class EthProtocolManagerTest {
     final ScheduledExecutorService scheduled = mock(ScheduledExecutorService.class);
     final ExecutorService transactions = mock(ExecutorService.class);
     final ExecutorService services = mock(ExecutorService.class);
+    final ExecutorService pipelines = mock(ExecutorService.class);
     final ExecutorService computations = mock(ExecutorService.class);
     final ExecutorService blockCreation = mock(ExecutorService.class);
     final EthScheduler ethScheduler =
-        new EthScheduler(worker, scheduled, transactions, services, computations, blockCreation);
+        new EthScheduler(
+            worker, scheduled, transactions, services, pipelines, computations, blockCreation);
 
     // Create the fake TransactionMessage to feed to the EthManager.
     final BlockDataGenerator gen = new BlockDataGenerator(1);
@@ -1243,7 +1245,8 @@ public final class EthProtocolManagerTest {
             Optional.empty(),
             syncConfig,
             mock(EthScheduler.class),
-            mock(ForkIdManager.class))) {
+            mock(ForkIdManager.class),
+            new NoOpMetricsSystem())) {
 
       return ethManager;
     }
@@ -31,6 +31,7 @@ public class EthSchedulerShutdownTest {
   private ScheduledExecutorService scheduledExecutor;
   private ExecutorService txWorkerExecutor;
   private ExecutorService servicesExecutor;
+  private ExecutorService pipelineExecutor;
   private ExecutorService computationExecutor;
   private ExecutorService blockCreationExecutor;
 
@@ -40,6 +41,7 @@ public class EthSchedulerShutdownTest {
     syncWorkerExecutor = Executors.newSingleThreadExecutor();
     txWorkerExecutor = Executors.newSingleThreadExecutor();
     servicesExecutor = Executors.newSingleThreadExecutor();
+    pipelineExecutor = Executors.newSingleThreadExecutor();
     computationExecutor = Executors.newSingleThreadExecutor();
     blockCreationExecutor = Executors.newSingleThreadExecutor();
     ethScheduler =
@@ -48,6 +50,7 @@ public class EthSchedulerShutdownTest {
             scheduledExecutor,
             txWorkerExecutor,
             servicesExecutor,
+            pipelineExecutor,
             computationExecutor,
             blockCreationExecutor);
   }
@@ -33,6 +33,7 @@ import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -256,4 +257,26 @@ public class EthSchedulerTest {
 
     assertThat(processedStrings).containsExactlyElementsOf(expectedStrings);
   }
+
+  @Test
+  public void virtualThreadsRunOnlySyncWorkerTasks() throws Exception {
+    final EthScheduler realEthScheduler =
+        new EthScheduler(1, 1, 1, 1, true, new NoOpMetricsSystem());
+    try {
+      final CompletableFuture<Boolean> workerTask =
+          realEthScheduler.scheduleSyncWorkerTask(
+              () -> CompletableFuture.completedFuture(Thread.currentThread().isVirtual()));
+      final CompletableFuture<Boolean> serviceTask = new CompletableFuture<>();
+      realEthScheduler.executeServiceTask(
+          () -> serviceTask.complete(Thread.currentThread().isVirtual()));
+      final CompletableFuture<Boolean> computationTask =
+          realEthScheduler.scheduleComputationTask(() -> Thread.currentThread().isVirtual());
+
+      assertThat(workerTask.get(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(serviceTask.get(10, TimeUnit.SECONDS)).isFalse();
+      assertThat(computationTask.get(10, TimeUnit.SECONDS)).isFalse();
+    } finally {
+      realEthScheduler.stop();
+    }
+  }
 }
@@ -44,6 +44,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -325,7 +326,13 @@ public class EthServerTest {
     final EthProtocolConfiguration.Builder configBuilder = EthProtocolConfiguration.builder();
     final EthProtocolConfiguration ethConfig = configModifier.apply(configBuilder).build();
 
-    new EthServer(blockchain, worldStateArchive, transactionPool, ethMessages, ethConfig);
+    new EthServer(
+        blockchain,
+        worldStateArchive,
+        transactionPool,
+        ethMessages,
+        ethConfig,
+        new NoOpMetricsSystem());
   }
 
   private Map<Hash, Bytes> setupNodeData(final int count) {
@@ -350,6 +357,8 @@ public class EthServerTest {
       when(blockchain.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
       when(blockchain.getBlockHeader(block.getHeader().getNumber()))
           .thenReturn(Optional.of(block.getHeader()));
+      when(blockchain.getBlockHashByNumber(block.getHeader().getNumber()))
+          .thenReturn(Optional.of(block.getHash()));
     }
 
     return blocks;
@@ -0,0 +1,138 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class MonitoredExecutorsTest {
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ExecutorService executor;
+
+  @AfterEach
+  public void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void virtualThreadExecutorRunsTasksInVirtualThreads() throws Exception {
+    executor = MonitoredExecutors.newVirtualThreadExecutor("Test-Virtual", metricsSystem);
+
+    final CompletableFuture<Boolean> isVirtual =
+        CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor);
+
+    assertThat(isVirtual.get(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void virtualThreadExecutorReportsTheSameMetricsAsThreadPools() {
+    executor = MonitoredExecutors.newVirtualThreadExecutor("Test-Virtual", metricsSystem);
+    assertTaskMetrics("test_virtual");
+  }
+
+  @Test
+  public void threadPoolReportsTaskMetrics() {
+    executor = MonitoredExecutors.newCachedThreadPool("Test-Cached", metricsSystem);
+    assertTaskMetrics("test_cached");
+  }
+
+  @Test
+  public void scheduledThreadPoolReportsTaskTimes() {
+    final ScheduledExecutorService scheduledExecutor =
+        MonitoredExecutors.newScheduledThreadPool("Test-Scheduled", 1, metricsSystem);
+    executor = scheduledExecutor;
+
+    scheduledExecutor.schedule(this::awaitRelease, 10, TimeUnit.MILLISECONDS);
+    Awaitility.await()
+        .untilAsserted(
+            () ->
+                assertThat(metricsSystem.getGaugeValue("test_scheduled_active_threads_current"))
+                    .isEqualTo(1));
+    release.countDown();
+
+    Awaitility.await()
+        .untilAsserted(
+            () ->
+                assertThat(metricsSystem.getGaugeValue("test_scheduled_completed_tasks_total"))
+                    .isEqualTo(1));
+    assertThat(metricsSystem.getCounterValue("test_scheduled_task_run_microseconds_total"))
+        .isPositive();
+  }
+
+  @Test
+  public void virtualThreadExecutorCountsRejectedTasks() {
+    executor = MonitoredExecutors.newVirtualThreadExecutor("Test-Virtual", metricsSystem);
+    executor.shutdown();
+
+    assertThatThrownBy(() -> executor.execute(() -> {}))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(metricsSystem.getCounterValue("test_virtual_rejected_tasks_total")).isEqualTo(1);
+    assertThat(metricsSystem.getGaugeValue("test_virtual_submitted_tasks_total")).isZero();
+  }
+
+  private void assertTaskMetrics(final String metricName) {
+    for (int i = 0; i < 3; i++) {
+      executor.execute(this::awaitRelease);
+    }
+
+    Awaitility.await()
+        .untilAsserted(
+            () ->
+                assertThat(metricsSystem.getGaugeValue(metricName + "_active_threads_current"))
+                    .isEqualTo(3));
+    assertThat(metricsSystem.getGaugeValue(metricName + "_pool_size_current")).isEqualTo(3);
+    assertThat(metricsSystem.getGaugeValue(metricName + "_queue_length_current")).isZero();
+    assertThat(metricsSystem.getGaugeValue(metricName + "_submitted_tasks_total")).isEqualTo(3);
+    assertThat(metricsSystem.getGaugeValue(metricName + "_completed_tasks_total")).isZero();
+
+    release.countDown();
+
+    Awaitility.await()
+        .untilAsserted(
+            () -> {
+              assertThat(metricsSystem.getGaugeValue(metricName + "_completed_tasks_total"))
+                  .isEqualTo(3);
+              assertThat(metricsSystem.getGaugeValue(metricName + "_active_threads_current"))
+                  .isZero();
+            });
+    assertThat(metricsSystem.getCounterValue(metricName + "_task_wait_microseconds_total"))
+        .isNotNegative();
+    assertThat(metricsSystem.getCounterValue(metricName + "_task_run_microseconds_total"))
+        .isPositive();
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
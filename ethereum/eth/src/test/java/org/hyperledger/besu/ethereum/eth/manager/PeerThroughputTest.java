@@ -0,0 +1,107 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class PeerThroughputTest {
+  private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final PeerThroughput throughput = new PeerThroughput();
+
+  @Test
+  public void requestsAreNotLimitedBeforeTheFirstResponse() {
+    throughput.recordTimeout();
+
+    assertThat(throughput.hasEstimate()).isFalse();
+    assertThat(throughput.requestSize(128, 1024)).isEqualTo(128);
+    assertThat(throughput.responseBytes(1024, 512 * 1024)).isEqualTo(512 * 1024);
+  }
+
+  @Test
+  public void firstResponseSetsTheEstimate() {
+    throughput.recordResponse(100_000, ONE_SECOND / 2);
+
+    assertThat(throughput.hasEstimate()).isTrue();
+    assertThat(throughput.getBytesPerSecond()).isCloseTo(200_000, within(0.1));
+    assertThat(throughput.getLatencyMillis()).isCloseTo(500, within(0.1));
+  }
+
+  @Test
+  public void laterResponsesAreAveraged() {
+    throughput.recordResponse(100_000, ONE_SECOND);
+    throughput.recordResponse(200_000, ONE_SECOND);
+
+    assertThat(throughput.getBytesPerSecond())
+        .isCloseTo(100_000 + PeerThroughput.ALPHA * 100_000, within(0.1));
+    assertThat(throughput.getLatencyMillis()).isCloseTo(1000, within(0.1));
+  }
+
+  @Test
+  public void timeoutLowersTheEstimate() {
+    throughput.recordResponse(100_000, ONE_SECOND);
+    throughput.recordTimeout();
+
+    assertThat(throughput.getBytesPerSecond())
+        .isCloseTo(100_000 * (1 - PeerThroughput.ALPHA), within(0.1));
+  }
+
+  @Test
+  public void requestSizeFitsTheTargetResponseTime() {
+    // 20 items of 1 KiB per second
+    throughput.recordResponse(20 * 1024, ONE_SECOND);
+
+    final long expectedItems = 20 * PeerThroughput.TARGET_RESPONSE_MILLIS / 1000;
+    assertThat(throughput.requestSize(128, 1024)).isEqualTo(expectedItems);
+    assertThat(throughput.requestSize(5, 1024)).isEqualTo(5);
+  }
+
+  @Test
+  public void atLeastOneItemIsRequested() {
+    throughput.recordResponse(PeerThroughput.MIN_THROUGHPUT_SAMPLE_BYTES, 1000 * ONE_SECOND);
+
+    assertThat(throughput.requestSize(128, 1024)).isEqualTo(1);
+    assertThat(throughput.responseBytes(64 * 1024, 512 * 1024)).isEqualTo(64 * 1024);
+  }
+
+  @Test
+  public void smallResponsesDoNotCollapseBodyRequestSizes() {
+    final int bodyBytes = 64 * 1024;
+    // 1 MiB per second
+    throughput.recordResponse(1024 * 1024, ONE_SECOND);
+    final int bodiesBefore = throughput.requestSize(128, bodyBytes);
+
+    // a header announcement or an empty body only measures the round trip time
+    for (int i = 0; i < 40; i++) {
+      throughput.recordResponse(500, ONE_SECOND / 10);
+    }
+
+    assertThat(throughput.requestSize(128, bodyBytes)).isEqualTo(bodiesBefore).isGreaterThan(1);
+    assertThat(throughput.getLatencyMillis()).isCloseTo(100, within(1.0));
+  }
+
+  @Test
+  public void smallResponsesAloneDoNotSetTheEstimate() {
+    throughput.recordResponse(PeerThroughput.MIN_THROUGHPUT_SAMPLE_BYTES - 1, ONE_SECOND);
+
+    assertThat(throughput.hasEstimate()).isFalse();
+    assertThat(throughput.requestSize(128, 1024)).isEqualTo(128);
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode.FULL;
+import static org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode.LIGHT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.BlockValidator;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.ethereum.eth.sync.ValidationPolicy;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class WriteCombiningImportBlocksStepTest {
+
+  @Mock private ProtocolSchedule protocolSchedule;
+  @Mock private ProtocolSpec protocolSpec;
+  @Mock private ProtocolContext protocolContext;
+  @Mock private MutableBlockchain blockchain;
+  @Mock private BlockValidator blockValidator;
+  @Mock private ValidationPolicy validationPolicy;
+  @Mock private ValidationPolicy ommerValidationPolicy;
+  @Mock private BlockHeader pivotHeader;
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Block parentBlock = gen.genesisBlock();
+
+  private WriteCombiningImportBlocksStep importBlocksStep;
+
+  @BeforeEach
+  public void setUp() {
+    when(protocolSchedule.getByBlockHeader(any())).thenReturn(protocolSpec);
+    when(protocolSpec.getBlockValidator()).thenReturn(blockValidator);
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(blockchain.getBlockHeader(parentBlock.getHash()))
+        .thenReturn(Optional.of(parentBlock.getHeader()));
+    when(validationPolicy.getValidationModeForNextBlock()).thenReturn(FULL);
+    when(ommerValidationPolicy.getValidationModeForNextBlock()).thenReturn(LIGHT);
+
+    importBlocksStep =
+        new WriteCombiningImportBlocksStep(
+            protocolSchedule,
+            protocolContext,
+            validationPolicy,
+            ommerValidationPolicy,
+            null,
+            pivotHeader,
+            NoOpMetricsSystem.NO_OP_COUNTER,
+            NoOpMetricsSystem.NO_OP_OPERATION_TIMER);
+  }
+
+  @Test
+  public void blocksAreValidatedAgainstTheirParentAndStoredTogether() {
+    final List<BlockWithReceipts> blocksWithReceipts = blocksWithReceipts(5, -1);
+    blocksWithReceipts.forEach(this::validBlock);
+
+    importBlocksStep.accept(blocksWithReceipts);
+
+    BlockHeader parent = parentBlock.getHeader();
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      verify(blockValidator)
+          .fastBlockValidation(
+              protocolContext,
+              blockWithReceipts.getBlock(),
+              parent,
+              blockWithReceipts.getReceipts(),
+              blockWithReceipts.getBlock().getBody().getRequests(),
+              FULL,
+              LIGHT);
+      parent = blockWithReceipts.getHeader();
+    }
+    verify(blockchain).appendBlocks(blocksWithReceipts);
+  }
+
+  @Test
+  public void blocksBeforeABlockWithOmmersAreStoredFirst() {
+    final List<BlockWithReceipts> blocksWithReceipts = blocksWithReceipts(5, 2);
+    blocksWithReceipts.forEach(this::validBlock);
+
+    importBlocksStep.accept(blocksWithReceipts);
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<BlockWithReceipts>> storedBlocks =
+        ArgumentCaptor.forClass(List.class);
+    verify(blockchain, times(2)).appendBlocks(storedBlocks.capture());
+    assertThat(storedBlocks.getAllValues().get(0))
+        .containsExactlyElementsOf(blocksWithReceipts.subList(0, 2));
+    assertThat(storedBlocks.getAllValues().get(1))
+        .containsExactlyElementsOf(blocksWithReceipts.subList(2, 5));
+  }
+
+  @Test
+  public void invalidBlockIsNotStored() {
+    final List<BlockWithReceipts> blocksWithReceipts = blocksWithReceipts(3, -1);
+    validBlock(blocksWithReceipts.get(0));
+
+    assertThatThrownBy(() -> importBlocksStep.accept(blocksWithReceipts))
+        .isInstanceOf(InvalidBlockException.class);
+    verify(blockchain, never()).appendBlocks(anyList());
+  }
+
+  @Test
+  public void batchEndsOnceItReachesTheSize() {
+    final List<BlockWithReceipts> blocksWithReceipts = blocksWithReceipts(3, -1);
+    final long firstBlockSize =
+        WriteCombiningImportBlocksStep.estimatedSize(blocksWithReceipts.get(0));
+
+    assertThat(
+            WriteCombiningImportBlocksStep.endBatchAfterBytes(10, firstBlockSize)
+                .apply(blocksWithReceipts.subList(0, 1)))
+        .isEqualTo(0);
+    assertThat(
+            WriteCombiningImportBlocksStep.endBatchAfterBytes(10, firstBlockSize + 1)
+                .apply(blocksWithReceipts.subList(0, 1)))
+        .isEqualTo(9);
+  }
+
+  private void validBlock(final BlockWithReceipts blockWithReceipts) {
+    when(blockValidator.fastBlockValidation(
+            eq(protocolContext),
+            eq(blockWithReceipts.getBlock()),
+            any(),
+            eq(blockWithReceipts.getReceipts()),
+            any(),
+            eq(FULL),
+            eq(LIGHT)))
+        .thenReturn(true);
+  }
+
+  private List<BlockWithReceipts> blocksWithReceipts(final int count, final int blockWithOmmers) {
+    final List<BlockWithReceipts> blocksWithReceipts = new ArrayList<>(count);
+    Block parent = parentBlock;
+    for (int i = 0; i < count; i++) {
+      Block block = gen.block(gen.nextBlockOptions(parent).hasOmmers(false));
+      if (i == blockWithOmmers) {
+        block =
+            new Block(
+                block.getHeader(),
+                new BlockBody(block.getBody().getTransactions(), List.of(gen.header())));
+      }
+      blocksWithReceipts.add(new BlockWithReceipts(block, gen.receipts(block)));
+      parent = block;
+    }
+    return blocksWithReceipts;
+  }
+}
@@ -238,10 +238,10 @@ class FastWorldStateDownloaderTest {
     final DeterministicEthScheduler.TimeoutPolicy timeoutPolicy =
         DeterministicEthScheduler.TimeoutPolicy.timeoutXTimes(2);
     final EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create(timeoutPolicy);
-    final MockExecutorService serviceExecutor =
+    final MockExecutorService pipelineExecutor =
         ((DeterministicEthScheduler) ethProtocolManager.ethContext().getScheduler())
-            .mockServiceExecutor();
-    serviceExecutor.setAutoRun(false);
+            .mockPipelineExecutor();
+    pipelineExecutor.setAutoRun(false);
 
     // Setup "remote" state
     final WorldStateArchive remoteWorldStateArchive = createInMemoryWorldStateArchive();
@@ -272,7 +272,7 @@ class FastWorldStateDownloaderTest {
 
     final CompletableFuture<Void> result = downloader.run(null, fastSyncState);
 
-    serviceExecutor.runPendingFuturesInSeparateThreads(persistenceThread);
+    pipelineExecutor.runPendingFuturesInSeparateThreads(persistenceThread);
 
     // Respond to node data requests
     final RespondingEthPeer.Responder responder =
@@ -383,10 +383,10 @@ class FastWorldStateDownloaderTest {
   private void testCancellation(final boolean shouldCancelFuture) {
     final EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create();
     // Prevent the persistence service from running
-    final MockExecutorService serviceExecutor =
+    final MockExecutorService pipelineExecutor =
         ((DeterministicEthScheduler) ethProtocolManager.ethContext().getScheduler())
-            .mockServiceExecutor();
-    serviceExecutor.setAutoRun(false);
+            .mockPipelineExecutor();
+    pipelineExecutor.setAutoRun(false);
 
     // Setup "remote" state
     final WorldStateArchive remoteWorldStateArchive = createInMemoryWorldStateArchive();
@@ -447,7 +447,7 @@ class FastWorldStateDownloaderTest {
     }
 
     // Now allow the persistence service to run which should exit immediately
-    serviceExecutor.runPendingFutures();
+    pipelineExecutor.runPendingFutures();
 
     verify(taskCollection, times(1)).clear();
     verify(taskCollection, never()).remove();
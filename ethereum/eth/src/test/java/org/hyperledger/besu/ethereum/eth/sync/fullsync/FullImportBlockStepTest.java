@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockExcep
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,7 +55,11 @@ public class FullImportBlockStepTest {
 
     importBlocksStep =
         new FullImportBlockStep(
-            protocolSchedule, protocolContext, null, SyncTerminationCondition.never());
+            protocolSchedule,
+            protocolContext,
+            null,
+            SyncTerminationCondition.never(),
+            NoOpMetricsSystem.NO_OP_OPERATION_TIMER);
   }
 
   @Test
@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fullsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class PrefetchStateStepTest {
+  private static final KeyPair KEYS = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+  private static final Hash WORLD_STATE_ROOT = Hash.hash(Bytes32.fromHexString("0x01"));
+
+  @Mock private BonsaiWorldStateProvider worldStateArchive;
+  @Mock private BonsaiWorldStateKeyValueStorage worldStateStorage;
+  @Mock private BonsaiCachedMerkleTrieLoader merkleTrieLoader;
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  private PrefetchStateStep prefetchStateStep;
+
+  @BeforeEach
+  public void setUp() {
+    when(worldStateArchive.getWorldStateKeyValueStorage()).thenReturn(worldStateStorage);
+    when(worldStateArchive.getCachedMerkleTrieLoader()).thenReturn(merkleTrieLoader);
+    when(worldStateStorage.getWorldStateRootHash())
+        .thenReturn(Optional.<Bytes>of(WORLD_STATE_ROOT));
+    when(worldStateStorage.getAccount(any())).thenReturn(Optional.empty());
+    prefetchStateStep =
+        new PrefetchStateStep(worldStateArchive, NoOpMetricsSystem.NO_OP_OPERATION_TIMER);
+  }
+
+  @Test
+  public void accountsAndSlotsTouchedByTheBlockAreRead() {
+    final Address recipient = Address.fromHexString("0x1000");
+    final Address accessedAccount = Address.fromHexString("0x2000");
+    final Bytes32 accessedSlot = Bytes32.fromHexString("0x03");
+    final Transaction transaction =
+        new TransactionTestFixture()
+            .type(TransactionType.ACCESS_LIST)
+            .to(Optional.of(recipient))
+            .accessList(List.of(new AccessListEntry(accessedAccount, List.of(accessedSlot))))
+            .createTransaction(KEYS);
+    final Block block =
+        gen.block(BlockDataGenerator.BlockOptions.create().addTransaction(transaction));
+
+    assertThat(prefetchStateStep.apply(block)).isSameAs(block);
+
+    for (final Address account :
+        List.of(
+            block.getHeader().getCoinbase(), transaction.getSender(), recipient, accessedAccount)) {
+      verify(merkleTrieLoader).cacheAccountNodes(worldStateStorage, WORLD_STATE_ROOT, account);
+      verify(worldStateStorage).getAccount(account.addressHash());
+    }
+    final StorageSlotKey slotKey = new StorageSlotKey(UInt256.fromBytes(accessedSlot));
+    verify(merkleTrieLoader).cacheStorageNodes(worldStateStorage, accessedAccount, slotKey);
+    verify(worldStateStorage)
+        .getStorageValueByStorageSlotKey(accessedAccount.addressHash(), slotKey);
+  }
+
+  @Test
+  public void prefetchErrorsAreIgnored() {
+    doThrow(new IllegalStateException("closed"))
+        .when(merkleTrieLoader)
+        .cacheAccountNodes(any(), any(), any());
+    final Block block = gen.block();
+
+    assertThat(prefetchStateStep.apply(block)).isSameAs(block);
+  }
+
+  @Test
+  public void otherWorldStatesAreNotPrefetched() {
+    final WorldStateArchive forestWorldStateArchive = mock(WorldStateArchive.class);
+    prefetchStateStep =
+        new PrefetchStateStep(forestWorldStateArchive, NoOpMetricsSystem.NO_OP_OPERATION_TIMER);
+    final Block block = gen.block();
+
+    assertThat(prefetchStateStep.apply(block)).isSameAs(block);
+    verifyNoInteractions(forestWorldStateArchive);
+  }
+}
@@ -94,7 +94,10 @@ import org.hyperledger.besu.plugin.services.txvalidator.PluginTransactionPoolVal
 import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 import org.hyperledger.besu.util.number.Percentage;
 
+import java.io.File;
 import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -111,6 +114,7 @@ import org.junit.jupiter.api.condition.DisabledIf;
 import org.junit.jupiter.api.condition.EnabledIf;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -328,6 +332,35 @@ public abstract class AbstractTransactionPoolTest {
     assertThat(transactions.getPriorityTransactions()).hasSize(noLocalPriority ? 0 : 1);
   }
 
+  @Test
+  public void snapshotKeepsThePoolContentWhenDisabledAndRestoresIt(@TempDir final Path tempDir) {
+    final File snapshotFile = tempDir.resolve("txpool.snapshot").toFile();
+    final Consumer<ImmutableTransactionPoolConfiguration.Builder> snapshotConfig =
+        b ->
+            b.minGasPrice(Wei.of(2))
+                .unstable(
+                    ImmutableTransactionPoolConfiguration.Unstable.builder()
+                        .snapshotEnabled(true)
+                        .snapshotFile(snapshotFile)
+                        .build());
+    transactionPool = createTransactionPool(snapshotConfig);
+    givenTransactionIsValid(transaction0);
+    givenTransactionIsValid(transaction1);
+    addAndAssertRemoteTransactionsValid(transaction0);
+    addAndAssertRemoteTransactionsValid(transaction1);
+
+    transactionPool.setDisabled().join();
+
+    assertThat(new TransactionPoolSnapshot(snapshotFile).load())
+        .extracting(TransactionPoolSnapshot.Entry::transaction)
+        .containsExactlyInAnyOrder(transaction0, transaction1);
+
+    transactionPool = createTransactionPool(snapshotConfig);
+
+    assertTransactionPending(transaction0);
+    assertTransactionPending(transaction1);
+  }
+
   @Test
   public void shouldRemoveTransactionsFromPendingListWhenIncludedInBlockOnchain() {
     givenTransactionIsValid(transaction0);
@@ -546,6 +579,29 @@ public abstract class AbstractTransactionPoolTest {
     addAndAssertRemotePriorityTransactionsValid(transaction);
   }
 
+  @Test
+  public void shouldValidateLargeRemoteBatchesInParallelAndInsertThemInNonceOrder() {
+    final List<Transaction> remoteTransactions = new ArrayList<>();
+    for (int sender = 0; sender < 5; sender++) {
+      final KeyPair keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+      for (int nonce = 0; nonce < 20; nonce++) {
+        final Transaction transaction = createTransaction(nonce, keyPair);
+        givenTransactionIsValid(transaction);
+        remoteTransactions.add(transaction);
+      }
+    }
+    // the insertion stage must sort them back by sender and nonce
+    Collections.reverse(remoteTransactions);
+
+    final var results = transactionPool.addRemoteTransactions(remoteTransactions);
+
+    assertThat(results).hasSize(remoteTransactions.size());
+    assertThat(results.values()).allMatch(ValidationResult::isValid);
+    remoteTransactions.forEach(this::assertTransactionPending);
+    verify(transactionBroadcaster)
+        .onTransactionsAdded(argThat(added -> added.size() == remoteTransactions.size()));
+  }
+
   @Test
   public void shouldNotAddRemoteTransactionsThatAreInvalidAccordingToStateDependentChecks() {
     givenTransactionIsValid(transaction0);
@@ -0,0 +1,125 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.BlobsWithCommitments;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlobTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapBlobsTest {
+  private static final KeyPair KEYS = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
+  private final OffHeapBlobs offHeapBlobs =
+      new OffHeapBlobs(new NoOpMetricsSystem(), Long.MAX_VALUE);
+
+  @Test
+  public void blobTransactionIsTheSameWithBlobsOffHeap() {
+    final Transaction transaction = createBlobTransaction(3);
+    final int size = transaction.getSize();
+
+    final Transaction offHeapTransaction = offHeapBlobs.moveOffHeap(transaction);
+
+    assertThat(offHeapTransaction).isNotSameAs(transaction);
+    assertThat(offHeapTransaction).isEqualTo(transaction);
+    assertThat(offHeapTransaction.getHash()).isEqualTo(transaction.getHash());
+    assertThat(offHeapTransaction.getSender()).isEqualTo(transaction.getSender());
+    assertThat(offHeapTransaction.getSize()).isEqualTo(size);
+    assertThat(offHeapTransaction.getBlobsWithCommitments())
+        .isEqualTo(transaction.getBlobsWithCommitments());
+    assertThat(
+            TransactionEncoder.encodeOpaqueBytes(
+                offHeapTransaction, EncodingContext.POOLED_TRANSACTION))
+        .isEqualTo(
+            TransactionEncoder.encodeOpaqueBytes(transaction, EncodingContext.POOLED_TRANSACTION));
+  }
+
+  @Test
+  public void blobsOffHeapAreTracked() {
+    final Transaction transaction = createBlobTransaction(2);
+    final long blobsSize =
+        transaction.getBlobsWithCommitments().get().getBlobs().stream()
+            .mapToLong(blob -> blob.getData().size())
+            .sum();
+
+    final Transaction offHeapTransaction = offHeapBlobs.moveOffHeap(transaction);
+
+    assertThat(offHeapTransaction.getBlobsWithCommitments()).isPresent();
+    assertThat(offHeapBlobs.getBlobCount()).isEqualTo(2);
+    assertThat(offHeapBlobs.getBlobBytes()).isEqualTo(blobsSize);
+  }
+
+  @Test
+  public void detachedCopyKeepsTheBlobsOffHeap() {
+    final Transaction offHeapTransaction = offHeapBlobs.moveOffHeap(createBlobTransaction(1));
+
+    final Transaction detached = offHeapTransaction.detachedCopy();
+
+    assertThat(detached.getBlobsWithCommitments().get().getBlobs().getFirst().getData())
+        .isSameAs(
+            offHeapTransaction.getBlobsWithCommitments().get().getBlobs().getFirst().getData());
+    assertThat(offHeapBlobs.getBlobCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void blobsAreKeptOnHeapWhenTheStoreIsFull() {
+    final Transaction first = createBlobTransaction(2);
+    final long firstBlobsSize =
+        first.getBlobsWithCommitments().get().getBlobs().stream()
+            .mapToLong(blob -> blob.getData().size())
+            .sum();
+    final OffHeapBlobs boundedOffHeapBlobs =
+        new OffHeapBlobs(new NoOpMetricsSystem(), firstBlobsSize);
+
+    assertThat(boundedOffHeapBlobs.moveOffHeap(first)).isNotSameAs(first);
+    final Transaction second = createBlobTransaction(1);
+    assertThat(boundedOffHeapBlobs.moveOffHeap(second)).isSameAs(second);
+    assertThat(boundedOffHeapBlobs.getBlobCount()).isEqualTo(2);
+    assertThat(boundedOffHeapBlobs.getBlobBytes()).isEqualTo(firstBlobsSize);
+  }
+
+  @Test
+  public void transactionWithoutBlobsIsNotCopied() {
+    final Transaction transaction = new TransactionTestFixture().createTransaction(KEYS);
+
+    assertThat(offHeapBlobs.moveOffHeap(transaction)).isSameAs(transaction);
+    assertThat(offHeapBlobs.getBlobCount()).isZero();
+  }
+
+  private static Transaction createBlobTransaction(final int blobCount) {
+    final BlobsWithCommitments blobsWithCommitments =
+        new BlobTestFixture().createBlobsWithCommitments(blobCount);
+    return new TransactionTestFixture()
+        .type(TransactionType.BLOB)
+        .gasPrice(null)
+        .maxFeePerGas(Optional.of(Wei.of(5000L)))
+        .maxPriorityFeePerGas(Optional.of(Wei.of(1000L)))
+        .blobsWithCommitments(Optional.of(blobsWithCommitments))
+        .createTransaction(KEYS);
+  }
+}
@@ -318,7 +318,8 @@ public class TransactionPoolFactoryTest {
             Optional.empty(),
             mock(SynchronizerConfiguration.class),
             mock(EthScheduler.class),
-            mock(ForkIdManager.class));
+            mock(ForkIdManager.class),
+            new NoOpMetricsSystem());
   }
 
   @Test
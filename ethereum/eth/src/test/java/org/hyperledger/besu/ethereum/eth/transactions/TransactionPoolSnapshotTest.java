@@ -0,0 +1,227 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlobTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TransactionPoolSnapshotTest {
+  private static final KeyPair KEYS = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
+  @TempDir private Path tempDir;
+  private File file;
+  private final Collection<PendingTransaction> poolContent = new ArrayList<>();
+
+  @BeforeEach
+  public void setUp() {
+    file = tempDir.resolve("txpool.snapshot").toFile();
+  }
+
+  @Test
+  public void addedAndDroppedTransactionsAreReloaded() {
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file);
+    final Transaction tx0 = createTransaction(0);
+    final Transaction tx1 = createTransaction(1);
+    final Transaction tx2 = createTransaction(2);
+
+    snapshot.start(() -> poolContent);
+    snapshot.onTransactionAdded(tx0, true);
+    snapshot.onTransactionAdded(tx1, false);
+    snapshot.onTransactionAdded(tx2, false);
+    snapshot.onTransactionDropped(tx1);
+    snapshot.stop();
+
+    assertThat(new TransactionPoolSnapshot(file).load())
+        .containsExactly(
+            new TransactionPoolSnapshot.Entry(tx0, true),
+            new TransactionPoolSnapshot.Entry(tx2, false));
+  }
+
+  @Test
+  public void startCompactsToThePoolContent() {
+    final Transaction tx0 = createTransaction(0);
+    final Transaction tx1 = createTransaction(1);
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file);
+    snapshot.start(() -> poolContent);
+    snapshot.onTransactionAdded(tx0, false);
+    snapshot.stop();
+
+    poolContent.add(new PendingTransaction.Local(tx1));
+    snapshot.start(() -> poolContent);
+    snapshot.stop();
+
+    assertThat(snapshot.load()).containsExactly(new TransactionPoolSnapshot.Entry(tx1, true));
+  }
+
+  @Test
+  public void changesAreNotRecordedBeforeStart() {
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file);
+    snapshot.onTransactionAdded(createTransaction(0), false);
+    snapshot.flush();
+
+    assertThat(snapshot.isRecording()).isFalse();
+    assertThat(file).doesNotExist();
+    assertThat(snapshot.load()).isEmpty();
+  }
+
+  @Test
+  public void truncatedLastRecordIsIgnored() throws IOException {
+    final Transaction tx0 = createTransaction(0);
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file);
+    snapshot.start(() -> poolContent);
+    snapshot.onTransactionAdded(tx0, false);
+    snapshot.onTransactionAdded(createTransaction(1), false);
+    snapshot.stop();
+
+    try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - 3);
+    }
+
+    assertThat(snapshot.load()).containsExactly(new TransactionPoolSnapshot.Entry(tx0, false));
+  }
+
+  @Test
+  public void corruptedRecordStopsTheLoad() throws IOException {
+    final Transaction tx0 = createTransaction(0);
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file);
+    snapshot.start(() -> poolContent);
+    snapshot.onTransactionAdded(tx0, false);
+    snapshot.flush();
+    final long firstRecordEnd = file.length();
+    snapshot.onTransactionAdded(createTransaction(1), false);
+    snapshot.stop();
+
+    try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      // flip a byte in the payload of the second record
+      raf.seek(firstRecordEnd + 10);
+      final int value = raf.read();
+      raf.seek(firstRecordEnd + 10);
+      raf.write(value ^ 0xFF);
+    }
+
+    assertThat(snapshot.load()).containsExactly(new TransactionPoolSnapshot.Entry(tx0, false));
+  }
+
+  @Test
+  public void logIsCompactedWhenItGrowsMoreThanThePool() {
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file, 4);
+    final Transaction kept = createTransaction(0);
+    snapshot.start(() -> poolContent);
+
+    for (int i = 1; i <= 10; i++) {
+      final Transaction dropped = createTransaction(i);
+      snapshot.onTransactionAdded(dropped, false);
+      snapshot.onTransactionDropped(dropped);
+    }
+    snapshot.onTransactionAdded(kept, false);
+    poolContent.add(new PendingTransaction.Remote(kept));
+    snapshot.flush();
+    final long compactedLength = file.length();
+    snapshot.stop();
+
+    assertThat(compactedLength).isLessThan(2L * kept.getSize() + 100);
+    assertThat(snapshot.load()).containsExactly(new TransactionPoolSnapshot.Entry(kept, false));
+  }
+
+  @Test
+  public void blobTransactionsAreReloadedWithTheirBlobs() {
+    final Transaction blobTx = createBlobTransaction(0);
+    final Transaction offHeapBlobTx =
+        new OffHeapBlobs(new NoOpMetricsSystem(), Long.MAX_VALUE)
+            .moveOffHeap(createBlobTransaction(1));
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file);
+    snapshot.start(() -> poolContent);
+    snapshot.onTransactionAdded(blobTx, false);
+    snapshot.onTransactionAdded(offHeapBlobTx, true);
+    snapshot.stop();
+
+    assertBlobTransactionsReloaded(snapshot.load(), blobTx, offHeapBlobTx);
+  }
+
+  @Test
+  public void compactionKeepsTheBlobs() {
+    final Transaction blobTx = createBlobTransaction(0);
+    final Transaction offHeapBlobTx =
+        new OffHeapBlobs(new NoOpMetricsSystem(), Long.MAX_VALUE)
+            .moveOffHeap(createBlobTransaction(1));
+    poolContent.add(new PendingTransaction.Remote(blobTx));
+    poolContent.add(new PendingTransaction.Local(offHeapBlobTx));
+    final TransactionPoolSnapshot snapshot = new TransactionPoolSnapshot(file);
+    snapshot.start(() -> poolContent);
+    snapshot.stop();
+
+    assertBlobTransactionsReloaded(snapshot.load(), blobTx, offHeapBlobTx);
+  }
+
+  private static void assertBlobTransactionsReloaded(
+      final List<TransactionPoolSnapshot.Entry> entries,
+      final Transaction blobTx,
+      final Transaction offHeapBlobTx) {
+    assertThat(entries)
+        .containsExactly(
+            new TransactionPoolSnapshot.Entry(blobTx, false),
+            new TransactionPoolSnapshot.Entry(offHeapBlobTx, true));
+    assertThat(entries.get(0).transaction().getBlobsWithCommitments())
+        .isPresent()
+        .isEqualTo(blobTx.getBlobsWithCommitments());
+    assertThat(entries.get(1).transaction().getBlobsWithCommitments())
+        .isPresent()
+        .isEqualTo(offHeapBlobTx.getBlobsWithCommitments());
+  }
+
+  @Test
+  public void unsupportedVersionIsIgnored() throws IOException {
+    Files.write(file.toPath(), new byte[] {0x54, 0x58, 0x50, 0x53, 0, 0, 0, 99, 1, 0, 0, 0});
+
+    assertThat(new TransactionPoolSnapshot(file).load()).isEmpty();
+  }
+
+  private static Transaction createTransaction(final long nonce) {
+    return new TransactionTestFixture().nonce(nonce).createTransaction(KEYS);
+  }
+
+  private static Transaction createBlobTransaction(final long nonce) {
+    return new TransactionTestFixture()
+        .type(TransactionType.BLOB)
+        .nonce(nonce)
+        .gasPrice(null)
+        .maxFeePerGas(Optional.of(Wei.of(5000L)))
+        .maxPriorityFeePerGas(Optional.of(Wei.of(1000L)))
+        .blobsWithCommitments(Optional.of(new BlobTestFixture().createBlobsWithCommitments(1)))
+        .createTransaction(KEYS);
+  }
+}
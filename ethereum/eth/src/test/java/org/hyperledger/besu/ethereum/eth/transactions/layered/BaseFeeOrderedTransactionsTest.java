@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BaseFeeOrderedTransactionsTest extends BaseTransactionPoolTest {
+  private static final Wei INITIAL_BASE_FEE = Wei.of(50);
+  private static final List<Wei> BASE_FEES =
+      List.of(Wei.of(10), Wei.of(80), Wei.ZERO, Wei.of(120), Wei.of(45), Wei.of(45), Wei.ONE);
+
+  private final Random random = new Random(42);
+  private final List<PendingTransaction> pendingTransactions = new ArrayList<>();
+  private BaseFeeOrderedTransactions orderByFee;
+
+  @BeforeEach
+  public void setUp() {
+    orderByFee = new BaseFeeOrderedTransactions(INITIAL_BASE_FEE);
+    for (final KeyPair keys : List.of(KEYS1, KEYS2)) {
+      for (int nonce = 0; nonce < 100; nonce++) {
+        final var type = random.nextBoolean() ? TransactionType.EIP1559 : TransactionType.FRONTIER;
+        final Wei maxFee = Wei.of(random.nextInt(100));
+        // sometimes the max priority fee is above the max fee
+        final Wei maxPriorityFee = Wei.of(random.nextInt(110));
+        final var pendingTransaction =
+            createRemotePendingTransaction(
+                createTransaction(type, nonce, maxFee, maxPriorityFee, 0, 0, keys),
+                random.nextInt(10) == 0);
+        pendingTransactions.add(pendingTransaction);
+        assertThat(orderByFee.add(pendingTransaction)).isTrue();
+      }
+    }
+  }
+
+  @Test
+  public void orderMatchesFullSortAfterEveryBaseFeeChange() {
+    assertOrderMatchesFullSort(INITIAL_BASE_FEE);
+    for (final Wei baseFee : BASE_FEES) {
+      orderByFee.updateBaseFee(baseFee);
+      assertOrderMatchesFullSort(baseFee);
+    }
+  }
+
+  @Test
+  public void removedTransactionsAreNotMovedOnBaseFeeChange() {
+    final List<PendingTransaction> kept = new ArrayList<>();
+    for (int i = 0; i < pendingTransactions.size(); i++) {
+      final var pendingTransaction = pendingTransactions.get(i);
+      if (i % 2 == 0) {
+        assertThat(orderByFee.remove(pendingTransaction)).isTrue();
+        assertThat(orderByFee.remove(pendingTransaction)).isFalse();
+      } else {
+        kept.add(pendingTransaction);
+      }
+      // removing while the base fee changes, so the txs are taken from both sets
+      if (i % 20 == 0) {
+        orderByFee.updateBaseFee(BASE_FEES.get(i / 20 % BASE_FEES.size()));
+      }
+    }
+    pendingTransactions.retainAll(kept);
+
+    for (final Wei baseFee : BASE_FEES) {
+      orderByFee.updateBaseFee(baseFee);
+      assertOrderMatchesFullSort(baseFee);
+    }
+  }
+
+  @Test
+  public void lowestMatchingStopsAtFirstNotMatching() {
+    final Wei baseFee = Wei.of(40);
+    orderByFee.updateBaseFee(baseFee);
+
+    final var belowBaseFee =
+        orderByFee.getLowestMatching(pt -> pt.getTransaction().getMaxGasPrice().lessThan(baseFee));
+
+    assertThat(belowBaseFee)
+        .containsExactlyInAnyOrderElementsOf(
+            pendingTransactions.stream()
+                .filter(pt -> pt.getTransaction().getMaxGasPrice().lessThan(baseFee))
+                .toList());
+  }
+
+  @Test
+  public void emptyAfterClear() {
+    orderByFee.clear();
+
+    assertThat(orderByFee.isEmpty()).isTrue();
+    assertThat(orderByFee.iterator()).isExhausted();
+
+    orderByFee.updateBaseFee(Wei.ZERO);
+    assertThat(orderByFee.iterator()).isExhausted();
+  }
+
+  private void assertOrderMatchesFullSort(final Wei baseFee) {
+    final Optional<Wei> maybeBaseFee = Optional.of(baseFee);
+    final List<PendingTransaction> expected =
+        pendingTransactions.stream()
+            .sorted(
+                Comparator.comparing(PendingTransaction::hasPriority)
+                    .thenComparing(
+                        (PendingTransaction pt) ->
+                            pt.getTransaction().getEffectivePriorityFeePerGas(maybeBaseFee))
+                    .thenComparing((PendingTransaction pt) -> pt.getTransaction().getMaxGasPrice())
+                    .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
+                    .thenComparing(PendingTransaction::getSequence))
+            .toList();
+
+    assertThat(orderByFee.size()).isEqualTo(expected.size());
+    assertThat(orderByFee).containsExactlyElementsOf(expected);
+    assertThat(orderByFee.descendingIterator())
+        .toIterable()
+        .containsExactlyElementsOf(Lists.reverse(expected));
+    assertThat(orderByFee.first()).isEqualTo(expected.get(0));
+    assertThat(orderByFee.last()).isEqualTo(expected.get(expected.size() - 1));
+  }
+}
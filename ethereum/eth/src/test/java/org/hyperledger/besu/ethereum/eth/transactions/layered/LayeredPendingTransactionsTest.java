@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.datatypes.TransactionType.BLOB;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.ADDED;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.ALREADY_KNOWN;
+import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.EVICTED_OVER_MEMORY_BUDGET;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.NONCE_TOO_FAR_IN_FUTURE_FOR_SENDER;
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult.REJECTED_UNDERPRICED_REPLACEMENT;
 import static org.hyperledger.besu.ethereum.eth.transactions.layered.TransactionsLayer.RemovalReason.DROPPED;
@@ -38,6 +39,7 @@ import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.crypto.KeyPair;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
@@ -59,6 +61,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -276,6 +280,38 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
     verify(droppedListener).onTransactionDropped(firstTxs.get(0));
   }
 
+  @Test
+  public void newTransactionEvictedOverMemoryBudgetIsRejected() {
+    final var expensive =
+        createRemotePendingTransaction(
+            createTransaction(TransactionType.EIP1559, 0, Wei.of(5000), 0, KEYS1));
+    final var cheap =
+        createRemotePendingTransaction(
+            createTransaction(TransactionType.EIP1559, 0, Wei.of(200), 0, KEYS2));
+    // only one of the two transactions fits in the budget
+    final TransactionPoolConfiguration budgetConfig =
+        ImmutableTransactionPoolConfiguration.builder()
+            .from(poolConf)
+            .unstable(
+                ImmutableTransactionPoolConfiguration.Unstable.builder()
+                    .memoryBudgetBytes(expensive.memorySize() * 3 / 2)
+                    .build())
+            .build();
+    final var budgetPendingTransactions =
+        new LayeredPendingTransactions(
+            budgetConfig, createLayers(budgetConfig).prioritizedTransactions, ethScheduler);
+    budgetPendingTransactions.subscribeDroppedTransactions(droppedListener);
+
+    assertThat(budgetPendingTransactions.addTransaction(expensive, Optional.empty()))
+        .isEqualTo(ADDED);
+    assertThat(budgetPendingTransactions.addTransaction(cheap, Optional.empty()))
+        .isEqualTo(EVICTED_OVER_MEMORY_BUDGET);
+
+    assertTransactionPending(budgetPendingTransactions, expensive.getTransaction());
+    assertTransactionNotPending(budgetPendingTransactions, cheap.getTransaction());
+    verify(droppedListener).onTransactionDropped(cheap.getTransaction());
+  }
+
   @Test
   public void addTransactionForMultipleSenders() {
     final var transactionSenderA = createTransaction(0, KEYS1);
@@ -527,6 +563,41 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
     assertThat(pendingTransactions.getPendingTransactions()).containsExactly(pendingTx1);
   }
 
+  @Test
+  public void readsDoNotWaitForTheLockWhenNoWriteIsInProgress() throws Exception {
+    final var pendingTx0 = createRemotePendingTransaction(transaction0);
+    pendingTransactions.addTransaction(pendingTx0, Optional.empty());
+    assertThat(pendingTransactions.getPendingTransactions()).containsExactly(pendingTx0);
+
+    // hold the lock from this thread and read from another one
+    final Hash hash = transaction0.getHash();
+    synchronized (pendingTransactions) {
+      final var reads =
+          CompletableFuture.supplyAsync(
+              () ->
+                  pendingTransactions.containsTransaction(transaction0)
+                      && pendingTransactions.getTransactionByHash(hash).isPresent()
+                      && pendingTransactions.size() == 1
+                      && pendingTransactions.getPendingTransactions().size() == 1);
+      assertThat(reads.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  public void snapshotIsRefreshedAfterAWrite() {
+    final var pendingTx0 = createRemotePendingTransaction(transaction0);
+    pendingTransactions.addTransaction(pendingTx0, Optional.empty());
+    final var firstSnapshot = pendingTransactions.getPendingTransactions();
+    assertThat(pendingTransactions.getPendingTransactions()).isSameAs(firstSnapshot);
+
+    final var pendingTx1 = createRemotePendingTransaction(transaction1);
+    pendingTransactions.addTransaction(pendingTx1, Optional.empty());
+
+    assertThat(firstSnapshot).containsExactly(pendingTx0);
+    assertThat(pendingTransactions.getPendingTransactions())
+        .containsExactlyInAnyOrder(pendingTx0, pendingTx1);
+  }
+
   @Test
   public void temporarilyInvalidTransactionIsKeptInPendingTransactions() {
     final var pendingTx0 = createRemotePendingTransaction(transaction0);
@@ -0,0 +1,181 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class MemoryBudgetEvictionTest extends BaseTransactionPoolTest {
+  private static final long NOW = 1_000_000_000L;
+
+  @Test
+  public void lowestValueDensityIsEvictedFirst() {
+    final var cheap = pendingTx(0, 10, KEYS1, NOW, false);
+    final var expensive = pendingTx(0, 1000, KEYS2, NOW, false);
+
+    final var evictions = evictOne(List.of(expensive, cheap));
+
+    assertThat(evictions).containsExactly(cheap);
+  }
+
+  @Test
+  public void onlyTheHighestNonceOfASenderIsEvictable() {
+    final var cheapFirst = pendingTx(0, 10, KEYS1, NOW, false);
+    final var expensiveNext = pendingTx(1, 1000, KEYS1, NOW, false);
+    final var other = pendingTx(0, 100, KEYS2, NOW, false);
+
+    final var evictions = evictOne(List.of(cheapFirst, expensiveNext, other));
+
+    assertThat(evictions).containsExactly(other);
+  }
+
+  @Test
+  public void olderTransactionsAreEvictedFirst() {
+    final var old =
+        pendingTx(0, 100, KEYS1, NOW - MemoryBudgetEviction.SCORE_HALF_LIFE.toMillis(), false);
+    final var recent = pendingTx(0, 100, KEYS2, NOW, false);
+
+    final var evictions = evictOne(List.of(recent, old));
+
+    assertThat(evictions).containsExactly(old);
+  }
+
+  @Test
+  public void evictionOrderMatchesTheScoreAtAnyTime() {
+    final var oldExpensive =
+        pendingTx(0, 300, KEYS1, NOW - MemoryBudgetEviction.SCORE_HALF_LIFE.toMillis(), false);
+    final var recentCheap = pendingTx(0, 100, KEYS2, NOW, false);
+
+    final long later = NOW + MemoryBudgetEviction.SCORE_HALF_LIFE.toMillis() * 3;
+    assertThat(MemoryBudgetEviction.score(recentCheap, later))
+        .isLessThan(MemoryBudgetEviction.score(oldExpensive, later));
+    assertThat(MemoryBudgetEviction.key(recentCheap))
+        .isLessThan(MemoryBudgetEviction.key(oldExpensive));
+  }
+
+  @Test
+  public void priorityTransactionsAreNeverEvicted() {
+    final var priority = pendingTx(0, 10, KEYS1, NOW, true);
+    final var remote = pendingTx(0, 1000, KEYS2, NOW, false);
+    final var pool = new FakePool(List.of(priority, remote));
+
+    final var evictions = new MemoryBudgetEviction(1).evict(pool.usedSpace(), pool);
+
+    assertThat(evictions).containsExactly(remote);
+    assertThat(pool.pendingTxs).containsExactly(priority);
+  }
+
+  @Test
+  public void evictionsGoBelowTheLowWatermark() {
+    final List<PendingTransaction> pendingTxs =
+        List.of(
+            pendingTx(0, 10, KEYS1, NOW, false),
+            pendingTx(1, 20, KEYS1, NOW, false),
+            pendingTx(2, 30, KEYS1, NOW, false),
+            pendingTx(0, 40, KEYS2, NOW, false),
+            pendingTx(1, 50, KEYS2, NOW, false));
+    final long txSize = pendingTxs.getFirst().memorySize();
+    final var pool = new FakePool(pendingTxs);
+    // over the budget, and 2 evictions are needed to go below 90% of it
+    final var memoryBudgetEviction = new MemoryBudgetEviction(txSize * 4 + txSize / 4);
+
+    assertThat(memoryBudgetEviction.isOverBudget(pool.usedSpace())).isTrue();
+    final var evictions = memoryBudgetEviction.evict(pool.usedSpace(), pool);
+
+    assertThat(evictions).containsExactly(pendingTxs.get(2), pendingTxs.get(1));
+  }
+
+  @Test
+  public void candidatesNoLongerInThePoolAreSkipped() {
+    final var cheap = pendingTx(0, 10, KEYS1, NOW, false);
+    final var medium = pendingTx(0, 100, KEYS2, NOW, false);
+    final var expensive = pendingTx(1, 1000, KEYS2, NOW, false);
+    final var pool = new FakePool(List.of());
+    final var memoryBudgetEviction = new MemoryBudgetEviction(1);
+    for (final var pendingTx : List.of(cheap, medium, expensive)) {
+      pool.pendingTxs.add(pendingTx);
+      memoryBudgetEviction.onAdded(pendingTx, pool);
+    }
+    // removed from the pool by other means, for example confirmed in a block
+    pool.pendingTxs.remove(cheap);
+
+    final var evictions = memoryBudgetEviction.evict(pool.usedSpace(), pool);
+
+    assertThat(evictions).containsExactly(expensive, medium);
+  }
+
+  private List<PendingTransaction> evictOne(final List<PendingTransaction> pendingTxs) {
+    final var pool = new FakePool(pendingTxs);
+    final long usedSpace = pool.usedSpace();
+    // the low watermark is reached evicting a single transaction
+    final long budget = (long) ((usedSpace - 1) / MemoryBudgetEviction.LOW_WATERMARK);
+    return new MemoryBudgetEviction(budget).evict(usedSpace, pool);
+  }
+
+  private PendingTransaction pendingTx(
+      final long nonce,
+      final long maxGasPrice,
+      final KeyPair keys,
+      final long addedAt,
+      final boolean hasPriority) {
+    return PendingTransaction.newPendingTransaction(
+        createTransaction(TransactionType.EIP1559, nonce, Wei.of(maxGasPrice), 0, keys),
+        false,
+        hasPriority,
+        addedAt);
+  }
+
+  private static class FakePool implements MemoryBudgetEviction.EvictablePool {
+    private final List<PendingTransaction> pendingTxs;
+
+    FakePool(final List<PendingTransaction> pendingTxs) {
+      this.pendingTxs = new ArrayList<>(pendingTxs);
+    }
+
+    long usedSpace() {
+      return pendingTxs.stream().mapToLong(PendingTransaction::memorySize).sum();
+    }
+
+    @Override
+    public List<PendingTransaction> getAll() {
+      return List.copyOf(pendingTxs);
+    }
+
+    @Override
+    public List<PendingTransaction> getAllFor(final Address sender) {
+      return pendingTxs.stream().filter(pt -> pt.getSender().equals(sender)).toList();
+    }
+
+    @Override
+    public int count() {
+      return pendingTxs.size();
+    }
+
+    @Override
+    public void evict(final PendingTransaction pendingTransaction) {
+      pendingTxs.remove(pendingTransaction);
+    }
+  }
+}
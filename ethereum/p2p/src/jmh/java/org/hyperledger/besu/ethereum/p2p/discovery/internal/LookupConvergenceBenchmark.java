@@ -0,0 +1,186 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static java.util.Comparator.comparingInt;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Convergence of an iterative Kademlia lookup on a simulated in-process network, where every node
+ * has a {@link PeerTable} filled with a random sample of the other nodes and answering a
+ * FIND_NEIGHBORS is a call to the table of the queried node. Each lookup starts from a random node
+ * towards a random target, querying the {@code ALPHA} closest nodes not queried yet at each round,
+ * until the {@code K} closest nodes found have all been queried.
+ *
+ * <p>{@code bucketLookup} answers with {@link PeerTable#nearestBondedPeers(Bytes, int)}, that only
+ * reads the buckets that can hold the closest nodes, while {@code fullScanLookup} sorts all the
+ * peers of the table, as it was done before. The rounds and queries needed to converge are
+ * reported as secondary results.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LookupConvergenceBenchmark {
+  private static final int K = 16;
+  private static final int ALPHA = 3;
+
+  @Param({"1000", "5000"})
+  private int networkSize;
+
+  @Param({"500"})
+  private int knownPeersPerNode;
+
+  private final Map<Bytes, PeerTable> tables = new HashMap<>();
+  private final List<DiscoveryPeer> nodes = new ArrayList<>();
+  private Random random;
+
+  /** The rounds and queries of the lookups of an iteration. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Convergence {
+    public long rounds;
+    public long queries;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      rounds = 0;
+      queries = 0;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    random = new Random(42);
+    nodes.clear();
+    tables.clear();
+    for (int i = 0; i < networkSize; i++) {
+      final Endpoint endpoint =
+          new Endpoint(
+              "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff),
+              30303,
+              Optional.of(30303));
+      final DiscoveryPeer node =
+          DiscoveryPeer.fromIdAndEndpoint(Bytes.random(64, random), endpoint);
+      node.setStatus(PeerDiscoveryStatus.BONDED);
+      nodes.add(node);
+    }
+    for (final DiscoveryPeer node : nodes) {
+      final PeerTable table = new PeerTable(node.getId());
+      for (int i = 0; i < knownPeersPerNode; i++) {
+        table.tryAdd(nodes.get(random.nextInt(networkSize)));
+      }
+      tables.put(node.getId(), table);
+    }
+  }
+
+  @Benchmark
+  public int bucketLookup(final Convergence convergence) {
+    return lookup(PeerTable::nearestBondedPeers, convergence);
+  }
+
+  @Benchmark
+  public int fullScanLookup(final Convergence convergence) {
+    return lookup(
+        (table, target) -> {
+          final Bytes targetHash = Hash.keccak256(target);
+          return table
+              .streamAllPeers()
+              .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+              .sorted(
+                  comparingInt(p -> PeerDistanceCalculator.distance(p.keccak256(), targetHash)))
+              .limit(K)
+              .toList();
+        },
+        convergence);
+  }
+
+  private int lookup(
+      final BiFunction<PeerTable, Bytes, List<DiscoveryPeer>> findNeighbors,
+      final Convergence convergence) {
+    final DiscoveryPeer start = nodes.get(random.nextInt(networkSize));
+    final Bytes target = Bytes.random(64, random);
+    final Bytes targetHash = Hash.keccak256(target);
+
+    final Set<Bytes> seen = new HashSet<>();
+    final Set<Bytes> queried = new HashSet<>();
+    final List<DiscoveryPeer> closest = new ArrayList<>();
+    addCandidates(findNeighbors.apply(tables.get(start.getId()), target), seen, closest);
+    queried.add(start.getId());
+
+    while (true) {
+      closest.sort(comparingInt(p -> PeerDistanceCalculator.distance(p.keccak256(), targetHash)));
+      final List<DiscoveryPeer> toQuery =
+          closest.stream()
+              .limit(K)
+              .filter(p -> !queried.contains(p.getId()))
+              .limit(ALPHA)
+              .toList();
+      if (toQuery.isEmpty()) {
+        break;
+      }
+      convergence.rounds++;
+      for (final DiscoveryPeer peer : toQuery) {
+        convergence.queries++;
+        queried.add(peer.getId());
+        addCandidates(findNeighbors.apply(tables.get(peer.getId()), target), seen, closest);
+      }
+    }
+    return closest.size();
+  }
+
+  private static void addCandidates(
+      final List<DiscoveryPeer> neighbors,
+      final Set<Bytes> seen,
+      final List<DiscoveryPeer> closest) {
+    for (final DiscoveryPeer neighbor : neighbors) {
+      if (seen.add(neighbor.getId())) {
+        closest.add(neighbor);
+      }
+    }
+  }
+}
@@ -32,6 +32,7 @@ public class DiscoveryConfiguration {
   private List<EnodeURL> bootnodes = new ArrayList<>();
   private String dnsDiscoveryURL;
   private boolean discoveryV5Enabled = false;
+  private int discoveryV5BindPort = 0;
   private boolean filterOnEnrForkId = NetworkingConfiguration.DEFAULT_FILTER_ON_ENR_FORK_ID;
   private boolean includeBootnodesOnPeerRefresh = true;
 
@@ -134,6 +135,19 @@ public class DiscoveryConfiguration {
     return discoveryV5Enabled;
   }
 
+  public void setDiscoveryV5BindPort(final int discoveryV5BindPort) {
+    this.discoveryV5BindPort = discoveryV5BindPort;
+  }
+
+  /**
+   * The UDP port of Discovery Protocol v5, 0 to use the port after the discovery one.
+   *
+   * @return the UDP port of Discovery Protocol v5
+   */
+  public int getDiscoveryV5BindPort() {
+    return discoveryV5BindPort;
+  }
+
   public void setFilterOnEnrForkId(final boolean filterOnEnrForkId) {
     this.filterOnEnrForkId = filterOnEnrForkId;
   }
@@ -187,6 +201,8 @@ public class DiscoveryConfiguration {
         + dnsDiscoveryURL
         + ", isDiscoveryV5Enabled="
         + discoveryV5Enabled
+        + ", discoveryV5BindPort="
+        + discoveryV5BindPort
         + ", isFilterOnEnrForkIdEnabled="
         + filterOnEnrForkId
         + '}';
@@ -142,6 +142,15 @@ public class DiscoveryPeer extends DefaultPeer {
     this.forkId = ForkId.fromRawForkId(nodeRecord.get("eth"));
   }
 
+  /**
+   * Whether the node record of the peer advertises the snap protocol.
+   *
+   * @return true if the node record has a snap entry
+   */
+  public boolean advertisesSnap() {
+    return nodeRecord != null && nodeRecord.get("snap") != null;
+  }
+
   @Override
   public Optional<ForkId> getForkId() {
     return this.forkId;
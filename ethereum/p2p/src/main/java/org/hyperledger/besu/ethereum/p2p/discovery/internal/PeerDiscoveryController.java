@@ -110,6 +110,10 @@ public class PeerDiscoveryController {
   private final Cache<Bytes, DiscoveryPeer> bondingPeers =
       CacheBuilder.newBuilder().maximumSize(50).expireAfterWrite(10, TimeUnit.MINUTES).build();
   private final Cache<Bytes, Packet> cachedEnrRequests;
+  // The last node record received from each peer, reused when the peer bonds again with the same
+  // ENR sequence number instead of requesting it again.
+  private final Cache<Bytes, NodeRecord> knownNodeRecords =
+      CacheBuilder.newBuilder().maximumSize(4096).expireAfterAccess(1, TimeUnit.HOURS).build();
 
   private final Collection<DiscoveryPeer> bootstrapNodes;
 
@@ -335,7 +339,7 @@ public class PeerDiscoveryController {
             .ifPresent(
                 interaction -> {
                   if (filterOnEnrForkId) {
-                    requestENR(peer);
+                    requestENRIfChanged(peer, packet);
                   }
                   bondingPeers.invalidate(peerId);
                   addToPeerTable(peer);
@@ -380,6 +384,7 @@ public class PeerDiscoveryController {
                       packet.getPacketData(ENRResponsePacketData.class);
                   final NodeRecord enr = packetData.get().getEnr();
                   peer.setNodeRecord(enr);
+                  knownNodeRecords.put(peerId, enr);
                 });
         break;
     }
@@ -548,6 +553,29 @@ public class PeerDiscoveryController {
     dispatchInteraction(peer, peerInteractionState);
   }
 
+  /**
+   * Sets the node record already known for a peer that just bonded, if the PONG shows that it has
+   * not changed since, otherwise requests it.
+   *
+   * @param peer The bonded peer.
+   * @param pong The PONG packet of the peer.
+   */
+  private void requestENRIfChanged(final DiscoveryPeer peer, final Packet pong) {
+    final NodeRecord knownNodeRecord = knownNodeRecords.getIfPresent(peer.getId());
+    final boolean unchanged =
+        knownNodeRecord != null
+            && pong.getPacketData(PongPacketData.class)
+                .flatMap(PongPacketData::getEnrSeq)
+                .map(knownNodeRecord.getSeq()::equals)
+                .orElse(false);
+    if (unchanged) {
+      LOG.trace("Reusing known ENR of peer Id: {}", peer.getId());
+      peer.setNodeRecord(knownNodeRecord);
+    } else {
+      requestENR(peer);
+    }
+  }
+
   /**
    * Initiates an enr request cycle with a peer.
    *
@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 import org.hyperledger.besu.ethereum.p2p.peers.PeerId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -194,20 +195,46 @@ public class PeerTable {
    * Returns the <code>limit</code> peers (at most) bonded closest to the provided target, based on
    * the XOR distance between the keccak-256 hash of the ID and the keccak-256 hash of the target.
    *
+   * <p>Only the buckets that can hold the closest peers are read, instead of sorting the whole
+   * table. With {@code d} the distance of the target from us, the peers of bucket {@code d} are
+   * closer than {@code d} to the target, the peers of the buckets below it are all at distance
+   * {@code d}, and the peers of a bucket {@code i} above it are at distance {@code i}. So the
+   * buckets are read in this order, stopping once enough peers are found.
+   *
    * @param target The target node ID.
    * @param limit The amount of results to return.
    * @return The <code>limit</code> closest peers, at most.
    */
   public List<DiscoveryPeer> nearestBondedPeers(final Bytes target, final int limit) {
     final Bytes keccak256 = Hash.keccak256(target);
-    return streamAllPeers()
-        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+    final int targetDistance = PeerDistanceCalculator.distance(this.keccak256, keccak256);
+    final List<DiscoveryPeer> candidates = new ArrayList<>();
+    if (targetDistance > 0) {
+      addBondedPeers(table[targetDistance], candidates);
+    }
+    if (candidates.size() < limit) {
+      for (int i = 1; i < targetDistance; i++) {
+        addBondedPeers(table[i], candidates);
+      }
+    }
+    for (int i = targetDistance + 1; i <= N_BUCKETS && candidates.size() < limit; i++) {
+      addBondedPeers(table[i], candidates);
+    }
+    return candidates.stream()
         .sorted(
             comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
         .limit(limit)
         .collect(toList());
   }
 
+  private static void addBondedPeers(final Bucket bucket, final List<DiscoveryPeer> candidates) {
+    for (final DiscoveryPeer peer : bucket.getPeers()) {
+      if (peer.getStatus() == PeerDiscoveryStatus.BONDED) {
+        candidates.add(peer);
+      }
+    }
+  }
+
   public Stream<DiscoveryPeer> streamAllPeers() {
     return Arrays.stream(table).flatMap(e -> e.getPeers().stream());
   }
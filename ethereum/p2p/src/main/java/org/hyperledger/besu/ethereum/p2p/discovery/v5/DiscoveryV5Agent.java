@@ -0,0 +1,216 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.v5;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.crypto.SECPPrivateKey;
+import org.hyperledger.besu.cryptoservices.NodeKey;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+import org.hyperledger.besu.ethereum.p2p.peers.EnodeURLImpl;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.devp2p.EthereumNodeRecord;
+import org.ethereum.beacon.discovery.DiscoverySystem;
+import org.ethereum.beacon.discovery.DiscoverySystemBuilder;
+import org.ethereum.beacon.discovery.schema.EnrField;
+import org.ethereum.beacon.discovery.schema.IdentitySchema;
+import org.ethereum.beacon.discovery.schema.NodeRecord;
+import org.ethereum.beacon.discovery.schema.NodeRecordFactory;
+import org.ethereum.beacon.discovery.util.Functions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Discovers peers with Discovery Protocol v5, through the agent of the discovery library, that
+ * implements the wire protocol, the handshake, the sessions with the peers and the routing table.
+ *
+ * <p>The library handshake needs the node private key itself, so the agent is only available when
+ * the node key is held by the default key pair security module, otherwise discovery keeps running
+ * on v4 only. It runs next to the v4 agent, on its own UDP port: the v4 peers with a node record
+ * are used as entry points to the v5 network, since the bootnodes are enodes, and only the v5 nodes
+ * whose record has an {@code eth} entry are returned, the others being consensus layer nodes.
+ */
+public class DiscoveryV5Agent {
+  private static final Logger LOG = LoggerFactory.getLogger(DiscoveryV5Agent.class);
+  private static final String ETH_ENR_FIELD = "eth";
+  private static final int MAX_ENTRY_POINTS_PER_REFRESH = 16;
+
+  private final DiscoverySystem discoverySystem;
+  private final NodeRecord localNodeRecord;
+  // the peers built from the live nodes of the library, by node id, so they keep their state
+  // between refreshes as long as their record does not change
+  private final Cache<Bytes, DiscoveryPeer> peers =
+      CacheBuilder.newBuilder().maximumSize(4096).expireAfterAccess(1, TimeUnit.HOURS).build();
+  private final Cache<Bytes, Boolean> contactedEntryPoints =
+      CacheBuilder.newBuilder().maximumSize(4096).expireAfterWrite(1, TimeUnit.HOURS).build();
+
+  private DiscoveryV5Agent(
+      final DiscoverySystem discoverySystem, final NodeRecord localNodeRecord) {
+    this.discoverySystem = discoverySystem;
+    this.localNodeRecord = localNodeRecord;
+  }
+
+  /**
+   * Creates the agent, if the node private key is available.
+   *
+   * @param nodeKey the node key
+   * @param bindHost the host to listen on
+   * @param port the UDP port to listen on
+   * @param v4NodeRecord the node record of the v4 agent, whose entries are advertised on v5 too
+   * @return the agent, or empty if the node private key is not available
+   */
+  public static Optional<DiscoveryV5Agent> create(
+      final NodeKey nodeKey, final String bindHost, final int port, final NodeRecord v4NodeRecord) {
+    final Optional<SECPPrivateKey> privateKey = nodeKey.getPrivateKey();
+    if (privateKey.isEmpty()) {
+      return Optional.empty();
+    }
+    final NodeRecord localNodeRecord = createLocalNodeRecord(nodeKey, port, v4NodeRecord);
+    final DiscoverySystem discoverySystem =
+        new DiscoverySystemBuilder()
+            .listen(bindHost, port)
+            .secretKey(Functions.createSecretKey(privateKey.get().getEncodedBytes()))
+            .localNodeRecord(localNodeRecord)
+            .build();
+    return Optional.of(new DiscoveryV5Agent(discoverySystem, localNodeRecord));
+  }
+
+  /**
+   * The v5 node record has the same entries and sequence number as the v4 one, except the UDP port.
+   */
+  @VisibleForTesting
+  static NodeRecord createLocalNodeRecord(
+      final NodeKey nodeKey, final int port, final NodeRecord v4NodeRecord) {
+    final NodeRecord nodeRecord =
+        NodeRecordFactory.DEFAULT.createFromValues(
+            v4NodeRecord.getSeq(),
+            new EnrField(EnrField.ID, IdentitySchema.V4),
+            new EnrField(EnrField.PKEY_SECP256K1, v4NodeRecord.get(EnrField.PKEY_SECP256K1)),
+            new EnrField(EnrField.IP_V4, v4NodeRecord.get(EnrField.IP_V4)),
+            new EnrField(EnrField.TCP, v4NodeRecord.get(EnrField.TCP)),
+            new EnrField(EnrField.UDP, port),
+            new EnrField(ETH_ENR_FIELD, v4NodeRecord.get(ETH_ENR_FIELD)));
+    nodeRecord.setSignature(
+        nodeKey
+            .sign(Hash.keccak256(nodeRecord.serializeNoSignature()))
+            .encodedBytes()
+            .slice(0, 64));
+    return nodeRecord;
+  }
+
+  public CompletableFuture<Void> start() {
+    LOG.info("Starting Discovery Protocol v5 agent with node record {}", localNodeRecord);
+    return discoverySystem.start();
+  }
+
+  public void stop() {
+    discoverySystem.stop();
+  }
+
+  /**
+   * Contacts the v4 peers not contacted yet, so they join the v5 routing table if they support v5,
+   * and looks for new nodes.
+   *
+   * @param v4Peers the peers found by the v4 agent
+   */
+  public void refresh(final Stream<DiscoveryPeer> v4Peers) {
+    v4Peers
+        .map(DiscoveryPeer::getNodeRecord)
+        .flatMap(Optional::stream)
+        .filter(nodeRecord -> contactedEntryPoints.getIfPresent(nodeRecord.getNodeId()) == null)
+        .limit(MAX_ENTRY_POINTS_PER_REFRESH)
+        .forEach(
+            nodeRecord -> {
+              contactedEntryPoints.put(nodeRecord.getNodeId(), Boolean.TRUE);
+              discoverySystem
+                  .ping(nodeRecord)
+                  .exceptionally(
+                      error -> {
+                        LOG.trace("Node {} did not answer on v5", nodeRecord.getNodeId(), error);
+                        return null;
+                      });
+            });
+    discoverySystem
+        .searchForNewPeers()
+        .exceptionally(
+            error -> {
+              LOG.debug("Discovery Protocol v5 lookup failed", error);
+              return null;
+            });
+  }
+
+  /**
+   * Streams the live nodes of the v5 routing table whose record has an {@code eth} entry, as bonded
+   * peers with their node record, so they are filtered on the fork id as the v4 ones.
+   *
+   * @return the discovered peers
+   */
+  public Stream<DiscoveryPeer> streamDiscoveredPeers() {
+    return discoverySystem
+        .streamLiveNodes()
+        .filter(nodeRecord -> nodeRecord.get(ETH_ENR_FIELD) != null)
+        .map(this::toDiscoveryPeer)
+        .flatMap(Optional::stream);
+  }
+
+  private Optional<DiscoveryPeer> toDiscoveryPeer(final NodeRecord nodeRecord) {
+    final Optional<DiscoveryPeer> known =
+        Optional.ofNullable(peers.getIfPresent(nodeRecord.getNodeId()))
+            .filter(
+                peer ->
+                    peer.getNodeRecord()
+                        .map(record -> record.getSeq().equals(nodeRecord.getSeq()))
+                        .orElse(false));
+    if (known.isPresent()) {
+      return known;
+    }
+    final Optional<DiscoveryPeer> peer = fromNodeRecord(nodeRecord);
+    peer.ifPresent(p -> peers.put(nodeRecord.getNodeId(), p));
+    return peer;
+  }
+
+  @VisibleForTesting
+  static Optional<DiscoveryPeer> fromNodeRecord(final NodeRecord nodeRecord) {
+    try {
+      final EthereumNodeRecord enr = EthereumNodeRecord.fromRLP(nodeRecord.serialize());
+      if (enr.tcp() == null) {
+        return Optional.empty();
+      }
+      final DiscoveryPeer peer =
+          DiscoveryPeer.fromEnode(
+              EnodeURLImpl.builder()
+                  .ipAddress(enr.ip())
+                  .nodeId(enr.publicKey().bytes())
+                  .discoveryPort(Optional.ofNullable(enr.udp()))
+                  .listeningPort(enr.tcp())
+                  .build());
+      peer.setNodeRecord(nodeRecord);
+      peer.setStatus(PeerDiscoveryStatus.BONDED);
+      return Optional.of(peer);
+    } catch (final RuntimeException e) {
+      LOG.trace("Ignoring unusable node record {}", nodeRecord, e);
+      return Optional.empty();
+    }
+  }
+}
@@ -30,6 +30,7 @@ import org.hyperledger.besu.ethereum.p2p.discovery.VertxPeerDiscoveryAgent;
 import org.hyperledger.besu.ethereum.p2p.discovery.dns.DNSDaemon;
 import org.hyperledger.besu.ethereum.p2p.discovery.dns.DNSDaemonListener;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable;
+import org.hyperledger.besu.ethereum.p2p.discovery.v5.DiscoveryV5Agent;
 import org.hyperledger.besu.ethereum.p2p.peers.DefaultPeerPrivileges;
 import org.hyperledger.besu.ethereum.p2p.peers.EnodeURLImpl;
 import org.hyperledger.besu.ethereum.p2p.peers.LocalNode;
@@ -84,6 +85,7 @@ import io.vertx.core.ThreadingModel;
 import io.vertx.core.Vertx;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.devp2p.EthereumNodeRecord;
+import org.ethereum.beacon.discovery.schema.NodeRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -134,10 +136,12 @@ public class DefaultP2PNetwork implements P2PNetwork {
   private final ScheduledExecutorService peerConnectionScheduler =
       Executors.newSingleThreadScheduledExecutor();
   private final PeerDiscoveryAgent peerDiscoveryAgent;
+  private volatile Optional<DiscoveryV5Agent> discoveryV5Agent = Optional.empty();
   private final RlpxAgent rlpxAgent;
 
   private final NetworkingConfiguration config;
 
+  private final NodeKey nodeKey;
   private final Bytes nodeId;
   private final MutableLocalNode localNode;
 
@@ -190,6 +194,7 @@ public class DefaultP2PNetwork implements P2PNetwork {
     this.natService = natService;
     this.maintainedPeers = maintainedPeers;
 
+    this.nodeKey = nodeKey;
     this.nodeId = nodeKey.getPublicKey().getEncodedBytes();
     this.peerPermissions = peerPermissions;
     this.vertx = vertx;
@@ -211,10 +216,6 @@ public class DefaultP2PNetwork implements P2PNetwork {
       return;
     }
 
-    if (config.getDiscovery().isDiscoveryV5Enabled()) {
-      LOG.warn("Discovery Protocol v5 is not available");
-    }
-
     final String address = config.getDiscovery().getAdvertisedHost();
     final int configuredDiscoveryPort = config.getDiscovery().getBindPort();
     final int configuredRlpxPort = config.getRlpx().getBindPort();
@@ -261,6 +262,9 @@ public class DefaultP2PNetwork implements P2PNetwork {
                     ? listeningPort
                     : configuredDiscoveryPort)
             .join();
+    if (config.getDiscovery().isDiscoveryV5Enabled()) {
+      startDiscoveryV5(discoveryPort);
+    }
 
     final Consumer<? super NatManager> natAction =
         natManager -> {
@@ -288,6 +292,34 @@ public class DefaultP2PNetwork implements P2PNetwork {
     final int checkConnectionsSec = config.getInitiateConnectionsFrequencySec();
     peerConnectionScheduler.scheduleWithFixedDelay(
         this::attemptPeerConnections, checkConnectionsSec, checkConnectionsSec, TimeUnit.SECONDS);
+    // Periodically look for new peers on Discovery Protocol v5, entering it through the v4 peers
+    discoveryV5Agent.ifPresent(
+        agent ->
+            peerConnectionScheduler.scheduleWithFixedDelay(
+                () -> agent.refresh(peerDiscoveryAgent.streamDiscoveredPeers()),
+                0,
+                checkConnectionsSec,
+                TimeUnit.SECONDS));
+  }
+
+  private void startDiscoveryV5(final int discoveryPort) {
+    final Optional<NodeRecord> v4NodeRecord =
+        peerDiscoveryAgent.getAdvertisedPeer().flatMap(DiscoveryPeer::getNodeRecord);
+    if (v4NodeRecord.isEmpty()) {
+      LOG.warn("Discovery Protocol v5 is not available when discovery is disabled");
+      return;
+    }
+    final int configuredPort = config.getDiscovery().getDiscoveryV5BindPort();
+    final int port = configuredPort == 0 ? discoveryPort + 1 : configuredPort;
+    discoveryV5Agent =
+        DiscoveryV5Agent.create(
+            nodeKey, config.getDiscovery().getBindHost(), port, v4NodeRecord.get());
+    discoveryV5Agent.ifPresentOrElse(
+        agent -> agent.start().join(),
+        () ->
+            LOG.warn(
+                "Discovery Protocol v5 needs the node private key, not exposed by the security "
+                    + "module, using Discovery Protocol v4"));
   }
 
   @Override
@@ -302,6 +334,7 @@ public class DefaultP2PNetwork implements P2PNetwork {
     dnsDaemonRef.get().ifPresent(DNSDaemon::stop);
 
     peerConnectionScheduler.shutdownNow();
+    discoveryV5Agent.ifPresent(DiscoveryV5Agent::stop);
     peerDiscoveryAgent.stop().whenComplete((res, err) -> shutdownLatch.countDown());
     rlpxAgent.stop().whenComplete((res, err) -> shutdownLatch.countDown());
     peerPermissions.close();
@@ -401,10 +434,15 @@ public class DefaultP2PNetwork implements P2PNetwork {
   void attemptPeerConnections() {
     LOG.trace("Initiating connections to discovered peers.");
     final Stream<DiscoveryPeer> toTry =
-        streamDiscoveredPeers()
+        Stream.concat(
+                streamDiscoveredPeers(),
+                discoveryV5Agent.stream().flatMap(DiscoveryV5Agent::streamDiscoveredPeers))
             .filter(peer -> peer.getStatus() == PeerDiscoveryStatus.BONDED)
             .filter(peerDiscoveryAgent::checkForkId)
-            .sorted(Comparator.comparing(DiscoveryPeer::getLastAttemptedConnection));
+            // peers advertising snap in their ENR first, they can serve any kind of sync
+            .sorted(
+                Comparator.comparing((DiscoveryPeer peer) -> !peer.advertisesSnap())
+                    .thenComparing(DiscoveryPeer::getLastAttemptedConnection));
     toTry.forEach(rlpxAgent::connect);
   }
 
@@ -41,6 +41,7 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -75,6 +76,8 @@ final class DeFramer extends ByteToMessageDecoder {
   private final PeerTable peerTable;
   private boolean hellosExchanged;
   private final LabelledMetric<Counter> outboundMessagesCounter;
+  private final LabelledMetric<OperationTimer> outboundQueueTimer;
+  private final LabelledMetric<Counter> outboundDroppedCounter;
 
   DeFramer(
       final Framer framer,
@@ -102,6 +105,20 @@ final class DeFramer extends ByteToMessageDecoder {
             "protocol",
             "name",
             "code");
+    this.outboundQueueTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.NETWORK,
+            "p2p_messages_outbound_queue_time",
+            "Time P2P messages waited to be sent outbound.",
+            "protocol",
+            "name");
+    this.outboundDroppedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.NETWORK,
+            "p2p_messages_outbound_dropped",
+            "Count of P2P announcements dropped because the peer could not keep up.",
+            "protocol",
+            "name");
   }
 
   @Override
@@ -158,6 +175,12 @@ final class DeFramer extends ByteToMessageDecoder {
           }
         }
 
+        final OutboundMessageScheduler outboundMessageScheduler =
+            new OutboundMessageScheduler(
+                ctx.channel(),
+                capabilityMultiplexer,
+                outboundQueueTimer,
+                outboundDroppedCounter);
         final PeerConnection connection =
             new NettyPeerConnection(
                 ctx,
@@ -166,6 +189,7 @@ final class DeFramer extends ByteToMessageDecoder {
                 capabilityMultiplexer,
                 connectionEventDispatcher,
                 outboundMessagesCounter,
+                outboundMessageScheduler,
                 inboundInitiated);
 
         // Check peer is who we expected
@@ -195,6 +219,7 @@ final class DeFramer extends ByteToMessageDecoder {
             .addLast(
                 new IdleStateHandler(15, 0, 0),
                 new WireKeepAlive(connection, waitingForPong),
+                outboundMessageScheduler,
                 new ApiHandler(
                     capabilityMultiplexer, connection, connectionEventDispatcher, waitingForPong),
                 new MessageFramer(capabilityMultiplexer, framer));
@@ -28,6 +28,8 @@ final class MessageFramer extends MessageToByteEncoder<OutboundMessage> {
   private final Framer framer;
 
   MessageFramer(final CapabilityMultiplexer multiplexer, final Framer framer) {
+    // pooled heap buffers, so frames are encrypted in place, since the ciphers work on arrays
+    super(false);
     this.multiplexer = multiplexer;
     this.framer = framer;
   }
@@ -36,6 +36,7 @@ import io.netty.channel.ChannelHandlerContext;
 final class NettyPeerConnection extends AbstractPeerConnection {
 
   private final ChannelHandlerContext ctx;
+  private final OutboundMessageScheduler outboundMessageScheduler;
 
   public NettyPeerConnection(
       final ChannelHandlerContext ctx,
@@ -44,6 +45,7 @@ final class NettyPeerConnection extends AbstractPeerConnection {
       final CapabilityMultiplexer multiplexer,
       final PeerConnectionEventDispatcher connectionEventDispatcher,
       final LabelledMetric<Counter> outboundMessagesCounter,
+      final OutboundMessageScheduler outboundMessageScheduler,
       final boolean inboundInitiated) {
     super(
         peer,
@@ -57,6 +59,7 @@ final class NettyPeerConnection extends AbstractPeerConnection {
         inboundInitiated);
 
     this.ctx = ctx;
+    this.outboundMessageScheduler = outboundMessageScheduler;
     ctx.channel()
         .closeFuture()
         .addListener(
@@ -66,7 +69,7 @@ final class NettyPeerConnection extends AbstractPeerConnection {
 
   @Override
   protected void doSendMessage(final Capability capability, final MessageData message) {
-    ctx.channel().writeAndFlush(new OutboundMessage(capability, message));
+    outboundMessageScheduler.send(capability, message);
   }
 
   @Override
@@ -0,0 +1,311 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessagePriority;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.SubProtocol;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.WireMessageCodes;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules the messages sent to a peer, so latency critical messages are not stuck behind bulk
+ * data when the connection cannot keep up.
+ *
+ * <p>Messages are queued by {@link MessagePriority} and written to the channel only while it is
+ * writable, so the bytes waiting in the channel are bounded by its write buffer watermarks and the
+ * rest wait here, where the ones with higher priority overtake the others. Within a priority, the
+ * capabilities are served in a weighted round-robin, sending up to the weight of a capability
+ * messages of it before moving to the next one.
+ *
+ * <p>When the queued bytes exceed a limit, the oldest {@link MessagePriority#LOW} announcements are
+ * dropped, and the ones queued for too long are dropped instead of being sent, since the peer
+ * likely learned about them from someone else in the meantime.
+ */
+final class OutboundMessageScheduler extends ChannelInboundHandlerAdapter {
+  private static final Logger LOG = LoggerFactory.getLogger(OutboundMessageScheduler.class);
+  static final Map<String, Integer> DEFAULT_CAPABILITY_WEIGHTS = Map.of("eth", 4);
+  static final long DEFAULT_MAX_QUEUED_BYTES = 16 * 1024 * 1024;
+  static final Duration DEFAULT_MAX_LOW_PRIORITY_AGE = Duration.ofSeconds(10);
+  private static final String WIRE = "Wire";
+
+  private final Channel channel;
+  private final CapabilityMultiplexer multiplexer;
+  private final LabelledMetric<OperationTimer> queueTimer;
+  private final LabelledMetric<Counter> droppedCounter;
+  private final Map<String, Integer> capabilityWeights;
+  private final long maxQueuedBytes;
+  private final long maxLowPriorityAgeMillis;
+  private final LongSupplier currentTimeMillis;
+  private final Map<MessagePriority, Lane> lanes = new EnumMap<>(MessagePriority.class);
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+  private long queuedBytes;
+  private long sequence;
+
+  OutboundMessageScheduler(
+      final Channel channel,
+      final CapabilityMultiplexer multiplexer,
+      final LabelledMetric<OperationTimer> queueTimer,
+      final LabelledMetric<Counter> droppedCounter) {
+    this(
+        channel,
+        multiplexer,
+        queueTimer,
+        droppedCounter,
+        DEFAULT_CAPABILITY_WEIGHTS,
+        DEFAULT_MAX_QUEUED_BYTES,
+        DEFAULT_MAX_LOW_PRIORITY_AGE,
+        System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  OutboundMessageScheduler(
+      final Channel channel,
+      final CapabilityMultiplexer multiplexer,
+      final LabelledMetric<OperationTimer> queueTimer,
+      final LabelledMetric<Counter> droppedCounter,
+      final Map<String, Integer> capabilityWeights,
+      final long maxQueuedBytes,
+      final Duration maxLowPriorityAge,
+      final LongSupplier currentTimeMillis) {
+    this.channel = channel;
+    this.multiplexer = multiplexer;
+    this.queueTimer = queueTimer;
+    this.droppedCounter = droppedCounter;
+    this.capabilityWeights = capabilityWeights;
+    this.maxQueuedBytes = maxQueuedBytes;
+    this.maxLowPriorityAgeMillis = maxLowPriorityAge.toMillis();
+    this.currentTimeMillis = currentTimeMillis;
+    for (final MessagePriority priority : MessagePriority.values()) {
+      lanes.put(priority, new Lane());
+    }
+  }
+
+  /**
+   * Queue a message to be sent to the peer
+   *
+   * @param capability the capability of the message, null for the wire protocol messages
+   * @param message the message
+   */
+  void send(final Capability capability, final MessageData message) {
+    final MessagePriority priority;
+    final String protocol;
+    final String name;
+    if (capability == null) {
+      priority = MessagePriority.HIGH;
+      protocol = WIRE;
+      name = WireMessageCodes.messageName(message.getCode());
+    } else {
+      final SubProtocol subProtocol = multiplexer.subProtocol(capability);
+      priority = subProtocol.messagePriority(capability.getVersion(), message.getCode());
+      protocol = capability.toString();
+      name = subProtocol.messageName(capability.getVersion(), message.getCode());
+    }
+
+    synchronized (this) {
+      final QueuedMessage queued =
+          new QueuedMessage(
+              new OutboundMessage(capability, message),
+              protocol,
+              name,
+              message.getSize(),
+              sequence++,
+              currentTimeMillis.getAsLong(),
+              queueTimer.labels(protocol, name).startTimer());
+      final String capabilityName = capability == null ? WIRE : capability.getName();
+      lanes
+          .get(priority)
+          .add(capabilityName, capabilityWeights.getOrDefault(capabilityName, 1), queued);
+      queuedBytes += queued.size();
+      if (queuedBytes > maxQueuedBytes) {
+        dropOldestLowPriority();
+      }
+    }
+    scheduleDrain();
+  }
+
+  private void dropOldestLowPriority() {
+    final Lane lowPriority = lanes.get(MessagePriority.LOW);
+    while (queuedBytes > maxQueuedBytes) {
+      final QueuedMessage oldest = lowPriority.pollOldest();
+      if (oldest == null) {
+        return;
+      }
+      queuedBytes -= oldest.size();
+      drop(oldest);
+    }
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      channel.eventLoop().execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    drainScheduled.set(false);
+    boolean written = false;
+    while (channel.isWritable()) {
+      final QueuedMessage next = poll();
+      if (next == null) {
+        break;
+      }
+      next.timingContext().stopTimer();
+      channel.write(next.message());
+      written = true;
+    }
+    if (written) {
+      channel.flush();
+    }
+  }
+
+  private synchronized QueuedMessage poll() {
+    final long now = currentTimeMillis.getAsLong();
+    for (final Map.Entry<MessagePriority, Lane> lane : lanes.entrySet()) {
+      QueuedMessage next;
+      while ((next = lane.getValue().poll()) != null) {
+        queuedBytes -= next.size();
+        if (lane.getKey() == MessagePriority.LOW
+            && now - next.enqueuedAt() > maxLowPriorityAgeMillis) {
+          drop(next);
+        } else {
+          return next;
+        }
+      }
+    }
+    return null;
+  }
+
+  private void drop(final QueuedMessage message) {
+    droppedCounter.labels(message.protocol(), message.name()).inc();
+    LOG.atTrace()
+        .setMessage("Dropped outbound {} {} to {}")
+        .addArgument(message::protocol)
+        .addArgument(message::name)
+        .addArgument(channel::remoteAddress)
+        .log();
+  }
+
+  @VisibleForTesting
+  synchronized long getQueuedBytes() {
+    return queuedBytes;
+  }
+
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+    if (ctx.channel().isWritable()) {
+      drain();
+    }
+    super.channelWritabilityChanged(ctx);
+  }
+
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+    synchronized (this) {
+      lanes.values().forEach(Lane::clear);
+      queuedBytes = 0;
+    }
+    super.channelInactive(ctx);
+  }
+
+  private record QueuedMessage(
+      OutboundMessage message,
+      String protocol,
+      String name,
+      int size,
+      long sequence,
+      long enqueuedAt,
+      OperationTimer.TimingContext timingContext) {}
+
+  private record CapabilityQueue(int weight, Deque<QueuedMessage> messages) {}
+
+  /** The messages with the same priority, served in weighted round-robin by capability */
+  private static final class Lane {
+    private final List<CapabilityQueue> queues = new ArrayList<>();
+    private final Map<String, CapabilityQueue> byCapability = new HashMap<>();
+    private int current = -1;
+    private int credit;
+
+    void add(final String capabilityName, final int weight, final QueuedMessage message) {
+      byCapability
+          .computeIfAbsent(
+              capabilityName,
+              unused -> {
+                final CapabilityQueue queue = new CapabilityQueue(weight, new ArrayDeque<>());
+                queues.add(queue);
+                return queue;
+              })
+          .messages()
+          .add(message);
+    }
+
+    QueuedMessage poll() {
+      if (queues.isEmpty()) {
+        return null;
+      }
+      // a full round, plus the current queue again with a new credit
+      for (int i = 0; i <= queues.size(); i++) {
+        if (credit > 0) {
+          final QueuedMessage next = queues.get(current).messages().poll();
+          if (next != null) {
+            credit--;
+            return next;
+          }
+        }
+        current = (current + 1) % queues.size();
+        credit = queues.get(current).weight();
+      }
+      return null;
+    }
+
+    QueuedMessage pollOldest() {
+      CapabilityQueue oldest = null;
+      for (final CapabilityQueue queue : queues) {
+        final QueuedMessage head = queue.messages().peek();
+        if (head != null
+            && (oldest == null || head.sequence() < oldest.messages().peek().sequence())) {
+          oldest = queue;
+        }
+      }
+      return oldest == null ? null : oldest.messages().poll();
+    }
+
+    void clear() {
+      queues.forEach(queue -> queue.messages().clear());
+    }
+  }
+}
@@ -251,6 +251,11 @@ public class Framer {
    * <p>This method expects a well-formed frame, sized according to the length indicated in this
    * packet's header.
    *
+   * <p>The frame is copied once out of the buffer, then authenticated and decrypted in place. An
+   * uncompressed message wraps the decrypted frame without copying it, while a compressed frame is
+   * only needed until it is decompressed, so it is read in a pooled buffer that is released
+   * afterward.
+   *
    * @param f The buffer containing
    * @param frameSize The expected
    */
@@ -261,12 +266,34 @@ public class Framer {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
+    final int messageLength = frameSize - LENGTH_MESSAGE_ID;
+    if (!compressionEnabled) {
+      final byte[] frameData = new byte[frameSize + pad];
+      f.readBytes(frameData);
+      decryptFrame(frameData, 0, frameData.length, f);
+      return new RawMessage(readMessageId(frameData[0]), Bytes.wrap(frameData, 1, messageLength));
+    }
+
+    final ByteBuf frameData = f.alloc().heapBuffer(frameSize + pad);
+    try {
+      f.readBytes(frameData, frameSize + pad);
+      final byte[] array = frameData.array();
+      final int offset = frameData.arrayOffset() + frameData.readerIndex();
+      decryptFrame(array, offset, frameSize + pad, f);
+      return new RawMessage(
+          readMessageId(array[offset]), decompress(array, offset + 1, messageLength));
+    } finally {
+      frameData.release();
+    }
+  }
+
+  private void decryptFrame(
+      final byte[] frameData, final int offset, final int length, final ByteBuf f) {
     final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
+    f.readBytes(fMac);
 
     // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
+    final byte[] fMacSeed = secrets.updateIngress(frameData, offset, length).getIngressMac();
     final byte[] fMacSeedEnc = new byte[16];
     macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
     byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
@@ -275,45 +302,34 @@ public class Framer {
     validateMac(fMac, expectedMac);
 
     // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
-
-    // Read the id.
-    final Bytes idbv = RLP.decodeOne(Bytes.of(frameData[0]));
-    final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
-
-    // Write message data to ByteBuf, decompressing as necessary
-    final Bytes data;
-    if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
-      if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
-        throw error("Message size %s in excess of maximum length.", uncompressedLength);
-      }
-      Bytes _data;
-      try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
-        _data = Bytes.wrap(decompressedMessageData);
-        compressionSuccessful = true;
-      } catch (final FramingException fe) {
-        if (compressionSuccessful) {
-          throw fe;
-        } else {
-          // OpenEthereum/Parity does not implement EIP-706
-          // If failing on the first packet downgrade to uncompressed
-          compressionEnabled = false;
-          LOG.debug("Snappy decompression failed: downgrading to uncompressed");
-          final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-          _data = Bytes.wrap(frameData, 1, messageLength);
-        }
+    decryptor.processBytes(frameData, offset, length, frameData, offset);
+  }
+
+  private static int readMessageId(final byte encodedId) {
+    final Bytes idbv = RLP.decodeOne(Bytes.of(encodedId));
+    return idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
+  }
+
+  private Bytes decompress(final byte[] frameData, final int offset, final int length) {
+    final int uncompressedLength = compressor.uncompressedLength(frameData, offset, length);
+    if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
+      throw error("Message size %s in excess of maximum length.", uncompressedLength);
+    }
+    try {
+      final byte[] decompressedMessageData = new byte[uncompressedLength];
+      compressor.decompress(frameData, offset, length, decompressedMessageData, 0);
+      compressionSuccessful = true;
+      return Bytes.wrap(decompressedMessageData);
+    } catch (final FramingException fe) {
+      if (compressionSuccessful) {
+        throw fe;
       }
-      data = _data;
-    } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = Bytes.wrap(frameData, 1, messageLength);
+      // OpenEthereum/Parity does not implement EIP-706
+      // If failing on the first packet downgrade to uncompressed
+      compressionEnabled = false;
+      LOG.debug("Snappy decompression failed: downgrading to uncompressed");
+      return Bytes.wrap(Arrays.copyOfRange(frameData, offset, offset + length));
     }
-
-    return new RawMessage(id, data);
   }
 
   private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
@@ -328,30 +344,67 @@ public class Framer {
    * Frames a message for sending to an RLPx peer, encrypting it and calculating the appropriate
    * MACs.
    *
+   * <p>The message is compressed, encrypted and authenticated in place in the output, without
+   * intermediate copies. That needs an output backed by an array, as the one allocated by {@code
+   * MessageFramer}, otherwise the message is framed in a pooled heap buffer and then copied to the
+   * output.
+   *
    * @param message The message to frame.
    * @param output The {@link ByteBuf} to write framed data to.
    */
   public synchronized void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
-    if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().toArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), Bytes.wrap(compressed)), output);
-    } else {
-      frameMessage(message, output);
-    }
+    writeFrame(message, compressionEnabled, output);
   }
 
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
-    final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
-    final int pad = padding16(frameSize);
+    writeFrame(message, false, buf);
+  }
+
+  private void writeFrame(final MessageData message, final boolean compress, final ByteBuf buf) {
+    final Bytes data = message.getData();
+    final int maxFrameSize =
+        LENGTH_MESSAGE_ID + (compress ? compressor.maxCompressedLength(data.size()) : data.size());
+    final int maxSize = LENGTH_FULL_HEADER + maxFrameSize + padding16(maxFrameSize) + LENGTH_MAC;
 
+    if (!buf.hasArray()) {
+      final ByteBuf heapBuf = buf.alloc().heapBuffer(maxSize);
+      try {
+        writeFrame(message, compress, heapBuf);
+        buf.writeBytes(heapBuf);
+      } finally {
+        heapBuf.release();
+      }
+      return;
+    }
+
+    buf.ensureWritable(maxSize);
+    final byte[] array = buf.array();
+    final int headerOffset = buf.arrayOffset() + buf.writerIndex();
+    final int frameOffset = headerOffset + LENGTH_FULL_HEADER;
+
+    // Write the id and the payload, compressing it as necessary.
     final byte id = (byte) message.getCode();
+    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
+    assert bv.size() == 1;
+    array[frameOffset] = bv.get(0);
+    final int payloadOffset = frameOffset + LENGTH_MESSAGE_ID;
+    final int payloadSize;
+    if (compress) {
+      final byte[] uncompressed = data.toArrayUnsafe();
+      payloadSize =
+          compressor.compress(uncompressed, 0, uncompressed.length, array, payloadOffset);
+    } else {
+      data.copyTo(MutableBytes.wrap(array, payloadOffset, data.size()));
+      payloadSize = data.size();
+    }
+    final int frameSize = LENGTH_MESSAGE_ID + payloadSize;
+    final int pad = padding16(frameSize);
+
+    // Zero-padded to 16-byte boundary, the buffer could have been used before.
+    Arrays.fill(array, frameOffset + frameSize, frameOffset + frameSize + pad, (byte) 0x00);
 
     // Generate the header data.
     final byte[] h = new byte[LENGTH_HEADER_DATA];
@@ -366,28 +419,22 @@ public class Framer {
     byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
     macEncryptor.processBlock(hMac, 0, hMac, 0);
     hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
-    hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
+    System.arraycopy(h, 0, array, headerOffset, LENGTH_HEADER_DATA);
+    System.arraycopy(hMac, 0, array, headerOffset + LENGTH_HEADER_DATA, LENGTH_MAC);
 
     // Encrypt payload.
-    final MutableBytes f = MutableBytes.create(frameSize + pad);
-
-    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
-    assert bv.size() == 1;
-    f.set(0, bv.get(0));
-
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 1);
-    encryptor.processBytes(f.toArrayUnsafe(), 0, f.size(), f.toArrayUnsafe(), 0);
+    encryptor.processBytes(array, frameOffset, frameSize + pad, array, frameOffset);
 
     // Calculate the frame MAC.
     final byte[] fMacSeed =
-        Arrays.copyOf(secrets.updateEgress(f.toArrayUnsafe()).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
+        Arrays.copyOf(
+            secrets.updateEgress(array, frameOffset, frameSize + pad).getEgressMac(), LENGTH_MAC);
+    final byte[] fMac = new byte[16];
     macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+    final byte[] fMacEnc = secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac();
+    System.arraycopy(fMacEnc, 0, array, frameOffset + frameSize + pad, LENGTH_MAC);
 
-    buf.writeBytes(f.toArrayUnsafe()).writeBytes(fMac);
+    buf.writerIndex(buf.writerIndex() + LENGTH_FULL_HEADER + frameSize + pad + LENGTH_MAC);
   }
 
   private static int padding16(final int size) {
@@ -45,6 +45,60 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Compress a range of the input directly into the output, that must have at least {@link
+   * #maxCompressedLength(int)} bytes available from the output offset.
+   *
+   * @param uncompressed the input data
+   * @param offset the offset of the range to compress
+   * @param length the length of the range to compress
+   * @param output the output array
+   * @param outputOffset the offset where the compressed data is written in the output
+   * @return the size of the compressed data
+   */
+  public int compress(
+      final byte[] uncompressed,
+      final int offset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    checkNotNull(uncompressed, "input data must not be null");
+    try {
+      return Snappy.compress(uncompressed, offset, length, output, outputOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy compression failed", e);
+    }
+  }
+
+  /**
+   * Decompress a range of the input directly into the output, that must have at least {@link
+   * #uncompressedLength(byte[], int, int)} bytes available from the output offset.
+   *
+   * @param compressed the input data
+   * @param offset the offset of the range to decompress
+   * @param length the length of the range to decompress
+   * @param output the output array
+   * @param outputOffset the offset where the decompressed data is written in the output
+   * @return the size of the decompressed data
+   */
+  public int decompress(
+      final byte[] compressed,
+      final int offset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompress(compressed, offset, length, output, outputOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
+  public int maxCompressedLength(final int length) {
+    return Snappy.maxCompressedLength(length);
+  }
+
   public int uncompressedLength(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -53,4 +107,13 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  public int uncompressedLength(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompressedLength(compressed, offset, length);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
 }
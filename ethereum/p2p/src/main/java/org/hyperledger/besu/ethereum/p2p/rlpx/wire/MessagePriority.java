@@ -0,0 +1,30 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.wire;
+
+/**
+ * The priority of an outbound message, used to decide which queued message is sent first to a peer
+ * when the connection cannot keep up. Messages are sent in the order of the constants.
+ */
+public enum MessagePriority {
+  /** Latency critical messages, as block announcements and the wire protocol messages */
+  HIGH,
+  /** Requests and the responses that are not bulk data */
+  NORMAL,
+  /** Large responses, as block bodies, receipts and state ranges */
+  BULK,
+  /** Announcements that can be dropped when they cannot be sent in time */
+  LOW
+}
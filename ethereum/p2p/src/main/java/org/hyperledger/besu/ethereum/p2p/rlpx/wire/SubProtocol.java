@@ -52,4 +52,16 @@ public interface SubProtocol {
    *     it is not a valid in the protocol.
    */
   String messageName(int protocolVersion, int code);
+
+  /**
+   * Returns the priority to send the particular message of this protocol with, when the connection
+   * cannot keep up with the outbound messages.
+   *
+   * @param protocolVersion The version of the protocol for the message code.
+   * @param code The message code.
+   * @return The priority of the message.
+   */
+  default MessagePriority messagePriority(final int protocolVersion, final int code) {
+    return MessagePriority.NORMAL;
+  }
 }
@@ -16,10 +16,12 @@ package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.AddOutcome;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResult;
@@ -27,8 +29,10 @@ import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResul
 import org.hyperledger.besu.ethereum.p2p.peers.EnodeURLImpl;
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -242,4 +246,42 @@ public class PeerTableTest {
     final PeerTable.AddResult addResult2 = table.tryAdd(peer2);
     assertThat(addResult2.getOutcome()).isEqualTo(PeerTable.AddResult.added().getOutcome());
   }
+
+  @Test
+  public void nearestBondedPeersMatchesSortingAllPeers() {
+    final Bytes localId = Peer.randomId();
+    final PeerTable table = new PeerTable(localId);
+    for (int i = 0; i < 1000; i++) {
+      final Endpoint endpoint =
+          new Endpoint("10.0." + i / 256 + "." + i % 256, 30303, Optional.of(30303));
+      final DiscoveryPeer peer = DiscoveryPeer.fromIdAndEndpoint(Peer.randomId(), endpoint);
+      if (i % 5 != 0) {
+        peer.setStatus(PeerDiscoveryStatus.BONDED);
+      }
+      table.tryAdd(peer);
+    }
+    final List<Bytes> targets = new ArrayList<>();
+    targets.add(localId);
+    table.streamAllPeers().limit(20).map(Peer::getId).forEach(targets::add);
+    Stream.generate(Peer::randomId).limit(20).forEach(targets::add);
+
+    for (final Bytes target : targets) {
+      for (final int limit : List.of(1, 16, 100)) {
+        final Bytes targetHash = Hash.keccak256(target);
+        final List<Integer> expectedDistances =
+            table
+                .streamAllPeers()
+                .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+                .map(p -> PeerDistanceCalculator.distance(p.keccak256(), targetHash))
+                .sorted()
+                .limit(limit)
+                .toList();
+
+        assertThat(table.nearestBondedPeers(target, limit))
+            .allMatch(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+            .map(p -> PeerDistanceCalculator.distance(p.keccak256(), targetHash))
+            .containsExactlyElementsOf(expectedDistances);
+      }
+    }
+  }
 }
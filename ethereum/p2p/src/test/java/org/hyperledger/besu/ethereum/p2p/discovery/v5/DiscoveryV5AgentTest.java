@@ -0,0 +1,109 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.v5;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.cryptoservices.KeyPairSecurityModule;
+import org.hyperledger.besu.cryptoservices.NodeKey;
+import org.hyperledger.besu.cryptoservices.NodeKeyUtils;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
+import org.hyperledger.besu.plugin.services.securitymodule.SecurityModule;
+import org.hyperledger.besu.plugin.services.securitymodule.data.PublicKey;
+import org.hyperledger.besu.plugin.services.securitymodule.data.Signature;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.devp2p.EthereumNodeRecord;
+import org.ethereum.beacon.discovery.schema.EnrField;
+import org.ethereum.beacon.discovery.schema.NodeRecord;
+import org.junit.jupiter.api.Test;
+
+public class DiscoveryV5AgentTest {
+  private static final int V5_PORT = 30310;
+
+  private final PeerDiscoveryTestHelper helper = new PeerDiscoveryTestHelper();
+  private final NodeKey nodeKey = NodeKeyUtils.generate();
+
+  @Test
+  public void localNodeRecordHasTheV4EntriesAndTheV5Port() {
+    final NodeRecord v4NodeRecord = v4NodeRecord();
+
+    final NodeRecord nodeRecord =
+        DiscoveryV5Agent.createLocalNodeRecord(nodeKey, V5_PORT, v4NodeRecord);
+
+    assertThat(nodeRecord.getSeq()).isEqualTo(v4NodeRecord.getSeq());
+    assertThat(nodeRecord.getNodeId()).isEqualTo(v4NodeRecord.getNodeId());
+    assertThat(nodeRecord.get(EnrField.IP_V4)).isEqualTo(v4NodeRecord.get(EnrField.IP_V4));
+    assertThat(nodeRecord.get(EnrField.TCP)).isEqualTo(v4NodeRecord.get(EnrField.TCP));
+    assertThat(nodeRecord.get("eth")).isEqualTo(v4NodeRecord.get("eth"));
+    assertThat(nodeRecord.get(EnrField.UDP)).isEqualTo(V5_PORT);
+    // decoding checks the signature
+    assertThat(EthereumNodeRecord.fromRLP(nodeRecord.serialize()).udp()).isEqualTo(V5_PORT);
+  }
+
+  @Test
+  public void nodeRecordIsConvertedToABondedPeer() {
+    final NodeRecord nodeRecord =
+        DiscoveryV5Agent.createLocalNodeRecord(nodeKey, V5_PORT, v4NodeRecord());
+
+    final DiscoveryPeer peer = DiscoveryV5Agent.fromNodeRecord(nodeRecord).orElseThrow();
+
+    assertThat(peer.getId()).isEqualTo(nodeKey.getPublicKey().getEncodedBytes());
+    assertThat(peer.getEnodeURL().getDiscoveryPort()).contains(V5_PORT);
+    assertThat(peer.getEnodeURL().getListeningPort())
+        .contains((Integer) nodeRecord.get(EnrField.TCP));
+    assertThat(peer.getStatus()).isEqualTo(PeerDiscoveryStatus.BONDED);
+    assertThat(peer.getNodeRecord()).contains(nodeRecord);
+    assertThat(peer.getForkId()).isPresent();
+  }
+
+  @Test
+  public void agentIsNotCreatedWhenThePrivateKeyIsNotExposed() {
+    final SecurityModule keyPairSecurityModule =
+        new KeyPairSecurityModule(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    final NodeKey hsmNodeKey =
+        new NodeKey(
+            new SecurityModule() {
+              @Override
+              public Signature sign(final Bytes32 dataHash) {
+                return keyPairSecurityModule.sign(dataHash);
+              }
+
+              @Override
+              public PublicKey getPublicKey() {
+                return keyPairSecurityModule.getPublicKey();
+              }
+
+              @Override
+              public Bytes32 calculateECDHKeyAgreement(final PublicKey partyKey) {
+                return keyPairSecurityModule.calculateECDHKeyAgreement(partyKey);
+              }
+            });
+
+    assertThat(DiscoveryV5Agent.create(hsmNodeKey, "127.0.0.1", V5_PORT, v4NodeRecord()))
+        .isEmpty();
+  }
+
+  private NodeRecord v4NodeRecord() {
+    return helper
+        .startDiscoveryAgent(helper.agentBuilder().nodeKey(nodeKey).advertisedHost("127.0.0.1"))
+        .getAdvertisedPeer()
+        .flatMap(DiscoveryPeer::getNodeRecord)
+        .orElseThrow();
+  }
+}
@@ -61,6 +61,7 @@ import io.vertx.core.Vertx;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.SECP256K1;
 import org.assertj.core.api.Assertions;
+import org.ethereum.beacon.discovery.schema.NodeRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -306,6 +307,25 @@ public final class DefaultP2PNetworkTest {
     verify(rlpxAgent, times(3)).connect(any());
   }
 
+  @Test
+  public void attemptPeerConnections_prefersPeersAdvertisingSnap() {
+    final DiscoveryPeer ethPeer = DiscoveryPeer.fromEnode(PeerTestHelper.enode());
+    final DiscoveryPeer snapPeer = DiscoveryPeer.fromEnode(PeerTestHelper.enode());
+    final NodeRecord snapNodeRecord = mock(NodeRecord.class);
+    lenient().when(snapNodeRecord.get("snap")).thenReturn(Collections.emptyList());
+    snapPeer.setNodeRecord(snapNodeRecord);
+    ethPeer.setStatus(PeerDiscoveryStatus.BONDED);
+    snapPeer.setStatus(PeerDiscoveryStatus.BONDED);
+    snapPeer.setLastAttemptedConnection(20);
+    when(discoveryAgent.streamDiscoveredPeers()).thenReturn(Stream.of(ethPeer, snapPeer));
+
+    final DefaultP2PNetwork network = network();
+    network.attemptPeerConnections();
+    verify(rlpxAgent, times(2)).connect(peerCaptor.capture());
+
+    assertThat(peerCaptor.getAllValues()).containsExactly(snapPeer, ethPeer);
+  }
+
   @Test
   public void cannotAddNodeWithSameEnodeID() {
     final DefaultP2PNetwork network = network();
@@ -0,0 +1,212 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessagePriority;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.SubProtocol;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.PingMessage;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OutboundMessageSchedulerTest {
+  private static final Capability ETH = Capability.create("eth", 68);
+  private static final Capability SNAP = Capability.create("snap", 1);
+  private static final int HIGH_CODE = 1;
+  private static final int NORMAL_CODE = 2;
+  private static final int BULK_CODE = 3;
+  private static final int LOW_CODE = 4;
+  private static final long MAX_QUEUED_BYTES = 1000;
+  private static final Duration MAX_LOW_PRIORITY_AGE = Duration.ofSeconds(10);
+
+  private final CapabilityMultiplexer multiplexer = mock(CapabilityMultiplexer.class);
+  private final SubProtocol subProtocol = mock(SubProtocol.class);
+  private final AtomicLong now = new AtomicLong(0);
+  private final EmbeddedChannel channel = new EmbeddedChannel();
+  private OutboundMessageScheduler scheduler;
+
+  @BeforeEach
+  public void setUp() {
+    when(multiplexer.subProtocol(ETH)).thenReturn(subProtocol);
+    when(multiplexer.subProtocol(SNAP)).thenReturn(subProtocol);
+    when(subProtocol.messageName(anyInt(), anyInt())).thenReturn("Message");
+    when(subProtocol.messagePriority(anyInt(), eq(HIGH_CODE))).thenReturn(MessagePriority.HIGH);
+    when(subProtocol.messagePriority(anyInt(), eq(NORMAL_CODE)))
+        .thenReturn(MessagePriority.NORMAL);
+    when(subProtocol.messagePriority(anyInt(), eq(BULK_CODE))).thenReturn(MessagePriority.BULK);
+    when(subProtocol.messagePriority(anyInt(), eq(LOW_CODE))).thenReturn(MessagePriority.LOW);
+
+    final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+    scheduler =
+        new OutboundMessageScheduler(
+            channel,
+            multiplexer,
+            metricsSystem.createLabelledTimer(
+                BesuMetricCategory.NETWORK, "queue_time", "", "protocol", "name"),
+            metricsSystem.createLabelledCounter(
+                BesuMetricCategory.NETWORK, "dropped", "", "protocol", "name"),
+            Map.of("eth", 2),
+            MAX_QUEUED_BYTES,
+            MAX_LOW_PRIORITY_AGE,
+            now::get);
+    channel.pipeline().addLast(scheduler);
+  }
+
+  @Test
+  public void higherPriorityMessagesAreSentFirst() {
+    final MessageData low = message(LOW_CODE);
+    final MessageData bulk = message(BULK_CODE);
+    final MessageData normal = message(NORMAL_CODE);
+    final MessageData high = message(HIGH_CODE);
+
+    scheduler.send(ETH, low);
+    scheduler.send(ETH, bulk);
+    scheduler.send(ETH, normal);
+    scheduler.send(ETH, high);
+    scheduler.send(null, PingMessage.get());
+    channel.runPendingTasks();
+
+    assertThat(sentMessages()).containsExactly(high, PingMessage.get(), normal, bulk, low);
+    assertThat(scheduler.getQueuedBytes()).isZero();
+  }
+
+  @Test
+  public void capabilitiesAreServedByWeight() {
+    final List<MessageData> ethMessages = List.of(message(2), message(2), message(2));
+    final List<MessageData> snapMessages = List.of(message(2), message(2), message(2));
+
+    for (int i = 0; i < 3; i++) {
+      scheduler.send(ETH, ethMessages.get(i));
+      scheduler.send(SNAP, snapMessages.get(i));
+    }
+    channel.runPendingTasks();
+
+    assertThat(sentMessages())
+        .containsExactly(
+            ethMessages.get(0),
+            ethMessages.get(1),
+            snapMessages.get(0),
+            ethMessages.get(2),
+            snapMessages.get(1),
+            snapMessages.get(2));
+  }
+
+  @Test
+  public void messagesWaitUntilTheChannelIsWritable() {
+    final MessageData normal = message(NORMAL_CODE);
+    setWritable(false);
+
+    scheduler.send(ETH, normal);
+    channel.runPendingTasks();
+
+    assertThat(sentMessages()).isEmpty();
+    assertThat(scheduler.getQueuedBytes()).isEqualTo(normal.getSize());
+
+    setWritable(true);
+    channel.runPendingTasks();
+
+    assertThat(sentMessages()).containsExactly(normal);
+  }
+
+  @Test
+  public void oldestAnnouncementsAreDroppedWhenSaturated() {
+    setWritable(false);
+    final MessageData firstLow = message(LOW_CODE, 400);
+    final MessageData secondLow = message(LOW_CODE, 400);
+    final MessageData bulk = message(BULK_CODE, 400);
+
+    scheduler.send(ETH, firstLow);
+    scheduler.send(SNAP, secondLow);
+    scheduler.send(ETH, bulk);
+
+    assertThat(scheduler.getQueuedBytes()).isEqualTo(800);
+
+    setWritable(true);
+    channel.runPendingTasks();
+
+    assertThat(sentMessages()).containsExactly(bulk, secondLow);
+  }
+
+  @Test
+  public void responsesAreNeverDropped() {
+    setWritable(false);
+    final MessageData first = message(BULK_CODE, 800);
+    final MessageData second = message(BULK_CODE, 800);
+
+    scheduler.send(ETH, first);
+    scheduler.send(ETH, second);
+    setWritable(true);
+    channel.runPendingTasks();
+
+    assertThat(sentMessages()).containsExactly(first, second);
+  }
+
+  @Test
+  public void staleAnnouncementsAreDropped() {
+    setWritable(false);
+    final MessageData stale = message(LOW_CODE);
+    scheduler.send(ETH, stale);
+    now.addAndGet(MAX_LOW_PRIORITY_AGE.toMillis() + 1);
+    final MessageData fresh = message(LOW_CODE);
+    scheduler.send(ETH, fresh);
+
+    setWritable(true);
+    channel.runPendingTasks();
+
+    assertThat(sentMessages()).containsExactly(fresh);
+  }
+
+  private void setWritable(final boolean writable) {
+    channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+  }
+
+  private List<MessageData> sentMessages() {
+    final List<MessageData> sent = new ArrayList<>();
+    for (OutboundMessage message = channel.readOutbound();
+        message != null;
+        message = channel.readOutbound()) {
+      sent.add(message.getData());
+    }
+    return sent;
+  }
+
+  private static MessageData message(final int code) {
+    return message(code, 10);
+  }
+
+  private static MessageData message(final int code, final int size) {
+    return new RawMessage(code, Bytes.random(size));
+  }
+}
@@ -271,6 +271,57 @@ public class FramerTest {
     assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
   }
 
+  @Test
+  public void framesAreTheSameInHeapDirectAndReusedBuffers() {
+    final byte[] payload = new byte[2000];
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) (i % 7);
+    }
+    final MessageData message = new RawMessage(0x10, Bytes.wrap(payload));
+
+    for (final boolean compression : List.of(false, true)) {
+      final ByteBuf heap = Unpooled.buffer();
+      final ByteBuf direct = Unpooled.directBuffer();
+      // a buffer with leftovers of previous frames, as the pooled ones
+      final ByteBuf reused = Unpooled.buffer(4096);
+      for (int i = 0; i < reused.capacity(); i++) {
+        reused.setByte(i, 0xFF);
+      }
+      reused.clear();
+
+      for (final ByteBuf out : List.of(heap, direct, reused)) {
+        final Framer framer = new Framer(compressionTestSecrets());
+        if (compression) {
+          framer.enableCompression();
+        }
+        framer.frame(message, out);
+      }
+
+      assertThat(direct).isEqualTo(heap);
+      assertThat(reused).isEqualTo(heap);
+
+      final Framer receivingFramer = new Framer(compressionTestSecrets());
+      if (compression) {
+        receivingFramer.enableCompression();
+        assertThat(heap.readableBytes()).isLessThan(payload.length);
+      }
+      final MessageData received = receivingFramer.deframe(heap);
+      assertThat(received.getCode()).isEqualTo(0x10);
+      assertThat(received.getData()).isEqualTo(Bytes.wrap(payload));
+      assertThat(heap.isReadable()).isFalse();
+    }
+  }
+
+  private static HandshakeSecrets compressionTestSecrets() {
+    return new HandshakeSecrets(
+        Bytes.fromHexString("0x75b3ee95adff0c529a05efd7612aa1dbe5057eb9facdde0dfc837ad143da1d43")
+            .toArray(),
+        Bytes.fromHexString("0x030dfd1566f4800c4842c177f7d476b64ae2b99a2aa0ab5600aa2f41a8710575")
+            .toArray(),
+        Bytes.fromHexString("0xc9d3385b1588a5969cba312f8c29bedb4cb9d56ec0cf825436addc1ec644f1d6")
+            .toArray());
+  }
+
   private HandshakeSecrets secretsFrom(final JsonNode td, final boolean swap) {
     final byte[] aes = decodeHexDump(td.get("aes_secret").asText());
     final byte[] mac = decodeHexDump(td.get("mac_secret").asText());
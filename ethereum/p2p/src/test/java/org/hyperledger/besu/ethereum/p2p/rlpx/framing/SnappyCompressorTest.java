@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,25 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void roundTripWithOffsets() {
+    final byte[] data =
+        "Sample text compressed from and to the middle of arrays, sample text"
+            .getBytes(StandardCharsets.UTF_8);
+    final byte[] compressed = new byte[8 + snappy.maxCompressedLength(data.length - 4)];
+    final int compressedLength = snappy.compress(data, 4, data.length - 4, compressed, 8);
+    assertThat(snappy.uncompressedLength(compressed, 8, compressedLength))
+        .isEqualTo(data.length - 4);
+
+    final byte[] decompressed = new byte[data.length];
+    final int decompressedLength =
+        snappy.decompress(compressed, 8, compressedLength, decompressed, 4);
+
+    assertThat(decompressedLength).isEqualTo(data.length - 4);
+    assertThat(Arrays.copyOfRange(decompressed, 4, data.length))
+        .isEqualTo(Arrays.copyOfRange(data, 4, data.length));
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
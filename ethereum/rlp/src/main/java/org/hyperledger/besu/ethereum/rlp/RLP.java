@@ -119,6 +119,26 @@ public abstract class RLP {
     return res;
   }
 
+  /**
+   * The size of the RLP encoding of a value, without encoding it.
+   *
+   * @param value The value to encode.
+   * @return The size of {@code encodeOne(value)}.
+   */
+  public static int encodedSize(final Bytes value) {
+    return RLPEncodingHelpers.elementSize(value);
+  }
+
+  /**
+   * The size of the RLP encoding of a list, without encoding it.
+   *
+   * @param payloadSize The size of the encoded items of the list.
+   * @return The size of the encoded list, including its header.
+   */
+  public static int encodedListSize(final int payloadSize) {
+    return RLPEncodingHelpers.listSize(payloadSize);
+  }
+
   /**
    * Decodes an RLP-encoded value assuming it contains a single non-list item.
    *
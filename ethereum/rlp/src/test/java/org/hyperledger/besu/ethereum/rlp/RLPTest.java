@@ -26,6 +26,23 @@ import org.junit.jupiter.api.Test;
 
 public class RLPTest {
 
+  @Test
+  public void encodedSizesMatchTheEncodings() {
+    final Random random = new Random(1);
+    for (final int size : new int[] {0, 1, 2, 55, 56, 255, 256, 70_000}) {
+      final Bytes value = Bytes.wrap(new byte[size]);
+      random.nextBytes(value.toArrayUnsafe());
+      assertThat(RLP.encodedSize(value)).isEqualTo(RLP.encodeOne(value).size());
+
+      final BytesValueRLPOutput out = new BytesValueRLPOutput();
+      out.startList();
+      out.writeRaw(value);
+      out.endList();
+      assertThat(RLP.encodedListSize(size)).isEqualTo(out.encodedSize());
+    }
+    assertThat(RLP.encodedSize(Bytes.of(0x7F))).isEqualTo(1);
+  }
+
   @Test
   public void calculateSize_singleByteValue() {
     int size = RLP.calculateSize(Bytes.fromHexString("0x01"));
@@ -195,6 +195,47 @@ public class RocksDBStats {
     }
   }
 
+  /**
+   * Register a RocksDB ticker as a Prometheus counter, since tickers only ever go up.
+   *
+   * @param stats the stats
+   * @param metricsSystem the metrics system
+   * @param category the category
+   * @param name the name of the counter
+   * @param help the help
+   * @param ticker the ticker
+   */
+  public static void registerTickerCounter(
+      final Statistics stats,
+      final PrometheusMetricsSystem metricsSystem,
+      final MetricCategory category,
+      final String name,
+      final String help,
+      final TickerType ticker) {
+    final String metricName = metricsSystem.convertToPrometheusName(category, name);
+    metricsSystem.addCollector(category, () -> tickerToCollector(stats, ticker, metricName, help));
+  }
+
+  private static Collector tickerToCollector(
+      final Statistics stats, final TickerType ticker, final String metricName, final String help) {
+    return new Collector() {
+      @Override
+      public List<MetricFamilySamples> collect() {
+        return Collections.singletonList(
+            new MetricFamilySamples(
+                metricName,
+                Type.COUNTER,
+                help,
+                Collections.singletonList(
+                    new MetricFamilySamples.Sample(
+                        metricName + "_total",
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        stats.getTickerCount(ticker)))));
+      }
+    };
+  }
+
   private static Collector histogramToCollector(
       final Statistics stats, final HistogramType histogram) {
     return new Collector() {
@@ -17,6 +17,7 @@ package org.hyperledger.besu.plugin.services.storage;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -158,6 +159,16 @@ public interface SegmentedKeyValueStorage extends Closeable {
    */
   boolean isClosed();
 
+  /**
+   * Live statistics of the underlying storage engine, keyed by segment name and then by statistic
+   * name. Implementations that do not expose any statistics return an empty map.
+   *
+   * @return the statistics of each open segment
+   */
+  default Map<String, Map<String, String>> getStatistics() {
+    return Map.of();
+  }
+
   /**
    * record type used to wrap responses from getNearestTo, includes the matched key and the value.
    *
@@ -26,6 +26,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksD
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -108,8 +109,23 @@ public class RocksDBMetricsFactory {
             .labels(rocksDbConfiguration.getLabel());
 
     if (metricsSystem instanceof PrometheusMetricsSystem) {
-      RocksDBStats.registerRocksDBMetrics(
-          stats, (PrometheusMetricsSystem) metricsSystem, statsDbMetricCategory);
+      final PrometheusMetricsSystem prometheusMetricsSystem =
+          (PrometheusMetricsSystem) metricsSystem;
+      RocksDBStats.registerRocksDBMetrics(stats, prometheusMetricsSystem, statsDbMetricCategory);
+      RocksDBStats.registerTickerCounter(
+          stats,
+          prometheusMetricsSystem,
+          rocksDbMetricCategory,
+          "rocks_db_blob_gc_relocated_bytes",
+          "Bytes of live blobs relocated by blob garbage collection",
+          TickerType.BLOB_DB_GC_BYTES_RELOCATED);
+      RocksDBStats.registerTickerCounter(
+          stats,
+          prometheusMetricsSystem,
+          rocksDbMetricCategory,
+          "rocks_db_blob_gc_relocated_keys",
+          "Number of live blobs relocated by blob garbage collection",
+          TickerType.BLOB_DB_GC_NUM_KEYS_RELOCATED);
     }
 
     metricsSystem.createLongGauge(
@@ -138,6 +154,20 @@ public class RocksDBMetricsFactory {
           }
         });
 
+    createLongPropertyGauge(
+        metricsSystem,
+        db,
+        "rocks_db_blob_files_size_bytes",
+        "Size of the live blob files of all the column families in bytes",
+        "rocksdb.live-blob-file-size");
+
+    createLongPropertyGauge(
+        metricsSystem,
+        db,
+        "rocks_db_blob_garbage_size_bytes",
+        "Size of the garbage in the live blob files of all the column families in bytes",
+        "rocksdb.live-blob-file-garbage-size");
+
     final Counter rollbackCount =
         metricsSystem
             .createLabelledCounter(
@@ -150,4 +180,24 @@ public class RocksDBMetricsFactory {
     return new RocksDBMetrics(
         readLatency, removeLatency, writeLatency, commitLatency, rollbackCount);
   }
+
+  private void createLongPropertyGauge(
+      final MetricsSystem metricsSystem,
+      final RocksDB db,
+      final String name,
+      final String help,
+      final String property) {
+    metricsSystem.createLongGauge(
+        rocksDbMetricCategory,
+        name,
+        help,
+        () -> {
+          try {
+            return db.getAggregatedLongProperty(property);
+          } catch (final RocksDBException e) {
+            LOG.debug("Failed to get RocksDB metric", e);
+            return 0L;
+          }
+        });
+  }
 }
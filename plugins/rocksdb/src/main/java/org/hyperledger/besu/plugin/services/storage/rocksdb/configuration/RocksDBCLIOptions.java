@@ -14,6 +14,13 @@
  */
 package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
 
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 import com.google.common.base.MoreObjects;
 import picocli.CommandLine;
 
@@ -32,6 +39,12 @@ public class RocksDBCLIOptions {
   /** The constant DEFAULT_IS_HIGH_SPEC. */
   public static final boolean DEFAULT_IS_HIGH_SPEC = false;
 
+  /** The constant DEFAULT_TUNING_PROFILE. */
+  public static final RocksDBTuningProfile DEFAULT_TUNING_PROFILE = RocksDBTuningProfile.DEFAULT;
+
+  /** The constant DEFAULT_MIN_BLOB_SIZE. */
+  public static final long DEFAULT_MIN_BLOB_SIZE = 100;
+
   /** The constant MAX_OPEN_FILES_FLAG. */
   public static final String MAX_OPEN_FILES_FLAG = "--Xplugin-rocksdb-max-open-files";
 
@@ -45,6 +58,15 @@ public class RocksDBCLIOptions {
   /** The constant IS_HIGH_SPEC. */
   public static final String IS_HIGH_SPEC = "--Xplugin-rocksdb-high-spec-enabled";
 
+  /** The constant TUNING_PROFILE_FLAG. */
+  public static final String TUNING_PROFILE_FLAG = "--Xplugin-rocksdb-tuning-profile";
+
+  /** The constant BLOB_SEGMENTS_FLAG. */
+  public static final String BLOB_SEGMENTS_FLAG = "--Xplugin-rocksdb-blob-segments";
+
+  /** The constant MIN_BLOB_SIZE_FLAG. */
+  public static final String MIN_BLOB_SIZE_FLAG = "--Xplugin-rocksdb-min-blob-size";
+
   /** The Max open files. */
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -81,8 +103,58 @@ public class RocksDBCLIOptions {
           "Use this flag to boost Besu performance if you have a 16 GiB RAM hardware or more (default: ${DEFAULT-VALUE})")
   boolean isHighSpec;
 
+  /** The tuning profile. */
+  @CommandLine.Option(
+      names = {TUNING_PROFILE_FLAG},
+      hidden = true,
+      defaultValue = "DEFAULT",
+      paramLabel = "<PROFILE>",
+      description =
+          "Preset RocksDB options of each column family, one of ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+  RocksDBTuningProfile tuningProfile;
+
+  /** The segments storing their values in blob files. */
+  @CommandLine.Option(
+      names = {BLOB_SEGMENTS_FLAG},
+      hidden = true,
+      split = ",",
+      arity = "1..*",
+      paramLabel = "<SEGMENT>",
+      converter = SegmentNameConverter.class,
+      description =
+          "Comma separated names of the segments storing their values in blob files, replacing the choice of the tuning profile (e.g. CODE_STORAGE,BLOCKCHAIN)")
+  List<String> blobSegments;
+
+  /** The min blob size. */
+  @CommandLine.Option(
+      names = {MIN_BLOB_SIZE_FLAG},
+      hidden = true,
+      defaultValue = "100",
+      paramLabel = "<LONG>",
+      description =
+          "Minimum size in bytes of a value to be stored in a blob file (default: ${DEFAULT-VALUE})")
+  long minBlobSize;
+
   private RocksDBCLIOptions() {}
 
+  /** Converts a segment name, rejecting names that are not known segments. */
+  static class SegmentNameConverter implements CommandLine.ITypeConverter<String> {
+    @Override
+    public String convert(final String value) {
+      return Arrays.stream(KeyValueSegmentIdentifier.values())
+          .map(KeyValueSegmentIdentifier::getName)
+          .filter(value::equals)
+          .findFirst()
+          .orElseThrow(
+              () ->
+                  new CommandLine.TypeConversionException(
+                      "Unknown segment name "
+                          + value
+                          + ", expected one of "
+                          + Arrays.toString(KeyValueSegmentIdentifier.values())));
+    }
+  }
+
   /**
    * Create RocksDb cli options.
    *
@@ -104,6 +176,9 @@ public class RocksDBCLIOptions {
     options.cacheCapacity = config.getCacheCapacity();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
     options.isHighSpec = config.isHighSpec();
+    options.tuningProfile = config.getTuningProfile();
+    options.blobSegments = config.getBlobSegments().map(List::copyOf).orElse(null);
+    options.minBlobSize = config.getMinBlobSize();
     return options;
   }
 
@@ -114,7 +189,13 @@ public class RocksDBCLIOptions {
    */
   public RocksDBFactoryConfiguration toDomainObject() {
     return new RocksDBFactoryConfiguration(
-        maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec);
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        isHighSpec,
+        tuningProfile,
+        Optional.ofNullable(blobSegments).map(Set::copyOf),
+        minBlobSize);
   }
 
   /**
@@ -133,6 +214,9 @@ public class RocksDBCLIOptions {
         .add("cacheCapacity", cacheCapacity)
         .add("backgroundThreadCount", backgroundThreadCount)
         .add("isHighSpec", isHighSpec)
+        .add("tuningProfile", tuningProfile)
+        .add("blobSegments", blobSegments)
+        .add("minBlobSize", minBlobSize)
         .toString();
   }
 }
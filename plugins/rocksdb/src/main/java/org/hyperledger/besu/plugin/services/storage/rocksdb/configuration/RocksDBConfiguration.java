@@ -15,6 +15,8 @@
 package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
 
 import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
 
 /** The Rocks db configuration. */
 public class RocksDBConfiguration {
@@ -25,6 +27,9 @@ public class RocksDBConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final RocksDBTuningProfile tuningProfile;
+  private final Optional<Set<String>> blobSegments;
+  private final long minBlobSize;
 
   /**
    * Instantiates a new RocksDb configuration.
@@ -35,6 +40,9 @@ public class RocksDBConfiguration {
    * @param cacheCapacity the cache capacity
    * @param label the label
    * @param isHighSpec the is high spec
+   * @param tuningProfile the tuning profile
+   * @param blobSegments the names of the segments using blob files, if not left to the profile
+   * @param minBlobSize the min size of a value stored in a blob file
    */
   public RocksDBConfiguration(
       final Path databaseDir,
@@ -42,13 +50,19 @@ public class RocksDBConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final String label,
-      final boolean isHighSpec) {
+      final boolean isHighSpec,
+      final RocksDBTuningProfile tuningProfile,
+      final Optional<Set<String>> blobSegments,
+      final long minBlobSize) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.label = label;
     this.isHighSpec = isHighSpec;
+    this.tuningProfile = tuningProfile;
+    this.blobSegments = blobSegments;
+    this.minBlobSize = minBlobSize;
   }
 
   /**
@@ -104,4 +118,32 @@ public class RocksDBConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Gets tuning profile.
+   *
+   * @return the tuning profile
+   */
+  public RocksDBTuningProfile getTuningProfile() {
+    return tuningProfile;
+  }
+
+  /**
+   * Gets the names of the segments storing their values in blob files, when set explicitly
+   * instead of by the tuning profile.
+   *
+   * @return the blob segments
+   */
+  public Optional<Set<String>> getBlobSegments() {
+    return blobSegments;
+  }
+
+  /**
+   * Gets min blob size.
+   *
+   * @return the min blob size
+   */
+  public long getMinBlobSize() {
+    return minBlobSize;
+  }
 }
@@ -18,8 +18,12 @@ import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_CAPACITY;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_IS_HIGH_SPEC;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MIN_BLOB_SIZE;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_TUNING_PROFILE;
 
 import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
 
 /** The RocksDb configuration builder. */
 public class RocksDBConfigurationBuilder {
@@ -30,6 +34,9 @@ public class RocksDBConfigurationBuilder {
   private long cacheCapacity = DEFAULT_CACHE_CAPACITY;
   private int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
   private boolean isHighSpec = DEFAULT_IS_HIGH_SPEC;
+  private RocksDBTuningProfile tuningProfile = DEFAULT_TUNING_PROFILE;
+  private Optional<Set<String>> blobSegments = Optional.empty();
+  private long minBlobSize = DEFAULT_MIN_BLOB_SIZE;
 
   /** Instantiates a new Rocks db configuration builder. */
   public RocksDBConfigurationBuilder() {}
@@ -100,6 +107,39 @@ public class RocksDBConfigurationBuilder {
     return this;
   }
 
+  /**
+   * Tuning profile.
+   *
+   * @param tuningProfile the tuning profile
+   * @return the rocks db configuration builder
+   */
+  public RocksDBConfigurationBuilder tuningProfile(final RocksDBTuningProfile tuningProfile) {
+    this.tuningProfile = tuningProfile;
+    return this;
+  }
+
+  /**
+   * Blob segments.
+   *
+   * @param blobSegments the names of the segments using blob files, if not left to the profile
+   * @return the rocks db configuration builder
+   */
+  public RocksDBConfigurationBuilder blobSegments(final Optional<Set<String>> blobSegments) {
+    this.blobSegments = blobSegments;
+    return this;
+  }
+
+  /**
+   * Min blob size.
+   *
+   * @param minBlobSize the min blob size
+   * @return the rocks db configuration builder
+   */
+  public RocksDBConfigurationBuilder minBlobSize(final long minBlobSize) {
+    this.minBlobSize = minBlobSize;
+    return this;
+  }
+
   /**
    * From.
    *
@@ -111,7 +151,10 @@ public class RocksDBConfigurationBuilder {
         .backgroundThreadCount(configuration.getBackgroundThreadCount())
         .cacheCapacity(configuration.getCacheCapacity())
         .maxOpenFiles(configuration.getMaxOpenFiles())
-        .isHighSpec(configuration.isHighSpec());
+        .isHighSpec(configuration.isHighSpec())
+        .tuningProfile(configuration.getTuningProfile())
+        .blobSegments(configuration.getBlobSegments())
+        .minBlobSize(configuration.getMinBlobSize());
   }
 
   /**
@@ -121,6 +164,14 @@ public class RocksDBConfigurationBuilder {
    */
   public RocksDBConfiguration build() {
     return new RocksDBConfiguration(
-        databaseDir, maxOpenFiles, backgroundThreadCount, cacheCapacity, label, isHighSpec);
+        databaseDir,
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        label,
+        isHighSpec,
+        tuningProfile,
+        blobSegments,
+        minBlobSize);
   }
 }
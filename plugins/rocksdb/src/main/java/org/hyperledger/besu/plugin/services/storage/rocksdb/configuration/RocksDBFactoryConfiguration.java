@@ -14,6 +14,9 @@
  */
 package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
 
+import java.util.Optional;
+import java.util.Set;
+
 /** The RocksDb factory configuration. */
 public class RocksDBFactoryConfiguration {
 
@@ -21,9 +24,12 @@ public class RocksDBFactoryConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final RocksDBTuningProfile tuningProfile;
+  private final Optional<Set<String>> blobSegments;
+  private final long minBlobSize;
 
   /**
-   * Instantiates a new RocksDb factory configuration.
+   * Instantiates a new RocksDb factory configuration using the default tuning profile.
    *
    * @param maxOpenFiles the max open files
    * @param backgroundThreadCount the background thread count
@@ -35,10 +41,42 @@ public class RocksDBFactoryConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final boolean isHighSpec) {
+    this(
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        isHighSpec,
+        RocksDBCLIOptions.DEFAULT_TUNING_PROFILE,
+        Optional.empty(),
+        RocksDBCLIOptions.DEFAULT_MIN_BLOB_SIZE);
+  }
+
+  /**
+   * Instantiates a new RocksDb factory configuration.
+   *
+   * @param maxOpenFiles the max open files
+   * @param backgroundThreadCount the background thread count
+   * @param cacheCapacity the cache capacity
+   * @param isHighSpec the is high spec
+   * @param tuningProfile the tuning profile
+   * @param blobSegments the names of the segments using blob files, if not left to the profile
+   * @param minBlobSize the min size of a value stored in a blob file
+   */
+  public RocksDBFactoryConfiguration(
+      final int maxOpenFiles,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final boolean isHighSpec,
+      final RocksDBTuningProfile tuningProfile,
+      final Optional<Set<String>> blobSegments,
+      final long minBlobSize) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.isHighSpec = isHighSpec;
+    this.tuningProfile = tuningProfile;
+    this.blobSegments = blobSegments;
+    this.minBlobSize = minBlobSize;
   }
 
   /**
@@ -76,4 +114,32 @@ public class RocksDBFactoryConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Gets tuning profile.
+   *
+   * @return the tuning profile
+   */
+  public RocksDBTuningProfile getTuningProfile() {
+    return tuningProfile;
+  }
+
+  /**
+   * Gets the names of the segments storing their values in blob files, when set explicitly
+   * instead of by the tuning profile.
+   *
+   * @return the blob segments
+   */
+  public Optional<Set<String>> getBlobSegments() {
+    return blobSegments;
+  }
+
+  /**
+   * Gets min blob size.
+   *
+   * @return the min blob size
+   */
+  public long getMinBlobSize() {
+    return minBlobSize;
+  }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
+
+import java.util.List;
+
+import org.rocksdb.CompressionType;
+
+/**
+ * The table and column family options applied to the column family of a single segment.
+ *
+ * @param blockSize the size of the data blocks
+ * @param partitionedIndexAndFilters whether the index and the filters are partitioned and kept in
+ *     the block cache, instead of being loaded whole for every open table
+ * @param compressionPerLevel the compression of each level, starting with L0, the last entry
+ *     applies to all the deeper levels
+ * @param bottommostCompression the compression of the last level, where most of the data lives
+ * @param blobFiles whether values are stored in blob files instead of the SST files
+ */
+public record RocksDBSegmentTuning(
+    long blockSize,
+    boolean partitionedIndexAndFilters,
+    List<CompressionType> compressionPerLevel,
+    CompressionType bottommostCompression,
+    boolean blobFiles) {}
@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
+
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+
+import java.util.List;
+import java.util.Set;
+
+import org.rocksdb.CompressionType;
+
+/** Preset RocksDB tuning profiles, selecting the options of each column family. */
+public enum RocksDBTuningProfile {
+  /** The same options for every column family, only static data is stored in blob files. */
+  DEFAULT(0),
+  /**
+   * Options matched to the access pattern of each segment: small blocks for the randomly read
+   * state, partitioned index and filters, no compression on the short lived upper levels, ZSTD at
+   * the bottom of the cold segments, blob files for contract code, and a row cache for point reads.
+   */
+  SEGMENT_TUNED(64 * 1024 * 1024);
+
+  /** The block size used by the default profile. */
+  public static final long DEFAULT_BLOCK_SIZE = 32_768;
+
+  private static final long STATE_BLOCK_SIZE = 16_384;
+  private static final Set<String> STATE_SEGMENTS =
+      Set.of("ACCOUNT_INFO_STATE", "ACCOUNT_STORAGE_STORAGE", "TRIE_BRANCH_STORAGE");
+  private static final Set<String> COLD_SEGMENTS = Set.of("BLOCKCHAIN", "TRIE_LOG_STORAGE");
+  private static final String CODE_SEGMENT = "CODE_STORAGE";
+
+  private final long rowCacheSize;
+
+  RocksDBTuningProfile(final long rowCacheSize) {
+    this.rowCacheSize = rowCacheSize;
+  }
+
+  /**
+   * Gets the size of the row cache shared by all the column families, 0 when disabled.
+   *
+   * @return the row cache size
+   */
+  public long getRowCacheSize() {
+    return rowCacheSize;
+  }
+
+  /**
+   * Gets the tuning of the column family of a segment.
+   *
+   * @param segment the segment
+   * @return the segment tuning
+   */
+  public RocksDBSegmentTuning forSegment(final SegmentIdentifier segment) {
+    final RocksDBSegmentTuning defaultTuning =
+        new RocksDBSegmentTuning(
+            DEFAULT_BLOCK_SIZE,
+            false,
+            List.of(),
+            CompressionType.DISABLE_COMPRESSION_OPTION,
+            segment.containsStaticData());
+    if (this == DEFAULT) {
+      return defaultTuning;
+    }
+    final String name = segment.getName();
+    if (STATE_SEGMENTS.contains(name)) {
+      return new RocksDBSegmentTuning(
+          STATE_BLOCK_SIZE,
+          true,
+          List.of(
+              CompressionType.NO_COMPRESSION,
+              CompressionType.NO_COMPRESSION,
+              CompressionType.LZ4_COMPRESSION),
+          CompressionType.LZ4_COMPRESSION,
+          false);
+    } else if (COLD_SEGMENTS.contains(name)) {
+      return new RocksDBSegmentTuning(
+          DEFAULT_BLOCK_SIZE,
+          true,
+          List.of(CompressionType.NO_COMPRESSION, CompressionType.LZ4_COMPRESSION),
+          CompressionType.ZSTD_COMPRESSION,
+          segment.containsStaticData());
+    } else if (CODE_SEGMENT.equals(name)) {
+      return new RocksDBSegmentTuning(
+          DEFAULT_BLOCK_SIZE,
+          true,
+          List.of(CompressionType.NO_COMPRESSION, CompressionType.LZ4_COMPRESSION),
+          CompressionType.LZ4_COMPRESSION,
+          true);
+    }
+    return defaultTuning;
+  }
+}
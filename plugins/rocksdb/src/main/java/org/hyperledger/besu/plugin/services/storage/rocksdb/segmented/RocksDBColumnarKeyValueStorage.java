@@ -27,14 +27,17 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBSegmentTuning;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -53,6 +56,7 @@ import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
+import org.rocksdb.IndexType;
 import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
@@ -71,7 +75,12 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
 
   private static final Logger LOG = LoggerFactory.getLogger(RocksDBColumnarKeyValueStorage.class);
   private static final int ROCKSDB_FORMAT_VERSION = 5;
-  private static final long ROCKSDB_BLOCK_SIZE = 32768;
+
+  /** Size of the index and filter partitions when they are partitioned */
+  private static final long ROCKSDB_METADATA_BLOCK_SIZE = 4096;
+
+  /** Share of the block cache reserved for index and filter partitions */
+  private static final double ROCKSDB_HIGH_PRIORITY_POOL_RATIO = 0.2;
 
   /** RocksDb blockcache size when using the high spec option */
   protected static final long ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC = 1_073_741_824L;
@@ -91,6 +100,31 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   /** RocksDb Time to roll a log file (1 day = 3600 * 24 seconds) */
   private static final long TIME_TO_ROLL_LOG_FILE = 86_400L;
 
+  /**
+   * Read-ahead used by the iterators over a key range, that read many consecutive keys, like the
+   * snap server serving ranges of the flat database
+   */
+  static final long RANGE_READ_AHEAD_SIZE = 256 * 1024;
+
+  /** Column family properties reported by {@link #getStatistics()} */
+  private static final List<String> STATISTICS_PROPERTIES =
+      List.of(
+          "rocksdb.estimate-num-keys",
+          "rocksdb.estimate-live-data-size",
+          "rocksdb.total-sst-files-size",
+          "rocksdb.live-sst-files-size",
+          "rocksdb.size-all-mem-tables",
+          "rocksdb.estimate-table-readers-mem",
+          "rocksdb.block-cache-usage",
+          "rocksdb.block-cache-pinned-usage",
+          "rocksdb.num-files-at-level0",
+          "rocksdb.estimate-pending-compaction-bytes",
+          "rocksdb.num-running-compactions",
+          "rocksdb.num-blob-files",
+          "rocksdb.total-blob-file-size",
+          "rocksdb.live-blob-file-size",
+          "rocksdb.live-blob-file-garbage-size");
+
   static {
     RocksDbUtil.loadNativeLibrary();
   }
@@ -187,7 +221,9 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   private ColumnFamilyDescriptor createColumnDescriptor(
       final SegmentIdentifier segment, final RocksDBConfiguration configuration) {
 
-    BlockBasedTableConfig basedTableConfig = createBlockBasedTableConfig(segment, configuration);
+    final RocksDBSegmentTuning tuning = configuration.getTuningProfile().forSegment(segment);
+    BlockBasedTableConfig basedTableConfig =
+        createBlockBasedTableConfig(segment, tuning, configuration);
 
     final var options =
         new ColumnFamilyOptions()
@@ -195,11 +231,23 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
             .setCompressionType(CompressionType.LZ4_COMPRESSION)
             .setTableFormatConfig(basedTableConfig);
 
-    if (segment.containsStaticData()) {
+    if (!tuning.compressionPerLevel().isEmpty()) {
+      options.setCompressionPerLevel(tuning.compressionPerLevel());
+    }
+    options.setBottommostCompressionType(tuning.bottommostCompression());
+
+    final boolean blobFiles =
+        configuration
+            .getBlobSegments()
+            .map(names -> names.contains(segment.getName()))
+            .orElse(tuning.blobFiles());
+    if (blobFiles) {
+      // values of segments without static data are overwritten, so their blobs are always collected
       options
           .setEnableBlobFiles(true)
-          .setEnableBlobGarbageCollection(segment.isStaticDataGarbageCollectionEnabled())
-          .setMinBlobSize(100)
+          .setEnableBlobGarbageCollection(
+              !segment.containsStaticData() || segment.isStaticDataGarbageCollectionEnabled())
+          .setMinBlobSize(configuration.getMinBlobSize())
           .setBlobCompressionType(CompressionType.LZ4_COMPRESSION);
     }
 
@@ -211,23 +259,40 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
    * and the segment itself
    *
    * @param segment The segment related to the column family
+   * @param tuning The tuning of the segment
    * @param config RocksDB configuration
    * @return Block Base Table configuration
    */
   private BlockBasedTableConfig createBlockBasedTableConfig(
-      final SegmentIdentifier segment, final RocksDBConfiguration config) {
-    final LRUCache cache =
-        new LRUCache(
-            config.isHighSpec() && segment.isEligibleToHighSpecFlag()
-                ? ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC
-                : config.getCacheCapacity());
-    return new BlockBasedTableConfig()
-        .setFormatVersion(ROCKSDB_FORMAT_VERSION)
-        .setBlockCache(cache)
-        .setFilterPolicy(new BloomFilter(10, false))
-        .setPartitionFilters(true)
-        .setCacheIndexAndFilterBlocks(false)
-        .setBlockSize(ROCKSDB_BLOCK_SIZE);
+      final SegmentIdentifier segment,
+      final RocksDBSegmentTuning tuning,
+      final RocksDBConfiguration config) {
+    final long cacheCapacity =
+        config.isHighSpec() && segment.isEligibleToHighSpecFlag()
+            ? ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC
+            : config.getCacheCapacity();
+    final BlockBasedTableConfig tableConfig =
+        new BlockBasedTableConfig()
+            .setFormatVersion(ROCKSDB_FORMAT_VERSION)
+            .setFilterPolicy(new BloomFilter(10, false))
+            .setPartitionFilters(true)
+            .setCacheIndexAndFilterBlocks(false)
+            .setBlockSize(tuning.blockSize());
+    if (tuning.partitionedIndexAndFilters()) {
+      // partitions are cached with high priority so that data blocks cannot evict them, only the
+      // top level index is pinned
+      tableConfig
+          .setBlockCache(new LRUCache(cacheCapacity, -1, false, ROCKSDB_HIGH_PRIORITY_POOL_RATIO))
+          .setIndexType(IndexType.kTwoLevelIndexSearch)
+          .setMetadataBlockSize(ROCKSDB_METADATA_BLOCK_SIZE)
+          .setCacheIndexAndFilterBlocks(true)
+          .setCacheIndexAndFilterBlocksWithHighPriority(true)
+          .setPinTopLevelIndexAndFilter(true)
+          .setPinL0FilterAndIndexBlocksInCache(true);
+    } else {
+      tableConfig.setBlockCache(new LRUCache(cacheCapacity));
+    }
+    return tableConfig;
   }
 
   /***
@@ -248,6 +313,10 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
         .setEnv(Env.getDefault().setBackgroundThreads(configuration.getBackgroundThreadCount()))
         .setMaxTotalWalSize(WAL_MAX_TOTAL_SIZE)
         .setRecycleLogFileNum(WAL_MAX_TOTAL_SIZE / EXPECTED_WAL_FILE_SIZE);
+    final long rowCacheSize = configuration.getTuningProfile().getRowCacheSize();
+    if (rowCacheSize > 0) {
+      options.setRowCache(new LRUCache(rowCacheSize));
+    }
   }
 
   /**
@@ -385,10 +454,14 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   public Stream<Pair<byte[], byte[]>> streamFromKey(
       final SegmentIdentifier segmentIdentifier, final byte[] startKey, final byte[] endKey) {
     final Bytes endKeyBytes = Bytes.wrap(endKey);
-    final RocksIterator rocksIterator = getDB().newIterator(safeColumnHandle(segmentIdentifier));
+    final ReadOptions rangeReadOptions =
+        new ReadOptions().setVerifyChecksums(false).setReadaheadSize(RANGE_READ_AHEAD_SIZE);
+    final RocksIterator rocksIterator =
+        getDB().newIterator(safeColumnHandle(segmentIdentifier), rangeReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator)
         .toStream()
+        .onClose(rangeReadOptions::close)
         .takeWhile(e -> endKeyBytes.compareTo(Bytes.wrap(e.getKey())) >= 0);
   }
 
@@ -450,6 +523,28 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
     }
   }
 
+  @Override
+  public Map<String, Map<String, String>> getStatistics() {
+    if (closed.get()) {
+      return Map.of();
+    }
+    final Map<String, Map<String, String>> statistics = new TreeMap<>();
+    columnHandlesBySegmentIdentifier.forEach(
+        (segment, handle) -> {
+          final Map<String, String> properties = new LinkedHashMap<>();
+          properties.put("tuningProfile", configuration.getTuningProfile().name());
+          for (final String property : STATISTICS_PROPERTIES) {
+            try {
+              properties.put(property, getDB().getProperty(handle.get(), property));
+            } catch (final RocksDBException e) {
+              LOG.trace("Property {} not available for segment {}", property, segment.getName());
+            }
+          }
+          statistics.put(segment.getName(), properties);
+        });
+    return statistics;
+  }
+
   @Override
   public boolean isClosed() {
     return closed.get();
@@ -214,11 +214,16 @@ public class RocksDBSnapshotTransaction
     throwIfClosed();
     final Bytes endKeyBytes = Bytes.wrap(endKey);
 
+    // same snapshot, with read-ahead since the whole range is usually read
+    final ReadOptions rangeReadOptions =
+        new ReadOptions(readOptions)
+            .setReadaheadSize(RocksDBColumnarKeyValueStorage.RANGE_READ_AHEAD_SIZE);
     final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segment), readOptions);
+        db.newIterator(columnFamilyMapper.apply(segment), rangeReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator)
         .toStream()
+        .onClose(rangeReadOptions::close)
         .takeWhile(e -> endKeyBytes.compareTo(Bytes.wrap(e.getKey())) >= 0);
   }
 
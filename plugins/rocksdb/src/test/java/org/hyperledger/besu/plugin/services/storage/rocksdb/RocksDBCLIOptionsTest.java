@@ -15,16 +15,25 @@
 package org.hyperledger.besu.plugin.services.storage.rocksdb;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.BLOB_SEGMENTS_FLAG;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.CACHE_CAPACITY_FLAG;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_BACKGROUND_THREAD_COUNT;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_CAPACITY;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_IS_HIGH_SPEC;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MIN_BLOB_SIZE;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.IS_HIGH_SPEC;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_TUNING_PROFILE;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.MAX_OPEN_FILES_FLAG;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.MIN_BLOB_SIZE_FLAG;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.TUNING_PROFILE_FLAG;
 
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBFactoryConfiguration;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBTuningProfile;
+
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import picocli.CommandLine;
@@ -43,6 +52,9 @@ public class RocksDBCLIOptionsTest {
     assertThat(configuration.getCacheCapacity()).isEqualTo(DEFAULT_CACHE_CAPACITY);
     assertThat(configuration.getMaxOpenFiles()).isEqualTo(DEFAULT_MAX_OPEN_FILES);
     assertThat(configuration.isHighSpec()).isEqualTo(DEFAULT_IS_HIGH_SPEC);
+    assertThat(configuration.getTuningProfile()).isEqualTo(DEFAULT_TUNING_PROFILE);
+    assertThat(configuration.getBlobSegments()).isEmpty();
+    assertThat(configuration.getMinBlobSize()).isEqualTo(DEFAULT_MIN_BLOB_SIZE);
   }
 
   @Test
@@ -104,4 +116,39 @@ public class RocksDBCLIOptionsTest {
     assertThat(configuration.getCacheCapacity()).isEqualTo(DEFAULT_CACHE_CAPACITY);
     assertThat(configuration.isHighSpec()).isEqualTo(Boolean.TRUE);
   }
+
+  @Test
+  public void customTuningProfile() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+
+    new CommandLine(options).parseArgs(TUNING_PROFILE_FLAG, "SEGMENT_TUNED");
+
+    final RocksDBFactoryConfiguration configuration = options.toDomainObject();
+    assertThat(configuration).isNotNull();
+    assertThat(configuration.getCacheCapacity()).isEqualTo(DEFAULT_CACHE_CAPACITY);
+    assertThat(configuration.getTuningProfile()).isEqualTo(RocksDBTuningProfile.SEGMENT_TUNED);
+  }
+
+  @Test
+  public void customBlobSegments() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+
+    new CommandLine(options)
+        .parseArgs(BLOB_SEGMENTS_FLAG, "CODE_STORAGE,BLOCKCHAIN", MIN_BLOB_SIZE_FLAG, "1024");
+
+    final RocksDBFactoryConfiguration configuration = options.toDomainObject();
+    assertThat(configuration).isNotNull();
+    assertThat(configuration.getTuningProfile()).isEqualTo(DEFAULT_TUNING_PROFILE);
+    assertThat(configuration.getBlobSegments()).contains(Set.of("CODE_STORAGE", "BLOCKCHAIN"));
+    assertThat(configuration.getMinBlobSize()).isEqualTo(1024);
+  }
+
+  @Test
+  public void unknownBlobSegmentIsRejected() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+    assertThatThrownBy(
+            () -> new CommandLine(options).parseArgs(BLOB_SEGMENTS_FLAG, "CODE_STORAGE,BLOKCHAIN"))
+        .isInstanceOf(CommandLine.ParameterException.class)
+        .hasMessageContaining("BLOKCHAIN");
+  }
 }
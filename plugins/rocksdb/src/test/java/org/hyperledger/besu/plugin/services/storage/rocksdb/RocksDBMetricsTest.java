@@ -24,6 +24,8 @@ import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.metrics.Observation;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
@@ -31,6 +33,8 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksD
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
 
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
 import java.util.function.LongSupplier;
 
 import org.junit.jupiter.api.Test;
@@ -41,6 +45,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
 
 @ExtendWith(MockitoExtension.class)
 public class RocksDBMetricsTest {
@@ -95,18 +100,24 @@ public class RocksDBMetricsTest {
             "Latency for write to RocksDB.",
             "Latency for commits to RocksDB.");
 
-    verify(metricsSystemMock, times(2))
+    verify(metricsSystemMock, times(4))
         .createLongGauge(
             eq(BesuMetricCategory.KVSTORE_ROCKSDB),
             longGaugesMetricsNameArgs.capture(),
             longGaugesHelpArgs.capture(),
             any(LongSupplier.class));
     assertThat(longGaugesMetricsNameArgs.getAllValues())
-        .containsExactly("rocks_db_table_readers_memory_bytes", "rocks_db_files_size_bytes");
+        .containsExactly(
+            "rocks_db_table_readers_memory_bytes",
+            "rocks_db_files_size_bytes",
+            "rocks_db_blob_files_size_bytes",
+            "rocks_db_blob_garbage_size_bytes");
     assertThat(longGaugesHelpArgs.getAllValues())
         .containsExactly(
             "Estimated memory used for RocksDB index and filter blocks in bytes",
-            "Estimated database size in bytes");
+            "Estimated database size in bytes",
+            "Size of the live blob files of all the column families in bytes",
+            "Size of the garbage in the live blob files of all the column families in bytes");
 
     verify(metricsSystemMock)
         .createLabelledCounter(
@@ -119,6 +130,29 @@ public class RocksDBMetricsTest {
         .isEqualTo("Number of RocksDB transactions rolled back.");
   }
 
+  @Test
+  public void blobGarbageCollectionTickersAreCounters() throws Exception {
+    when(stats.getTickerCount(TickerType.BLOB_DB_GC_BYTES_RELOCATED)).thenReturn(4096L);
+    when(stats.getTickerCount(TickerType.BLOB_DB_GC_NUM_KEYS_RELOCATED)).thenReturn(2L);
+    final PrometheusMetricsSystem metricsSystem =
+        new PrometheusMetricsSystem(Set.of(BesuMetricCategory.KVSTORE_ROCKSDB), false);
+
+    RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS.create(metricsSystem, config(), db, stats);
+
+    assertThat(metricsSystem.streamObservations(BesuMetricCategory.KVSTORE_ROCKSDB))
+        .contains(
+            new Observation(
+                BesuMetricCategory.KVSTORE_ROCKSDB,
+                "rocks_db_blob_gc_relocated_bytes",
+                4096.0,
+                List.of()),
+            new Observation(
+                BesuMetricCategory.KVSTORE_ROCKSDB,
+                "rocks_db_blob_gc_relocated_keys",
+                2.0,
+                List.of()));
+  }
+
   private RocksDBConfiguration config() throws Exception {
     return new RocksDBConfigurationBuilder().databaseDir(folder).build();
   }
@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.segmented.OptimisticRocksDBColumnarKeyValueStorage;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.CompressionType;
+
+public class RocksDBTuningProfileTest {
+
+  private static final SegmentIdentifier BLOCKCHAIN = segment("BLOCKCHAIN", true);
+  private static final SegmentIdentifier CODE_STORAGE = segment("CODE_STORAGE", false);
+  private static final SegmentIdentifier TRIE_BRANCH_STORAGE =
+      segment("TRIE_BRANCH_STORAGE", false);
+  private static final SegmentIdentifier VARIABLES = segment("VARIABLES", false);
+
+  @TempDir public Path folder;
+
+  @Test
+  public void defaultProfileKeepsTheSameOptionsForEverySegment() {
+    for (final SegmentIdentifier segment :
+        List.of(BLOCKCHAIN, CODE_STORAGE, TRIE_BRANCH_STORAGE, VARIABLES)) {
+      final RocksDBSegmentTuning tuning = RocksDBTuningProfile.DEFAULT.forSegment(segment);
+      assertThat(tuning.blockSize()).isEqualTo(RocksDBTuningProfile.DEFAULT_BLOCK_SIZE);
+      assertThat(tuning.partitionedIndexAndFilters()).isFalse();
+      assertThat(tuning.compressionPerLevel()).isEmpty();
+      assertThat(tuning.blobFiles()).isEqualTo(segment.containsStaticData());
+    }
+    assertThat(RocksDBTuningProfile.DEFAULT.getRowCacheSize()).isZero();
+  }
+
+  @Test
+  public void segmentTunedProfileMatchesAccessPatterns() {
+    final RocksDBTuningProfile profile = RocksDBTuningProfile.SEGMENT_TUNED;
+
+    final RocksDBSegmentTuning trie = profile.forSegment(TRIE_BRANCH_STORAGE);
+    assertThat(trie.blockSize()).isLessThan(RocksDBTuningProfile.DEFAULT_BLOCK_SIZE);
+    assertThat(trie.partitionedIndexAndFilters()).isTrue();
+    assertThat(trie.blobFiles()).isFalse();
+
+    assertThat(profile.forSegment(CODE_STORAGE).blobFiles()).isTrue();
+    assertThat(profile.forSegment(BLOCKCHAIN).blobFiles()).isTrue();
+    assertThat(profile.forSegment(BLOCKCHAIN).bottommostCompression())
+        .isEqualTo(CompressionType.ZSTD_COMPRESSION);
+    assertThat(profile.forSegment(VARIABLES))
+        .isEqualTo(RocksDBTuningProfile.DEFAULT.forSegment(VARIABLES));
+    assertThat(profile.getRowCacheSize()).isPositive();
+  }
+
+  @Test
+  public void segmentTunedProfileOpensAndStoresData() throws Exception {
+    final SegmentedKeyValueStorage store =
+        new OptimisticRocksDBColumnarKeyValueStorage(
+            new RocksDBConfigurationBuilder()
+                .databaseDir(folder)
+                .tuningProfile(RocksDBTuningProfile.SEGMENT_TUNED)
+                .build(),
+            List.of(BLOCKCHAIN, CODE_STORAGE, TRIE_BRANCH_STORAGE, VARIABLES),
+            List.of(),
+            new NoOpMetricsSystem(),
+            RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+    final byte[] key = {1, 2, 3};
+    final byte[] code = new byte[4096];
+
+    final SegmentedKeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(CODE_STORAGE, key, code);
+    tx.put(TRIE_BRANCH_STORAGE, key, key);
+    tx.commit();
+
+    assertThat(store.get(CODE_STORAGE, key).orElse(null)).isEqualTo(code);
+    assertThat(store.get(TRIE_BRANCH_STORAGE, key).orElse(null)).isEqualTo(key);
+    assertThat(store.getStatistics().get("CODE_STORAGE"))
+        .containsEntry("tuningProfile", "SEGMENT_TUNED");
+    store.close();
+  }
+
+  private static SegmentIdentifier segment(final String name, final boolean containsStaticData) {
+    final SegmentIdentifier segment = mock(SegmentIdentifier.class);
+    when(segment.getName()).thenReturn(name);
+    when(segment.getId()).thenReturn(name.getBytes(StandardCharsets.UTF_8));
+    when(segment.containsStaticData()).thenReturn(containsStaticData);
+    return segment;
+  }
+}
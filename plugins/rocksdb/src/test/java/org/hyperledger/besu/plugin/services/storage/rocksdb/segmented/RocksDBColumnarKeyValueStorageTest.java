@@ -41,6 +41,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -111,6 +112,24 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     store.close();
   }
 
+  @Test
+  public void statisticsAreReportedForEachSegment() throws Exception {
+    final SegmentedKeyValueStorage store = createSegmentedStore();
+    final SegmentedKeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(TestSegment.FOO, bytesFromHexString("0001"), bytesFromHexString("0FFF"));
+    tx.commit();
+
+    final Map<String, Map<String, String>> statistics = store.getStatistics();
+
+    assertThat(statistics).containsKeys(TestSegment.FOO.getName(), TestSegment.BAR.getName());
+    assertThat(statistics.get(TestSegment.FOO.getName()))
+        .containsEntry("tuningProfile", "DEFAULT")
+        .containsKeys("rocksdb.estimate-num-keys", "rocksdb.size-all-mem-tables");
+
+    store.close();
+    assertThat(store.getStatistics()).isEmpty();
+  }
+
   @Test
   public void canRemoveThroughSegmentIteration() throws Exception {
     // we're looping this in order to catch intermittent failures when rocksdb objects are not close
@@ -338,18 +357,28 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
               "Latency for write to RocksDB.",
               "Latency for commits to RocksDB.");
 
-      verify(metricsSystemMock, times(2))
+      verify(metricsSystemMock, times(6))
           .createLongGauge(
               eq(BesuMetricCategory.KVSTORE_ROCKSDB),
               longGaugesMetricsNameArgs.capture(),
               longGaugesHelpArgs.capture(),
               any(LongSupplier.class));
       assertThat(longGaugesMetricsNameArgs.getAllValues())
-          .containsExactly("rocks_db_table_readers_memory_bytes", "rocks_db_files_size_bytes");
+          .containsExactly(
+              "rocks_db_table_readers_memory_bytes",
+              "rocks_db_files_size_bytes",
+              "rocks_db_blob_files_size_bytes",
+              "rocks_db_blob_garbage_size_bytes",
+              "rocks_db_blob_gc_relocated_bytes",
+              "rocks_db_blob_gc_relocated_keys");
       assertThat(longGaugesHelpArgs.getAllValues())
           .containsExactly(
               "Estimated memory used for RocksDB index and filter blocks in bytes",
-              "Estimated database size in bytes");
+              "Estimated database size in bytes",
+              "Size of the live blob files of all the column families in bytes",
+              "Size of the garbage in the live blob files of all the column families in bytes",
+              "Bytes of live blobs relocated by blob garbage collection",
+              "Number of live blobs relocated by blob garbage collection");
 
       verify(metricsSystemMock)
           .createLabelledCounter(
@@ -16,9 +16,11 @@ package org.hyperledger.besu.services.pipeline;
 
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -32,6 +34,7 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
   private final int maximumBatchSize;
   private final Counter batchCounter;
   private final Function<List<T>, Integer> stopBatchCondition;
+  private final long maximumWaitNanos;
 
   /**
    * Instantiates a new Batching read pipe.
@@ -58,10 +61,32 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
       final int maximumBatchSize,
       final Counter batchCounter,
       final Function<List<T>, Integer> batchEndCondition) {
+    this(input, maximumBatchSize, batchCounter, batchEndCondition, Duration.ZERO);
+  }
+
+  /**
+   * Instantiates a new Batching read pipe that waits for a batch to fill. After the first item of a
+   * batch is read, items are added as they arrive until the batch is complete or the maximum wait
+   * has elapsed, so batches are full when the input is fast and items do not wait long when it is
+   * slow.
+   *
+   * @param input the input
+   * @param maximumBatchSize the maximum batch size
+   * @param batchCounter the batch counter
+   * @param batchEndCondition the batch end condition
+   * @param maximumWait the maximum time to wait for a batch to fill, zero to not wait
+   */
+  public BatchingReadPipe(
+      final ReadPipe<T> input,
+      final int maximumBatchSize,
+      final Counter batchCounter,
+      final Function<List<T>, Integer> batchEndCondition,
+      final Duration maximumWait) {
     this.input = input;
     this.maximumBatchSize = maximumBatchSize;
     this.batchCounter = batchCounter;
     this.stopBatchCondition = batchEndCondition;
+    this.maximumWaitNanos = maximumWait.toNanos();
   }
 
   @Override
@@ -82,6 +107,7 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
       // An empty list is not a suitable thing to return here.
       return null;
     }
+    final long deadline = System.nanoTime() + maximumWaitNanos;
     final List<T> batch = new ArrayList<>();
     batch.add(firstItem);
     Integer remainingData = stopBatchCondition.apply(batch);
@@ -89,7 +115,12 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
         && (batch.size() + remainingData) <= maximumBatchSize
         && input.hasMore()) {
       if (input.drainTo(batch, remainingData) == 0) {
-        break;
+        final long waitNanos = deadline - System.nanoTime();
+        final T nextItem = waitNanos > 0 ? input.get(waitNanos, TimeUnit.NANOSECONDS) : null;
+        if (nextItem == null) {
+          break;
+        }
+        batch.add(nextItem);
       }
       remainingData = stopBatchCondition.apply(batch);
     }
@@ -14,9 +14,12 @@
  */
 package org.hyperledger.besu.services.pipeline;
 
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -38,10 +41,13 @@ import org.slf4j.LoggerFactory;
  */
 public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   private static final Logger LOG = LoggerFactory.getLogger(Pipe.class);
-  private final BlockingQueue<T> queue;
+  private final BlockingQueue<Queued<T>> queue;
   private final Counter inputCounter;
   private final Counter outputCounter;
   private final Counter abortedItemCounter;
+  private final Counter blockedTimeCounter;
+  private final Counter starvedTimeCounter;
+  private final Counter queuedTimeCounter;
   private final AtomicBoolean closed = new AtomicBoolean();
   private final AtomicBoolean aborted = new AtomicBoolean();
   private String pipeName = "";
@@ -61,13 +67,51 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       final Counter outputCounter,
       final Counter abortedItemCounter,
       final String pipeName) {
+    this(
+        capacity,
+        inputCounter,
+        outputCounter,
+        abortedItemCounter,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        pipeName);
+  }
+
+  /**
+   * Instantiates a new Pipe that also records, in microseconds, how long the stages using it wait
+   * and how long items stay in it.
+   *
+   * @param capacity the capacity
+   * @param inputCounter the input counter
+   * @param outputCounter the output counter
+   * @param abortedItemCounter the aborted item counter
+   * @param blockedTimeCounter the time spent by writers waiting for the pipe to have capacity
+   * @param starvedTimeCounter the time spent by readers waiting for the pipe to have items
+   * @param queuedTimeCounter the total time between items being put in the pipe and being read
+   * @param pipeName the name of the pipe
+   */
+  public Pipe(
+      final int capacity,
+      final Counter inputCounter,
+      final Counter outputCounter,
+      final Counter abortedItemCounter,
+      final Counter blockedTimeCounter,
+      final Counter starvedTimeCounter,
+      final Counter queuedTimeCounter,
+      final String pipeName) {
     queue = new ArrayBlockingQueue<>(capacity);
     this.inputCounter = inputCounter;
     this.outputCounter = outputCounter;
     this.abortedItemCounter = abortedItemCounter;
+    this.blockedTimeCounter = blockedTimeCounter;
+    this.starvedTimeCounter = starvedTimeCounter;
+    this.queuedTimeCounter = queuedTimeCounter;
     this.pipeName = pipeName;
   }
 
+  private record Queued<T>(T item, long queuedAtNanos) {}
+
   /**
    * Get the name of this pipe
    *
@@ -114,47 +158,94 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public T get() {
-    try {
-      while (hasMore()) {
-        final T value = queue.poll(1, TimeUnit.SECONDS);
-        if (value != null) {
-          outputCounter.inc();
-          return value;
+    if (!hasMore()) {
+      return null;
+    }
+    Queued<T> queued = queue.poll();
+    if (queued == null) {
+      final long waitStart = System.nanoTime();
+      try {
+        while (queued == null && hasMore()) {
+          queued = queue.poll(1, TimeUnit.SECONDS);
         }
+      } catch (final InterruptedException e) {
+        LOG.trace("Interrupted while waiting for next item from pipe {}", pipeName);
       }
-    } catch (final InterruptedException e) {
-      LOG.trace("Interrupted while waiting for next item from pipe {}", pipeName);
+      starvedTimeCounter.inc(micros(System.nanoTime() - waitStart));
     }
-    return null;
+    return queued != null ? taken(queued) : null;
   }
 
   @Override
-  public T poll() {
-    final T item = queue.poll();
-    if (item != null) {
-      outputCounter.inc();
+  public T get(final long timeout, final TimeUnit unit) {
+    if (!hasMore()) {
+      return null;
+    }
+    Queued<T> queued = queue.poll();
+    if (queued == null) {
+      final long waitStart = System.nanoTime();
+      try {
+        queued = queue.poll(timeout, unit);
+      } catch (final InterruptedException e) {
+        LOG.trace("Interrupted while waiting for next item from pipe {}", pipeName);
+      }
+      starvedTimeCounter.inc(micros(System.nanoTime() - waitStart));
     }
-    return item;
+    return queued != null ? taken(queued) : null;
+  }
+
+  @Override
+  public T poll() {
+    final Queued<T> queued = queue.poll();
+    return queued != null ? taken(queued) : null;
   }
 
   @Override
   public int drainTo(final Collection<T> output, final int maxElements) {
-    final int count = queue.drainTo(output, maxElements);
+    final List<Queued<T>> drained = new ArrayList<>(Math.min(maxElements, queue.size()));
+    final int count = queue.drainTo(drained, maxElements);
+    final long now = System.nanoTime();
+    long queuedNanos = 0;
+    for (final Queued<T> queued : drained) {
+      output.add(queued.item());
+      queuedNanos += now - queued.queuedAtNanos();
+    }
     outputCounter.inc(count);
+    queuedTimeCounter.inc(micros(queuedNanos));
     return count;
   }
 
   @Override
   public void put(final T value) {
-    while (isOpen()) {
-      try {
-        if (queue.offer(value, 1, TimeUnit.SECONDS)) {
-          inputCounter.inc();
-          return;
+    final Queued<T> queued = new Queued<>(value, System.nanoTime());
+    if (isOpen() && queue.offer(queued)) {
+      inputCounter.inc();
+      return;
+    }
+    final long waitStart = queued.queuedAtNanos();
+    try {
+      while (isOpen()) {
+        try {
+          if (queue.offer(queued, 1, TimeUnit.SECONDS)) {
+            inputCounter.inc();
+            return;
+          }
+        } catch (final InterruptedException e) {
+          LOG.trace("Interrupted while waiting to add to output to pipe {}", pipeName);
         }
-      } catch (final InterruptedException e) {
-        LOG.trace("Interrupted while waiting to add to output to pipe {}", pipeName);
       }
+    } finally {
+      blockedTimeCounter.inc(micros(System.nanoTime() - waitStart));
     }
   }
+
+  private T taken(final Queued<T> queued) {
+    outputCounter.inc();
+    queuedTimeCounter.inc(micros(System.nanoTime() - queued.queuedAtNanos()));
+    return queued.item();
+  }
+
+  private static long micros(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
 }
@@ -18,14 +18,17 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
 
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -51,6 +54,7 @@ public class PipelineBuilder<I, T> {
   private final ReadPipe<T> pipeEnd;
   private final int bufferSize;
   private final LabelledMetric<Counter> outputCounter;
+  private final LabelledMetric<Counter> stageTimeCounter;
   private final boolean tracingEnabled;
   private final String pipelineName;
 
@@ -77,9 +81,48 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
+    this(
+        inputPipe,
+        stages,
+        pipes,
+        lastStageName,
+        pipeEnd,
+        bufferSize,
+        outputCounter,
+        NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER,
+        tracingEnabled,
+        pipelineName);
+  }
+
+  /**
+   * Instantiates a new Pipeline builder.
+   *
+   * @param inputPipe the input pipe
+   * @param stages the stages
+   * @param pipes the pipes
+   * @param lastStageName the last stage name
+   * @param pipeEnd the pipe end
+   * @param bufferSize the buffer size
+   * @param outputCounter the output counter
+   * @param stageTimeCounter the counter of the time, in microseconds, stages wait on their pipes
+   * @param tracingEnabled the tracing enabled
+   * @param pipelineName the pipeline name
+   */
+  public PipelineBuilder(
+      final Pipe<I> inputPipe,
+      final Collection<Stage> stages,
+      final Collection<Pipe<?>> pipes,
+      final String lastStageName,
+      final ReadPipe<T> pipeEnd,
+      final int bufferSize,
+      final LabelledMetric<Counter> outputCounter,
+      final LabelledMetric<Counter> stageTimeCounter,
+      final boolean tracingEnabled,
+      final String pipelineName) {
     checkArgument(!pipes.isEmpty(), "Must have at least one pipe in a pipeline");
     this.lastStageName = lastStageName;
     this.outputCounter = outputCounter;
+    this.stageTimeCounter = stageTimeCounter;
     this.inputPipe = inputPipe;
     this.stages = stages;
     this.pipes = pipes;
@@ -111,7 +154,51 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> itemCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter);
+    return createPipelineFrom(
+        sourceName,
+        source,
+        bufferSize,
+        itemCounter,
+        NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER,
+        tracingEnabled,
+        pipelineName);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs from <i>source</i> and records the time its stages
+   * spend waiting. For the output pipe of every stage, <i>stageTimeCounter</i> is incremented by
+   * the microseconds:
+   *
+   * <ul>
+   *   <li><code>blocked</code>: the stage waited because the pipe was full
+   *   <li><code>starved</code>: the stages reading from the pipe waited for items
+   *   <li><code>queued</code>: items stayed in the pipe before being read
+   * </ul>
+   *
+   * <p>With the count of items removed from the pipe, this gives the busy time of each stage, its
+   * throughput and the average queue latency in front of the next stage.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param source the source to pull items from for processing.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param itemCounter the counter to increment for each output of a stage. Must accept two labels,
+   *     the stage name and action (output or drained).
+   * @param stageTimeCounter the counter to increment with the time spent by each stage. Must
+   *     accept two labels, the stage name and action (blocked, starved or queued).
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public static <T> PipelineBuilder<T, T> createPipelineFrom(
+      final String sourceName,
+      final Iterator<T> source,
+      final int bufferSize,
+      final LabelledMetric<Counter> itemCounter,
+      final LabelledMetric<Counter> stageTimeCounter,
+      final boolean tracingEnabled,
+      final String pipelineName) {
+    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter, stageTimeCounter);
     final IteratorSourceStage<T> sourceStage = new IteratorSourceStage<>(sourceName, source, pipe);
     return new PipelineBuilder<>(
         pipe,
@@ -121,6 +208,7 @@ public class PipelineBuilder<I, T> {
         pipe,
         bufferSize,
         itemCounter,
+        stageTimeCounter,
         tracingEnabled,
         pipelineName);
   }
@@ -144,7 +232,9 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, outputCounter);
+    final Pipe<T> pipe =
+        createPipe(
+            bufferSize, sourceName, outputCounter, NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER);
     return new PipelineBuilder<>(
         pipe,
         emptyList(),
@@ -238,6 +328,36 @@ public class PipelineBuilder<I, T> {
     return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, true), stageName);
   }
 
+  /**
+   * Adds a 1-to-1 processing stage to the pipeline that runs <i>processor</i> on the threads of
+   * <i>executor</i>, with up to <i>maxConcurrency</i> items processed concurrently. Unlike {@link
+   * #thenProcessInParallel(String, Function, int)}, which dedicates a thread to each worker, the
+   * stage shares the threads of the executor, typically a work-stealing {@link
+   * java.util.concurrent.ForkJoinPool}, so CPU bound stages of several pipelines do not need more
+   * threads than there are cores.
+   *
+   * <p>If <i>processor</i> throws an exception the pipeline will abort.
+   *
+   * <p>Note: While processing may occur concurrently, order is preserved when results are output.
+   *
+   * @param <O> the output type for this processing step.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param processor the processing to apply to each item, must not return <code>null</code>.
+   * @param executor the executor to run the processing on.
+   * @param maxConcurrency the maximum number of items being processed concurrently.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenProcessInPool(
+      final String stageName,
+      final Function<T, O> processor,
+      final Executor executor,
+      final int maxConcurrency) {
+    return thenProcessAsyncOrdered(
+        stageName,
+        item -> CompletableFuture.supplyAsync(() -> processor.apply(item), executor),
+        maxConcurrency);
+  }
+
   /**
    * Batches items into groups of at most <i>maximumBatchSize</i>. Batches are created eagerly to
    * minimize delay so may not be full.
@@ -262,6 +382,7 @@ public class PipelineBuilder<I, T> {
             outputCounter.labels(lastStageName + "_outputPipe", "batches")),
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
+        stageTimeCounter,
         tracingEnabled,
         pipelineName);
   }
@@ -280,6 +401,47 @@ public class PipelineBuilder<I, T> {
    */
   public PipelineBuilder<I, List<T>> inBatches(
       final int maximumBatchSize, final Function<List<T>, Integer> stopBatchCondition) {
+    return inBatches(maximumBatchSize, stopBatchCondition, Duration.ZERO);
+  }
+
+  /**
+   * Batches items into groups of at most <i>maximumBatchSize</i>. After the first item of a batch
+   * is available, waits up to <i>maximumWait</i> for the batch to fill, so batches are full when
+   * the stages before are faster than the stages after, and smaller otherwise.
+   *
+   * <p>Order of items is preserved.
+   *
+   * <p>The output buffer size is reduced to <code>bufferSize / maximumBatchSize + 1</code>.
+   *
+   * @param maximumBatchSize the maximum number of items to include in a batch.
+   * @param maximumWait the maximum time to wait for a batch to fill.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public PipelineBuilder<I, List<T>> inBatches(
+      final int maximumBatchSize, final Duration maximumWait) {
+    checkArgument(maximumBatchSize > 0, "Maximum batch size must be greater than 0");
+    return inBatches(maximumBatchSize, ts -> maximumBatchSize - ts.size(), maximumWait);
+  }
+
+  /**
+   * Batches items into groups of at most <i>maximumBatchSize</i>, ending a batch when
+   * <i>stopBatchCondition</i> returns zero, for example once the batch has reached a size in
+   * bytes. After the first item of a batch is available, waits up to <i>maximumWait</i> for the
+   * batch to be complete.
+   *
+   * <p>Order of items is preserved.
+   *
+   * <p>The output buffer size is reduced to <code>bufferSize / maximumBatchSize + 1</code>.
+   *
+   * @param maximumBatchSize the maximum number of items to include in a batch.
+   * @param stopBatchCondition the number of items that can still be added to the batch
+   * @param maximumWait the maximum time to wait for a batch to be complete, zero to not wait.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public PipelineBuilder<I, List<T>> inBatches(
+      final int maximumBatchSize,
+      final Function<List<T>, Integer> stopBatchCondition,
+      final Duration maximumWait) {
     return new PipelineBuilder<>(
         inputPipe,
         stages,
@@ -289,9 +451,11 @@ public class PipelineBuilder<I, T> {
             pipeEnd,
             maximumBatchSize,
             outputCounter.labels(lastStageName + "_outputPipe", "batches"),
-            stopBatchCondition),
+            stopBatchCondition,
+            maximumWait),
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
+        stageTimeCounter,
         tracingEnabled,
         pipelineName);
   }
@@ -364,7 +528,8 @@ public class PipelineBuilder<I, T> {
       final Supplier<Processor<T, O>> createProcessor,
       final int numberOfThreads,
       final int newBufferSize) {
-    final Pipe<O> newPipeEnd = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> newPipeEnd =
+        createPipe(newBufferSize, stageName, outputCounter, stageTimeCounter);
     final WritePipe<O> outputPipe = new SharedWritePipe<>(newPipeEnd, numberOfThreads);
     final ArrayList<Stage> newStages = new ArrayList<>(stages);
     for (int i = 0; i < numberOfThreads; i++) {
@@ -380,6 +545,7 @@ public class PipelineBuilder<I, T> {
         newPipeEnd,
         newBufferSize,
         outputCounter,
+        stageTimeCounter,
         tracingEnabled,
         pipelineName);
   }
@@ -391,7 +557,8 @@ public class PipelineBuilder<I, T> {
 
   private <O> PipelineBuilder<I, O> addStage(
       final Processor<T, O> processor, final int newBufferSize, final String stageName) {
-    final Pipe<O> outputPipe = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> outputPipe =
+        createPipe(newBufferSize, stageName, outputCounter, stageTimeCounter);
     final Stage processStage = new ProcessingStage<>(stageName, pipeEnd, outputPipe, processor);
     final List<Stage> newStages = concat(stages, processStage);
     return new PipelineBuilder<>(
@@ -402,6 +569,7 @@ public class PipelineBuilder<I, T> {
         outputPipe,
         newBufferSize,
         outputCounter,
+        stageTimeCounter,
         tracingEnabled,
         pipelineName);
   }
@@ -415,13 +583,17 @@ public class PipelineBuilder<I, T> {
   private static <O> Pipe<O> createPipe(
       final int newBufferSize,
       final String stageName,
-      final LabelledMetric<Counter> outputCounter) {
+      final LabelledMetric<Counter> outputCounter,
+      final LabelledMetric<Counter> stageTimeCounter) {
     final String labelName = stageName + "_outputPipe";
     return new Pipe<>(
         newBufferSize,
         outputCounter.labels(labelName, "added"),
         outputCounter.labels(labelName, "removed"),
         outputCounter.labels(labelName, "aborted"),
+        stageTimeCounter.labels(labelName, "blocked"),
+        stageTimeCounter.labels(labelName, "starved"),
+        stageTimeCounter.labels(labelName, "queued"),
         stageName);
   }
 }
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.services.pipeline;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The interface used to read items from a pipe.
@@ -48,6 +49,19 @@ public interface ReadPipe<T> {
    */
   T get();
 
+  /**
+   * Get and remove the next item from this pipe, waiting at most the given time for it to be
+   * available.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit the unit of the timeout
+   * @return the next item or <code>null</code> if none was available in time, the pipe is closed or
+   *     the thread interrupted.
+   */
+  default T get(final long timeout, final TimeUnit unit) {
+    return poll();
+  }
+
   /**
    * Get and remove the next item from this pipe without blocking if it is available.
    *
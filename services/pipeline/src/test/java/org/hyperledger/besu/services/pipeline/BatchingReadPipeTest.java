@@ -24,6 +24,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -134,4 +135,33 @@ public class BatchingReadPipeTest {
 
     verify(batchCounter, times(1)).inc();
   }
+
+  @Test
+  public void shouldWaitForBatchToFillWithMaximumWait() throws Exception {
+    final BatchingReadPipe<String> waitingPipe =
+        new BatchingReadPipe<>(
+            source, 3, batchCounter, ts -> 3 - ts.size(), Duration.ofSeconds(10));
+    source.put("a");
+    final Thread producer =
+        new Thread(
+            () -> {
+              source.put("b");
+              source.put("c");
+              source.put("d");
+            });
+    producer.start();
+
+    assertThat(waitingPipe.get()).containsExactly("a", "b", "c");
+    producer.join();
+  }
+
+  @Test
+  public void shouldReturnPartialBatchAfterMaximumWait() {
+    final BatchingReadPipe<String> waitingPipe =
+        new BatchingReadPipe<>(
+            source, 3, batchCounter, ts -> 3 - ts.size(), Duration.ofMillis(50));
+    source.put("a");
+
+    assertThat(waitingPipe.get()).containsExactly("a");
+  }
 }
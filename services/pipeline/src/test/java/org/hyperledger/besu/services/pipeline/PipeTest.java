@@ -15,6 +15,7 @@
 package org.hyperledger.besu.services.pipeline;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,6 +24,7 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -138,4 +140,41 @@ public class PipeTest {
     Thread.currentThread().interrupt();
     assertThat(pipe.get()).isNull();
   }
+
+  @Test
+  public void shouldReturnNullFromTimedGetWhenNoItemIsAvailableInTime() {
+    assertThat(pipe.get(10, TimeUnit.MILLISECONDS)).isNull();
+
+    pipe.put("A");
+    assertThat(pipe.get(10, TimeUnit.MILLISECONDS)).isEqualTo("A");
+  }
+
+  @Test
+  public void shouldRecordTimeSpentWaitingAndQueued() throws Exception {
+    final Counter blockedTimeCounter = mock(Counter.class);
+    final Counter starvedTimeCounter = mock(Counter.class);
+    final Counter queuedTimeCounter = mock(Counter.class);
+    final Pipe<String> timedPipe =
+        new Pipe<>(
+            1,
+            inputCounter,
+            outputCounter,
+            abortedItemCounter,
+            blockedTimeCounter,
+            starvedTimeCounter,
+            queuedTimeCounter,
+            "timed_pipe");
+
+    assertThat(timedPipe.get(20, TimeUnit.MILLISECONDS)).isNull();
+    verify(starvedTimeCounter).inc(longThat(micros -> micros >= 20_000));
+
+    timedPipe.put("A");
+    final Thread writer = new Thread(() -> timedPipe.put("B"));
+    writer.start();
+    Thread.sleep(20);
+    assertThat(timedPipe.get()).isEqualTo("A");
+    writer.join();
+    verify(blockedTimeCounter).inc(longThat(micros -> micros >= 20_000));
+    verify(queuedTimeCounter).inc(longThat(micros -> micros >= 20_000));
+  }
 }
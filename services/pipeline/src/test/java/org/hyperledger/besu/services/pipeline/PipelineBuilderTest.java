@@ -28,6 +28,7 @@ import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -43,10 +44,12 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -471,6 +474,90 @@ public class PipelineBuilderTest {
     assertThat(counters.get("asyncOrdered_outputPipe-batches").count).hasValueBetween(4, 15);
   }
 
+  @Test
+  public void shouldProcessInPoolPreservingOrder() throws Exception {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    final List<String> output = new ArrayList<>();
+    try {
+      final Pipeline<Integer> pipeline =
+          PipelineBuilder.createPipelineFrom(
+                  "input", tasks, 10, NO_OP_LABELLED_2_COUNTER, false, "test")
+              .thenProcessInPool(
+                  "pool",
+                  value -> {
+                    // later items finish first
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(16 - value));
+                    return value.toString();
+                  },
+                  pool,
+                  4)
+              .andFinishWith("end", output::add);
+
+      pipeline.start(executorService).get(10, SECONDS);
+    } finally {
+      pool.shutdownNow();
+    }
+    assertThat(output)
+        .containsExactly(
+            "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15");
+  }
+
+  @Test
+  public void shouldAbortPipelineWhenPoolProcessingFails() {
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    final RuntimeException expectedError = new RuntimeException("Oops");
+    try {
+      final Pipeline<Integer> pipeline =
+          PipelineBuilder.createPipelineFrom(
+                  "input", tasks, 10, NO_OP_LABELLED_2_COUNTER, false, "test")
+              .thenProcessInPool(
+                  "pool",
+                  (Integer value) -> {
+                    if (value == 4) {
+                      throw expectedError;
+                    }
+                    return value;
+                  },
+                  pool,
+                  2)
+              .andFinishWith("end", new ArrayList<>()::add);
+
+      final CompletableFuture<?> result = pipeline.start(executorService);
+      assertThatThrownBy(() -> result.get(10, SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasRootCause(expectedError);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldTrackStageTimeMetrics() throws Exception {
+    final Map<String, SimpleCounter> counters = new ConcurrentHashMap<>();
+    final LabelledMetric<Counter> stageTimeCounter =
+        labels ->
+            counters.computeIfAbsent(labels[0] + "-" + labels[1], label -> new SimpleCounter());
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", tasks, 10, NO_OP_LABELLED_2_COUNTER, stageTimeCounter, false, "test")
+            .thenProcess("map", Function.identity())
+            .inBatches(4, Duration.ofMillis(10))
+            .andFinishWith("finish", new ArrayList<>()::add);
+
+    pipeline.start(executorService).get(10, SECONDS);
+
+    assertThat(counters)
+        .containsOnlyKeys(
+            Stream.of("input", "map")
+                .flatMap(
+                    stageName ->
+                        Stream.of(
+                            stageName + "_outputPipe-blocked",
+                            stageName + "_outputPipe-starved",
+                            stageName + "_outputPipe-queued"))
+                .collect(toList()));
+  }
+
   private void waitForSize(final Collection<?> collection, final int targetSize) {
     waitAtMost(10, SECONDS).untilAsserted(() -> assertThat(collection).hasSize(targetSize));
   }
@@ -49,6 +49,7 @@ public class DeterministicEthScheduler extends EthScheduler {
         new MockExecutorService(),
         new MockExecutorService(),
         new MockExecutorService(),
+        new MockExecutorService(),
         new MockExecutorService());
 
     this.timeoutPolicy = timeoutPolicy;
@@ -58,6 +59,7 @@ public class DeterministicEthScheduler extends EthScheduler {
             (MockExecutorService) this.scheduler,
             (MockExecutorService) this.txWorkerExecutor,
             (MockExecutorService) this.servicesExecutor,
+            (MockExecutorService) this.pipelineExecutor,
             (MockExecutorService) this.computationExecutor,
             (MockExecutorService) this.blockCreationExecutor);
   }
@@ -115,6 +117,15 @@ public class DeterministicEthScheduler extends EthScheduler {
     return (MockExecutorService) servicesExecutor;
   }
 
+  /**
+   * Get the pipeline mock executor
+   *
+   * @return the mock executor
+   */
+  public MockExecutorService mockPipelineExecutor() {
+    return (MockExecutorService) pipelineExecutor;
+  }
+
   /**
    * Get the block creation mock executor
    *